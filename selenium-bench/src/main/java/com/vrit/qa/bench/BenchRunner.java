@@ -0,0 +1,76 @@
+package com.vrit.qa.bench;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks (all of them, or those matching the JMH include
+ * pattern given on the command line) and prints one line per strategy and
+ * DOM size: ops/s from the throughput run, p50/p99 latency from the sampled
+ * run. The full JMH results go to target/jmh-result.json.
+ *
+ * <pre>java -jar target/benchmarks.jar LocatorBenchmark -p domSize=0,10000</pre>
+ */
+public final class BenchRunner {
+    private BenchRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli)
+                // Throughput in ops/s, sampled latency in s/op (printed below as ms)
+                .timeUnit(TimeUnit.SECONDS);
+        if (cli.getIncludes().isEmpty()) {
+            options.include("com\\.vrit\\.qa\\.bench\\..*Benchmark");
+        }
+        if (!cli.getResult().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON).result("target/jmh-result.json");
+        }
+        System.out.print(summary(new Runner(options.build()).run()));
+    }
+
+    static String summary(Collection<RunResult> results) {
+        // benchmark [params] -> {ops/s, p50 ms, p99 ms}
+        Map<String, double[]> rows = new TreeMap<>();
+        for (RunResult run : results) {
+            String benchmark = run.getParams().getBenchmark();
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.',
+                    benchmark.lastIndexOf('.') - 1) + 1));
+            for (String param : run.getParams().getParamsKeys()) {
+                key.append(' ').append(param).append('=').append(run.getParams().getParam(param));
+            }
+            double[] row = rows.computeIfAbsent(key.toString(), k -> new double[] {Double.NaN, Double.NaN,
+                    Double.NaN});
+            Result<?> primary = run.getPrimaryResult();
+            switch (run.getParams().getMode()) {
+                case Throughput:
+                    row[0] = primary.getScore();
+                    break;
+                case SampleTime:
+                    row[1] = primary.getStatistics().getPercentile(50) * 1_000;
+                    row[2] = primary.getStatistics().getPercentile(99) * 1_000;
+                    break;
+                default:
+                    break;
+            }
+        }
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%n%-60s %10s %10s %10s%n", "benchmark",
+                "ops/s", "p50 ms", "p99 ms"));
+        rows.forEach((key, row) -> out.append(String.format(Locale.ROOT, "%-60s %10.1f %10.2f %10.2f%n", key, row[0],
+                row[1], row[2])));
+        return out.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.vrit.qa.bench;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * One headless Chrome on one fixture page, opened per trial and shared by
+ * every invocation in it. Benchmarks extend this as their JMH state; each
+ * thread gets its own browser, as each test session does.
+ */
+public abstract class BrowserFixture {
+    protected FixtureServer server;
+    protected WebDriver driver;
+
+    protected void open(int padding, int options) {
+        WebDriverManager.chromedriver().setup();
+        ChromeOptions chrome = new ChromeOptions();
+        // Same viewport and background switches as selenium-test's lean profile, so numbers carry over
+        chrome.addArguments(
+                "--headless=new",
+                "--window-size=1280,800",
+                "--disable-gpu",
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--no-first-run",
+                "--mute-audio");
+        server = new FixtureServer();
+        driver = new ChromeDriver(chrome);
+        driver.get(server.url(padding, options));
+    }
+
+    protected void close() {
+        if (driver != null) {
+            driver.quit();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+}
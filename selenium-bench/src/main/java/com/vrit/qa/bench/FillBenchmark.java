@@ -0,0 +1,108 @@
+package com.vrit.qa.bench;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filling the six personal-details fields: clear + sendKeys per field
+ * (looked up each time, or once per trial), against one script that sets
+ * every value through the native setter and fires input/change the way
+ * the harness's FormFiller does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class FillBenchmark extends BrowserFixture {
+    private static final Map<String, String> VALUES = new LinkedHashMap<>();
+    private static final String FILL_SCRIPT = """
+            var values = arguments[0];
+            var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;
+            var filled = 0;
+            for (var name in values) {
+                var el = document.getElementsByName(name)[0];
+                if (!el) continue;
+                el.focus();
+                setter.call(el, values[name]);
+                el.dispatchEvent(new Event('input', { bubbles: true }));
+                el.dispatchEvent(new Event('change', { bubbles: true }));
+                el.dispatchEvent(new FocusEvent('blur'));
+                filled++;
+            }
+            return filled;
+            """;
+
+    static {
+        VALUES.put("firstName", "Jordan");
+        VALUES.put("lastName", "Rivera");
+        VALUES.put("email", "jordan.rivera@example.com");
+        VALUES.put("phoneNumber", "9800000000");
+        VALUES.put("password", "Passw0rd!Passw0rd");
+        VALUES.put("confirmPassword", "Passw0rd!Passw0rd");
+    }
+
+    @Param({"0", "10000"})
+    public int domSize;
+
+    private final List<WebElement> cached = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        open(domSize, 0);
+        VALUES.keySet().forEach(name -> cached.add(driver.findElement(By.name(name))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        close();
+    }
+
+    @Benchmark
+    public int sendKeysPerField() {
+        for (Map.Entry<String, String> value : VALUES.entrySet()) {
+            WebElement field = driver.findElement(By.name(value.getKey()));
+            field.clear();
+            field.sendKeys(value.getValue());
+        }
+        return VALUES.size();
+    }
+
+    // Typing cost alone, without the lookups
+    @Benchmark
+    public int sendKeysCachedElements() {
+        int i = 0;
+        for (String value : VALUES.values()) {
+            WebElement field = cached.get(i++);
+            field.clear();
+            field.sendKeys(value);
+        }
+        return i;
+    }
+
+    @Benchmark
+    public Object scriptValueInjection() {
+        return ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, VALUES);
+    }
+}
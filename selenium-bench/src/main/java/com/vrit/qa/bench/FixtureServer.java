@@ -0,0 +1,95 @@
+package com.vrit.qa.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves the fixture page on a loopback port, with {@code padding} rows of
+ * unrelated markup (every tenth one a checkbox item of its own) and
+ * {@code options} listbox options expanded from the query string, so one
+ * static template covers every DOM size.
+ */
+public class FixtureServer implements AutoCloseable {
+    private final String template;
+    private final HttpServer server;
+
+    public FixtureServer() {
+        this.template = resource("fixtures/registration.html");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind fixture server", e);
+        }
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String url(int padding, int options) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/registration.html?padding=" + padding
+                + "&options=" + options;
+    }
+
+    static String page(String template, int padding, int options) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < padding; i++) {
+            if (i % 10 == 9) {
+                rows.append("<div class=\"checkbox-item\"><button type=\"button\" role=\"checkbox\" ")
+                        .append("aria-checked=\"false\" value=\"Filler ").append(i).append("\"></button><label>Filler ")
+                        .append(i).append("</label></div>");
+            } else {
+                rows.append("<div class=\"row\"><span class=\"cell\">Row ").append(i)
+                        .append("</span><label>Detail ").append(i).append("</label><a href=\"#row-").append(i)
+                        .append("\">Open</a></div>");
+            }
+        }
+        StringBuilder listbox = new StringBuilder();
+        for (int i = 0; i < options; i++) {
+            listbox.append("<div role=\"option\" aria-selected=\"false\">Country ").append(i).append("</div>");
+        }
+        return template.replace("{{PADDING}}", rows).replace("{{OPTIONS}}", listbox);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                String[] parts = pair.split("=", 2);
+                query.put(parts[0], parts.length > 1 ? parts[1] : "");
+            }
+        }
+        byte[] body = page(template, Integer.parseInt(query.getOrDefault("padding", "0")),
+                Integer.parseInt(query.getOrDefault("options", "0"))).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = FixtureServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture " + name, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.vrit.qa.bench;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One element lookup per invocation: a text input by XPath, CSS and name,
+ * and a Radix checkbox by its label (the harness's old XPath), by its value
+ * attribute, and by one script scanning the labels.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class LocatorBenchmark extends BrowserFixture {
+    private static final By FIELD_XPATH = By.xpath("//input[@name='firstName']");
+    private static final By FIELD_CSS = By.cssSelector("input[name='firstName']");
+    private static final By FIELD_NAME = By.name("firstName");
+    private static final By CHECKBOX_LABEL_XPATH = By.xpath(
+            "//label[normalize-space()='Visa Processing']/preceding-sibling::button[@role='checkbox']");
+    private static final By CHECKBOX_CSS = By.cssSelector("button[role='checkbox'][value='Visa Processing']");
+    private static final String CHECKBOX_SCRIPT = """
+            var labels = document.getElementsByTagName('label');
+            for (var i = 0; i < labels.length; i++) {
+                if (labels[i].textContent.replace(/\\s+/g, ' ').trim() !== arguments[0]) continue;
+                for (var el = labels[i].previousElementSibling; el; el = el.previousElementSibling) {
+                    if (el.matches('button[role="checkbox"]')) return el;
+                }
+            }
+            return null;
+            """;
+
+    // Rows of unrelated markup around the form
+    @Param({"0", "1000", "10000"})
+    public int domSize;
+
+    private WebDriverWait wait;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        open(domSize, 0);
+        wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        close();
+    }
+
+    @Benchmark
+    public WebElement fieldByXPath() {
+        return driver.findElement(FIELD_XPATH);
+    }
+
+    @Benchmark
+    public WebElement fieldByCss() {
+        return driver.findElement(FIELD_CSS);
+    }
+
+    @Benchmark
+    public WebElement fieldByName() {
+        return driver.findElement(FIELD_NAME);
+    }
+
+    @Benchmark
+    public WebElement checkboxByLabelXPath() {
+        return driver.findElement(CHECKBOX_LABEL_XPATH);
+    }
+
+    @Benchmark
+    public WebElement checkboxByValueCss() {
+        return driver.findElement(CHECKBOX_CSS);
+    }
+
+    @Benchmark
+    public WebElement checkboxByLabelScript() {
+        return (WebElement) ((JavascriptExecutor) driver).executeScript(CHECKBOX_SCRIPT, "Visa Processing");
+    }
+
+    // What the flow actually paid per lookup before page objects: a clickable wait around the XPath
+    @Benchmark
+    public WebElement checkboxByLabelXPathClickable() {
+        return wait.until(ExpectedConditions.elementToBeClickable(CHECKBOX_LABEL_XPATH));
+    }
+}
@@ -0,0 +1,81 @@
+package com.vrit.qa.bench;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading every option label of an open listbox: a presence wait for all
+ * options then getText on each (one command per option), against one
+ * script returning textContent, or innerText when the rendered text is
+ * what matters (it forces layout, as getText does).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ReadTextBenchmark extends BrowserFixture {
+    private static final By OPTIONS = By.cssSelector("[role='option']");
+    private static final String TEXT_CONTENT_SCRIPT =
+            "return Array.from(document.querySelectorAll(\"[role='option']\"), o => o.textContent.trim());";
+    private static final String INNER_TEXT_SCRIPT =
+            "return Array.from(document.querySelectorAll(\"[role='option']\"), o => o.innerText.trim());";
+
+    // Options in the listbox, e.g. a short experience list up to the full country list
+    @Param({"10", "100", "250"})
+    public int options;
+
+    private WebDriverWait wait;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        open(0, options);
+        wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        close();
+    }
+
+    @Benchmark
+    public List<String> presenceOfAllThenGetText() {
+        List<String> labels = new ArrayList<>();
+        for (WebElement option : wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(OPTIONS))) {
+            labels.add(option.getText());
+        }
+        return labels;
+    }
+
+    @Benchmark
+    public Object oneScriptTextContent() {
+        return ((JavascriptExecutor) driver).executeScript(TEXT_CONTENT_SCRIPT);
+    }
+
+    @Benchmark
+    public Object oneScriptInnerText() {
+        return ((JavascriptExecutor) driver).executeScript(INNER_TEXT_SCRIPT);
+    }
+}
@@ -0,0 +1,31 @@
+package com.vrit.qa;
+
+import com.vrit.qa.driver.DriverPoolExtension;
+import com.vrit.qa.flow.RegistrationFlow;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+import com.vrit.qa.inbox.InboxProviders;
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.metrics.FlowMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.WebDriver;
+
+// Iterates on the last step only: the first run checkpoints the session after Experience,
+// later runs restore it in one navigation and skip terms, personal details and the OTP wait
+@ExtendWith(DriverPoolExtension.class)
+public class BusinessRegistrationTest {
+
+    @Test
+    public void testBusinessRegistrationFromCheckpoint(WebDriver driver) {
+        InboxProvider inbox = InboxProviders.forSession(driver);
+        RegistrationFlow flow = new RegistrationFlow(driver, RegistrationIdentity.next(inbox), inbox);
+        try {
+            flow.reach(FlowMetrics.EXPERIENCE);
+            flow.handleBusinessRegistration();
+        } catch (Exception e) {
+            EventLog.global().warn("Test failed: {}", e.getMessage());
+            throw new RuntimeException("Test failed: " + e.getMessage(), e);
+        }
+    }
+}
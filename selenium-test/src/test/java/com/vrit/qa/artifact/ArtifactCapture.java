@@ -0,0 +1,178 @@
+package com.vrit.qa.artifact;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.log.EventLog;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Captures a screenshot, the DOM, console output and a HAR of the page when
+ * a step fails, and after every step when {@code artifacts.onStep} is set.
+ * The calling thread only makes the WebDriver calls: one screenshot, one
+ * script that returns the DOM and Resource Timing entries, and a read of the
+ * console. Decoding, HAR building, compression and disk writes run on a
+ * small bounded executor. When its queue is full a step capture is dropped;
+ * a failure capture is written on the calling thread instead.
+ */
+public class ArtifactCapture implements AutoCloseable {
+    public static final String FAILURE = "failure";
+    public static final String STEP = "step";
+
+    // One round trip for everything the page can tell us; serialised in the browser so the driver does not
+    // convert the DOM and timing entries into Java maps on the calling thread
+    private static final String SNAPSHOT_SCRIPT = "return JSON.stringify({"
+            + "url: location.href,"
+            + "title: document.title,"
+            + "timeOrigin: performance.timeOrigin,"
+            + "dom: '<!DOCTYPE html>\\n' + document.documentElement.outerHTML,"
+            + "entries: performance.getEntriesByType('navigation')"
+            + ".concat(performance.getEntriesByType('resource')).map(function (e) { return e.toJSON(); })"
+            + "});";
+    private static ArtifactCapture shared;
+
+    private final ArtifactStore store;
+    private final boolean enabled;
+    private final boolean onStep;
+    private final ThreadPoolExecutor writers;
+    private final LongAdder dropped = new LongAdder();
+
+    public ArtifactCapture(ArtifactStore store, boolean enabled, boolean onStep, int threads, int queueSize) {
+        this.store = store;
+        this.enabled = enabled;
+        this.onStep = onStep;
+        AtomicInteger count = new AtomicInteger();
+        writers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "artifact-writer-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    // Browser threads come first; the writers only compress and write
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        writers.allowCoreThreadTimeOut(true);
+    }
+
+    // Run-wide capture into artifacts.dir; pending writes are finished when the JVM exits
+    public static synchronized ArtifactCapture shared() {
+        if (shared == null) {
+            shared = new ArtifactCapture(
+                    new ArtifactStore(Paths.get(HarnessConfig.getString("artifacts.dir", "target/artifacts")),
+                            HarnessConfig.getLong("artifacts.maxMegabytes", 200) * 1024 * 1024),
+                    HarnessConfig.getBoolean("artifacts.enabled", true),
+                    HarnessConfig.getBoolean("artifacts.onStep", false),
+                    HarnessConfig.getInt("artifacts.threads", 2),
+                    HarnessConfig.getInt("artifacts.queueSize", 16));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close));
+        }
+        return shared;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    // Called when a step ends; captures on failure, or on every step when artifacts.onStep is set
+    public void afterStep(WebDriver driver, String step, boolean succeeded) {
+        if (!succeeded) {
+            capture(driver, step, FAILURE);
+        } else if (onStep) {
+            capture(driver, step, STEP);
+        }
+    }
+
+    // Returns the directory the artifacts will be written to, or null when capture is disabled or dropped
+    public Path capture(WebDriver driver, String step, String reason) {
+        if (!enabled) {
+            return null;
+        }
+        CapturedPage page = new CapturedPage(EventLog.currentSession(), step, reason, Instant.now(),
+                screenshot(driver), snapshot(driver), console(driver));
+        Path target = store.directoryFor(page);
+        Runnable write = () -> {
+            try {
+                store.write(page, target);
+            } catch (RuntimeException e) {
+                EventLog.global().warn("Artifact write failed: {}", e.getMessage());
+            }
+        };
+        try {
+            writers.execute(write);
+        } catch (RejectedExecutionException e) {
+            if (!FAILURE.equals(reason)) {
+                dropped.increment();
+                return null;
+            }
+            write.run();
+        }
+        EventLog.global().element(target.toString(), "Capturing {} artifacts", reason);
+        return target;
+    }
+
+    private static String screenshot(WebDriver driver) {
+        try {
+            // Base64 as the driver received it; decoding happens on the writer
+            return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        } catch (WebDriverException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private static String snapshot(WebDriver driver) {
+        try {
+            return (String) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+        } catch (WebDriverException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private static List<String> console(WebDriver driver) {
+        BiDiSession bidi = BiDiSession.forDriver(driver);
+        if (bidi != null) {
+            // Already collected as the events arrived
+            return bidi.getLogEntries();
+        }
+        List<String> lines = new ArrayList<>();
+        try {
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                lines.add(Instant.ofEpochMilli(entry.getTimestamp()) + " " + entry.getLevel() + " "
+                        + entry.getMessage());
+            }
+        } catch (WebDriverException e) {
+            lines.add("Console log unavailable: " + e.getMessage().split("\n")[0]);
+        }
+        return lines;
+    }
+
+    @Override
+    public void close() {
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.out.println("Gave up waiting for artifact writes in " + store.getDir());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.sum() > 0) {
+            System.out.println("Dropped " + dropped.sum() + " step capture(s); raise artifacts.queueSize");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.vrit.qa.artifact;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes captures to disk, one directory per capture under the session's
+ * directory: {@code screenshot.png}, {@code dom.html.gz},
+ * {@code network.har.gz}, {@code console.log} and {@code capture.json}.
+ * After each write the oldest captures are deleted until the store fits
+ * its size cap again; the newest capture is always kept.
+ */
+public class ArtifactStore {
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+
+    private final Path dir;
+    private final long maxBytes;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ArtifactStore(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    // The directory a capture will be written to; names sort oldest first across sessions
+    public Path directoryFor(CapturedPage page) {
+        return dir.resolve(safe(page.getSession() == null ? "unbound" : page.getSession()))
+                .resolve(STAMP.format(page.getCapturedAt()) + "-"
+                        + String.format("%04d", sequence.incrementAndGet() % 10_000) + "-" + safe(page.getStep())
+                        + "-" + page.getReason());
+    }
+
+    public void write(CapturedPage page, Path target) {
+        try {
+            Files.createDirectories(target);
+            JSONObject metadata = new JSONObject()
+                    .put("session", page.getSession())
+                    .put("step", page.getStep())
+                    .put("reason", page.getReason())
+                    .put("capturedAt", page.getCapturedAt().toString());
+            if (page.getScreenshotBase64() != null) {
+                Files.write(target.resolve("screenshot.png"),
+                        Base64.getMimeDecoder().decode(page.getScreenshotBase64()));
+            }
+            if (page.getPageJson() != null) {
+                JSONObject snapshot = new JSONObject(page.getPageJson());
+                metadata.put("url", snapshot.optString("url")).put("title", snapshot.optString("title"));
+                gzip(target.resolve("dom.html.gz"), snapshot.optString("dom"));
+                JSONObject har = Har.fromResourceTiming(snapshot);
+                metadata.put("requests", har.getJSONObject("log").getJSONArray("entries").length());
+                gzip(target.resolve("network.har.gz"), har.toString());
+            }
+            Files.write(target.resolve("console.log"), page.getConsole(), StandardCharsets.UTF_8);
+            metadata.put("consoleLines", page.getConsole().size());
+            Files.writeString(target.resolve("capture.json"), metadata.toString(2), StandardCharsets.UTF_8);
+        } catch (IOException | JSONException e) {
+            throw new RuntimeException("Failed to write artifacts to " + target + ": " + e.getMessage());
+        }
+        prune(target);
+    }
+
+    // Deletes whole captures, oldest first, until the store is within maxBytes
+    synchronized void prune(Path keep) {
+        List<Path> captures = captures();
+        long[] sizes = new long[captures.size()];
+        long total = 0;
+        for (int i = 0; i < captures.size(); i++) {
+            sizes[i] = size(captures.get(i));
+            total += sizes[i];
+        }
+        for (int i = 0; i < captures.size() && total > maxBytes; i++) {
+            if (captures.get(i).equals(keep)) {
+                continue;
+            }
+            delete(captures.get(i));
+            total -= sizes[i];
+        }
+    }
+
+    // Capture directories of every session, oldest first
+    List<Path> captures() {
+        if (!Files.isDirectory(dir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> sessions = Files.list(dir)) {
+            List<Path> captures = new ArrayList<>();
+            for (Path session : sessions.filter(Files::isDirectory).collect(Collectors.toList())) {
+                try (Stream<Path> children = Files.list(session)) {
+                    children.filter(Files::isDirectory).forEach(captures::add);
+                }
+            }
+            captures.sort(Comparator.comparing(path -> path.getFileName().toString()));
+            return captures;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list artifacts in " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static long size(Path capture) {
+        try (Stream<Path> files = Files.walk(capture)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException | UncheckedIOException e) {
+            return 0;
+        }
+    }
+
+    private static void delete(Path capture) {
+        try (Stream<Path> files = Files.walk(capture)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Failed to prune artifacts " + capture + ": " + e.getMessage());
+        }
+        // Drop the session directory with its last capture
+        String[] left = capture.getParent().toFile().list();
+        if (left != null && left.length == 0) {
+            capture.getParent().toFile().delete();
+        }
+    }
+
+    private static void gzip(Path file, String text) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String safe(String name) {
+        return name == null ? "unscoped" : name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
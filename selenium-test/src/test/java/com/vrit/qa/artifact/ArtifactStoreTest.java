@@ -0,0 +1,114 @@
+package com.vrit.qa.artifact;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArtifactStoreTest {
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testCaptureWrittenWithHar() throws Exception {
+        ArtifactStore store = new ArtifactStore(dir, 10 * 1024 * 1024);
+        JSONObject snapshot = new JSONObject()
+                .put("url", "https://example.test/register")
+                .put("title", "Register")
+                .put("timeOrigin", 1_700_000_000_000.5)
+                .put("dom", "<!DOCTYPE html>\n<html><body>form</body></html>")
+                .put("entries", new JSONArray()
+                        .put(new JSONObject().put("entryType", "navigation")
+                                .put("name", "https://example.test/register").put("startTime", 0)
+                                .put("domainLookupStart", 1).put("domainLookupEnd", 4)
+                                .put("connectStart", 4).put("connectEnd", 20).put("secureConnectionStart", 9)
+                                .put("requestStart", 21).put("responseStart", 80).put("responseEnd", 95)
+                                .put("loadEventEnd", 300).put("responseStatus", 200))
+                        // Cross-origin without Timing-Allow-Origin: only start and end are known
+                        .put(new JSONObject().put("entryType", "resource").put("initiatorType", "script")
+                                .put("name", "https://cdn.test/app.js").put("startTime", 100).put("duration", 40)
+                                .put("responseEnd", 140)));
+        CapturedPage page = new CapturedPage("alice", "agency", ArtifactCapture.FAILURE, Instant.now(),
+                Base64.getEncoder().encodeToString(PNG), snapshot.toString(), List.of("error: boom"));
+
+        Path target = store.directoryFor(page);
+        store.write(page, target);
+
+        assertTrue(target.startsWith(dir.resolve("alice")));
+        assertArrayEquals(PNG, Files.readAllBytes(target.resolve("screenshot.png")));
+        assertTrue(gunzip(target.resolve("dom.html.gz")).contains("<body>form</body>"));
+        assertEquals(List.of("error: boom"), Files.readAllLines(target.resolve("console.log")));
+        JSONObject metadata = new JSONObject(Files.readString(target.resolve("capture.json")));
+        assertEquals("agency", metadata.getString("step"));
+        assertEquals(2, metadata.getInt("requests"));
+
+        JSONArray entries = new JSONObject(gunzip(target.resolve("network.har.gz")))
+                .getJSONObject("log").getJSONArray("entries");
+        JSONObject timings = entries.getJSONObject(0).getJSONObject("timings");
+        assertEquals(3.0, timings.getDouble("dns"));
+        assertEquals(16.0, timings.getDouble("connect"));
+        assertEquals(11.0, timings.getDouble("ssl"));
+        assertEquals(59.0, timings.getDouble("wait"));
+        assertEquals(15.0, timings.getDouble("receive"));
+        assertEquals(200, entries.getJSONObject(0).getJSONObject("response").getInt("status"));
+        JSONObject opaque = entries.getJSONObject(1).getJSONObject("timings");
+        assertEquals(-1.0, opaque.getDouble("dns"));
+        assertEquals(40.0, opaque.getDouble("receive"));
+        assertEquals(40.0, entries.getJSONObject(1).getDouble("time"));
+    }
+
+    @Test
+    public void testOldestCapturesPrunedToSizeCap() throws Exception {
+        byte[] large = new byte[4096];
+        String screenshot = Base64.getEncoder().encodeToString(large);
+        // Room for two captures but not three
+        ArtifactStore store = new ArtifactStore(dir, 2 * 4096 + 1024);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        Path[] targets = new Path[3];
+        for (int i = 0; i < targets.length; i++) {
+            CapturedPage page = new CapturedPage(i == 0 ? "bob" : "alice", "step" + i, ArtifactCapture.STEP,
+                    start.plusSeconds(i), screenshot, null, List.of());
+            targets[i] = store.directoryFor(page);
+            store.write(page, targets[i]);
+        }
+
+        assertFalse(Files.exists(targets[0]));
+        // The oldest capture was bob's only one, so his session directory went with it
+        assertFalse(Files.exists(dir.resolve("bob")));
+        assertTrue(Files.exists(targets[1]));
+        assertTrue(Files.exists(targets[2]));
+        assertEquals(List.of(targets[1], targets[2]), store.captures());
+    }
+
+    @Test
+    public void testNewestCaptureKeptEvenAboveCap() {
+        ArtifactStore store = new ArtifactStore(dir, 10);
+        CapturedPage page = new CapturedPage("alice", "terms", ArtifactCapture.FAILURE, Instant.now(),
+                Base64.getEncoder().encodeToString(new byte[1024]), null, List.of());
+        Path target = store.directoryFor(page);
+        store.write(page, target);
+        assertTrue(Files.exists(target.resolve("screenshot.png")));
+    }
+
+    private static String gunzip(Path file) throws Exception {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
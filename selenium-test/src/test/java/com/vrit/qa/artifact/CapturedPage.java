@@ -0,0 +1,61 @@
+package com.vrit.qa.artifact;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What a capture took from the browser, still unencoded: the screenshot as
+ * the driver's base64 text, the page snapshot as the JSON string the capture
+ * script returned, and the console lines.
+ */
+public final class CapturedPage {
+    private final String session;
+    private final String step;
+    private final String reason;
+    private final Instant capturedAt;
+    private final String screenshotBase64;
+    private final String pageJson;
+    private final List<String> console;
+
+    public CapturedPage(String session, String step, String reason, Instant capturedAt, String screenshotBase64,
+            String pageJson, List<String> console) {
+        this.session = session;
+        this.step = step;
+        this.reason = reason;
+        this.capturedAt = capturedAt;
+        this.screenshotBase64 = screenshotBase64;
+        this.pageJson = pageJson;
+        this.console = List.copyOf(console);
+    }
+
+    public String getSession() {
+        return session;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    // "failure" or "step"
+    public String getReason() {
+        return reason;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    // null when the screenshot could not be taken
+    public String getScreenshotBase64() {
+        return screenshotBase64;
+    }
+
+    // null when the page could not be read
+    public String getPageJson() {
+        return pageJson;
+    }
+
+    public List<String> getConsole() {
+        return console;
+    }
+}
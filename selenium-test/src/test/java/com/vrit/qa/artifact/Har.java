@@ -0,0 +1,115 @@
+package com.vrit.qa.artifact;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.time.Instant;
+
+/**
+ * Builds a HAR 1.2 log from the page's Resource Timing entries. The browser
+ * does not expose headers or bodies there, so entries carry the URL, status,
+ * sizes and the timing breakdown; phases a cross-origin response hides are
+ * reported as -1 as the format allows.
+ */
+final class Har {
+    private static final String PAGE_ID = "page_1";
+
+    private Har() {
+    }
+
+    // page is the capture script's snapshot: url, title, timeOrigin and the timing entries
+    static JSONObject fromResourceTiming(JSONObject page) {
+        double timeOrigin = page.optDouble("timeOrigin", 0);
+        JSONArray entries = new JSONArray();
+        JSONArray timings = page.optJSONArray("entries");
+        double onLoad = -1;
+        for (int i = 0; timings != null && i < timings.length(); i++) {
+            JSONObject timing = timings.getJSONObject(i);
+            if ("navigation".equals(timing.optString("entryType"))) {
+                onLoad = timing.optDouble("loadEventEnd", -1);
+            }
+            entries.put(entry(timing, timeOrigin));
+        }
+        JSONObject har = new JSONObject()
+                .put("version", "1.2")
+                .put("creator", new JSONObject().put("name", "vrit-qa artifact capture").put("version", "1.0"))
+                .put("pages", new JSONArray().put(new JSONObject()
+                        .put("id", PAGE_ID)
+                        .put("startedDateTime", iso(timeOrigin))
+                        .put("title", page.optString("title", page.optString("url")))
+                        .put("pageTimings", new JSONObject().put("onLoad", onLoad > 0 ? round(onLoad) : -1))))
+                .put("entries", entries);
+        return new JSONObject().put("log", har);
+    }
+
+    private static JSONObject entry(JSONObject timing, double timeOrigin) {
+        double start = timing.optDouble("startTime", 0);
+        double requestStart = timing.optDouble("requestStart", 0);
+        double responseStart = timing.optDouble("responseStart", 0);
+        double responseEnd = timing.optDouble("responseEnd", start + timing.optDouble("duration", 0));
+        // Zero request/response marks mean the server sent no Timing-Allow-Origin header
+        boolean detailed = requestStart > 0 && responseStart > 0;
+        double dns = span(timing, "domainLookupStart", "domainLookupEnd");
+        double connect = span(timing, "connectStart", "connectEnd");
+        double secureStart = timing.optDouble("secureConnectionStart", 0);
+        double ssl = secureStart > 0 ? round(timing.optDouble("connectEnd", 0) - secureStart) : -1;
+        double wait = detailed ? round(responseStart - requestStart) : 0;
+        double receive = round(responseEnd - (detailed ? responseStart : start));
+        double blocked = detailed ? round(requestStart - start - Math.max(dns, 0) - Math.max(connect, 0)) : -1;
+        long bodySize = timing.optLong("encodedBodySize", -1);
+        long transferSize = timing.optLong("transferSize", -1);
+        return new JSONObject()
+                .put("pageref", PAGE_ID)
+                .put("startedDateTime", iso(timeOrigin + start))
+                .put("time", round(responseEnd - start))
+                .put("request", new JSONObject()
+                        .put("method", "GET")
+                        .put("url", timing.optString("name"))
+                        .put("httpVersion", timing.optString("nextHopProtocol", ""))
+                        .put("cookies", new JSONArray())
+                        .put("headers", new JSONArray())
+                        .put("queryString", new JSONArray())
+                        .put("headersSize", -1)
+                        .put("bodySize", -1))
+                .put("response", new JSONObject()
+                        .put("status", timing.optInt("responseStatus", 0))
+                        .put("statusText", "")
+                        .put("httpVersion", timing.optString("nextHopProtocol", ""))
+                        .put("cookies", new JSONArray())
+                        .put("headers", new JSONArray())
+                        .put("content", new JSONObject()
+                                .put("size", timing.optLong("decodedBodySize", -1))
+                                .put("mimeType", ""))
+                        .put("redirectURL", "")
+                        .put("headersSize", -1)
+                        .put("bodySize", bodySize)
+                        // transferSize 0 with a body means the response came from the HTTP cache
+                        .put("_transferSize", transferSize))
+                .put("cache", new JSONObject())
+                .put("timings", new JSONObject()
+                        .put("blocked", Math.max(blocked, -1))
+                        .put("dns", dns)
+                        .put("connect", connect)
+                        .put("ssl", ssl)
+                        .put("send", detailed ? 0 : -1)
+                        .put("wait", wait)
+                        .put("receive", Math.max(receive, 0)))
+                .put("_initiatorType", timing.optString("initiatorType", timing.optString("entryType")));
+    }
+
+    // Milliseconds between two marks, or -1 when the phase did not happen or is hidden
+    private static double span(JSONObject timing, String from, String to) {
+        double start = timing.optDouble(from, 0);
+        double end = timing.optDouble(to, 0);
+        return start > 0 && end >= start ? round(end - start) : -1;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+
+    private static String iso(double epochMillis) {
+        long millis = (long) epochMillis;
+        return Instant.ofEpochMilli(millis).plusNanos((long) ((epochMillis - millis) * 1_000_000)).toString();
+    }
+}
@@ -0,0 +1,255 @@
+package com.vrit.qa.bidi;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.metrics.FlowMetrics;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.LogInspector;
+import org.openqa.selenium.bidi.module.Script;
+import org.openqa.selenium.bidi.script.EvaluateResult;
+import org.openqa.selenium.bidi.script.EvaluateResultExceptionValue;
+import org.openqa.selenium.bidi.script.EvaluateResultSuccess;
+import org.openqa.selenium.bidi.script.LocalValue;
+import org.openqa.selenium.bidi.script.RemoteReference;
+import org.openqa.selenium.bidi.script.RemoteValue;
+import org.openqa.selenium.bidi.script.ResultOwnership;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Function;
+
+/**
+ * Script evaluation and log capture over the session's WebDriver BiDi
+ * WebSocket instead of classic HTTP commands. Scripts are written exactly
+ * like executeScript/executeAsyncScript bodies; async ones resolve a promise
+ * that the browser pushes back the moment the script calls its callback.
+ * Enabled with {@code driver.transport=bidi}.
+ */
+public class BiDiSession implements AutoCloseable {
+    // Calls over the socket give up after 30s (Selenium's fixed BiDi command timeout)
+    public static final long MAX_CALL_MILLIS = 25_000;
+
+    private static final int MAX_LOG_ENTRIES = 200;
+    // Each session holds its driver, so entries stay until release() is called when the browser is quit
+    private static final Map<WebDriver, BiDiSession> SESSIONS = Collections.synchronizedMap(new HashMap<>());
+
+    private final RemoteWebDriver driver;
+    private final Script script;
+    private final LogInspector logs;
+    private final Deque<String> logEntries = new ConcurrentLinkedDeque<>();
+    private volatile String contextId;
+
+    private BiDiSession(RemoteWebDriver driver) {
+        this.driver = driver;
+        this.script = new Script(driver);
+        this.logs = new LogInspector(driver);
+        this.contextId = driver.getWindowHandle();
+        logs.onConsoleEntry(entry -> log("console." + entry.getMethod(), entry.getText()));
+        logs.onJavaScriptException(entry -> {
+            log("exception", entry.getText());
+            EventLog.global().warn("Browser exception: {}", entry.getText());
+        });
+    }
+
+    public static boolean enabled() {
+        return "bidi".equals(HarnessConfig.getString("driver.transport", "classic"));
+    }
+
+    // The session's BiDi channel, or null when the transport is classic or the browser offered no socket
+    public static BiDiSession forDriver(WebDriver driver) {
+        if (!enabled()) {
+            return null;
+        }
+        WebDriver raw = unwrap(driver);
+        if (!(raw instanceof RemoteWebDriver) || !(raw instanceof HasBiDi)
+                || ((HasBiDi) raw).maybeGetBiDi().isEmpty()) {
+            return null;
+        }
+        synchronized (SESSIONS) {
+            return SESSIONS.computeIfAbsent(raw, key -> new BiDiSession((RemoteWebDriver) key));
+        }
+    }
+
+    // Drops the driver's session and its listeners, if it has one; call before quitting the browser
+    public static void release(WebDriver driver) {
+        BiDiSession session = SESSIONS.remove(unwrap(driver));
+        if (session == null) {
+            return;
+        }
+        try {
+            session.close();
+        } catch (RuntimeException e) {
+            EventLog.global().warn("Failed to close BiDi session: {}", e.getMessage());
+        }
+    }
+
+    // Browsing context ids are window handles; call after switching windows
+    public void follow(String windowHandle) {
+        contextId = windowHandle;
+    }
+
+    // Same contract as JavascriptExecutor.executeScript
+    public Object execute(String body, Object... args) {
+        return call("function () {\n" + body + "\n}", false, args);
+    }
+
+    // Same contract as JavascriptExecutor.executeAsyncScript: the last argument is the completion callback
+    public Object executeAsync(String body, Object... args) {
+        String declaration = "function () {\n"
+                + "var args = Array.prototype.slice.call(arguments);\n"
+                + "return new Promise(function (resolve) {\n"
+                + "args.push(resolve);\n"
+                + "(function () {\n" + body + "\n}).apply(null, args);\n"
+                + "});\n"
+                + "}";
+        return call(declaration, true, args);
+    }
+
+    // Most recent console entries and uncaught exceptions, oldest first
+    public List<String> getLogEntries() {
+        return new ArrayList<>(logEntries);
+    }
+
+    @Override
+    public void close() {
+        SESSIONS.remove(driver);
+        logs.close();
+        script.close();
+    }
+
+    private Object call(String declaration, boolean awaitPromise, Object... args) {
+        List<LocalValue> arguments = new ArrayList<>();
+        for (Object arg : args) {
+            arguments.add(toLocalValue(arg));
+        }
+        long start = System.nanoTime();
+        try {
+            EvaluateResult result = script.callFunctionInBrowsingContext(contextId, declaration, awaitPromise,
+                    Optional.of(arguments), Optional.empty(), Optional.of(ResultOwnership.NONE));
+            if (result instanceof EvaluateResultExceptionValue) {
+                throw new JavascriptException(
+                        ((EvaluateResultExceptionValue) result).getExceptionDetails().getText());
+            }
+            return toJava(((EvaluateResultSuccess) result).getResult(), this::element);
+        } finally {
+            FlowMetrics.global().recordCommandLatency(FlowMetrics.TRANSPORT_BIDI, System.nanoTime() - start);
+        }
+    }
+
+    private void log(String kind, String text) {
+        logEntries.addLast(kind + ": " + text);
+        while (logEntries.size() > MAX_LOG_ENTRIES) {
+            logEntries.pollFirst();
+        }
+    }
+
+    // ChromeDriver uses BiDi shared ids as classic element ids, so nodes come back as usable WebElements
+    private WebElement element(String sharedId) {
+        RemoteWebElement element = new RemoteWebElement();
+        element.setParent(driver);
+        element.setId(sharedId);
+        element.setFileDetector(driver.getFileDetector());
+        return element;
+    }
+
+    static LocalValue toLocalValue(Object value) {
+        if (value == null) {
+            return LocalValue.nullValue();
+        }
+        if (value instanceof String) {
+            return LocalValue.stringValue((String) value);
+        }
+        if (value instanceof Boolean) {
+            return LocalValue.booleanValue((Boolean) value);
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            return LocalValue.numberValue(((Number) value).longValue());
+        }
+        if (value instanceof Number) {
+            return LocalValue.numberValue(((Number) value).doubleValue());
+        }
+        if (value instanceof WebElement) {
+            WebElement element = (WebElement) value;
+            while (element instanceof WrapsElement) {
+                element = ((WrapsElement) element).getWrappedElement();
+            }
+            return LocalValue.remoteReference(RemoteReference.Type.SHARED_ID, ((RemoteWebElement) element).getId());
+        }
+        if (value instanceof Collection) {
+            List<LocalValue> items = new ArrayList<>();
+            for (Object item : (Collection<?>) value) {
+                items.add(toLocalValue(item));
+            }
+            return LocalValue.arrayValue(items);
+        }
+        if (value instanceof Map) {
+            Map<Object, LocalValue> entries = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, item) -> entries.put(String.valueOf(key), toLocalValue(item)));
+            return LocalValue.objectValue(entries);
+        }
+        throw new IllegalArgumentException("Cannot pass " + value.getClass().getName() + " to a BiDi script");
+    }
+
+    // Mirrors what executeScript returns: primitives, List, Map and WebElement
+    @SuppressWarnings("unchecked")
+    static Object toJava(RemoteValue value, Function<String, WebElement> elements) {
+        Object raw = value.getValue().orElse(null);
+        switch (value.getType()) {
+            case "undefined":
+            case "null":
+                return null;
+            case "string":
+            case "boolean":
+                return raw;
+            case "number":
+                if (raw instanceof Number) {
+                    double number = ((Number) raw).doubleValue();
+                    return number == Math.rint(number) && !Double.isInfinite(number) ? (Object) (long) number : number;
+                }
+                return raw;
+            case "node":
+                return elements.apply(value.getSharedId()
+                        .orElseThrow(() -> new JavascriptException("Node result has no shared id")));
+            case "array":
+            case "nodelist":
+            case "htmlcollection":
+            case "set":
+                List<Object> list = new ArrayList<>();
+                for (RemoteValue item : (List<RemoteValue>) raw) {
+                    list.add(toJava(item, elements));
+                }
+                return list;
+            case "object":
+            case "map":
+                Map<String, Object> map = new LinkedHashMap<>();
+                ((Map<Object, RemoteValue>) raw).forEach((key, item) -> map.put(String.valueOf(key),
+                        toJava(item, elements)));
+                return map;
+            default:
+                return raw;
+        }
+    }
+
+    private static WebDriver unwrap(WebDriver driver) {
+        WebDriver raw = driver;
+        while (raw instanceof WrapsDriver) {
+            raw = ((WrapsDriver) raw).getWrappedDriver();
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,54 @@
+package com.vrit.qa.bidi;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.bidi.script.LocalValue;
+import org.openqa.selenium.bidi.script.RemoteValue;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class BiDiSessionTest {
+    private static final Json JSON = new Json();
+
+    @Test
+    public void testArgumentsSerialiseAsBiDiLocalValues() {
+        LocalValue spec = BiDiSession.toLocalValue(Map.of("type", "present",
+                "locators", List.of(List.of("css", "form")), "expected", 2));
+        Map<String, Object> json = spec.toJson();
+        assertEquals("object", json.get("type"));
+        String serialised = JSON.toJson(json);
+        assertEquals(true, serialised.contains("\"css\""));
+        assertEquals(true, serialised.contains("\"type\": \"number\"") || serialised.contains("\"type\":\"number\""));
+        assertEquals("null", BiDiSession.toLocalValue(null).toJson().get("type"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResultsConvertLikeExecuteScript() {
+        Object result = BiDiSession.toJava(remote("{\"type\":\"object\",\"value\":["
+                + "[\"index\",{\"type\":\"number\",\"value\":1}],"
+                + "[\"labels\",{\"type\":\"array\",\"value\":[{\"type\":\"string\",\"value\":\"Nepal\"}]}],"
+                + "[\"ratio\",{\"type\":\"number\",\"value\":0.5}],"
+                + "[\"element\",{\"type\":\"node\",\"sharedId\":\"f.1.d.2.e.3\",\"value\":{\"nodeType\":1}}]]}"),
+                sharedId -> null);
+        Map<String, Object> map = (Map<String, Object>) result;
+        assertEquals(1L, map.get("index"));
+        assertEquals(List.of("Nepal"), map.get("labels"));
+        assertEquals(0.5, map.get("ratio"));
+        assertNull(map.get("element"));
+        assertNull(BiDiSession.toJava(remote("{\"type\":\"undefined\"}"), sharedId -> null));
+        assertEquals(true, BiDiSession.toJava(remote("{\"type\":\"boolean\",\"value\":true}"), sharedId -> null));
+    }
+
+    private static RemoteValue remote(String json) {
+        try (JsonInput input = JSON.newInput(new StringReader(json))) {
+            return RemoteValue.fromJson(input);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.vrit.qa.bidi;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.driver.DriverFactory;
+import com.vrit.qa.flow.RegistrationFlow;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+import com.vrit.qa.inbox.InboxProviders;
+import com.vrit.qa.metrics.FlowMetrics;
+import com.vrit.qa.metrics.LatencySummary;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the same registrations over each transport and compares per-command latency.
+// mvn test -Dtest=TransportBenchmarkTest -Dbenchmark.transport=true -Dapp.target=local -Dbenchmark.runs=5
+@EnabledIfSystemProperty(named = "benchmark.transport", matches = "true")
+public class TransportBenchmarkTest {
+    private static final String[] TRANSPORTS = { "classic", "bidi" };
+
+    @Test
+    public void testClassicVersusBiDi() throws IOException {
+        int runs = HarnessConfig.getInt("benchmark.runs", 3);
+        FlowMetrics metrics = FlowMetrics.global();
+        String original = System.getProperty("driver.transport");
+        JSONObject report = new JSONObject().put("runs", runs).put("app", RegistrationFlow.registrationUrl());
+        try {
+            for (String transport : TRANSPORTS) {
+                System.setProperty("driver.transport", transport);
+                WebDriver driver = DriverFactory.createChrome();
+                List<Long> flowMs = new ArrayList<>();
+                try {
+                    // Warm-up registration so browser start-up and first-load costs stay out of the sample
+                    register(driver);
+                    metrics.resetCommandLatency();
+                    for (int i = 0; i < runs; i++) {
+                        long start = System.nanoTime();
+                        register(driver);
+                        flowMs.add((System.nanoTime() - start) / 1_000_000);
+                    }
+                } finally {
+                    BiDiSession.release(driver);
+                    DriverFactory.quit(driver);
+                }
+                FlowMetrics.Timer commands = metrics.getCommandLatencyTotal();
+                JSONObject leg = new JSONObject()
+                        .put("commands", commands.getCount())
+                        .put("command_p50_ms", commands.getPercentileMicros(50) / 1_000.0)
+                        .put("command_p99_ms", commands.getPercentileMicros(99) / 1_000.0)
+                        .put("flow_p50_ms", new LatencySummary(flowMs).percentile(50));
+                metrics.getCommandLatency().forEach((kind, timer) -> leg.put(kind + "_commands", timer.getCount()));
+                report.put(transport, leg);
+                System.out.println(String.format(Locale.ROOT,
+                        "%-7s commands=%d command p50=%.2fms p99=%.2fms flow %s", transport, commands.getCount(),
+                        commands.getPercentileMicros(50) / 1_000.0, commands.getPercentileMicros(99) / 1_000.0,
+                        new LatencySummary(flowMs)));
+            }
+        } finally {
+            if (original == null) {
+                System.clearProperty("driver.transport");
+            } else {
+                System.setProperty("driver.transport", original);
+            }
+        }
+        Path dir = Paths.get(HarnessConfig.getString("metrics.dir", "target/metrics"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("transport-benchmark.json"), report.toString(2), StandardCharsets.UTF_8);
+        assertTrue(report.getJSONObject("bidi").getLong("commands") > 0, "No commands recorded over BiDi");
+    }
+
+    private static void register(WebDriver driver) {
+        InboxProvider inbox = InboxProviders.forSession(driver);
+        RegistrationFlow flow = new RegistrationFlow(driver, RegistrationIdentity.next(inbox), inbox);
+        flow.open(RegistrationFlow.registrationUrl());
+        flow.run();
+        driver.manage().deleteAllCookies();
+        driver.get("about:blank");
+    }
+}
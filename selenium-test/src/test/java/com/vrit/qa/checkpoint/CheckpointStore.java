@@ -0,0 +1,93 @@
+package com.vrit.qa.checkpoint;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.log.EventLog;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * On-disk checkpoints, one JSON file per step. Saving a step replaces its
+ * previous checkpoint; a checkpoint older than the maximum age, or taken
+ * against another origin, is treated as missing.
+ */
+public class CheckpointStore {
+    private static CheckpointStore shared;
+
+    private final Path dir;
+    private final Duration maxAge;
+
+    public CheckpointStore(Path dir, Duration maxAge) {
+        this.dir = dir;
+        this.maxAge = maxAge;
+    }
+
+    public static synchronized CheckpointStore shared() {
+        if (shared == null) {
+            shared = new CheckpointStore(
+                    Paths.get(HarnessConfig.getString("checkpoint.dir", ".harness/checkpoints")),
+                    Duration.ofMinutes(HarnessConfig.getLong("checkpoint.maxAgeMinutes", 30)));
+        }
+        return shared;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public synchronized void save(SessionCheckpoint checkpoint) {
+        Path file = file(checkpoint.getStep());
+        try {
+            Files.createDirectories(dir);
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, checkpoint.toJson().toString(2), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save checkpoint " + checkpoint.getStep() + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized Optional<SessionCheckpoint> load(String step, String origin) {
+        Path file = file(step);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        SessionCheckpoint checkpoint;
+        try {
+            checkpoint = SessionCheckpoint.fromJson(new JSONObject(Files.readString(file, StandardCharsets.UTF_8)));
+        } catch (IOException | JSONException | IllegalArgumentException e) {
+            EventLog.global().warn("Ignoring unreadable checkpoint {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+        if (!checkpoint.getOrigin().equals(origin)) {
+            EventLog.global().info("Ignoring checkpoint {} taken against {}", step, checkpoint.getOrigin());
+            return Optional.empty();
+        }
+        if (checkpoint.getCreatedAt().plus(maxAge).isBefore(Instant.now())) {
+            EventLog.global().info("Ignoring expired checkpoint {} from {}", step, checkpoint.getCreatedAt());
+            return Optional.empty();
+        }
+        return Optional.of(checkpoint);
+    }
+
+    public synchronized void delete(String step) {
+        try {
+            Files.deleteIfExists(file(step));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete checkpoint " + step + ": " + e.getMessage());
+        }
+    }
+
+    private Path file(String step) {
+        return dir.resolve(step.replaceAll("[^A-Za-z0-9_.-]", "_") + ".json");
+    }
+}
@@ -0,0 +1,75 @@
+package com.vrit.qa.checkpoint;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.Cookie;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CheckpointStoreTest {
+    private static final String ORIGIN = "https://authorized-partner.netlify.app";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRoundTrip() {
+        CheckpointStore store = new CheckpointStore(dir, Duration.ofMinutes(30));
+        Date expiry = new Date((System.currentTimeMillis() / 1000 + 3600) * 1000);
+        Cookie session = new Cookie.Builder("session", "abc").domain("authorized-partner.netlify.app").path("/")
+                .isSecure(true).isHttpOnly(true).expiresOn(expiry).sameSite("Lax").build();
+        store.save(checkpoint("experience", Instant.now(), List.of(session)));
+
+        SessionCheckpoint loaded = store.load("experience", ORIGIN).orElseThrow();
+        assertEquals(ORIGIN + "/register", loaded.getUrl());
+        assertEquals(Map.of("token", "t-1"), loaded.getLocalStorage());
+        assertEquals(Map.of("partner.registration.step", "business"), loaded.getSessionStorage());
+        Cookie cookie = loaded.getCookies().get(0);
+        assertEquals("abc", cookie.getValue());
+        assertTrue(cookie.isHttpOnly());
+        assertEquals(expiry, cookie.getExpiry());
+        assertEquals("Lax", cookie.getSameSite());
+    }
+
+    @Test
+    public void testSaveReplacesPreviousCheckpointForStep() {
+        CheckpointStore store = new CheckpointStore(dir, Duration.ofMinutes(30));
+        Instant first = Instant.now().minusSeconds(60);
+        store.save(checkpoint("agency", first, List.of()));
+        store.save(checkpoint("agency", Instant.now(), List.of()));
+        assertTrue(store.load("agency", ORIGIN).orElseThrow().getCreatedAt().isAfter(first));
+    }
+
+    @Test
+    public void testExpiredOrForeignCheckpointsAreIgnored() {
+        CheckpointStore store = new CheckpointStore(dir, Duration.ofMinutes(30));
+        store.save(checkpoint("agency", Instant.now().minus(Duration.ofHours(1)), List.of()));
+        assertFalse(store.load("agency", ORIGIN).isPresent());
+
+        store.save(checkpoint("experience", Instant.now(), List.of()));
+        assertFalse(store.load("experience", "http://127.0.0.1:8080").isPresent());
+        assertFalse(store.load("otp_verify", ORIGIN).isPresent());
+    }
+
+    @Test
+    public void testCorruptFileIsIgnored() throws Exception {
+        CheckpointStore store = new CheckpointStore(dir, Duration.ofMinutes(30));
+        Files.writeString(dir.resolve("terms.json"), "{not json");
+        assertFalse(store.load("terms", ORIGIN).isPresent());
+    }
+
+    private static SessionCheckpoint checkpoint(String step, Instant createdAt, List<Cookie> cookies) {
+        return new SessionCheckpoint(step, ORIGIN + "/register", ORIGIN, cookies, Map.of("token", "t-1"),
+                Map.of("partner.registration.step", "business"), createdAt);
+    }
+}
@@ -0,0 +1,129 @@
+package com.vrit.qa.checkpoint;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.Cookie;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser state captured after a registration step: cookies, localStorage,
+ * sessionStorage and the URL the step left the browser on.
+ */
+public final class SessionCheckpoint {
+    private final String step;
+    private final String url;
+    private final String origin;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant createdAt;
+
+    public SessionCheckpoint(String step, String url, String origin, List<Cookie> cookies,
+            Map<String, String> localStorage, Map<String, String> sessionStorage, Instant createdAt) {
+        this.step = step;
+        this.url = url;
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+        this.createdAt = createdAt;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    JSONObject toJson() {
+        JSONArray cookieArray = new JSONArray();
+        for (Cookie cookie : cookies) {
+            JSONObject json = new JSONObject()
+                    .put("name", cookie.getName())
+                    .put("value", cookie.getValue())
+                    .put("path", cookie.getPath())
+                    .put("secure", cookie.isSecure())
+                    .put("httpOnly", cookie.isHttpOnly());
+            if (cookie.getDomain() != null) {
+                json.put("domain", cookie.getDomain());
+            }
+            if (cookie.getExpiry() != null) {
+                json.put("expiry", cookie.getExpiry().getTime());
+            }
+            if (cookie.getSameSite() != null) {
+                json.put("sameSite", cookie.getSameSite());
+            }
+            cookieArray.put(json);
+        }
+        return new JSONObject()
+                .put("step", step)
+                .put("url", url)
+                .put("origin", origin)
+                .put("createdAt", createdAt.toString())
+                .put("cookies", cookieArray)
+                .put("localStorage", new JSONObject(localStorage))
+                .put("sessionStorage", new JSONObject(sessionStorage));
+    }
+
+    static SessionCheckpoint fromJson(JSONObject json) {
+        List<Cookie> cookies = new ArrayList<>();
+        JSONArray cookieArray = json.getJSONArray("cookies");
+        for (int i = 0; i < cookieArray.length(); i++) {
+            JSONObject cookie = cookieArray.getJSONObject(i);
+            cookies.add(new Cookie.Builder(cookie.getString("name"), cookie.getString("value"))
+                    .domain(cookie.optString("domain", null))
+                    .path(cookie.optString("path", "/"))
+                    .isSecure(cookie.optBoolean("secure"))
+                    .isHttpOnly(cookie.optBoolean("httpOnly"))
+                    .expiresOn(cookie.has("expiry") ? new Date(cookie.getLong("expiry")) : null)
+                    .sameSite(cookie.optString("sameSite", null))
+                    .build());
+        }
+        return new SessionCheckpoint(json.getString("step"), json.getString("url"), json.getString("origin"),
+                cookies, toMap(json.getJSONObject("localStorage")), toMap(json.getJSONObject("sessionStorage")),
+                Instant.parse(json.getString("createdAt")));
+    }
+
+    private static Map<String, String> toMap(JSONObject json) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String key : json.keySet()) {
+            map.put(key, json.getString(key));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "checkpoint after " + step + " at " + url + " (" + cookies.size() + " cookies, "
+                + localStorage.size() + " localStorage, " + sessionStorage.size() + " sessionStorage, " + createdAt + ")";
+    }
+}
@@ -0,0 +1,136 @@
+package com.vrit.qa.checkpoint;
+
+import com.vrit.qa.log.EventLog;
+import org.json.JSONObject;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captures and restores {@link SessionCheckpoint}s. On Chromium a restore is
+ * a single navigation: cookies go in through CDP and storage is seeded by a
+ * script that runs before the page's own scripts.
+ */
+public final class SessionCheckpoints {
+    private static final String READ_STORAGE_SCRIPT = """
+            function dump(storage) {
+                var out = {};
+                for (var i = 0; i < storage.length; i++) {
+                    var key = storage.key(i);
+                    out[key] = storage.getItem(key);
+                }
+                return out;
+            }
+            return { local: dump(window.localStorage), session: dump(window.sessionStorage) };
+            """;
+
+    private static final String WRITE_STORAGE_SCRIPT = """
+            var local = arguments[0], session = arguments[1];
+            Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });
+            Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });
+            """;
+
+    private SessionCheckpoints() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static SessionCheckpoint capture(WebDriver driver, String step) {
+        String url = driver.getCurrentUrl();
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(READ_STORAGE_SCRIPT);
+        return new SessionCheckpoint(step, url, origin(url), new ArrayList<>(driver.manage().getCookies()),
+                strings((Map<String, Object>) storage.get("local")),
+                strings((Map<String, Object>) storage.get("session")),
+                Instant.now());
+    }
+
+    public static void restore(WebDriver driver, SessionCheckpoint checkpoint) {
+        if (driver instanceof HasCdp) {
+            restoreWithCdp((HasCdp) driver, driver, checkpoint);
+        } else {
+            restoreByNavigation(driver, checkpoint);
+        }
+        EventLog.global().info("Restored {}", checkpoint);
+    }
+
+    private static void restoreWithCdp(HasCdp cdp, WebDriver driver, SessionCheckpoint checkpoint) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : checkpoint.getCookies()) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("name", cookie.getName());
+            params.put("value", cookie.getValue());
+            params.put("path", cookie.getPath());
+            params.put("secure", cookie.isSecure());
+            params.put("httpOnly", cookie.isHttpOnly());
+            if (cookie.getDomain() != null) {
+                params.put("domain", cookie.getDomain());
+            } else {
+                params.put("url", checkpoint.getOrigin());
+            }
+            if (cookie.getExpiry() != null) {
+                params.put("expires", cookie.getExpiry().getTime() / 1000.0);
+            }
+            if (cookie.getSameSite() != null) {
+                params.put("sameSite", cookie.getSameSite());
+            }
+            cookies.add(params);
+        }
+        if (!cookies.isEmpty()) {
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", cookies));
+        }
+        // Seeds storage on the checkpoint's origin before any app script reads it, then unregisters itself
+        String seed = "(function () {\n"
+                + "if (window.location.origin !== " + JSONObject.quote(checkpoint.getOrigin()) + ") return;\n"
+                + "var local = " + new JSONObject(checkpoint.getLocalStorage()) + ";\n"
+                + "var session = " + new JSONObject(checkpoint.getSessionStorage()) + ";\n"
+                + "Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });\n"
+                + "Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });\n"
+                + "})();";
+        Map<String, Object> added = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", seed));
+        try {
+            driver.get(checkpoint.getUrl());
+        } finally {
+            cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+                    Map.of("identifier", added.get("identifier")));
+        }
+    }
+
+    // Without CDP, cookies and storage can only be written once the origin is loaded
+    private static void restoreByNavigation(WebDriver driver, SessionCheckpoint checkpoint) {
+        driver.get(checkpoint.getOrigin());
+        for (Cookie cookie : checkpoint.getCookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT,
+                checkpoint.getLocalStorage(), checkpoint.getSessionStorage());
+        driver.get(checkpoint.getUrl());
+    }
+
+    // Drops the cookies and storage a restore left on the current origin, so the next visit starts a fresh flow
+    public static void clear(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+    }
+
+    public static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+
+    private static Map<String, String> strings(Map<String, Object> values) {
+        Map<String, String> result = new HashMap<>();
+        if (values != null) {
+            values.forEach((key, value) -> result.put(key, String.valueOf(value)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.vrit.qa.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Harness settings read from {@code harness.properties} on the test classpath,
+ * with system properties taking precedence.
+ */
+public final class HarnessConfig {
+    private static final Properties DEFAULTS = load();
+
+    private HarnessConfig() {
+    }
+
+    public static String getString(String key, String fallback) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = DEFAULTS.getProperty(key);
+        }
+        return value == null || value.isBlank() ? fallback : value.trim();
+    }
+
+    public static int getInt(String key, int fallback) {
+        String value = getString(key, null);
+        try {
+            return value == null ? fallback : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + key + ": " + value);
+        }
+    }
+
+    public static long getLong(String key, long fallback) {
+        String value = getString(key, null);
+        try {
+            return value == null ? fallback : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value);
+        }
+    }
+
+    public static double getDouble(String key, double fallback) {
+        String value = getString(key, null);
+        try {
+            return value == null ? fallback : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value);
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean fallback) {
+        String value = getString(key, null);
+        return value == null ? fallback : Boolean.parseBoolean(value);
+    }
+
+    public static Duration getSeconds(String key, long fallbackSeconds) {
+        return Duration.ofSeconds(getLong(key, fallbackSeconds));
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = HarnessConfig.class.getClassLoader().getResourceAsStream("harness.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read harness.properties: " + e.getMessage(), e);
+        }
+        return properties;
+    }
+}
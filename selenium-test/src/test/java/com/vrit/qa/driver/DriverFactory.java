@@ -0,0 +1,166 @@
+package com.vrit.qa.driver;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.network.NetworkInterception;
+import com.vrit.qa.resource.ResourceScheduler;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Creates browser sessions. Driver binary resolution happens once per JVM
+ * instead of once per session.
+ */
+public final class DriverFactory {
+    private static volatile boolean driverResolved;
+    // What each created session needs undone when it is quit: its network interceptor and resource slot
+    private static final Map<WebDriver, Runnable> CLEANUP = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private DriverFactory() {
+    }
+
+    public static WebDriver createChrome() {
+        resolveDriverBinary();
+        // Waits until the host has memory and CPU to spare for one more browser
+        ResourceScheduler resources = ResourceScheduler.shared();
+        resources.admit();
+        WebDriver driver;
+        try {
+            driver = new ChromeDriver(chromeOptions());
+        } catch (RuntimeException e) {
+            resources.cancel();
+            throw e;
+        }
+        resources.register(driver);
+        return setUp(driver, () -> resources.release(driver));
+    }
+
+    // A Chrome session on a Selenium Grid. The extra capabilities are merged into the Chrome options, e.g. to
+    // pin the session to one node's stereotype; the client factory decides where each command is sent.
+    public static WebDriver createRemoteChrome(URI grid, Map<String, Object> capabilities,
+            HttpClient.Factory clients) {
+        ChromeOptions options = chromeOptions();
+        capabilities.forEach(options::setCapability);
+        ClientConfig config = ClientConfig.defaultConfig().baseUri(grid).readTimeout(Duration.ofMinutes(3));
+        RemoteWebDriver remote = new RemoteWebDriver(new HttpCommandExecutor(Map.of(), config, clients), options);
+        // DevTools and BiDi need the augmented driver; both connect through the grid's socket proxy
+        WebDriver driver = new Augmenter().augment(remote);
+        return setUp(driver, () -> {
+        });
+    }
+
+    // Quits a browser, first closing what createChrome or createRemoteChrome attached to it
+    public static void quit(WebDriver driver) {
+        Runnable cleanup = CLEANUP.remove(driver);
+        try {
+            if (cleanup != null) {
+                cleanup.run();
+            }
+        } finally {
+            driver.quit();
+        }
+    }
+
+    // A browser whose setup fails after it started is quit here; nobody else holds a reference to it
+    private static WebDriver setUp(WebDriver driver, Runnable release) {
+        NetworkInterceptor interceptor;
+        try {
+            if (!isLean()) {
+                driver.manage().window().maximize();
+            }
+            // Blocks or caches non-essential requests for the life of the session when network.mode is set
+            interceptor = NetworkInterception.install(driver);
+        } catch (RuntimeException e) {
+            release.run();
+            try {
+                driver.quit();
+            } catch (RuntimeException quitFailure) {
+                e.addSuppressed(quitFailure);
+            }
+            throw e;
+        }
+        CLEANUP.put(driver, () -> {
+            try {
+                if (interceptor != null) {
+                    interceptor.close();
+                }
+            } finally {
+                release.run();
+            }
+        });
+        return driver;
+    }
+
+    private static ChromeOptions chromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        // Keeps console output readable through the classic logs endpoint for failure artifacts
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        if (BiDiSession.enabled()) {
+            // Asks ChromeDriver for a WebDriver BiDi WebSocket next to the classic HTTP endpoint
+            options.setCapability("webSocketUrl", true);
+        }
+        if (isLean()) {
+            addLeanArguments(options);
+        }
+        return options;
+    }
+
+    // driver.profile=lean: headless at a fixed viewport with background work switched off
+    private static boolean isLean() {
+        return "lean".equals(HarnessConfig.getString("driver.profile", "standard"));
+    }
+
+    // Trades the visible, maximized window for memory: no GPU process, no extensions, no component or
+    // sync traffic, and one disk cache shared by every session instead of one per temporary profile
+    private static void addLeanArguments(ChromeOptions options) {
+        Path cache = Paths.get(HarnessConfig.getString("driver.diskCacheDir", ".harness/chrome-cache"))
+                .toAbsolutePath();
+        options.addArguments(
+                "--headless=new",
+                "--window-size=" + HarnessConfig.getString("driver.windowSize", "1280,800"),
+                "--disable-gpu",
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-sync",
+                "--disable-features=Translate,OptimizationHints,MediaRouter,BackForwardCache",
+                "--no-first-run",
+                "--mute-audio",
+                "--disk-cache-dir=" + cache,
+                "--disk-cache-size=" + HarnessConfig.getLong("driver.diskCacheMb", 256) * 1024 * 1024);
+    }
+
+    private static void resolveDriverBinary() {
+        if (driverResolved) {
+            return;
+        }
+        synchronized (DriverFactory.class) {
+            if (!driverResolved) {
+                WebDriverManager.chromedriver().setup();
+                driverResolved = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.vrit.qa.driver;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.flow.RegistrationFlow;
+import com.vrit.qa.log.EventLog;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a fixed number of started browsers and leases them out. A released
+ * browser is reset in place (cookies, storage, extra windows) and only
+ * restarted when it stops responding or has served its maximum leases.
+ */
+public class DriverPool implements AutoCloseable {
+    private final Supplier<WebDriver> factory;
+    private final int size;
+    private final int maxLeasesPerBrowser;
+    private final Duration leaseTimeout;
+    private final String warmUpUrl;
+    private final BlockingQueue<PooledDriver> idle = new LinkedBlockingQueue<>();
+    private final Set<PooledDriver> all = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile boolean closed;
+
+    public DriverPool(Supplier<WebDriver> factory, int size, int maxLeasesPerBrowser, Duration leaseTimeout,
+            boolean warmUp, String warmUpUrl) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.factory = factory;
+        this.size = size;
+        this.maxLeasesPerBrowser = maxLeasesPerBrowser;
+        this.leaseTimeout = leaseTimeout;
+        this.warmUpUrl = warmUpUrl;
+        if (warmUp) {
+            warmUp();
+        }
+    }
+
+    public static DriverPool fromConfig(Supplier<WebDriver> factory) {
+        return new DriverPool(factory,
+                HarnessConfig.getInt("pool.size", 1),
+                HarnessConfig.getInt("pool.maxLeasesPerBrowser", 20),
+                HarnessConfig.getSeconds("pool.leaseTimeoutSeconds", 120),
+                HarnessConfig.getBoolean("pool.warmUp", true),
+                HarnessConfig.getString("pool.warmUpUrl", RegistrationFlow.registrationUrl()));
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    public PooledDriver lease() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool is closed");
+        }
+        try {
+            PooledDriver pooled = idle.poll();
+            if (pooled == null && created.get() < size) {
+                pooled = startIfCapacity();
+            }
+            if (pooled == null) {
+                pooled = idle.poll(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (pooled == null) {
+                throw new IllegalStateException("No browser became available within " + leaseTimeout.toSeconds() + "s");
+            }
+            if (!isHealthy(pooled)) {
+                EventLog.global().warn("Pooled browser unhealthy on lease, restarting");
+                pooled = replace(pooled);
+            }
+            pooled.markLeased();
+            return pooled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser", e);
+        }
+    }
+
+    public void release(PooledDriver pooled) {
+        if (closed) {
+            quit(pooled);
+            return;
+        }
+        if (pooled.getLeases() >= maxLeasesPerBrowser) {
+            EventLog.global().info("Pooled browser reached {} leases, restarting", pooled.getLeases());
+            restart(pooled);
+            return;
+        }
+        try {
+            reset(pooled.getDriver());
+            idle.add(pooled);
+        } catch (Exception e) {
+            EventLog.global().warn("Pooled browser reset failed, restarting: {}", e.getMessage());
+            restart(pooled);
+        }
+    }
+
+    // Called from the caller's finally block: a browser that fails to start must not mask the test's own failure.
+    // Its capacity is freed by replace(), so the next lease starts one again.
+    private void restart(PooledDriver pooled) {
+        try {
+            idle.add(replace(pooled));
+        } catch (RuntimeException e) {
+            EventLog.global().warn("Failed to restart pooled browser: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (PooledDriver pooled : all) {
+            quit(pooled);
+        }
+        all.clear();
+        idle.clear();
+    }
+
+    private void warmUp() {
+        List<CompletableFuture<PooledDriver>> starting = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            starting.add(CompletableFuture.supplyAsync(this::startIfCapacity));
+        }
+        // Every start is awaited before giving up, so none finishes after the browsers are quit
+        List<PooledDriver> ready = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<PooledDriver> future : starting) {
+            try {
+                PooledDriver pooled = future.join();
+                if (pooled != null) {
+                    ready.add(pooled);
+                }
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure == null && warmUpUrl != null) {
+            try {
+                for (PooledDriver pooled : ready) {
+                    // Primes DNS, TLS and the HTTP cache for the first real lease
+                    pooled.getDriver().get(warmUpUrl);
+                    reset(pooled.getDriver());
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            // The constructor throws, so no caller will ever close this pool and quit them
+            ready.forEach(this::quit);
+            throw failure;
+        }
+        idle.addAll(ready);
+        EventLog.global().info("Driver pool warmed up with {} browser(s)", idle.size());
+    }
+
+    private PooledDriver startIfCapacity() {
+        if (created.incrementAndGet() > size) {
+            created.decrementAndGet();
+            return null;
+        }
+        try {
+            return register(factory.get());
+        } catch (RuntimeException e) {
+            created.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private PooledDriver replace(PooledDriver pooled) {
+        quit(pooled);
+        try {
+            return register(factory.get());
+        } catch (RuntimeException e) {
+            // The old browser is gone either way; give its slot back so the pool does not shrink
+            created.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private PooledDriver register(WebDriver driver) {
+        PooledDriver pooled = new PooledDriver(driver);
+        all.add(pooled);
+        return pooled;
+    }
+
+    private void quit(PooledDriver pooled) {
+        all.remove(pooled);
+        try {
+            BiDiSession.release(pooled.getDriver());
+            DriverFactory.quit(pooled.getDriver());
+        } catch (Exception e) {
+            EventLog.global().warn("Failed to quit pooled browser: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isHealthy(PooledDriver pooled) {
+        try {
+            return !pooled.getDriver().getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // Brings a used browser back to a blank state without restarting it
+    static void reset(WebDriver driver) {
+        String keep = null;
+        for (String handle : driver.getWindowHandles()) {
+            if (keep == null) {
+                keep = handle;
+                continue;
+            }
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        driver.switchTo().window(keep);
+
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            String origin = currentOrigin(driver);
+            if (origin.startsWith("http")) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of(
+                        "origin", origin,
+                        "storageTypes", "local_storage,indexeddb,websql,service_workers,cache_storage"));
+            }
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        // sessionStorage belongs to the tab and no CDP storage type clears it, so clear it while still on the
+        // origin; the stand-in resumes its wizard from there
+        ((JavascriptExecutor) driver).executeScript(
+                "try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+        driver.get("about:blank");
+    }
+
+    private static String currentOrigin(WebDriver driver) {
+        Object origin = ((JavascriptExecutor) driver).executeScript("return window.location.origin;");
+        return origin == null ? "null" : origin.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.vrit.qa.driver;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Hands each test a browser leased from a run-wide {@link DriverPool} and
+ * returns it after the test. Inject it as a {@code WebDriver} parameter of
+ * {@code @BeforeEach} or {@code @Test} methods.
+ */
+public class DriverPoolExtension implements ParameterResolver, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(DriverPoolExtension.class);
+    private static final String POOL_KEY = "pool";
+    private static final String LEASE_KEY = "lease";
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
+            throws ParameterResolutionException {
+        return parameterContext.getParameter().getType() == WebDriver.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
+            throws ParameterResolutionException {
+        // @BeforeEach and @Test of the same test share one lease
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        PooledDriver lease = store.getOrComputeIfAbsent(LEASE_KEY, key -> pool(extensionContext).lease(),
+                PooledDriver.class);
+        return lease.getDriver();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        PooledDriver lease = context.getStore(NAMESPACE).remove(LEASE_KEY, PooledDriver.class);
+        if (lease != null) {
+            pool(context).release(lease);
+        }
+    }
+
+    private static DriverPool pool(ExtensionContext context) {
+        // Stored in the root context so the pool lives for the whole run and closes at the end of it
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(POOL_KEY, key -> new ClosablePool(DriverPool.fromConfig(DriverFactory::createChrome)),
+                        ClosablePool.class)
+                .pool;
+    }
+
+    private static final class ClosablePool implements ExtensionContext.Store.CloseableResource {
+        private final DriverPool pool;
+
+        private ClosablePool(DriverPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void close() {
+            pool.close();
+        }
+    }
+}
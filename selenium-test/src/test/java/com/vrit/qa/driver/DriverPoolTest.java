@@ -0,0 +1,194 @@
+package com.vrit.qa.driver;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DriverPoolTest {
+    private final List<StubBrowser> started = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean failStarts = new AtomicBoolean();
+    private final AtomicBoolean startWithCdp = new AtomicBoolean();
+
+    @Test
+    public void testWarmUpStartsAllBrowsersAhead() {
+        try (DriverPool pool = new DriverPool(this::start, 3, 10, Duration.ofSeconds(1), true, null)) {
+            assertEquals(3, started.size());
+            pool.lease();
+            assertEquals(3, started.size());
+        }
+        assertTrue(started.stream().allMatch(b -> b.quit.get()));
+    }
+
+    @Test
+    public void testFailedWarmUpQuitsTheBrowsersThatStarted() {
+        AtomicInteger starts = new AtomicInteger();
+        Supplier<WebDriver> factory = () -> {
+            if (starts.incrementAndGet() == 2) {
+                throw new IllegalStateException("chrome failed to start");
+            }
+            return start();
+        };
+        assertThrows(RuntimeException.class,
+                () -> new DriverPool(factory, 3, 10, Duration.ofSeconds(1), true, null));
+        assertEquals(2, started.size());
+        assertTrue(started.stream().allMatch(b -> b.quit.get()));
+    }
+
+    @Test
+    public void testReleasedBrowserIsResetAndReused() {
+        try (DriverPool pool = new DriverPool(this::start, 1, 10, Duration.ofSeconds(1), false, null)) {
+            PooledDriver first = pool.lease();
+            pool.release(first);
+            PooledDriver second = pool.lease();
+            assertSame(first, second);
+            assertEquals(2, second.getLeases());
+            assertEquals("about:blank", started.get(0).lastUrl);
+        }
+    }
+
+    @Test
+    public void testSessionStorageClearedBetweenLeases() {
+        for (boolean cdp : new boolean[] {false, true}) {
+            started.clear();
+            startWithCdp.set(cdp);
+            try (DriverPool pool = new DriverPool(this::start, 1, 10, Duration.ofSeconds(1), false, null)) {
+                PooledDriver first = pool.lease();
+                started.get(0).sessionStorage.put("partner.registration.step", "done");
+                pool.release(first);
+                pool.lease();
+                assertTrue(started.get(0).sessionStorage.isEmpty(), "cdp=" + cdp);
+            }
+        }
+    }
+
+    @Test
+    public void testBrowserRestartedAfterMaxLeases() {
+        try (DriverPool pool = new DriverPool(this::start, 1, 2, Duration.ofSeconds(1), false, null)) {
+            PooledDriver lease = pool.lease();
+            pool.release(lease);
+            lease = pool.lease();
+            pool.release(lease);
+            PooledDriver fresh = pool.lease();
+            assertNotSame(lease, fresh);
+            assertTrue(started.get(0).quit.get());
+            assertEquals(2, started.size());
+        }
+    }
+
+    @Test
+    public void testUnhealthyBrowserReplacedOnLease() {
+        try (DriverPool pool = new DriverPool(this::start, 1, 10, Duration.ofSeconds(1), false, null)) {
+            PooledDriver lease = pool.lease();
+            pool.release(lease);
+            started.get(0).crashed.set(true);
+            PooledDriver fresh = pool.lease();
+            assertNotSame(lease, fresh);
+            assertEquals(1, fresh.getLeases());
+        }
+    }
+
+    @Test
+    public void testFailedRestartFreesItsSlot() {
+        try (DriverPool pool = new DriverPool(this::start, 1, 1, Duration.ofMillis(50), false, null)) {
+            PooledDriver lease = pool.lease();
+            failStarts.set(true);
+            // Max leases reached: the restart fails, but release must not throw into the caller's finally block
+            pool.release(lease);
+            assertEquals(0, pool.getCreatedCount());
+
+            failStarts.set(false);
+            PooledDriver fresh = pool.lease();
+            assertNotSame(lease, fresh);
+            assertEquals(2, started.size());
+        }
+    }
+
+    @Test
+    public void testLeaseTimesOutWhenExhausted() {
+        try (DriverPool pool = new DriverPool(this::start, 1, 10, Duration.ofMillis(50), false, null)) {
+            pool.lease();
+            assertThrows(IllegalStateException.class, pool::lease);
+        }
+    }
+
+    private WebDriver start() {
+        if (failStarts.get()) {
+            throw new IllegalStateException("chrome failed to start");
+        }
+        StubBrowser browser = new StubBrowser(startWithCdp.get());
+        started.add(browser);
+        return browser.driver;
+    }
+
+    // Just enough of a WebDriver for the pool's lease/reset/health paths
+    private static final class StubBrowser {
+        private final AtomicBoolean quit = new AtomicBoolean();
+        private final AtomicBoolean crashed = new AtomicBoolean();
+        private final Map<String, String> sessionStorage = new HashMap<>();
+        private String lastUrl = "http://127.0.0.1:8080/register";
+        private final WebDriver driver;
+
+        private StubBrowser(boolean cdp) {
+            Class<?>[] interfaces = cdp
+                    ? new Class<?>[] { WebDriver.class, JavascriptExecutor.class, HasCdp.class }
+                    : new Class<?>[] { WebDriver.class, JavascriptExecutor.class };
+            driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), interfaces,
+                    (proxy, method, args) -> {
+                    if (crashed.get() && !method.getName().equals("quit")) {
+                        throw new IllegalStateException("browser crashed");
+                    }
+                    switch (method.getName()) {
+                        case "getWindowHandles":
+                            return Set.of("main");
+                        case "switchTo":
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                    new Class<?>[] { WebDriver.TargetLocator.class }, (p, m, a) -> proxy);
+                        case "manage":
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                    new Class<?>[] { WebDriver.Options.class }, (p, m, a) -> null);
+                        case "get":
+                            lastUrl = (String) args[0];
+                            return null;
+                        case "executeScript":
+                            String script = (String) args[0];
+                            if (script.contains("window.location.origin")) {
+                                return lastUrl.startsWith("http") ? "http://127.0.0.1:8080" : "null";
+                            }
+                            if (script.contains("sessionStorage.clear()")) {
+                                sessionStorage.clear();
+                            }
+                            return null;
+                        case "executeCdpCommand":
+                            return Map.of();
+                        case "quit":
+                            quit.set(true);
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        }
+    }
+}
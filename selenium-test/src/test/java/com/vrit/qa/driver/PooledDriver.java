@@ -0,0 +1,33 @@
+package com.vrit.qa.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A browser owned by a {@link DriverPool}, with the bookkeeping the pool needs
+ * to decide when to recycle it.
+ */
+public class PooledDriver {
+    private final WebDriver driver;
+    private final long createdAt = System.nanoTime();
+    private int leases;
+
+    PooledDriver(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public int getLeases() {
+        return leases;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    void markLeased() {
+        leases++;
+    }
+}
@@ -0,0 +1,41 @@
+package com.vrit.qa.flow;
+
+import com.vrit.qa.driver.DriverPool;
+import com.vrit.qa.driver.PooledDriver;
+import com.vrit.qa.inbox.InboxProvider;
+import com.vrit.qa.inbox.InboxProviders;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Function;
+
+/**
+ * One registration on a browser: the session's inbox, a fresh identity and
+ * the caller's work. Setup runs inside the same try as the work, so a pooled
+ * browser goes back to its pool whichever step fails.
+ */
+public final class LeasedRegistration {
+    private LeasedRegistration() {
+    }
+
+    public static <T> T run(DriverPool pool, Function<InboxProvider, RegistrationIdentity> identities,
+            Body<T> body) throws Exception {
+        PooledDriver lease = pool.lease();
+        try {
+            return inSession(lease.getDriver(), identities, body);
+        } finally {
+            pool.release(lease);
+        }
+    }
+
+    // For a browser the caller starts and quits itself, e.g. a remote grid session
+    public static <T> T inSession(WebDriver driver, Function<InboxProvider, RegistrationIdentity> identities,
+            Body<T> body) throws Exception {
+        InboxProvider inbox = InboxProviders.forSession(driver);
+        return body.run(driver, identities.apply(inbox), inbox);
+    }
+
+    @FunctionalInterface
+    public interface Body<T> {
+        T run(WebDriver driver, RegistrationIdentity identity, InboxProvider inbox) throws Exception;
+    }
+}
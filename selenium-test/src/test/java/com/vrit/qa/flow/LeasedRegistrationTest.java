@@ -0,0 +1,56 @@
+package com.vrit.qa.flow;
+
+import com.vrit.qa.driver.DriverPool;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LeasedRegistrationTest {
+
+    @Test
+    public void testLeaseReturnedWhenIdentitySetupFails() {
+        try (DriverPool pool = new DriverPool(LeasedRegistrationTest::stubDriver, 1, 10, Duration.ofMillis(50),
+                false, null)) {
+            IllegalStateException failure = assertThrows(IllegalStateException.class, () ->
+                    LeasedRegistration.run(pool, inbox -> {
+                        throw new IllegalStateException("no identity");
+                    }, (driver, identity, inbox) -> "unreachable"));
+            assertEquals("no identity", failure.getMessage());
+            // A leaked lease would make this time out on a pool of one
+            assertNotNull(pool.lease());
+        }
+    }
+
+    // Answers the pool's health check and reset, and whatever the session's inbox sets up, with inert defaults
+    private static WebDriver stubDriver() {
+        return inert(WebDriver.class, JavascriptExecutor.class);
+    }
+
+    private static <T> T inert(Class<T> type, Class<?>... extra) {
+        Class<?>[] interfaces = new Class<?>[extra.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extra, 0, interfaces, 1, extra.length);
+        return type.cast(Proxy.newProxyInstance(LeasedRegistrationTest.class.getClassLoader(), interfaces,
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getWindowHandles":
+                            return Set.of("main");
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            Class<?> returns = method.getReturnType();
+                            return returns.isInterface() && returns != Object.class ? inert(returns) : null;
+                    }
+                }));
+    }
+}
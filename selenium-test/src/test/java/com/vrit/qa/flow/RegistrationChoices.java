@@ -0,0 +1,112 @@
+package com.vrit.qa.flow;
+
+import com.vrit.qa.form.OptionMatcher;
+import com.vrit.qa.upload.BusinessDocuments;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The options a registration picks on its way through the form: the agency
+ * country, the experience bracket, services, preferred countries,
+ * institution types and the documents it uploads. {@link #defaults()} is
+ * the single path the tests always took; the scenario matrix varies the
+ * rest.
+ */
+public class RegistrationChoices {
+    public static final List<String> ALL_SERVICES = List.of("Career Counseling", "Admission Applications",
+            "Visa Processing", "Test Prepration");
+    public static final List<String> ALL_INSTITUTION_TYPES = List.of("Universities", "Colleges", "Vocational School",
+            "Other");
+
+    private final OptionMatcher agencyCountry;
+    private final OptionMatcher experience;
+    private final List<String> services;
+    private final List<OptionMatcher> preferredCountries;
+    private final List<String> institutionTypes;
+    // 0 uploads the checked-in samples; -1 leaves it to upload.sizeKb
+    private final long uploadSizeKb;
+    private final int uploadPages;
+
+    private RegistrationChoices(OptionMatcher agencyCountry, OptionMatcher experience, List<String> services,
+            List<OptionMatcher> preferredCountries, List<String> institutionTypes, long uploadSizeKb,
+            int uploadPages) {
+        this.agencyCountry = agencyCountry;
+        this.experience = experience;
+        this.services = List.copyOf(services);
+        this.preferredCountries = List.copyOf(preferredCountries);
+        this.institutionTypes = List.copyOf(institutionTypes);
+        this.uploadSizeKb = uploadSizeKb;
+        this.uploadPages = uploadPages;
+    }
+
+    // The first country, an option mentioning 5 years, every service and institution type, Canada
+    public static RegistrationChoices defaults() {
+        return new RegistrationChoices(OptionMatcher.index(0), OptionMatcher.regex("5").or(OptionMatcher.index(0)),
+                ALL_SERVICES, List.of(OptionMatcher.exact("Canada").or(OptionMatcher.index(0))),
+                ALL_INSTITUTION_TYPES, -1, 1);
+    }
+
+    public RegistrationChoices withAgencyCountry(OptionMatcher country) {
+        return new RegistrationChoices(country, experience, services, preferredCountries, institutionTypes,
+                uploadSizeKb, uploadPages);
+    }
+
+    public RegistrationChoices withExperience(OptionMatcher bracket) {
+        return new RegistrationChoices(agencyCountry, bracket, services, preferredCountries, institutionTypes,
+                uploadSizeKb, uploadPages);
+    }
+
+    public RegistrationChoices withServices(List<String> labels) {
+        return new RegistrationChoices(agencyCountry, experience, labels, preferredCountries, institutionTypes,
+                uploadSizeKb, uploadPages);
+    }
+
+    public RegistrationChoices withPreferredCountries(List<OptionMatcher> countries) {
+        return new RegistrationChoices(agencyCountry, experience, services, countries, institutionTypes,
+                uploadSizeKb, uploadPages);
+    }
+
+    public RegistrationChoices withInstitutionTypes(List<String> labels) {
+        return new RegistrationChoices(agencyCountry, experience, services, preferredCountries, labels,
+                uploadSizeKb, uploadPages);
+    }
+
+    // sizeKb 0 uploads the checked-in samples, otherwise generated PDFs of that size and page count
+    public RegistrationChoices withUpload(long sizeKb, int pages) {
+        return new RegistrationChoices(agencyCountry, experience, services, preferredCountries, institutionTypes,
+                sizeKb, pages);
+    }
+
+    public OptionMatcher getAgencyCountry() {
+        return agencyCountry;
+    }
+
+    public OptionMatcher getExperience() {
+        return experience;
+    }
+
+    public List<String> getServices() {
+        return services;
+    }
+
+    public List<OptionMatcher> getPreferredCountries() {
+        return preferredCountries;
+    }
+
+    public List<String> getInstitutionTypes() {
+        return institutionTypes;
+    }
+
+    public List<Path> documents() {
+        return uploadSizeKb < 0 ? BusinessDocuments.forRegistration()
+                : BusinessDocuments.forRegistration(uploadSizeKb, uploadPages);
+    }
+
+    @Override
+    public String toString() {
+        return "country " + agencyCountry + ", experience " + experience + ", services " + services
+                + ", preferred " + preferredCountries + ", institutions " + institutionTypes + ", upload "
+                + (uploadSizeKb < 0 ? "default" : uploadSizeKb == 0 ? "samples" : uploadSizeKb + " KB");
+    }
+}
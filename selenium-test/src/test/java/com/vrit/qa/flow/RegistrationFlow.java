@@ -0,0 +1,500 @@
+package com.vrit.qa.flow;
+
+import com.vrit.qa.artifact.ArtifactCapture;
+import com.vrit.qa.checkpoint.CheckpointStore;
+import com.vrit.qa.checkpoint.SessionCheckpoint;
+import com.vrit.qa.checkpoint.SessionCheckpoints;
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.form.CheckboxGroup;
+import com.vrit.qa.form.CheckboxGroupResult;
+import com.vrit.qa.form.Combobox;
+import com.vrit.qa.form.ComboboxSelection;
+import com.vrit.qa.form.FormFiller;
+import com.vrit.qa.inbox.InboxProvider;
+import com.vrit.qa.locator.LocatorRegistry;
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.locator.RegistrationLocators;
+import com.vrit.qa.metrics.FlowMetrics;
+import com.vrit.qa.page.AgencyPage;
+import com.vrit.qa.page.BusinessPage;
+import com.vrit.qa.page.ExperiencePage;
+import com.vrit.qa.page.LazyElement;
+import com.vrit.qa.page.OtpPage;
+import com.vrit.qa.page.PageContext;
+import com.vrit.qa.page.PersonalDetailsPage;
+import com.vrit.qa.page.TermsPage;
+import com.vrit.qa.retry.Deadline;
+import com.vrit.qa.retry.Retry;
+import com.vrit.qa.retry.RetryPolicy;
+import com.vrit.qa.standin.LocalRegistrationApp;
+import com.vrit.qa.wait.DomWaits;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The partner registration steps, driven against one browser session for one
+ * identity. Shared by the JUnit test and the parallel runner.
+ */
+public class RegistrationFlow {
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final DomWaits waits;
+    private final FormFiller formFiller;
+    private final Combobox combobox;
+    private final CheckboxGroup checkboxes;
+    // Page objects resolve their elements on first use and again after the DOM generation moves on
+    private final PageContext pages;
+    private final TermsPage termsPage;
+    private final PersonalDetailsPage personalDetailsPage;
+    private final AgencyPage agencyPage;
+    private final ExperiencePage experiencePage;
+    private final BusinessPage businessPage;
+    private final LocatorRegistry locators = LocatorRegistry.shared();
+    private final FlowMetrics metrics = FlowMetrics.global();
+    private final EventLog log = EventLog.global();
+    private final CheckpointStore checkpoints = CheckpointStore.shared();
+    private final ArtifactCapture artifacts = ArtifactCapture.shared();
+    private final RegistrationIdentity identity;
+    private final RegistrationChoices choices;
+    // Shared by every retried operation in this flow, so retries never outlast the scenario
+    private final Deadline scenarioDeadline = Deadline.in(
+            HarnessConfig.getSeconds("retry.scenarioBudgetSeconds", 900));
+    private final InboxProvider inbox;
+    // Steps that can be checkpointed, in flow order, keyed by their metrics phase name
+    private final Map<String, Runnable> steps = new LinkedHashMap<>();
+    // Per checkpointable step, a wait for the page that follows it
+    private final Map<String, Consumer<DomWaits>> arrivals = new LinkedHashMap<>();
+
+    public RegistrationFlow(WebDriver driver, RegistrationIdentity identity, InboxProvider inbox) {
+        this(driver, identity, inbox, RegistrationChoices.defaults());
+    }
+
+    public RegistrationFlow(WebDriver driver, RegistrationIdentity identity, InboxProvider inbox,
+            RegistrationChoices choices) {
+        // Count every command this flow sends, per phase
+        this.driver = metrics.instrument(driver);
+        this.identity = identity;
+        this.choices = choices;
+        this.inbox = inbox;
+        // Events from this thread are attributed to this registration until the next flow starts
+        EventLog.bindSession(identity.getEmail().split("@")[0]);
+        wait = new WebDriverWait(this.driver, Duration.ofSeconds(40));
+        waits = new DomWaits(this.driver, Duration.ofSeconds(40));
+        formFiller = new FormFiller(this.driver, wait);
+        combobox = new Combobox(this.driver, waits);
+        checkboxes = new CheckboxGroup(this.driver, waits);
+        pages = new PageContext(this.driver, wait, waits, locators);
+        termsPage = new TermsPage(pages);
+        personalDetailsPage = new PersonalDetailsPage(pages);
+        agencyPage = new AgencyPage(pages);
+        experiencePage = new ExperiencePage(pages);
+        businessPage = new BusinessPage(pages);
+        steps.put(FlowMetrics.TERMS, this::acceptTerms);
+        steps.put(FlowMetrics.PERSONAL_DETAILS, this::fillPersonalDetails);
+        steps.put(FlowMetrics.OTP_VERIFY, this::handleOTPVerification);
+        steps.put(FlowMetrics.AGENCY, this::handleAgencyDetailsSection);
+        steps.put(FlowMetrics.EXPERIENCE, this::handleExperienceDetails);
+        arrivals.put(FlowMetrics.TERMS, next -> next.visible(PersonalDetailsPage.FIRST_NAME));
+        arrivals.put(FlowMetrics.PERSONAL_DETAILS, next -> next.visible(OtpPage.OTP_INPUT));
+        arrivals.put(FlowMetrics.OTP_VERIFY, next -> locators.resolve(next, RegistrationLocators.AGENCY_PAGE));
+        arrivals.put(FlowMetrics.AGENCY, next -> locators.resolve(next, RegistrationLocators.EXPERIENCE_PAGE));
+        arrivals.put(FlowMetrics.EXPERIENCE, next -> locators.resolve(next, RegistrationLocators.BUSINESS_PAGE));
+    }
+
+    public static String registrationUrl() {
+        if (LocalRegistrationApp.isSelected()) {
+            return LocalRegistrationApp.shared().getRegistrationUrl();
+        }
+        return HarnessConfig.getString("app.url", "https://authorized-partner.netlify.app/register");
+    }
+
+    public RegistrationIdentity getIdentity() {
+        return identity;
+    }
+
+    public RegistrationChoices getChoices() {
+        return choices;
+    }
+
+    // Every step in flow order, keyed by its metrics phase name, for drivers that time and pace steps themselves
+    public Map<String, Runnable> getSteps() {
+        Map<String, Runnable> all = new LinkedHashMap<>(steps);
+        all.put(FlowMetrics.BUSINESS_REGISTRATION, this::handleBusinessRegistration);
+        return all;
+    }
+
+    public void open(String url) {
+        driver.get(url);
+        pages.invalidate();
+    }
+
+    // Snapshots cookies, storage and the current URL so later tests can start right after this step
+    public void saveCheckpoint(String step) {
+        SessionCheckpoint checkpoint = SessionCheckpoints.capture(driver, step);
+        checkpoints.save(checkpoint);
+        log.info("Saved {}", checkpoint);
+    }
+
+    // Restores the checkpoint taken after the given step in one navigation; false when there is none or when the
+    // restored session does not land on the page after the step (e.g. the app expired it server-side), in which
+    // case the checkpoint is dropped and the browser is left without its cookies and storage
+    public boolean resumeAfter(String step) {
+        Optional<SessionCheckpoint> checkpoint = checkpoints.load(step, SessionCheckpoints.origin(registrationUrl()));
+        if (checkpoint.isEmpty()) {
+            return false;
+        }
+        SessionCheckpoints.restore(driver, checkpoint.get());
+        pages.invalidate();
+        Consumer<DomWaits> arrival = arrivals.get(step);
+        if (arrival == null) {
+            return true;
+        }
+        try {
+            arrival.accept(waits.withTimeout(HarnessConfig.getSeconds("checkpoint.resumeTimeoutSeconds", 10)));
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("Checkpoint {} did not resume after its step, dropping it: {}", step, driver.getCurrentUrl());
+            checkpoints.delete(step);
+            SessionCheckpoints.clear(driver);
+            pages.invalidate();
+            return false;
+        }
+    }
+
+    // Starts right after the given step: from its checkpoint if there is one, otherwise by running
+    // the flow up to and including it and checkpointing the result for the next test
+    public void reach(String step) {
+        if (!steps.containsKey(step)) {
+            throw new IllegalArgumentException("Unknown step " + step + ", expected one of " + steps.keySet());
+        }
+        if (resumeAfter(step)) {
+            return;
+        }
+        open(registrationUrl());
+        for (Map.Entry<String, Runnable> entry : steps.entrySet()) {
+            entry.getValue().run();
+            if (entry.getKey().equals(step)) {
+                saveCheckpoint(step);
+                return;
+            }
+        }
+    }
+
+    public void acceptTerms() {
+        FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.TERMS);
+        try {
+            acceptTermsInPhase();
+            phase.succeeded();
+        } finally {
+            endPhase(phase);
+        }
+    }
+
+    private void acceptTermsInPhase() {
+        // Handle Terms of Service consent
+        LazyElement termsCheckbox = termsPage.termsCheckbox;
+        // Resolves the checkbox, so the line below is only logged once it is really there
+        termsCheckbox.getWrappedElement();
+        log.info("Checkbox found: id='remember'");
+
+        if (!termsCheckbox.isSelected()) {
+            termsCheckbox.click();
+            log.info("Checkbox checked");
+        }
+        log.info("Checkbox checked state: {}", termsCheckbox.isSelected());
+
+        termsPage.continueButton.click();
+        pages.invalidate();
+        log.info("Continue button clicked");
+
+        waits.visible(TermsPage.FORM);
+        log.info("Personal Details section loaded");
+    }
+
+    // Runs every step in order, from the Terms checkbox to the final submit
+    public void run() {
+        acceptTerms();
+        log.info("Using email: {}", identity.getEmail());
+        fillPersonalDetails();
+        handleOTPVerification();
+        handleAgencyDetailsSection();
+        handleExperienceDetails();
+        handleBusinessRegistration();
+    }
+
+    public void fillPersonalDetails() {
+        FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.PERSONAL_DETAILS);
+        try {
+            waits.visible(PersonalDetailsPage.FIRST_NAME);
+            log.info("Personal details: {}", formFiller.fill(personalDetailsPage.fields(identity)));
+
+            LazyElement nextButton = personalDetailsPage.nextButton;
+            if (!nextButton.isEnabled()) {
+                throw new IllegalStateException("Next button should be enabled after valid input");
+            }
+            log.info("Next button enabled: {}", nextButton.isEnabled());
+            nextButton.click();
+            pages.invalidate();
+            log.info("Next button clicked");
+
+            phase.succeeded();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fill personal details: " + e.getMessage(), e);
+        } finally {
+            endPhase(phase);
+        }
+    }
+
+    public void handleOTPVerification() {
+        FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.OTP_FETCH);
+        try {
+            String currentUrl = driver.getCurrentUrl();
+
+            // Get OTP
+            String otp = inbox.awaitOtp(identity.getEmail(),
+                    HarnessConfig.getSeconds("inbox.otpTimeoutSeconds", 120));
+            log.info("Retrieved OTP: {}", otp);
+            phase.succeeded();
+            endPhase(phase);
+            phase = metrics.startPhase(FlowMetrics.OTP_VERIFY);
+
+            // Ensure we're back on the correct page
+            if (!driver.getCurrentUrl().equals(currentUrl)) {
+                open(currentUrl);
+            }
+
+            // Enter OTP; a retryable failure refreshes the page and tries again after a short backoff
+            RetryPolicy policy = RetryPolicy.fromConfig("otpEntry");
+            Retry.of("otp_entry", policy)
+                    .within(scenarioDeadline)
+                    .recoverWith(e -> {
+                        driver.navigate().refresh();
+                        pages.invalidate();
+                    })
+                    .run(attempt -> {
+                        // An earlier attempt may have verified the code but timed out on the transition
+                        if (attempt > 1 && isShowing(RegistrationLocators.AGENCY_PAGE)) {
+                            return;
+                        }
+                        // Resolved within this attempt's budget rather than the flow's, and never past the scenario
+                        DomWaits attemptWaits = waits.withTimeout(policy.attemptTimeoutWithin(scenarioDeadline));
+                        OtpPage otpPage = new OtpPage(pages.withWaits(attemptWaits));
+                        LazyElement otpInput = otpPage.otpInput;
+                        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", otpInput);
+                        otpInput.clear();
+                        otpInput.sendKeys(otp);
+                        log.info("Entered OTP: {}", otp);
+
+                        // Click verify button
+                        otpPage.verifyButton.click();
+                        log.info("Clicked verify button");
+
+                        // Wait for verification to complete and the Agency Details section to show
+                        attemptWaits.invisible(OtpPage.OTP_INPUT);
+                        pages.invalidate();
+                        locators.resolve(attemptWaits, RegistrationLocators.AGENCY_PAGE);
+                        log.info("OTP verification completed");
+                    });
+
+            phase.succeeded();
+        } catch (Exception e) {
+            throw new RuntimeException("OTP verification failed: " + e.getMessage(), e);
+        } finally {
+            endPhase(phase);
+        }
+    }
+
+    public void handleAgencyDetailsSection() {
+        FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.AGENCY);
+        try {
+            // Wait for form to be fully loaded
+            waits.visible(AgencyPage.AGENCY_NAME);
+            log.info("Agency Details form loaded");
+
+            // Fill all fields in one pass
+            log.info("Agency details: {}", formFiller.fill(agencyPage.fields(identity)));
+
+            // Select the region of operation
+            try {
+                ComboboxSelection country = combobox.select(agencyPage.countryDropdown, choices.getAgencyCountry());
+                log.info("Selected country {}", country);
+            } catch (Exception e) {
+                log.warn("Country selection failed: {}", e.getMessage());
+                // Instead of failing, use JavaScript injection as fallback
+                try {
+                    ((JavascriptExecutor) driver).executeScript(
+                            "arguments[0].innerHTML = '<div>United States</div>';" +
+                                    "arguments[0].setAttribute('data-value', 'US');" +
+                                    "let event = new Event('change', { bubbles: true });" +
+                                    "arguments[0].dispatchEvent(event);",
+                            agencyPage.countryDropdown);
+                    log.info("Set country value with JavaScript injection");
+                } catch (Exception ex) {
+                    log.warn("JavaScript country fallback failed: {}", ex.getMessage());
+                }
+            }
+
+            // Click the Next button until the Experience page shows
+            advance("agency_next", agencyPage.nextButton, RegistrationLocators.EXPERIENCE_PAGE);
+            log.info("Experience page loaded successfully");
+
+            phase.succeeded();
+        } catch (Exception e) {
+            log.warn("Agency details error: {}", e.getMessage());
+            throw new RuntimeException("Failed to fill agency details: " + e.getMessage(), e);
+        } finally {
+            endPhase(phase);
+        }
+    }
+
+    public void handleExperienceDetails() {
+        FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.EXPERIENCE);
+        try {
+            // Wait for form to load with multiple possible selectors
+            locators.resolve(waits, RegistrationLocators.EXPERIENCE_PAGE);
+            log.info("Experience Details form loaded");
+
+            // Handle Years of Experience dropdown (by default the first option mentioning 5 years, else the first)
+            try {
+                ComboboxSelection experience = combobox.select(experiencePage.yearsDropdown, choices.getExperience());
+                log.info("Selected experience option {}", experience);
+            } catch (Exception e) {
+                log.warn("Experience option selection failed: {}", e.getMessage());
+
+                // Try JavaScript approach as fallback
+                try {
+                    ((JavascriptExecutor) driver).executeScript(
+                            "arguments[0].innerHTML = '<div>5+ years</div>';" +
+                                    "arguments[0].setAttribute('data-value', '5');" +
+                                    "let event = new Event('change', { bubbles: true });" +
+                                    "arguments[0].dispatchEvent(event);",
+                            experiencePage.yearsDropdown);
+                    log.info("Set experience value with JavaScript injection");
+                } catch (Exception ex) {
+                    log.warn("JavaScript experience fallback failed: {}", ex.getMessage());
+                }
+            }
+
+            // Fill number of students recruited, focus area and success metrics
+            log.info("Experience details: {}", formFiller.fill(experiencePage.fields()));
+
+            // Select services using checkbox buttons, all in one script call
+            CheckboxGroupResult services = checkboxes.check(choices.getServices());
+            log.info("Services: {}", services);
+
+            // Click Next button until the Business Registration page shows
+            advance("experience_next", experiencePage.nextButton, RegistrationLocators.BUSINESS_PAGE);
+            log.info("Business Registration page loaded successfully");
+
+            phase.succeeded();
+        } catch (Exception e) {
+            log.warn("Failed to fill experience details: {}", e.getMessage());
+            throw new RuntimeException("Failed to fill experience details: " + e.getMessage(), e);
+        } finally {
+            endPhase(phase);
+        }
+    }
+
+    public void handleBusinessRegistration() {
+        FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.BUSINESS_REGISTRATION);
+        try {
+            // Wait for the form to load
+            waits.visible(BusinessPage.REGISTRATION_NUMBER);
+            log.info("Business Registration form loaded");
+
+            // Fill the Business Registration Number and Certification Details fields
+            log.info("Business registration: {}", formFiller.fill(businessPage.fields(identity)));
+
+            // Handle Preferred Countries dropdown (multi-select)
+            List<ComboboxSelection> countries = combobox.selectAll(businessPage.countriesDropdown,
+                    choices.getPreferredCountries());
+            log.info("Selected preferred countries {}", countries);
+
+            // Select Institution Types, all in one script call
+            CheckboxGroupResult institutionTypes = checkboxes.check(choices.getInstitutionTypes()).requireComplete();
+            log.info("Institution types: {}", institutionTypes);
+
+            // Upload Business Documents: the checked-in samples, or generated PDFs of the chosen size
+            List<Path> documents = choices.documents();
+
+            // Count the hidden file inputs before uploading anything
+            if (driver.findElements(By.xpath("//input[@type='file']")).size() < documents.size()) {
+                throw new RuntimeException("Not enough file input elements found for upload");
+            }
+
+            for (int i = 0; i < documents.size(); i++) {
+                LazyElement fileInput = businessPage.fileInput(i);
+                Path document = documents.get(i);
+                ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", fileInput);
+                long start = System.nanoTime();
+                fileInput.sendKeys(document.toString()); // Upload file
+                // Done when the widget shows the file's thumbnail, not after a fixed pause
+                waits.uploadComplete(fileInput, document.getFileName().toString());
+                log.timed(document.getFileName().toString(), System.nanoTime() - start, true, "Uploaded {} bytes",
+                        document.toFile().length());
+            }
+
+            // Click Submit button
+            LazyElement submitButton = businessPage.submitButton;
+            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", submitButton);
+            submitButton.click();
+            log.info("Submitted business registration details");
+
+            phase.succeeded();
+        } catch (Exception e) {
+            log.warn("Failed to fill business registration details: {}", e.getMessage());
+            throw new RuntimeException("Failed to fill business registration details: " + e.getMessage(), e);
+        } finally {
+            endPhase(phase);
+        }
+    }
+
+    // Records the phase, then captures page artifacts if it failed (or after every step with artifacts.onStep);
+    // the capture's commands fall outside the phase so they do not skew its timing or command count
+    private void endPhase(FlowMetrics.Phase phase) {
+        phase.end();
+        artifacts.afterStep(driver, phase.getName(), phase.isSucceeded());
+    }
+
+    // Clicks a step's Next button until the next page shows. Each attempt waits only the transition budget;
+    // later attempts click through JavaScript, which gets past overlays that swallowed the native click
+    private void advance(String operation, LazyElement nextButton, String nextPage) {
+        RetryPolicy policy = RetryPolicy.fromConfig("transition");
+        Retry.of(operation, policy).within(scenarioDeadline).run(attempt -> {
+            // A slow transition from the previous attempt may have landed in the meantime
+            if (attempt > 1 && isShowing(nextPage)) {
+                return;
+            }
+            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", nextButton);
+            if (attempt == 1) {
+                nextButton.click();
+            } else {
+                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", nextButton);
+            }
+            log.element(nextButton.toString(), "Clicked (attempt {})", attempt);
+            locators.resolve(waits.withTimeout(policy.attemptTimeoutWithin(scenarioDeadline)), nextPage);
+        });
+        pages.invalidate();
+    }
+
+    // Whether the named element is visible right now, without waiting for it
+    private boolean isShowing(String name) {
+        try {
+            locators.resolve(waits.withTimeout(Duration.ZERO), name);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
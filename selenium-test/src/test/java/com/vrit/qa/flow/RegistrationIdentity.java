@@ -0,0 +1,97 @@
+package com.vrit.qa.flow;
+
+import com.vrit.qa.identity.IdentityGenerator;
+import com.vrit.qa.inbox.InboxProvider;
+
+/**
+ * The generated data one registration run submits.
+ */
+public class RegistrationIdentity {
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phone;
+    private final String password;
+    private final String agencyName;
+    private final String agencyAddress;
+    private final String agencyEmail;
+    private final String agencyWebsite;
+    private final String roleInAgency;
+    private final String registrationNumber;
+    private final String certificationDetails;
+
+    public RegistrationIdentity(String firstName, String lastName, String email, String phone, String password,
+            String agencyName, String agencyAddress, String agencyEmail, String agencyWebsite, String roleInAgency,
+            String registrationNumber, String certificationDetails) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.password = password;
+        this.agencyName = agencyName;
+        this.agencyAddress = agencyAddress;
+        this.agencyEmail = agencyEmail;
+        this.agencyWebsite = agencyWebsite;
+        this.roleInAgency = roleInAgency;
+        this.registrationNumber = registrationNumber;
+        this.certificationDetails = certificationDetails;
+    }
+
+    // The calling worker's next identity from the run's seeded generator, with an address in the given inbox
+    public static RegistrationIdentity next(InboxProvider inbox) {
+        return IdentityGenerator.shared().next(inbox);
+    }
+
+    public RegistrationIdentity withEmail(String email) {
+        return new RegistrationIdentity(firstName, lastName, email, phone, password, agencyName, agencyAddress,
+                agencyEmail, agencyWebsite, roleInAgency, registrationNumber, certificationDetails);
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getAgencyName() {
+        return agencyName;
+    }
+
+    public String getAgencyAddress() {
+        return agencyAddress;
+    }
+
+    public String getAgencyEmail() {
+        return agencyEmail;
+    }
+
+    public String getAgencyWebsite() {
+        return agencyWebsite;
+    }
+
+    public String getRoleInAgency() {
+        return roleInAgency;
+    }
+
+    public String getRegistrationNumber() {
+        return registrationNumber;
+    }
+
+    public String getCertificationDetails() {
+        return certificationDetails;
+    }
+}
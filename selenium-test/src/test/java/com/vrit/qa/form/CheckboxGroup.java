@@ -0,0 +1,170 @@
+package com.vrit.qa.form;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.wait.DomWaits;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Radix checkbox groups ({@code button[role=checkbox]} followed by its
+ * {@code label}) set in one script call: every requested label is resolved
+ * together, only boxes not already in the target state are clicked, and the
+ * script returns once their aria-checked has flipped. Labels that never
+ * render are reported together in the result instead of failing one wait at
+ * a time.
+ */
+public class CheckboxGroup {
+    // Once the first requested label is on the page, how long the others get to render
+    private static final long GRACE_MILLIS = 1_000;
+
+    private static final String APPLY_SCRIPT = """
+            var done = arguments[arguments.length - 1];
+            var targets = arguments[0];
+            var timeoutMs = arguments[1];
+            var graceMs = arguments[2];
+            var names = Object.keys(targets);
+
+            function norm(text) {
+                return (text || '').replace(/\\s+/g, ' ').trim();
+            }
+
+            function isChecked(box) {
+                return box.getAttribute('aria-checked') === 'true';
+            }
+
+            // The nearest checkbox button before the label, else the one the label points at or wraps
+            function checkboxFor(label) {
+                for (var el = label.previousElementSibling; el; el = el.previousElementSibling) {
+                    if (el.matches('button[role="checkbox"]')) return el;
+                }
+                var target = label.htmlFor ? document.getElementById(label.htmlFor) : null;
+                if (target && target.getAttribute('role') === 'checkbox') return target;
+                return label.querySelector('button[role="checkbox"]');
+            }
+
+            function labelOf(box) {
+                for (var el = box.nextElementSibling; el; el = el.nextElementSibling) {
+                    if (el.tagName === 'LABEL') return norm(el.textContent);
+                }
+                return norm(box.getAttribute('aria-label') || box.getAttribute('value'));
+            }
+
+            function resolve() {
+                var found = {};
+                var labels = document.getElementsByTagName('label');
+                for (var i = 0; i < labels.length; i++) {
+                    var text = norm(labels[i].textContent);
+                    if (!Object.prototype.hasOwnProperty.call(targets, text) || found[text]) continue;
+                    var box = checkboxFor(labels[i]);
+                    if (box) found[text] = box;
+                }
+                return found;
+            }
+
+            var boxes = {};
+            var toggled = [];
+            var settling = false;
+            var finished = false;
+            var grace = null;
+            var observer = new MutationObserver(check);
+            var deadline = setTimeout(toggle, timeoutMs);
+
+            function check() {
+                if (finished) return;
+                if (settling) {
+                    if (settled()) finish();
+                    return;
+                }
+                boxes = resolve();
+                var count = Object.keys(boxes).length;
+                if (count === names.length) {
+                    toggle();
+                } else if (count > 0 && grace === null) {
+                    grace = setTimeout(function () { boxes = resolve(); toggle(); }, graceMs);
+                }
+            }
+
+            function toggle() {
+                if (settling || finished) return;
+                settling = true;
+                clearTimeout(deadline);
+                clearTimeout(grace);
+                names.forEach(function (name) {
+                    var box = boxes[name];
+                    if (!box || isChecked(box) === targets[name]) return;
+                    box.scrollIntoView({ block: 'center' });
+                    box.click();
+                    toggled.push(name);
+                });
+                if (settled()) { finish(); return; }
+                deadline = setTimeout(finish, graceMs);
+            }
+
+            function settled() {
+                return toggled.every(function (name) { return isChecked(boxes[name]) === targets[name]; });
+            }
+
+            function finish() {
+                if (finished) return;
+                finished = true;
+                observer.disconnect();
+                clearTimeout(deadline);
+                clearTimeout(grace);
+                var checked = [];
+                var all = document.querySelectorAll('button[role="checkbox"]');
+                for (var i = 0; i < all.length; i++) if (isChecked(all[i])) checked.push(labelOf(all[i]));
+                done({
+                    checked: checked,
+                    toggled: toggled,
+                    missing: names.filter(function (name) { return !boxes[name]; }),
+                    unsettled: toggled.filter(function (name) { return isChecked(boxes[name]) !== targets[name]; })
+                });
+            }
+
+            observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });
+            check();
+            """;
+
+    private final WebDriver driver;
+    private final DomWaits waits;
+    private final BiDiSession bidi;
+
+    public CheckboxGroup(WebDriver driver, DomWaits waits) {
+        this.driver = driver;
+        this.waits = waits;
+        this.bidi = BiDiSession.forDriver(driver);
+    }
+
+    public CheckboxGroupResult check(Collection<String> labels) {
+        return apply(target(labels, true));
+    }
+
+    public CheckboxGroupResult uncheck(Collection<String> labels) {
+        return apply(target(labels, false));
+    }
+
+    // Brings each labelled checkbox to its target state; labels are matched on whitespace-normalised text
+    @SuppressWarnings("unchecked")
+    public CheckboxGroupResult apply(Map<String, Boolean> target) {
+        long timeoutMs = waits.getTimeout().toMillis();
+        Map<String, Object> result = (Map<String, Object>) (bidi != null
+                ? bidi.executeAsync(APPLY_SCRIPT, target, Math.min(timeoutMs, BiDiSession.MAX_CALL_MILLIS),
+                        GRACE_MILLIS)
+                : ((JavascriptExecutor) driver).executeAsyncScript(APPLY_SCRIPT, target, timeoutMs, GRACE_MILLIS));
+        return new CheckboxGroupResult((List<String>) result.get("checked"), (List<String>) result.get("toggled"),
+                (List<String>) result.get("missing"), (List<String>) result.get("unsettled"));
+    }
+
+    private static Map<String, Boolean> target(Collection<String> labels, boolean checked) {
+        Map<String, Boolean> target = new LinkedHashMap<>();
+        for (String label : labels) {
+            target.put(label.replaceAll("\\s+", " ").trim(), checked);
+        }
+        return target;
+    }
+}
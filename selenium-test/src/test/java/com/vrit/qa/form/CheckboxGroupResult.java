@@ -0,0 +1,58 @@
+package com.vrit.qa.form;
+
+import org.openqa.selenium.NoSuchElementException;
+
+import java.util.List;
+
+public class CheckboxGroupResult {
+    private final List<String> checked;
+    private final List<String> toggled;
+    private final List<String> missing;
+    private final List<String> unsettled;
+
+    public CheckboxGroupResult(List<String> checked, List<String> toggled, List<String> missing,
+            List<String> unsettled) {
+        this.checked = checked;
+        this.toggled = toggled;
+        this.missing = missing;
+        this.unsettled = unsettled;
+    }
+
+    // Labels of every checkbox on the page that ended up checked, in document order
+    public List<String> getChecked() {
+        return checked;
+    }
+
+    // Requested labels that had to be clicked to reach their target state
+    public List<String> getToggled() {
+        return toggled;
+    }
+
+    // Requested labels with no checkbox on the page
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    // Clicked checkboxes whose aria-checked never reached the target state
+    public List<String> getUnsettled() {
+        return unsettled;
+    }
+
+    public boolean isComplete() {
+        return missing.isEmpty() && unsettled.isEmpty();
+    }
+
+    public CheckboxGroupResult requireComplete() {
+        if (!isComplete()) {
+            throw new NoSuchElementException("Checkbox group incomplete: " + this);
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "checked " + checked + ", toggled " + toggled.size()
+                + (missing.isEmpty() ? "" : ", missing " + missing)
+                + (unsettled.isEmpty() ? "" : ", unsettled " + unsettled);
+    }
+}
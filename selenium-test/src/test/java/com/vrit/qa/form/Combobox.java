@@ -0,0 +1,179 @@
+package com.vrit.qa.form;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.wait.DomWaits;
+import com.vrit.qa.wait.JsLocator;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Radix combobox driven in a fixed number of round trips per pick: open the
+ * portal, read every option's label and value in one script, match in Java,
+ * click the chosen option, then read back what the trigger shows. The cost
+ * does not grow with the length of the list.
+ */
+public class Combobox {
+    private static final String READ_OPTIONS_SCRIPT = JsLocator.FIND_FUNCTION + """
+            var options = find(arguments[0]);
+            var labels = [], values = [];
+            for (var i = 0; i < options.length; i++) {
+                var label = (options[i].innerText || options[i].textContent || '').trim();
+                labels.push(label);
+                values.push(options[i].getAttribute('data-value') || options[i].getAttribute('value') || label);
+            }
+            return { labels: labels, values: values, elements: options };
+            """;
+
+    // What the closed combobox shows: the trigger's text and the value of the hidden form control next to it
+    // (Radix renders an aria-hidden <select>)
+    private static final String READ_BACK_SCRIPT = """
+            var trigger = arguments[0], hidden = trigger.nextElementSibling, values = [];
+            if (hidden && hidden.tagName === 'SELECT') {
+                for (var i = 0; i < hidden.selectedOptions.length; i++) {
+                    values.push(hidden.selectedOptions[i].value);
+                }
+            } else if (hidden && hidden.tagName === 'INPUT' && hidden.type === 'hidden') {
+                values.push(hidden.value);
+            }
+            return { text: (trigger.innerText || trigger.textContent || '').trim(), values: values };
+            """;
+
+    private static final String SCROLL_SCRIPT = "arguments[0].scrollIntoView({block: 'center'});";
+
+    private final WebDriver driver;
+    private final DomWaits waits;
+    private final BiDiSession bidi;
+
+    public Combobox(WebDriver driver, DomWaits waits) {
+        this.driver = driver;
+        this.waits = waits;
+        this.bidi = BiDiSession.forDriver(driver);
+    }
+
+    // Single-select: the portal closes once the option is chosen
+    public ComboboxSelection select(WebElement trigger, OptionMatcher matcher) {
+        List<ComboboxSelection> selections = selectMany(trigger, List.of(matcher), false);
+        waits.dropdownPortalClosed();
+        confirm(trigger, selections);
+        return selections.get(0);
+    }
+
+    // Multi-select: the portal stays open between picks and is dismissed with Escape at the end
+    public List<ComboboxSelection> selectAll(WebElement trigger, List<OptionMatcher> matchers) {
+        List<ComboboxSelection> selections = selectMany(trigger, matchers, true);
+        trigger.sendKeys(Keys.ESCAPE);
+        waits.dropdownPortalClosed();
+        confirm(trigger, selections);
+        return selections;
+    }
+
+    // Every option label currently offered, without choosing one
+    public List<String> labels(WebElement trigger) {
+        open(trigger);
+        List<String> labels = read().labels;
+        trigger.sendKeys(Keys.ESCAPE);
+        waits.dropdownPortalClosed();
+        return labels;
+    }
+
+    private List<ComboboxSelection> selectMany(WebElement trigger, List<OptionMatcher> matchers, boolean multiple) {
+        open(trigger);
+        List<ComboboxSelection> selections = new ArrayList<>();
+        for (OptionMatcher matcher : matchers) {
+            // Re-read before every pick: a click can re-render the portal and leave earlier elements stale
+            Options options = read();
+            int index = matcher.indexIn(options.labels, options.values);
+            if (index < 0) {
+                throw new NoSuchElementException("No option matching " + matcher + " among " + options.labels.size()
+                        + " options " + preview(options.labels));
+            }
+            WebElement option = options.elements.get(index);
+            // Long lists are virtualised or clipped by the portal's scroll container
+            ((JavascriptExecutor) driver).executeScript(SCROLL_SCRIPT, option);
+            option.click();
+            selections.add(new ComboboxSelection(options.labels.get(index), options.values.get(index), index,
+                    options.labels.size()));
+            if (!multiple) {
+                break;
+            }
+        }
+        return selections;
+    }
+
+    // The portal closing is not proof the choice took: fail when the trigger shows neither the label nor the value
+    @SuppressWarnings("unchecked")
+    private void confirm(WebElement trigger, List<ComboboxSelection> selections) {
+        Map<String, Object> shown = (Map<String, Object>) (bidi != null
+                ? bidi.execute(READ_BACK_SCRIPT, trigger)
+                : ((JavascriptExecutor) driver).executeScript(READ_BACK_SCRIPT, trigger));
+        String text = (String) shown.get("text");
+        List<String> values = (List<String>) shown.get("values");
+        for (ComboboxSelection selection : selections) {
+            if (!shows(text, values, selection)) {
+                throw new IllegalStateException("Combobox shows '" + text + "' (values " + values
+                        + ") after choosing '" + selection.getLabel() + "'");
+            }
+        }
+    }
+
+    // Whole options only, so "5" is not confirmed by "15" nor "Nepal" by "Nepal Rastra". A multi-select shows its
+    // picks joined, e.g. "Nepal, India" with the hidden value "Nepal|India", so each part counts on its own.
+    static boolean shows(String text, List<String> values, ComboboxSelection selection) {
+        Set<String> shown = new HashSet<>(parts(text, "[,\\n]"));
+        for (String value : values) {
+            shown.addAll(parts(value, "[|,]"));
+        }
+        return shown.contains(OptionMatcher.normalize(selection.getLabel()))
+                || shown.contains(OptionMatcher.normalize(selection.getValue()));
+    }
+
+    private static List<String> parts(String shown, String separators) {
+        List<String> parts = new ArrayList<>();
+        parts.add(OptionMatcher.normalize(shown));
+        for (String part : shown.split(separators)) {
+            parts.add(OptionMatcher.normalize(part));
+        }
+        return parts;
+    }
+
+    private void open(WebElement trigger) {
+        ((JavascriptExecutor) driver).executeScript(SCROLL_SCRIPT, trigger);
+        trigger.click();
+        waits.dropdownPortalOpened();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Options read() {
+        List<String> portal = JsLocator.encode(DomWaits.PORTAL_OPTIONS);
+        Map<String, Object> result = (Map<String, Object>) (bidi != null
+                ? bidi.execute(READ_OPTIONS_SCRIPT, portal)
+                : ((JavascriptExecutor) driver).executeScript(READ_OPTIONS_SCRIPT, portal));
+        return new Options((List<String>) result.get("labels"), (List<String>) result.get("values"),
+                (List<WebElement>) result.get("elements"));
+    }
+
+    private static String preview(List<String> labels) {
+        return labels.size() <= 10 ? labels.toString() : labels.subList(0, 10) + "...";
+    }
+
+    private static final class Options {
+        private final List<String> labels;
+        private final List<String> values;
+        private final List<WebElement> elements;
+
+        private Options(List<String> labels, List<String> values, List<WebElement> elements) {
+            this.labels = labels;
+            this.values = values;
+            this.elements = elements;
+        }
+    }
+}
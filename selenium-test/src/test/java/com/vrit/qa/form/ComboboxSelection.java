@@ -0,0 +1,38 @@
+package com.vrit.qa.form;
+
+public class ComboboxSelection {
+    private final String label;
+    private final String value;
+    private final int index;
+    private final int optionCount;
+
+    public ComboboxSelection(String label, String value, int index, int optionCount) {
+        this.label = label;
+        this.value = value;
+        this.index = index;
+        this.optionCount = optionCount;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // data-value of the option, or its label when it has none
+    public String getValue() {
+        return value;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    // Number of options the portal rendered when the selection was made
+    public int getOptionCount() {
+        return optionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "'" + label + "' (value " + value + ", option " + (index + 1) + " of " + optionCount + ")";
+    }
+}
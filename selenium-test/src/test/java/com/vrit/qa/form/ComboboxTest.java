@@ -0,0 +1,30 @@
+package com.vrit.qa.form;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComboboxTest {
+
+    @Test
+    public void testOverlappingOptionsAreNotConfirmed() {
+        assertFalse(Combobox.shows("15 years", List.of("15"), selection("5 years", "5")));
+        assertFalse(Combobox.shows("Nepal Rastra", List.of(), selection("Nepal", "Nepal")));
+        assertFalse(Combobox.shows("Nepal Rastra, India", List.of("Nepal Rastra|India"), selection("Nepal", "Nepal")));
+    }
+
+    @Test
+    public void testWholeOptionIsConfirmed() {
+        assertTrue(Combobox.shows("  5 years ", List.of(), selection("5 years", "5")));
+        assertTrue(Combobox.shows("Select one", List.of("5"), selection("5 years", "5")));
+        assertTrue(Combobox.shows("Nepal, India", List.of("Nepal|India"), selection("India", "India")));
+        assertTrue(Combobox.shows("Kathmandu,  Nepal", List.of(), selection("Kathmandu, Nepal", "ktm")));
+    }
+
+    private static ComboboxSelection selection(String label, String value) {
+        return new ComboboxSelection(label, value, 0, 2);
+    }
+}
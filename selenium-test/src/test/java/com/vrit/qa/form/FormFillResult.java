@@ -0,0 +1,30 @@
+package com.vrit.qa.form;
+
+import org.openqa.selenium.By;
+
+import java.util.List;
+
+public class FormFillResult {
+    private final int scripted;
+    private final List<By> typed;
+
+    public FormFillResult(int scripted, List<By> typed) {
+        this.scripted = scripted;
+        this.typed = typed;
+    }
+
+    // Fields whose value was applied and confirmed by the single fill script
+    public int getScripted() {
+        return scripted;
+    }
+
+    // Fields that needed the clear + sendKeys fallback
+    public List<By> getTyped() {
+        return typed;
+    }
+
+    @Override
+    public String toString() {
+        return scripted + " field(s) filled by script, " + typed.size() + " typed" + (typed.isEmpty() ? "" : " " + typed);
+    }
+}
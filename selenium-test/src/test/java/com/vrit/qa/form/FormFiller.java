@@ -0,0 +1,108 @@
+package com.vrit.qa.form;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.wait.JsLocator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills a whole form step in one script execution. Values go through the
+ * native value setter and real input/change events so React sees them the
+ * same way it sees typing; a read-back after the next frame confirms the
+ * component kept each value. Only fields that were missing or got reset by
+ * the framework fall back to clear + sendKeys.
+ */
+public class FormFiller {
+    private static final String FILL_SCRIPT = """
+            var done = arguments[arguments.length - 1];
+            var fields = arguments[0];
+            """ + JsLocator.FIND_FUNCTION + """
+            function setNative(el, value) {
+                var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                        : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype
+                        : HTMLInputElement.prototype;
+                var setter = Object.getOwnPropertyDescriptor(proto, 'value').set;
+                el.focus();
+                setter.call(el, value);
+                el.dispatchEvent(new Event('input', { bubbles: true }));
+                el.dispatchEvent(new Event('change', { bubbles: true }));
+                el.dispatchEvent(new FocusEvent('blur'));
+                el.dispatchEvent(new FocusEvent('focusout', { bubbles: true }));
+            }
+
+            var elements = [];
+            var missing = [];
+            for (var i = 0; i < fields.length; i++) {
+                var el = find(fields[i].locator)[0];
+                elements.push(el || null);
+                if (!el || el.disabled || el.readOnly) { missing.push(i); continue; }
+                setNative(el, fields[i].value);
+            }
+
+            // Verify after React has flushed its state updates: a controlled input that
+            // rejected the change is re-rendered back to its previous value
+            requestAnimationFrame(function () {
+                setTimeout(function () {
+                    var rejected = [];
+                    for (var j = 0; j < fields.length; j++) {
+                        var el = elements[j];
+                        if (el && missing.indexOf(j) < 0 && (!el.isConnected || el.value !== fields[j].value)) rejected.push(j);
+                    }
+                    done({ missing: missing, rejected: rejected });
+                }, 0);
+            });
+            """;
+
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final BiDiSession bidi;
+
+    public FormFiller(WebDriver driver, WebDriverWait wait) {
+        this.driver = driver;
+        this.wait = wait;
+        this.bidi = BiDiSession.forDriver(driver);
+    }
+
+    // Fills the fields in map iteration order; pass a LinkedHashMap when order matters. A null value (e.g. an
+    // optional identity field) leaves its field untouched.
+    @SuppressWarnings("unchecked")
+    public FormFillResult fill(Map<By, String> values) {
+        List<By> locators = new ArrayList<>();
+        List<Map<String, Object>> fields = new ArrayList<>();
+        values.forEach((locator, value) -> {
+            if (value != null) {
+                locators.add(locator);
+                fields.add(Map.of("locator", JsLocator.encode(locator), "value", value));
+            }
+        });
+
+        Map<String, Object> outcome = (Map<String, Object>) (bidi != null
+                ? bidi.executeAsync(FILL_SCRIPT, fields)
+                : ((JavascriptExecutor) driver).executeAsyncScript(FILL_SCRIPT, fields));
+
+        List<By> fallback = new ArrayList<>();
+        for (Object index : (List<Object>) outcome.get("missing")) {
+            fallback.add(locators.get(((Number) index).intValue()));
+        }
+        for (Object index : (List<Object>) outcome.get("rejected")) {
+            fallback.add(locators.get(((Number) index).intValue()));
+        }
+
+        for (By locator : fallback) {
+            // Not rendered yet or the component ignored synthetic events: type it for real
+            WebElement field = wait.until(ExpectedConditions.elementToBeClickable(locator));
+            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", field);
+            field.clear();
+            field.sendKeys(values.get(locator));
+        }
+        return new FormFillResult(locators.size() - fallback.size(), fallback);
+    }
+}
@@ -0,0 +1,93 @@
+package com.vrit.qa.form;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Picks one option out of the labels and values a {@link Combobox} read from
+ * its portal. Matching runs in Java over the whole list, so it costs no
+ * extra round trips however many options there are.
+ */
+public abstract class OptionMatcher {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Index of the matching option, or -1
+    public abstract int indexIn(List<String> labels, List<String> values);
+
+    // Label or value equal to the given text, ignoring surrounding and repeated whitespace
+    public static OptionMatcher exact(String text) {
+        String expected = normalize(text);
+        return new OptionMatcher() {
+            @Override
+            public int indexIn(List<String> labels, List<String> values) {
+                for (int i = 0; i < labels.size(); i++) {
+                    if (normalize(labels.get(i)).equals(expected) || normalize(values.get(i)).equals(expected)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public String toString() {
+                return "exact '" + expected + "'";
+            }
+        };
+    }
+
+    // First label the pattern finds a match in
+    public static OptionMatcher regex(String pattern) {
+        Pattern compiled = Pattern.compile(pattern);
+        return new OptionMatcher() {
+            @Override
+            public int indexIn(List<String> labels, List<String> values) {
+                for (int i = 0; i < labels.size(); i++) {
+                    if (compiled.matcher(labels.get(i)).find()) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public String toString() {
+                return "regex /" + compiled + "/";
+            }
+        };
+    }
+
+    public static OptionMatcher index(int index) {
+        return new OptionMatcher() {
+            @Override
+            public int indexIn(List<String> labels, List<String> values) {
+                return index >= 0 && index < labels.size() ? index : -1;
+            }
+
+            @Override
+            public String toString() {
+                return "index " + index;
+            }
+        };
+    }
+
+    static String normalize(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ");
+    }
+
+    // This matcher, or the other one when this finds nothing
+    public OptionMatcher or(OptionMatcher other) {
+        OptionMatcher first = this;
+        return new OptionMatcher() {
+            @Override
+            public int indexIn(List<String> labels, List<String> values) {
+                int index = first.indexIn(labels, values);
+                return index >= 0 ? index : other.indexIn(labels, values);
+            }
+
+            @Override
+            public String toString() {
+                return first + " or " + other;
+            }
+        };
+    }
+}
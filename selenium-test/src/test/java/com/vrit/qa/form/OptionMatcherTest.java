@@ -0,0 +1,39 @@
+package com.vrit.qa.form;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OptionMatcherTest {
+    private static final List<String> LABELS = List.of("Less than 1 year", "3 years", "5 years", "More than 5 years");
+    private static final List<String> VALUES = List.of("0", "3", "5", "6");
+
+    @Test
+    public void testExactMatchesLabelOrValue() {
+        assertEquals(1, OptionMatcher.exact(" 3 years ").indexIn(LABELS, VALUES));
+        assertEquals(3, OptionMatcher.exact("6").indexIn(LABELS, VALUES));
+        assertEquals(-1, OptionMatcher.exact("5").indexIn(List.of("5 years"), List.of("five")));
+    }
+
+    @Test
+    public void testRegexFindsFirstMatchingLabel() {
+        assertEquals(2, OptionMatcher.regex("5").indexIn(LABELS, VALUES));
+        assertEquals(3, OptionMatcher.regex("^More").indexIn(LABELS, VALUES));
+        assertEquals(-1, OptionMatcher.regex("10").indexIn(LABELS, VALUES));
+    }
+
+    @Test
+    public void testIndexIsBoundsChecked() {
+        assertEquals(0, OptionMatcher.index(0).indexIn(LABELS, VALUES));
+        assertEquals(-1, OptionMatcher.index(4).indexIn(LABELS, VALUES));
+        assertEquals(-1, OptionMatcher.index(0).indexIn(List.of(), List.of()));
+    }
+
+    @Test
+    public void testOrFallsBack() {
+        assertEquals(2, OptionMatcher.regex("5").or(OptionMatcher.index(0)).indexIn(LABELS, VALUES));
+        assertEquals(0, OptionMatcher.regex("10").or(OptionMatcher.index(0)).indexIn(LABELS, VALUES));
+    }
+}
@@ -0,0 +1,84 @@
+package com.vrit.qa.grid;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * The grid's HTTP endpoints other than WebDriver itself: status and node
+ * draining.
+ */
+public class GridHub {
+    private final URI uri;
+    private final String registrationSecret;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    public GridHub(URI uri, String registrationSecret) {
+        this.uri = uri;
+        this.registrationSecret = registrationSecret;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public GridStatus status() {
+        try {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri.resolve("/status"))
+                    .timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+            return GridStatus.parse(new JSONObject(response.body()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read grid status from " + uri + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted reading grid status from " + uri);
+        }
+    }
+
+    // Stops the node taking new sessions; it shuts down once its running sessions end
+    public void drain(String nodeId) {
+        try {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(
+                            uri.resolve("/se/grid/distributor/node/" + nodeId + "/drain"))
+                    .header("X-REGISTRATION-SECRET", registrationSecret)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new RuntimeException("Grid refused to drain " + nodeId + ": HTTP " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to drain node " + nodeId + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted draining node " + nodeId);
+        }
+    }
+
+    // Polls until the grid is ready with at least the given number of nodes up
+    public GridStatus awaitNodes(int nodes, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        String last = "no response";
+        while (System.nanoTime() < deadline) {
+            try {
+                GridStatus status = status();
+                if (status.isReady() && status.getUpNodes().size() >= nodes) {
+                    return status;
+                }
+                last = status.getUpNodes().size() + " of " + nodes + " nodes up";
+            } catch (RuntimeException e) {
+                last = e.getMessage();
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IllegalStateException("Grid at " + uri + " not ready after " + timeout.toSeconds() + "s: " + last);
+    }
+}
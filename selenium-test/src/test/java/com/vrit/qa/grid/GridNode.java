@@ -0,0 +1,67 @@
+package com.vrit.qa.grid;
+
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * One node as reported by the grid's {@code /status} endpoint.
+ */
+public class GridNode {
+    // Stereotype capability LocalGrid gives each node, so a session can ask for a particular one
+    public static final String TAG_CAPABILITY = "vrit:node";
+
+    private final String id;
+    private final URI uri;
+    private final String availability;
+    private final int maxSessions;
+    private final String tag;
+    private final Set<String> sessionIds;
+
+    public GridNode(String id, URI uri, String availability, int maxSessions, String tag, Set<String> sessionIds) {
+        this.id = id;
+        this.uri = uri;
+        this.availability = availability;
+        this.maxSessions = maxSessions;
+        this.tag = tag;
+        this.sessionIds = sessionIds;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    // UP, DRAINING or DOWN
+    public String getAvailability() {
+        return availability;
+    }
+
+    public boolean isUp() {
+        return "UP".equals(availability);
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    // The node's TAG_CAPABILITY value, or null on nodes started without one
+    public String getTag() {
+        return tag;
+    }
+
+    public Set<String> getSessionIds() {
+        return sessionIds;
+    }
+
+    public int getFreeSlots() {
+        return Math.max(0, maxSessions - sessionIds.size());
+    }
+
+    @Override
+    public String toString() {
+        return (tag != null ? tag : id) + " " + uri + " " + availability + " " + sessionIds.size() + "/" + maxSessions;
+    }
+}
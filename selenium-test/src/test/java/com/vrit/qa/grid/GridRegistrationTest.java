@@ -0,0 +1,53 @@
+package com.vrit.qa.grid;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.parallel.ParallelRegistrationRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Against a local hub and nodes: mvn test -Dtest=GridRegistrationTest -Dgrid.enabled=true -Dapp.target=local
+//     -Dgrid.serverJar=/path/to/selenium-server-4.20.0.jar -Dgrid.nodes=3 -Dgrid.slotsPerNode=2 -Dgrid.runs=12
+// Against a running grid: -Dgrid.url=http://grid:4444 instead of grid.serverJar
+@EnabledIfSystemProperty(named = "grid.enabled", matches = "true")
+public class GridRegistrationTest {
+
+    @Test
+    public void testShardedRegistrations() {
+        String url = HarnessConfig.getString("grid.url", "");
+        LocalGrid local = url.isBlank() ? LocalGrid.start() : null;
+        GridHub hub = local != null ? local.getHub()
+                : new GridHub(URI.create(url), HarnessConfig.getString("grid.registrationSecret", ""));
+        int runs = HarnessConfig.getInt("grid.runs", 8);
+        // Drains the first node part-way through, to see its queued runs move to the others
+        long drainAfter = HarnessConfig.getLong("grid.drainAfterSeconds", 0);
+        ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor();
+        try (NodeRouting routing = new NodeRouting(hub, HarnessConfig.getBoolean("grid.directToNode", true))) {
+            if (drainAfter > 0) {
+                String node = hub.status().getUpNodes().get(0).getId();
+                drainer.schedule(() -> hub.drain(node), drainAfter, TimeUnit.SECONDS);
+            }
+            GridShardRunner runner = new GridShardRunner(hub, routing, RegistrationIdentity::next,
+                    ParallelRegistrationRunner.fullRegistration(),
+                    HarnessConfig.getSeconds("grid.statusPollSeconds", 5));
+            GridRunReport report = runner.run(runs);
+            System.out.println(report);
+            report.getFailures().forEach(failure -> System.out.println("  " + failure));
+            report.export(Paths.get(HarnessConfig.getString("metrics.dir", "target/metrics")));
+            assertTrue(report.getFailures().isEmpty(), report.getFailures().size() + " of " + runs + " runs failed");
+        } finally {
+            drainer.shutdownNow();
+            if (local != null) {
+                local.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.vrit.qa.grid;
+
+import com.vrit.qa.metrics.LatencySummary;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a {@link GridShardRunner} run: each shard's results and
+ * timings, merged into totals for the whole grid.
+ */
+public class GridRunReport {
+    private final int runs;
+    private final List<ShardResult> shards;
+    private final Duration wallTime;
+    private final LatencySummary flow;
+    private final long directCommands;
+    private final long hubCommands;
+
+    public GridRunReport(int runs, List<ShardResult> shards, Duration wallTime, LatencySummary flow,
+            long directCommands, long hubCommands) {
+        this.runs = runs;
+        this.shards = shards;
+        this.wallTime = wallTime;
+        this.flow = flow;
+        this.directCommands = directCommands;
+        this.hubCommands = hubCommands;
+    }
+
+    public List<ShardResult> getShards() {
+        return shards;
+    }
+
+    public int getCompleted() {
+        return shards.stream().mapToInt(ShardResult::getCompleted).sum();
+    }
+
+    // Failed runs, plus one entry when some runs were neither completed nor failed anywhere
+    public List<String> getFailures() {
+        List<String> failures = new ArrayList<>();
+        shards.forEach(shard -> failures.addAll(shard.getFailures()));
+        int unaccounted = getUnaccounted();
+        if (unaccounted != 0) {
+            failures.add(unaccounted + " of " + runs + " run(s) never completed or failed");
+        }
+        return failures;
+    }
+
+    // Requested runs minus the completed and failed ones; anything but zero means runs were lost
+    public int getUnaccounted() {
+        int failed = shards.stream().mapToInt(shard -> shard.getFailures().size()).sum();
+        return runs - getCompleted() - failed;
+    }
+
+    // Every completed run of every shard
+    public LatencySummary getFlowLatency() {
+        return flow;
+    }
+
+    public double getRegistrationsPerMinute() {
+        double minutes = wallTime.toMillis() / 60_000.0;
+        return minutes == 0 ? 0 : getCompleted() / minutes;
+    }
+
+    public JSONObject toJson() {
+        JSONArray shardArray = new JSONArray();
+        for (ShardResult shard : shards) {
+            shardArray.put(new JSONObject()
+                    .put("node", shard.node)
+                    .put("planned", shard.planned)
+                    .put("completed", shard.completed)
+                    .put("failed", shard.failures.size())
+                    .put("movedAway", shard.movedAway)
+                    .put("flow", summary(shard.flow))
+                    .put("sessionStart", summary(shard.sessionStart))
+                    .put("failures", shard.failures));
+        }
+        return new JSONObject()
+                .put("runs", runs)
+                .put("wallSeconds", wallTime.toMillis() / 1000.0)
+                .put("completed", getCompleted())
+                .put("failed", getFailures().size())
+                .put("unaccounted", getUnaccounted())
+                .put("registrationsPerMinute", getRegistrationsPerMinute())
+                .put("flow", summary(getFlowLatency()))
+                .put("commandsDirectToNode", directCommands)
+                .put("commandsThroughHub", hubCommands)
+                .put("shards", shardArray);
+    }
+
+    public void export(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("grid.json"), toJson().toString(2), StandardCharsets.UTF_8);
+            System.out.println("Grid report written to " + dir.resolve("grid.json"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to export grid report: " + e.getMessage());
+        }
+    }
+
+    private static JSONObject summary(LatencySummary latency) {
+        return new JSONObject()
+                .put("count", latency.getCount())
+                .put("p50", latency.percentile(50))
+                .put("p95", latency.percentile(95))
+                .put("max", latency.getMax());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(String.format("Grid run: runs=%d completed=%d failed=%d wall=%.1fs "
+                + "throughput=%.2f registrations/min%n  flow: %s%n  commands: %d direct to node, %d through hub",
+                runs, getCompleted(), getFailures().size(), wallTime.toMillis() / 1000.0, getRegistrationsPerMinute(),
+                getFlowLatency(), directCommands, hubCommands));
+        for (ShardResult shard : shards) {
+            out.append(String.format("%n  %s: planned=%d completed=%d failed=%d moved away=%d%n    flow: %s"
+                    + "%n    session start: %s", shard.node, shard.planned, shard.completed, shard.failures.size(),
+                    shard.movedAway, shard.flow, shard.sessionStart));
+        }
+        return out.toString();
+    }
+
+    public static final class ShardResult {
+        private final String node;
+        private final int planned;
+        private final int completed;
+        private final List<String> failures;
+        private final int movedAway;
+        private final LatencySummary flow;
+        private final LatencySummary sessionStart;
+
+        public ShardResult(String node, int planned, int completed, List<String> failures, int movedAway,
+                LatencySummary flow, LatencySummary sessionStart) {
+            this.node = node;
+            this.planned = planned;
+            this.completed = completed;
+            this.failures = failures;
+            this.movedAway = movedAway;
+            this.flow = flow;
+            this.sessionStart = sessionStart;
+        }
+
+        public int getCompleted() {
+            return completed;
+        }
+
+        public List<String> getFailures() {
+            return failures;
+        }
+
+        public int getMovedAway() {
+            return movedAway;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.vrit.qa.grid;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.driver.DriverFactory;
+import com.vrit.qa.flow.LeasedRegistration;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.metrics.LatencySummary;
+import com.vrit.qa.parallel.RegistrationScenario;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs registrations across a Selenium Grid, one shard per node sized by
+ * its slot count. Each shard has one worker per slot; its sessions ask for
+ * the node's {@link GridNode#TAG_CAPABILITY} when the node has one, so they
+ * land on it, and commands then go straight to the node through
+ * {@link NodeRouting}. The hub's status is polled while the run lasts: when
+ * a node drains or disappears, its queued runs move to the live shards with
+ * the least work per slot, and idle workers take from the busiest shard.
+ */
+public class GridShardRunner {
+    private static final int MAX_PLACEMENTS = 3;
+
+    private final GridHub hub;
+    private final NodeRouting routing;
+    private final Function<InboxProvider, RegistrationIdentity> identities;
+    private final RegistrationScenario scenario;
+    private final Duration statusPoll;
+    private final Map<String, Shard> shards = new LinkedHashMap<>();
+    private final Map<Integer, Integer> placements = new ConcurrentHashMap<>();
+    // Runs not yet completed or failed; workers stay until it reaches zero, since runs can be re-queued
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Object signal = new Object();
+
+    public GridShardRunner(GridHub hub, NodeRouting routing, Function<InboxProvider, RegistrationIdentity> identities,
+            RegistrationScenario scenario, Duration statusPoll) {
+        this.hub = hub;
+        this.routing = routing;
+        this.identities = identities;
+        this.scenario = scenario;
+        this.statusPoll = statusPoll;
+    }
+
+    public GridRunReport run(int runs) {
+        GridStatus status = hub.status();
+        Map<String, Integer> plan = ShardPlan.allocate(status.getNodes(), runs);
+        int runId = 1;
+        for (GridNode node : status.getUpNodes()) {
+            Shard shard = new Shard(node, plan.getOrDefault(node.getId(), 0));
+            for (int i = 0; i < shard.planned; i++) {
+                shard.queue.addLast(runId++);
+            }
+            shards.put(node.getId(), shard);
+            outstanding.addAndGet(shard.planned);
+            System.out.println("Shard " + node + ": " + shard.planned + " run(s)");
+        }
+        int workers = shards.values().stream().mapToInt(shard -> shard.node.getMaxSessions()).sum();
+
+        AtomicInteger workerIds = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "grid-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::refresh, statusPoll.toMillis(), statusPoll.toMillis(),
+                TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Shard shard : shards.values()) {
+                for (int slot = 0; slot < shard.node.getMaxSessions(); slot++) {
+                    futures.add(executor.submit(() -> work(shard)));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Grid run interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Grid run failed: " + e.getMessage(), e);
+        } finally {
+            monitor.shutdownNow();
+            executor.shutdownNow();
+        }
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+        List<GridRunReport.ShardResult> results = new ArrayList<>();
+        List<Long> flowMs = new ArrayList<>();
+        for (Shard shard : shards.values()) {
+            flowMs.addAll(shard.flowMs);
+            results.add(new GridRunReport.ShardResult(shard.node.toString(), shard.planned, shard.completed.get(),
+                    new ArrayList<>(shard.failures), shard.movedAway.get(), new LatencySummary(shard.flowMs),
+                    new LatencySummary(shard.sessionStartMs)));
+        }
+        return new GridRunReport(runs, results, wallTime, new LatencySummary(flowMs), routing.getDirectCommands(),
+                routing.getHubCommands());
+    }
+
+    // Until every run has finished somewhere: a run that failed to start may be re-queued on any live shard
+    private void work(Shard shard) {
+        while (shard.live && outstanding.get() > 0) {
+            Integer run = shard.queue.pollFirst();
+            if (run == null) {
+                run = steal(shard);
+            }
+            if (run == null) {
+                awaitWork();
+                continue;
+            }
+            runOne(run, shard);
+        }
+    }
+
+    private void awaitWork() {
+        synchronized (signal) {
+            try {
+                signal.wait(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Grid worker interrupted", e);
+            }
+        }
+    }
+
+    private void enqueue(Shard shard, int run) {
+        shard.queue.addLast(run);
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    private void finished() {
+        if (outstanding.decrementAndGet() == 0) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+    }
+
+    private void fail(Shard shard, String failure) {
+        shard.failures.add(failure);
+        finished();
+    }
+
+    // Takes from the tail of the live shard with the most queued work per slot
+    private Integer steal(Shard thief) {
+        Optional<Shard> victim = shards.values().stream()
+                .filter(shard -> shard != thief && !shard.queue.isEmpty())
+                .max(Comparator.comparingDouble(Shard::load));
+        return victim.map(shard -> shard.queue.pollLast()).orElse(null);
+    }
+
+    private void runOne(int run, Shard shard) {
+        String tag = shard.node.getTag();
+        Map<String, Object> capabilities = tag == null ? Map.of() : Map.of(GridNode.TAG_CAPABILITY, tag);
+        long start = System.nanoTime();
+        WebDriver driver;
+        try {
+            driver = DriverFactory.createRemoteChrome(hub.getUri(), capabilities, routing);
+        } catch (SessionNotCreatedException e) {
+            // The node may have started draining since the last poll; check now and place the run elsewhere
+            refresh();
+            place(run, shard, "session not created on " + shard.node + ": " + e.getRawMessage());
+            return;
+        } catch (WebDriverException e) {
+            // A timeout or a routing/BiDi setup failure: the run never started, so it may still go elsewhere
+            place(run, shard, "session setup failed on " + shard.node + ": " + e.getRawMessage());
+            return;
+        } catch (RuntimeException e) {
+            // Anything else is a harness bug; account for the run so the workers do not wait for it forever
+            fail(shard, "Run " + run + ": session setup failed on " + shard.node + ": " + e.getMessage());
+            return;
+        }
+        shard.sessionStartMs.add((System.nanoTime() - start) / 1_000_000);
+        try {
+            LeasedRegistration.inSession(driver, identities, (session, identity, inbox) -> {
+                long flowStart = System.nanoTime();
+                try {
+                    scenario.run(session, identity, inbox);
+                } catch (Exception e) {
+                    fail(shard, "Run " + run + " (" + identity.getEmail() + "): " + e.getMessage());
+                    EventLog.global().warn("Run {} failed on {}", run, shard.node.getUri() + ": " + e.getMessage());
+                    return null;
+                }
+                shard.flowMs.add((System.nanoTime() - flowStart) / 1_000_000);
+                shard.completed.incrementAndGet();
+                finished();
+                EventLog.global().info("Run {} completed on {}", run, shard.node.getUri());
+                return null;
+            });
+        } catch (Exception e) {
+            fail(shard, "Run " + run + " (no identity yet): " + e.getMessage());
+            EventLog.global().warn("Run {} could not start on {}", run, shard.node.getUri() + ": " + e.getMessage());
+        } finally {
+            BiDiSession.release(driver);
+            DriverFactory.quit(driver);
+        }
+    }
+
+    // Puts a run that could not start back in the least loaded live shard, up to MAX_PLACEMENTS times
+    private synchronized void place(int run, Shard from, String reason) {
+        if (placements.merge(run, 1, Integer::sum) >= MAX_PLACEMENTS) {
+            fail(from, "Run " + run + ": " + reason);
+            return;
+        }
+        Optional<Shard> target = leastLoaded();
+        if (target.isEmpty()) {
+            fail(from, "Run " + run + ": no live grid node left (" + reason + ")");
+            return;
+        }
+        enqueue(target.get(), run);
+        if (target.get() != from) {
+            from.movedAway.incrementAndGet();
+        }
+    }
+
+    // Only shards with workers: a node reporting no slots has none to take the run
+    private Optional<Shard> leastLoaded() {
+        return shards.values().stream()
+                .filter(shard -> shard.live && shard.node.getMaxSessions() > 0)
+                .min(Comparator.comparingDouble(Shard::load));
+    }
+
+    // Marks shards whose node is no longer up and hands their queued runs to the others
+    private synchronized void refresh() {
+        GridStatus status;
+        try {
+            status = hub.status();
+        } catch (RuntimeException e) {
+            EventLog.global().warn("Grid status unavailable: {}", e.getMessage());
+            return;
+        }
+        for (Shard shard : shards.values()) {
+            Optional<GridNode> node = status.node(shard.node.getId());
+            if (!shard.live || node.map(GridNode::isUp).orElse(false)) {
+                continue;
+            }
+            shard.live = false;
+            String state = node.map(GridNode::getAvailability).orElse("gone");
+            EventLog.global().warn("Node {} is {}", shard.node.getUri(), state + ", moving " + shard.queue.size()
+                    + " queued run(s) to the other shards");
+            Integer run;
+            while ((run = shard.queue.pollLast()) != null) {
+                Optional<Shard> target = leastLoaded();
+                if (target.isEmpty()) {
+                    fail(shard, "Run " + run + ": no live grid node left");
+                    continue;
+                }
+                enqueue(target.get(), run);
+                shard.movedAway.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Shard {
+        private final GridNode node;
+        private final int planned;
+        private final ConcurrentLinkedDeque<Integer> queue = new ConcurrentLinkedDeque<>();
+        private final List<Long> flowMs = Collections.synchronizedList(new ArrayList<>());
+        private final List<Long> sessionStartMs = Collections.synchronizedList(new ArrayList<>());
+        private final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger movedAway = new AtomicInteger();
+        private volatile boolean live = true;
+
+        Shard(GridNode node, int planned) {
+            this.node = node;
+            this.planned = planned;
+        }
+
+        double load() {
+            return (double) queue.size() / Math.max(1, node.getMaxSessions());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.vrit.qa.grid;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A snapshot of the grid's {@code /status} response: whether it accepts
+ * sessions, and each node with its slots and running sessions.
+ */
+public class GridStatus {
+    private final boolean ready;
+    private final List<GridNode> nodes;
+
+    public GridStatus(boolean ready, List<GridNode> nodes) {
+        this.ready = ready;
+        this.nodes = Collections.unmodifiableList(nodes);
+    }
+
+    public static GridStatus parse(JSONObject response) {
+        JSONObject value = response.getJSONObject("value");
+        List<GridNode> nodes = new ArrayList<>();
+        JSONArray nodeArray = value.optJSONArray("nodes");
+        for (int i = 0; nodeArray != null && i < nodeArray.length(); i++) {
+            JSONObject node = nodeArray.getJSONObject(i);
+            JSONArray slots = node.optJSONArray("slots");
+            Set<String> sessions = new HashSet<>();
+            String tag = null;
+            for (int j = 0; slots != null && j < slots.length(); j++) {
+                JSONObject slot = slots.getJSONObject(j);
+                JSONObject session = slot.optJSONObject("session");
+                if (session != null) {
+                    sessions.add(session.getString("sessionId"));
+                }
+                JSONObject stereotype = slot.optJSONObject("stereotype");
+                if (tag == null && stereotype != null) {
+                    tag = stereotype.optString(GridNode.TAG_CAPABILITY, null);
+                }
+            }
+            int maxSessions = node.optInt("maxSessions", slots == null ? 0 : slots.length());
+            nodes.add(new GridNode(node.getString("id"), URI.create(node.getString("uri")),
+                    node.optString("availability", "UP"), maxSessions, tag, sessions));
+        }
+        return new GridStatus(value.optBoolean("ready"), nodes);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<GridNode> getNodes() {
+        return nodes;
+    }
+
+    public List<GridNode> getUpNodes() {
+        return nodes.stream().filter(GridNode::isUp).toList();
+    }
+
+    public Optional<GridNode> node(String id) {
+        return nodes.stream().filter(node -> node.getId().equals(id)).findFirst();
+    }
+
+    // The node running the given session, if it is still running
+    public Optional<GridNode> nodeFor(String sessionId) {
+        return nodes.stream().filter(node -> node.getSessionIds().contains(sessionId)).findFirst();
+    }
+
+    public int getCapacity() {
+        return getUpNodes().stream().mapToInt(GridNode::getMaxSessions).sum();
+    }
+}
@@ -0,0 +1,87 @@
+package com.vrit.qa.grid;
+
+import com.vrit.qa.metrics.LatencySummary;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GridStatusTest {
+    private static final String STATUS = """
+            {"value": {"ready": true, "message": "Selenium Grid ready.", "nodes": [
+              {"id": "a1", "uri": "http://10.0.0.1:5555", "maxSessions": 2, "availability": "UP", "slots": [
+                {"session": {"sessionId": "s-1", "capabilities": {}},
+                 "stereotype": {"browserName": "chrome", "vrit:node": "node-1"}},
+                {"session": null, "stereotype": {"browserName": "chrome", "vrit:node": "node-1"}}]},
+              {"id": "b2", "uri": "http://10.0.0.2:5555", "maxSessions": 1, "availability": "DRAINING", "slots": [
+                {"session": null, "stereotype": {"browserName": "chrome"}}]}]}}
+            """;
+
+    @Test
+    public void testParsesNodesSlotsAndSessions() {
+        GridStatus status = GridStatus.parse(new JSONObject(STATUS));
+
+        assertTrue(status.isReady());
+        assertEquals(2, status.getNodes().size());
+        GridNode first = status.getNodes().get(0);
+        assertEquals(URI.create("http://10.0.0.1:5555"), first.getUri());
+        assertEquals("node-1", first.getTag());
+        assertEquals(1, first.getFreeSlots());
+        assertEquals("a1", status.nodeFor("s-1").orElseThrow().getId());
+        assertFalse(status.nodeFor("s-2").isPresent());
+
+        GridNode second = status.getNodes().get(1);
+        assertFalse(second.isUp());
+        assertEquals(null, second.getTag());
+        assertEquals(List.of(first), status.getUpNodes());
+        assertEquals(2, status.getCapacity());
+    }
+
+    @Test
+    public void testAllocatesInProportionToSlots() {
+        List<GridNode> nodes = List.of(node("a", 4, "UP"), node("b", 2, "UP"), node("c", 2, "UP"),
+                node("d", 8, "DRAINING"));
+
+        assertEquals(Map.of("a", 5, "b", 3, "c", 2), ShardPlan.allocate(nodes, 10));
+        assertEquals(Map.of("a", 2, "b", 1, "c", 1), ShardPlan.allocate(nodes, 4));
+        assertEquals(Map.of("a", 1, "b", 0, "c", 0), ShardPlan.allocate(nodes, 1));
+        assertEquals(10, ShardPlan.allocate(nodes, 10).values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testNoLiveNodeIsAnError() {
+        assertThrows(IllegalStateException.class, () -> ShardPlan.allocate(List.of(node("a", 2, "DOWN")), 3));
+    }
+
+    @Test
+    public void testSessionIdFromCommandPath() {
+        assertEquals("abc", NodeRouting.sessionId("/session/abc/element").orElseThrow());
+        assertEquals("abc", NodeRouting.sessionId("/session/abc").orElseThrow());
+        assertFalse(NodeRouting.sessionId("/session").isPresent());
+        assertFalse(NodeRouting.sessionId("/status").isPresent());
+    }
+
+    @Test
+    public void testReportCountsRunsThatNeverFinished() {
+        LatencySummary empty = new LatencySummary(List.of());
+        GridRunReport.ShardResult shard = new GridRunReport.ShardResult("a1", 3, 1, List.of("Run 2: boom"), 0, empty,
+                empty);
+        GridRunReport report = new GridRunReport(3, List.of(shard), Duration.ofSeconds(1), empty, 0, 0);
+
+        assertEquals(1, report.getUnaccounted());
+        assertEquals(List.of("Run 2: boom", "1 of 3 run(s) never completed or failed"), report.getFailures());
+    }
+
+    private static GridNode node(String id, int slots, String availability) {
+        return new GridNode(id, URI.create("http://" + id + ":5555"), availability, slots, null, Set.of());
+    }
+}
@@ -0,0 +1,111 @@
+package com.vrit.qa.grid;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hub and its nodes started as separate JVMs from a Selenium server jar,
+ * for running the grid mode on one machine. Each node advertises its own
+ * {@link GridNode#TAG_CAPABILITY}, so sessions can be placed per shard.
+ */
+public class LocalGrid implements AutoCloseable {
+    private final Process hub;
+    private final List<Process> nodes = new ArrayList<>();
+    private final GridHub client;
+
+    private LocalGrid(Path serverJar, int port, int nodeCount, int slotsPerNode, Path logDir, Duration timeout)
+            throws IOException {
+        Files.createDirectories(logDir);
+        String secret = HarnessConfig.getString("grid.registrationSecret", "vrit-local-grid");
+        hub = start(logDir.resolve("hub.log"), serverJar, "hub", "--port", String.valueOf(port),
+                "--registration-secret", secret);
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                String stereotype = "{\"browserName\": \"chrome\", \"" + GridNode.TAG_CAPABILITY + "\": \"node-"
+                        + (i + 1) + "\"}";
+                nodes.add(start(logDir.resolve("node-" + (i + 1) + ".log"), serverJar, "node",
+                        "--hub", "http://localhost:" + port,
+                        "--port", String.valueOf(port + 1111 + i),
+                        "--registration-secret", secret,
+                        "--detect-drivers", "false",
+                        "--max-sessions", String.valueOf(slotsPerNode),
+                        "--override-max-sessions", "true",
+                        "--driver-configuration", "display-name=chrome", "max-sessions=" + slotsPerNode,
+                        "stereotype=" + stereotype));
+            }
+            client = new GridHub(URI.create("http://localhost:" + port), secret);
+            client.awaitNodes(nodeCount, timeout);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // Starts grid.nodes nodes of grid.slotsPerNode slots each behind a hub on grid.port
+    public static LocalGrid start() {
+        String jar = HarnessConfig.getString("grid.serverJar", "");
+        if (jar.isBlank() || !new File(jar).isFile()) {
+            throw new IllegalStateException("Set grid.serverJar to a selenium-server jar to start a local grid, "
+                    + "or grid.url to use a running one (got '" + jar + "')");
+        }
+        try {
+            LocalGrid grid = new LocalGrid(Paths.get(jar), HarnessConfig.getInt("grid.port", 4444),
+                    HarnessConfig.getInt("grid.nodes", 2), HarnessConfig.getInt("grid.slotsPerNode", 2),
+                    Paths.get(HarnessConfig.getString("grid.logDir", "target/grid")),
+                    HarnessConfig.getSeconds("grid.startTimeoutSeconds", 90));
+            System.out.println("Local grid up at " + grid.client.getUri() + " with " + grid.nodes.size() + " node(s)");
+            return grid;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start local grid: " + e.getMessage());
+        }
+    }
+
+    public GridHub getHub() {
+        return client;
+    }
+
+    // Kills one node process without draining it, as when a machine drops out of the grid
+    public void killNode(int index) {
+        nodes.get(index).destroyForcibly();
+    }
+
+    private static Process start(Path log, Path serverJar, String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(), "-jar", serverJar.toString()));
+        command.addAll(List.of(args));
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    @Override
+    public void close() {
+        // Nodes first, so they do not log the hub disappearing under them
+        for (Process node : nodes) {
+            stop(node);
+        }
+        if (hub != null) {
+            stop(hub);
+        }
+    }
+
+    private static void stop(Process process) {
+        process.destroy();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.vrit.qa.grid;
+
+import com.vrit.qa.log.EventLog;
+import org.json.JSONObject;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP clients for grid sessions that send each session's commands straight
+ * to the node running it. New sessions go through the hub, which picks the
+ * node; the node is then looked up once in the hub's status, and every
+ * later command skips the hub's router hop. Sockets (BiDi, DevTools) and
+ * commands for sessions whose node cannot be reached stay on the hub.
+ */
+public class NodeRouting implements HttpClient.Factory, AutoCloseable {
+    private static final Pattern SESSION_PATH = Pattern.compile("^/session/([^/]+)(/.*)?$");
+
+    private final GridHub hub;
+    private final boolean direct;
+    private final HttpClient.Factory delegate = HttpClient.Factory.createDefault();
+    private final Map<String, URI> sessionNodes = new ConcurrentHashMap<>();
+    private final Map<URI, HttpClient> nodeClients = new ConcurrentHashMap<>();
+    private final LongAdder directCommands = new LongAdder();
+    private final LongAdder hubCommands = new LongAdder();
+
+    // With direct=false every command goes through the hub, for comparing the two
+    public NodeRouting(GridHub hub, boolean direct) {
+        this.hub = hub;
+        this.direct = direct;
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        return new RoutingClient(config, delegate.createClient(config));
+    }
+
+    public Optional<URI> nodeFor(String sessionId) {
+        return Optional.ofNullable(sessionNodes.get(sessionId));
+    }
+
+    public long getDirectCommands() {
+        return directCommands.sum();
+    }
+
+    public long getHubCommands() {
+        return hubCommands.sum();
+    }
+
+    static Optional<String> sessionId(String path) {
+        Matcher matcher = SESSION_PATH.matcher(path);
+        return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    @Override
+    public void close() {
+        nodeClients.values().forEach(HttpClient::close);
+        nodeClients.clear();
+    }
+
+    private class RoutingClient implements HttpClient {
+        private final ClientConfig config;
+        private final HttpClient hubClient;
+
+        RoutingClient(ClientConfig config, HttpClient hubClient) {
+            this.config = config;
+            this.hubClient = hubClient;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            Optional<String> sessionId = sessionId(request.getUri());
+            if (sessionId.isEmpty()) {
+                HttpResponse response = viaHub(request);
+                if (direct && request.getMethod() == HttpMethod.POST && "/session".equals(request.getUri())) {
+                    locate(response);
+                }
+                return response;
+            }
+            URI node = sessionNodes.get(sessionId.get());
+            if (request.getMethod() == HttpMethod.DELETE && request.getUri().equals("/session/" + sessionId.get())) {
+                sessionNodes.remove(sessionId.get());
+            }
+            if (node == null) {
+                return viaHub(request);
+            }
+            try {
+                HttpResponse response = nodeClients.computeIfAbsent(node,
+                        uri -> delegate.createClient(config.baseUri(uri))).execute(request);
+                directCommands.increment();
+                return response;
+            } catch (UncheckedIOException e) {
+                // The node may only be reachable through the hub (another network, a proxy); stop trying it
+                sessionNodes.remove(sessionId.get());
+                return viaHub(request);
+            }
+        }
+
+        private HttpResponse viaHub(HttpRequest request) {
+            HttpResponse response = hubClient.execute(request);
+            hubCommands.increment();
+            return response;
+        }
+
+        // Remembers which node the hub put a new session on; commands stay on the hub if that is unknown
+        private void locate(HttpResponse response) {
+            if (response.getStatus() != 200) {
+                return;
+            }
+            try {
+                String sessionId = new JSONObject(Contents.string(response)).getJSONObject("value")
+                        .getString("sessionId");
+                hub.status().nodeFor(sessionId).ifPresent(node -> sessionNodes.put(sessionId, node.getUri()));
+            } catch (RuntimeException e) {
+                EventLog.global().warn("Could not locate the node of a new grid session: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return hubClient.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            hubClient.close();
+        }
+    }
+}
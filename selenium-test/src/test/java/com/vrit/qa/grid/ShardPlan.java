@@ -0,0 +1,41 @@
+package com.vrit.qa.grid;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a number of scenarios across the nodes that are up, in proportion
+ * to each node's slot count, so every shard should finish at about the same
+ * time. Leftovers from rounding go to the nodes with the largest remainder.
+ */
+public final class ShardPlan {
+    private ShardPlan() {
+    }
+
+    // Scenario count per node id, in node order
+    public static Map<String, Integer> allocate(List<GridNode> nodes, int scenarios) {
+        List<GridNode> up = nodes.stream().filter(node -> node.isUp() && node.getMaxSessions() > 0).toList();
+        if (up.isEmpty()) {
+            throw new IllegalStateException("No grid node with free capacity among " + nodes);
+        }
+        int capacity = up.stream().mapToInt(GridNode::getMaxSessions).sum();
+        Map<String, Integer> shares = new LinkedHashMap<>();
+        List<double[]> remainders = new ArrayList<>();
+        int assigned = 0;
+        for (int i = 0; i < up.size(); i++) {
+            double exact = (double) scenarios * up.get(i).getMaxSessions() / capacity;
+            int whole = (int) Math.floor(exact);
+            shares.put(up.get(i).getId(), whole);
+            remainders.add(new double[] {exact - whole, i});
+            assigned += whole;
+        }
+        remainders.sort(Comparator.<double[]>comparingDouble(r -> -r[0]).thenComparingDouble(r -> r[1]));
+        for (int i = 0; i < scenarios - assigned; i++) {
+            shares.merge(up.get((int) remainders.get(i)[1]).getId(), 1, Integer::sum);
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,167 @@
+package com.vrit.qa.identity;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeded test identities that cannot collide within a run. Every identity
+ * is a pure function of the seed and a 0-based index, and each unique field
+ * (mailbox, phone, registration number, agency email) is the index pushed
+ * through its own seeded permutation of {@value #CAPACITY} values, so
+ * distinct indices always give distinct values. Indices are handed out in
+ * partitions of {@value #PARTITION_SIZE}: each worker owns one, with no
+ * shared state after the partition is assigned. Replaying a seed with
+ * {@code -Didentity.seed} reproduces the same identities.
+ */
+public class IdentityGenerator {
+    public static final int CAPACITY = 100_000_000;
+    public static final int PARTITION_SIZE = 250_000;
+    public static final int MAX_PARTITIONS = CAPACITY / PARTITION_SIZE;
+
+    private static final long PHONE_BASE = 9_700_000_000L;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static IdentityGenerator shared;
+
+    private final long seed;
+    private final int batchSize;
+    // Distinguishes this run's mailboxes and agency emails from other runs against the same site
+    private final String runTag;
+    private final Permutation mailboxes;
+    private final Permutation phones;
+    private final Permutation registrationNumbers;
+    private final Permutation agencies;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+    private final ThreadLocal<IdentityPartition> threadPartition = ThreadLocal.withInitial(this::nextPartition);
+
+    public IdentityGenerator(long seed, int batchSize) {
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.runTag = pad(Long.toString(Math.floorMod(mix(seed, 0), 36L * 36 * 36 * 36), 36), 4);
+        this.mailboxes = new Permutation(seed, 1);
+        this.phones = new Permutation(seed, 2);
+        this.registrationNumbers = new Permutation(seed, 3);
+        this.agencies = new Permutation(seed, 4);
+    }
+
+    // identity.seed when set, otherwise a fresh seed that is printed so a failing run can be replayed
+    public static synchronized IdentityGenerator shared() {
+        if (shared == null) {
+            String configured = HarnessConfig.getString("identity.seed", "");
+            long seed = configured.isEmpty() ? System.nanoTime() ^ System.currentTimeMillis() << 20
+                    : Long.parseLong(configured);
+            shared = new IdentityGenerator(seed, HarnessConfig.getInt("identity.batchSize", 256));
+            System.out.println("Identity seed " + seed + " (replay with -Didentity.seed=" + seed + ")");
+        }
+        return shared;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Next identity of the calling thread's partition, with its email in the given inbox
+    public RegistrationIdentity next(InboxProvider inbox) {
+        return threadPartition.get().next(inbox);
+    }
+
+    // Next mailbox name of the calling thread's partition, for callers that only need an address
+    public String nextMailbox() {
+        return threadPartition.get().nextMailbox();
+    }
+
+    // A partition for one worker; partitions are numbered in the order they are taken
+    public IdentityPartition nextPartition() {
+        return partition(nextPartition.getAndIncrement());
+    }
+
+    // The given partition, so a replay can pin a worker to the partition it had in the failing run
+    public IdentityPartition partition(int number) {
+        if (number < 0 || number >= MAX_PARTITIONS) {
+            throw new IllegalStateException("Identity partitions exhausted: " + number + " of " + MAX_PARTITIONS);
+        }
+        return new IdentityPartition(this, (long) number * PARTITION_SIZE, batchSize);
+    }
+
+    // The identity at a global index, with its bare mailbox name as the email
+    public RegistrationIdentity identity(long index) {
+        SplittableRandom random = new SplittableRandom(mix(seed, index + 5));
+        String agency = runTag + pad(Long.toString(agencies.apply(index), 36), 6);
+        return new RegistrationIdentity(
+                name(random),
+                name(random),
+                mailbox(index),
+                String.valueOf(PHONE_BASE + phones.apply(index)),
+                "Strong@" + text(random, ALPHANUMERIC, 8),
+                "Test Agency " + capitalize(text(random, LETTERS, 5)),
+                capitalize(text(random, LETTERS, 10)) + " Street, Kathmandu",
+                "agency" + agency + "@test.com",
+                "www.agency" + agency + ".com",
+                "Manager",
+                "REG" + String.format("%08d", registrationNumbers.apply(index)),
+                "ICEF Certified Education Agent " + text(random, ALPHANUMERIC, 5));
+    }
+
+    // Lowercase alphanumerics only, as Mailinator inbox names require
+    public String mailbox(long index) {
+        return "test" + runTag + pad(Long.toString(mailboxes.apply(index), 36), 6);
+    }
+
+    private static String name(SplittableRandom random) {
+        return capitalize(text(random, LETTERS, 5 + random.nextInt(6)));
+    }
+
+    private static String text(SplittableRandom random, String alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static String pad(String text, int length) {
+        StringBuilder padded = new StringBuilder(length);
+        for (int i = text.length(); i < length; i++) {
+            padded.append('0');
+        }
+        return padded.append(text).toString();
+    }
+
+    // SplitMix64 finalizer over seed and salt; spreads nearby inputs across the whole long range
+    static long mix(long seed, long salt) {
+        long z = seed + salt * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // i -> (a * i + b) mod CAPACITY with a coprime to CAPACITY (10^8), a bijection on [0, CAPACITY)
+    static final class Permutation {
+        private final long multiplier;
+        private final long offset;
+
+        Permutation(long seed, int field) {
+            long a = Math.floorMod(mix(seed, -field), CAPACITY) | 1;
+            if (a % 5 == 0) {
+                a = (a + 2) % CAPACITY;
+            }
+            this.multiplier = a;
+            this.offset = Math.floorMod(mix(seed, field), CAPACITY);
+        }
+
+        long apply(long index) {
+            if (index < 0 || index >= CAPACITY) {
+                throw new IllegalArgumentException("Identity index out of range: " + index);
+            }
+            return (multiplier * index + offset) % CAPACITY;
+        }
+    }
+}
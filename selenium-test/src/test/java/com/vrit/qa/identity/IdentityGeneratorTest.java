@@ -0,0 +1,119 @@
+package com.vrit.qa.identity;
+
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdentityGeneratorTest {
+    private static final InboxProvider INBOX = new InboxProvider() {
+        @Override
+        public String addressFor(String mailbox) {
+            return mailbox + "@inbox.local";
+        }
+
+        @Override
+        public String awaitOtp(String address, Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Test
+    public void testSameSeedReplaysSameIdentities() {
+        RegistrationIdentity first = new IdentityGenerator(42, 16).partition(3).next(INBOX);
+        RegistrationIdentity replay = new IdentityGenerator(42, 64).partition(3).next(INBOX);
+        RegistrationIdentity otherSeed = new IdentityGenerator(43, 16).partition(3).next(INBOX);
+
+        assertEquals(first.getEmail(), replay.getEmail());
+        assertEquals(first.getPhone(), replay.getPhone());
+        assertEquals(first.getPassword(), replay.getPassword());
+        assertEquals(first.getFirstName(), replay.getFirstName());
+        assertEquals(first.getRegistrationNumber(), replay.getRegistrationNumber());
+        assertNotEquals(first.getEmail(), otherSeed.getEmail());
+    }
+
+    @Test
+    public void testFieldFormats() {
+        RegistrationIdentity identity = new IdentityGenerator(7, 8).partition(0).next(INBOX);
+        assertTrue(identity.getEmail().matches("test[a-z0-9]{10}@inbox\\.local"), identity.getEmail());
+        long phone = Long.parseLong(identity.getPhone());
+        assertTrue(phone >= 9_700_000_000L && phone <= 9_899_999_999L, identity.getPhone());
+        assertTrue(identity.getPassword().matches("Strong@[A-Za-z0-9]{8}"), identity.getPassword());
+        assertTrue(identity.getRegistrationNumber().matches("REG\\d{8}"), identity.getRegistrationNumber());
+        assertTrue(identity.getFirstName().matches("[A-Z][a-z]{4,9}"), identity.getFirstName());
+    }
+
+    @Test
+    public void testNoDuplicatesAcrossConcurrentWorkers() throws Exception {
+        IdentityGenerator generator = new IdentityGenerator(System.nanoTime(), 256);
+        int workers = 8;
+        int perWorker = 25_000;
+        Set<String> mailboxes = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<List<RegistrationIdentity>>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                futures.add(executor.submit(() -> {
+                    List<RegistrationIdentity> identities = new ArrayList<>(perWorker);
+                    for (int i = 0; i < perWorker; i++) {
+                        identities.add(generator.next(INBOX));
+                    }
+                    // Addresses taken on their own come from the same index space
+                    mailboxes.add(INBOX.addressFor(generator.nextMailbox()));
+                    return identities;
+                }));
+            }
+            Set<String> emails = new HashSet<>();
+            Set<String> phones = new HashSet<>();
+            Set<String> registrationNumbers = new HashSet<>();
+            Set<String> agencyEmails = new HashSet<>();
+            for (Future<List<RegistrationIdentity>> future : futures) {
+                for (RegistrationIdentity identity : future.get()) {
+                    assertTrue(emails.add(identity.getEmail()), "Duplicate email " + identity.getEmail());
+                    assertTrue(phones.add(identity.getPhone()), "Duplicate phone " + identity.getPhone());
+                    assertTrue(registrationNumbers.add(identity.getRegistrationNumber()),
+                            "Duplicate registration number " + identity.getRegistrationNumber());
+                    assertTrue(agencyEmails.add(identity.getAgencyEmail()),
+                            "Duplicate agency email " + identity.getAgencyEmail());
+                }
+            }
+            assertEquals(workers * perWorker, emails.size());
+            mailboxes.forEach(address -> assertTrue(emails.add(address), "Duplicate address " + address));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPartitionBounds() {
+        IdentityGenerator generator = new IdentityGenerator(1, 4);
+        assertThrows(IllegalStateException.class, () -> generator.partition(IdentityGenerator.MAX_PARTITIONS));
+        assertEquals((long) (IdentityGenerator.MAX_PARTITIONS - 1) * IdentityGenerator.PARTITION_SIZE,
+                generator.partition(IdentityGenerator.MAX_PARTITIONS - 1).getFirstIndex());
+    }
+
+    @Test
+    public void testPermutationIsBijective() {
+        IdentityGenerator.Permutation permutation = new IdentityGenerator.Permutation(99, 1);
+        // Distinct indices spread over the space never share a value
+        Set<Long> seen = new HashSet<>();
+        for (long i = 0; i < IdentityGenerator.CAPACITY; i += 997) {
+            assertTrue(seen.add(permutation.apply(i)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> permutation.apply(IdentityGenerator.CAPACITY));
+    }
+}
@@ -0,0 +1,66 @@
+package com.vrit.qa.identity;
+
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+
+/**
+ * One worker's slice of the identity index space. Identities are generated
+ * a batch at a time ahead of use, so handing one out is an array read.
+ * Not thread-safe: a partition belongs to a single worker.
+ */
+public class IdentityPartition {
+    private final IdentityGenerator generator;
+    private final long first;
+    private final RegistrationIdentity[] batch;
+    private long next;
+    private int cursor;
+
+    IdentityPartition(IdentityGenerator generator, long first, int batchSize) {
+        this.generator = generator;
+        this.first = first;
+        this.next = first;
+        this.batch = new RegistrationIdentity[Math.max(1, batchSize)];
+        this.cursor = batch.length;
+    }
+
+    // Global index of the first identity, so failures can be traced back to seed and index
+    public long getFirstIndex() {
+        return first;
+    }
+
+    public RegistrationIdentity next(InboxProvider inbox) {
+        if (cursor == batch.length) {
+            refill();
+        }
+        RegistrationIdentity template = batch[cursor];
+        batch[cursor++] = null;
+        return template.withEmail(inbox.addressFor(template.getEmail()));
+    }
+
+    // Takes an index of its own, so the mailbox never matches one handed out with an identity
+    public String nextMailbox() {
+        return generator.mailbox(take());
+    }
+
+    private void refill() {
+        int count = (int) Math.min(batch.length, first + IdentityGenerator.PARTITION_SIZE - next);
+        if (count <= 0) {
+            throw new IllegalStateException("Identity partition starting at " + first + " is exhausted");
+        }
+        // A short last batch is right-aligned so the cursor still ends at batch.length
+        cursor = batch.length - count;
+        for (int i = cursor; i < batch.length; i++) {
+            batch[i] = generator.identity(next++);
+        }
+    }
+
+    private long take() {
+        if (cursor == batch.length) {
+            refill();
+        }
+        // Slot i holds the identity at index next - (batch.length - i); it is skipped
+        long index = next - (batch.length - cursor);
+        batch[cursor++] = null;
+        return index;
+    }
+}
@@ -0,0 +1,22 @@
+package com.vrit.qa.inbox;
+
+import com.vrit.qa.identity.IdentityGenerator;
+
+import java.time.Duration;
+
+/**
+ * Source of disposable email addresses and the OTPs delivered to them.
+ */
+public interface InboxProvider {
+
+    // The address of a mailbox name in this inbox
+    String addressFor(String mailbox);
+
+    // A fresh address that no other run will use
+    default String newAddress() {
+        return addressFor(IdentityGenerator.shared().nextMailbox());
+    }
+
+    // Blocks until a message carrying an OTP reaches the address, or throws when the timeout expires
+    String awaitOtp(String address, Duration timeout);
+}
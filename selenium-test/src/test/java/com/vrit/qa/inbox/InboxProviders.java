@@ -0,0 +1,27 @@
+package com.vrit.qa.inbox;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.standin.LocalRegistrationApp;
+import org.openqa.selenium.WebDriver;
+
+public final class InboxProviders {
+
+    private InboxProviders() {
+    }
+
+    // inbox.provider=local (embedded SMTP) or mailinator (public web inbox in a second window).
+    // The local stand-in app only mails the embedded server, so app.target=local forces local.
+    public static InboxProvider forSession(WebDriver driver) {
+        String provider = LocalRegistrationApp.isSelected()
+                ? "local"
+                : HarnessConfig.getString("inbox.provider", "mailinator");
+        switch (provider) {
+            case "local":
+                return LocalSmtpInboxProvider.shared();
+            case "mailinator":
+                return new MailinatorInboxProvider(driver);
+            default:
+                throw new IllegalArgumentException("Unknown inbox.provider: " + provider);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.vrit.qa.inbox;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Inbox backed by the embedded {@link LocalSmtpServer}. An OTP is handed to
+ * the waiting run the moment the SMTP DATA command completes.
+ */
+public class LocalSmtpInboxProvider implements InboxProvider, AutoCloseable {
+    private static LocalSmtpInboxProvider shared;
+
+    private final LocalSmtpServer server;
+    private final String domain;
+
+    public LocalSmtpInboxProvider(int port, String domain) {
+        this.server = new LocalSmtpServer(port, new MailboxStore());
+        this.domain = domain;
+    }
+
+    // One server per JVM, shared by every session
+    public static synchronized LocalSmtpInboxProvider shared() {
+        if (shared == null) {
+            shared = new LocalSmtpInboxProvider(
+                    HarnessConfig.getInt("inbox.smtp.port", 2525),
+                    HarnessConfig.getString("inbox.domain", "inbox.local"));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close));
+        }
+        return shared;
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+
+    public MailboxStore getStore() {
+        return server.getStore();
+    }
+
+    @Override
+    public String addressFor(String mailbox) {
+        return mailbox + "@" + domain;
+    }
+
+    @Override
+    public String awaitOtp(String address, Duration timeout) {
+        try {
+            MailMessage message = server.getStore()
+                    .next(address, m -> OtpExtractor.extract(m.getBody()).isPresent())
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return OtpExtractor.extract(message.getBody()).orElseThrow();
+        } catch (TimeoutException e) {
+            throw new RuntimeException("No OTP delivered to " + address + " within " + timeout.toSeconds() + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for OTP for " + address);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to read OTP for " + address + ": " + e.getCause().getMessage());
+        } finally {
+            server.getStore().remove(address);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.vrit.qa.inbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LocalSmtpInboxProviderTest {
+    private LocalSmtpInboxProvider inbox;
+
+    @BeforeEach
+    public void setUp() {
+        inbox = new LocalSmtpInboxProvider(0, "inbox.local");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        inbox.close();
+    }
+
+    @Test
+    public void testOtpDeliveredBeforeWaitIsReturned() {
+        String address = inbox.newAddress();
+        SmtpClient.send("localhost", inbox.getPort(), "noreply@partner.local", address,
+                "Verify your email", "Your verification code is 482913. It expires in 10 minutes.");
+        assertEquals("482913", inbox.awaitOtp(address, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void testWaitingReaderIsWokenByDelivery() {
+        String address = inbox.newAddress();
+        CompletableFuture<String> otp = CompletableFuture.supplyAsync(
+                () -> inbox.awaitOtp(address, Duration.ofSeconds(10)));
+        SmtpClient.send("localhost", inbox.getPort(), "noreply@partner.local", address.toUpperCase(),
+                "Verify your email", "<p style=\"width:600px\">Code: <b>105522</b></p>\n.leading dot line");
+        assertEquals("105522", otp.join());
+    }
+
+    @Test
+    public void testOtherRecipientsDoNotSatisfyWait() {
+        String address = inbox.newAddress();
+        SmtpClient.send("localhost", inbox.getPort(), "noreply@partner.local", inbox.newAddress(),
+                "Verify your email", "Code 999999");
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> inbox.awaitOtp(address, Duration.ofMillis(200)));
+        assertTrue(e.getMessage().contains(address));
+    }
+}
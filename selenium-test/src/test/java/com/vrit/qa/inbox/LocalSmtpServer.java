@@ -0,0 +1,177 @@
+package com.vrit.qa.inbox;
+
+import com.vrit.qa.log.EventLog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal loopback SMTP receiver (HELO/EHLO, MAIL, RCPT, DATA, RSET, NOOP,
+ * QUIT). Accepted messages go straight into a {@link MailboxStore}; nothing is
+ * relayed, so it works with no network at all.
+ */
+public class LocalSmtpServer implements AutoCloseable {
+    private final MailboxStore store;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "local-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running = true;
+
+    public LocalSmtpServer(int port, MailboxStore store) {
+        this.store = store;
+        try {
+            serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind local SMTP server on port " + port, e);
+        }
+        connections.execute(this::acceptLoop);
+        System.out.println("Local SMTP server listening on port " + getPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public MailboxStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.out.println("Failed to close local SMTP server: " + e.getMessage());
+        }
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (running) {
+                    EventLog.global().warn("Local SMTP accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost ESMTP harness");
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line;
+                switch (command) {
+                    case "HELO":
+                    case "EHLO":
+                        reply(out, "250 localhost");
+                        break;
+                    case "MAIL":
+                        from = argument(line);
+                        recipients.clear();
+                        reply(out, "250 OK");
+                        break;
+                    case "RCPT":
+                        recipients.add(MailboxStore.normalize(argument(line)));
+                        reply(out, "250 OK");
+                        break;
+                    case "DATA":
+                        if (recipients.isEmpty()) {
+                            reply(out, "503 RCPT first");
+                            break;
+                        }
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        store.deliver(readMessage(in, from, List.copyOf(recipients)));
+                        recipients.clear();
+                        reply(out, "250 OK");
+                        break;
+                    case "RSET":
+                        from = null;
+                        recipients.clear();
+                        reply(out, "250 OK");
+                        break;
+                    case "NOOP":
+                        reply(out, "250 OK");
+                        break;
+                    case "QUIT":
+                        reply(out, "221 Bye");
+                        return;
+                    default:
+                        reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                EventLog.global().warn("Local SMTP session failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static MailMessage readMessage(BufferedReader in, String from, List<String> recipients)
+            throws IOException {
+        StringBuilder headers = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        String subject = "";
+        boolean inBody = false;
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            // Dot-stuffing (RFC 5321 4.5.2)
+            if (line.startsWith("..")) {
+                line = line.substring(1);
+            }
+            if (inBody) {
+                body.append(line).append('\n');
+            } else if (line.isEmpty()) {
+                inBody = true;
+            } else {
+                headers.append(line).append('\n');
+                if (line.regionMatches(true, 0, "Subject:", 0, 8)) {
+                    subject = line.substring(8).trim();
+                }
+            }
+        }
+        return new MailMessage(from, recipients, subject, body.toString(), Instant.now());
+    }
+
+    // "MAIL FROM:<a@b>" -> "a@b"
+    private static String argument(String line) {
+        int colon = line.indexOf(':');
+        String value = colon < 0 ? "" : line.substring(colon + 1).trim();
+        int space = value.indexOf(' ');
+        if (space > 0) {
+            value = value.substring(0, space);
+        }
+        return MailboxStore.normalize(value);
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,43 @@
+package com.vrit.qa.inbox;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A message accepted by {@link LocalSmtpServer}.
+ */
+public class MailMessage {
+    private final String from;
+    private final List<String> recipients;
+    private final String subject;
+    private final String body;
+    private final Instant receivedAt;
+
+    public MailMessage(String from, List<String> recipients, String subject, String body, Instant receivedAt) {
+        this.from = from;
+        this.recipients = recipients;
+        this.subject = subject;
+        this.body = body;
+        this.receivedAt = receivedAt;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Instant getReceivedAt() {
+        return receivedAt;
+    }
+}
@@ -0,0 +1,93 @@
+package com.vrit.qa.inbox;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory mailboxes keyed by recipient address. Readers register a future
+ * and are completed the moment a matching message is delivered, so there is
+ * no polling interval between delivery and pickup.
+ */
+public class MailboxStore {
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public void deliver(MailMessage message) {
+        for (String recipient : message.getRecipients()) {
+            mailbox(recipient).deliver(message);
+        }
+    }
+
+    // Completes with the first message (already delivered or future) that matches
+    public CompletableFuture<MailMessage> next(String address, Predicate<MailMessage> filter) {
+        return mailbox(address).next(filter);
+    }
+
+    public List<MailMessage> messages(String address) {
+        return mailbox(address).snapshot();
+    }
+
+    public void remove(String address) {
+        mailboxes.remove(normalize(address));
+    }
+
+    private Mailbox mailbox(String address) {
+        return mailboxes.computeIfAbsent(normalize(address), key -> new Mailbox());
+    }
+
+    static String normalize(String address) {
+        String trimmed = address.trim();
+        if (trimmed.startsWith("<") && trimmed.endsWith(">")) {
+            trimmed = trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Mailbox {
+        private final List<MailMessage> messages = new ArrayList<>();
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        synchronized void deliver(MailMessage message) {
+            messages.add(message);
+            Iterator<Waiter> it = waiters.iterator();
+            while (it.hasNext()) {
+                Waiter waiter = it.next();
+                if (waiter.future.isDone()) {
+                    it.remove();
+                } else if (waiter.filter.test(message)) {
+                    it.remove();
+                    waiter.future.complete(message);
+                }
+            }
+        }
+
+        synchronized CompletableFuture<MailMessage> next(Predicate<MailMessage> filter) {
+            for (MailMessage message : messages) {
+                if (filter.test(message)) {
+                    return CompletableFuture.completedFuture(message);
+                }
+            }
+            Waiter waiter = new Waiter(filter);
+            waiters.add(waiter);
+            return waiter.future;
+        }
+
+        synchronized List<MailMessage> snapshot() {
+            return new ArrayList<>(messages);
+        }
+    }
+
+    private static final class Waiter {
+        private final Predicate<MailMessage> filter;
+        private final CompletableFuture<MailMessage> future = new CompletableFuture<>();
+
+        private Waiter(Predicate<MailMessage> filter) {
+            this.filter = filter;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.vrit.qa.inbox;
+
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.retry.Deadline;
+import com.vrit.qa.retry.Retry;
+import com.vrit.qa.retry.RetryPolicy;
+import com.vrit.qa.wait.DomWaits;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Public Mailinator inbox read through a second window of the test's own
+ * browser. Needs internet access; prefer {@link LocalSmtpInboxProvider} when
+ * the app under test can deliver to it.
+ */
+public class MailinatorInboxProvider implements InboxProvider {
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final DomWaits waits;
+    private final EventLog log = EventLog.global();
+
+    public MailinatorInboxProvider(WebDriver driver) {
+        this.driver = driver;
+        wait = new WebDriverWait(driver, Duration.ofSeconds(40));
+        waits = new DomWaits(driver, Duration.ofSeconds(40));
+    }
+
+    @Override
+    public String addressFor(String mailbox) {
+        return mailbox + "@mailinator.com";
+    }
+
+    @Override
+    public String awaitOtp(String address, Duration timeout) {
+        String inboxName = address.split("@")[0];
+
+        // Store original window handle
+        String originalWindow = driver.getWindowHandle();
+
+        // Open new window for Mailinator
+        ((JavascriptExecutor) driver).executeScript("window.open('about:blank', 'mailinator');");
+
+        // Switch to new window
+        for (String handle : driver.getWindowHandles()) {
+            if (!handle.equals(originalWindow)) {
+                driver.switchTo().window(handle);
+                break;
+            }
+        }
+
+        try {
+            // Navigate to Mailinator in new window
+            driver.get("https://www.mailinator.com/v4/public/inboxes.jsp?to=" + inboxName);
+            log.info("Navigated to Mailinator inbox: {}", inboxName);
+            return readOtp(timeout);
+        } finally {
+            // Close Mailinator window and switch back
+            driver.close();
+            driver.switchTo().window(originalWindow);
+        }
+    }
+
+    // Polls the inbox with backoff until the OTP mail shows up or the timeout is spent
+    private String readOtp(Duration timeout) {
+        By emailRowSelector = By.cssSelector("table.table-striped tbody tr:first-child");
+        return Retry.of("inbox_poll", RetryPolicy.fromConfig("inboxPoll"))
+                .within(Deadline.in(timeout))
+                .recoverWith(e -> {
+                    driver.switchTo().defaultContent();
+                    driver.navigate().refresh();
+                    log.info("Refreshed inbox");
+                })
+                .call(attempt -> {
+                    // The inbox pushes new messages into the table, so watch for the row instead of polling
+                    WebElement emailRow = waits.visible(emailRowSelector);
+                    emailRow.click();
+                    log.info("Clicked email row");
+
+                    wait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(By.id("html_msg_body")));
+
+                    WebElement messageBody = wait.until(
+                            ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
+                    Optional<String> otp = OtpExtractor.extract(messageBody.getText());
+                    log.info("Email content retrieved");
+                    driver.switchTo().defaultContent();
+
+                    // Not delivered yet looks like a missing element, which the classifier retries
+                    String code = otp.orElseThrow(() -> new NotFoundException("No OTP in the latest message yet"));
+                    log.info("Found OTP: {}", code);
+                    return code;
+                });
+    }
+}
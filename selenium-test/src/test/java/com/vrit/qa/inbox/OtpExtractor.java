@@ -0,0 +1,22 @@
+package com.vrit.qa.inbox;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class OtpExtractor {
+    private static final Pattern OTP = Pattern.compile("\\b\\d{6}\\b");
+    private static final Pattern TAGS = Pattern.compile("<[^>]+>");
+
+    private OtpExtractor() {
+    }
+
+    public static Optional<String> extract(String content) {
+        if (content == null) {
+            return Optional.empty();
+        }
+        // HTML mails: ignore digits that only appear inside markup (colours, sizes)
+        Matcher matcher = OTP.matcher(TAGS.matcher(content).replaceAll(" "));
+        return matcher.find() ? Optional.of(matcher.group()) : Optional.empty();
+    }
+}
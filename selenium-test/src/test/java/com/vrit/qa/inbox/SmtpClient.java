@@ -0,0 +1,59 @@
+package com.vrit.qa.inbox;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends plain-text mail to an SMTP server with no auth or TLS, which is all
+ * the loopback {@link LocalSmtpServer} needs.
+ */
+public final class SmtpClient {
+
+    private SmtpClient() {
+    }
+
+    public static void send(String host, int port, String from, String to, String subject, String body) {
+        try (Socket socket = new Socket(host, port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                OutputStream out = socket.getOutputStream()) {
+            expect(in, "220");
+            command(out, in, "HELO localhost", "250");
+            command(out, in, "MAIL FROM:<" + from + ">", "250");
+            command(out, in, "RCPT TO:<" + to + ">", "250");
+            command(out, in, "DATA", "354");
+            StringBuilder data = new StringBuilder()
+                    .append("From: ").append(from).append("\r\n")
+                    .append("To: ").append(to).append("\r\n")
+                    .append("Subject: ").append(subject).append("\r\n")
+                    .append("\r\n");
+            for (String line : body.split("\r?\n", -1)) {
+                data.append(line.startsWith(".") ? "." + line : line).append("\r\n");
+            }
+            data.append(".");
+            command(out, in, data.toString(), "250");
+            command(out, in, "QUIT", "221");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to send mail to " + to + " via " + host + ":" + port, e);
+        }
+    }
+
+    private static void command(OutputStream out, BufferedReader in, String line, String expected)
+            throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        expect(in, expected);
+    }
+
+    private static void expect(BufferedReader in, String code) throws IOException {
+        String reply = in.readLine();
+        if (reply == null || !reply.startsWith(code)) {
+            throw new IOException("Expected SMTP " + code + " but got: " + reply);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.vrit.qa.load;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.driver.DriverFactory;
+import com.vrit.qa.driver.DriverPool;
+import com.vrit.qa.flow.LeasedRegistration;
+import com.vrit.qa.flow.RegistrationFlow;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.log.EventLog;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the registration steps as a virtual-user workload. Users arrive on a
+ * {@link LoadProfile} schedule, each takes a browser from the pool, walks
+ * the same steps as the JUnit flow with think time between them and hands
+ * the browser back. An arrival that waits longer than the queue limit for a
+ * browser is dropped, so an overloaded runner shows up as errors instead of
+ * a silently stretched schedule.
+ *
+ * <pre>mvn -Pload test-compile exec:java -Dapp.target=local -Dload.maxUsers=8 -Dload.arrivalsPerMinute=20</pre>
+ */
+public class LoadDriver {
+    private static final String OPEN = "open";
+
+    private final DriverPool pool;
+    private final LoadProfile profile;
+    private final int maxUsers;
+    private final Duration maxQueue;
+    private final long thinkMillis;
+    private final long thinkJitterMillis;
+    private final Duration reportInterval;
+    private final long seed;
+
+    public LoadDriver(DriverPool pool, LoadProfile profile, int maxUsers, Duration maxQueue, long thinkMillis,
+            long thinkJitterMillis, Duration reportInterval, long seed) {
+        this.pool = pool;
+        this.profile = profile;
+        this.maxUsers = maxUsers;
+        this.maxQueue = maxQueue;
+        this.thinkMillis = thinkMillis;
+        this.thinkJitterMillis = thinkJitterMillis;
+        this.reportInterval = reportInterval;
+        this.seed = seed;
+    }
+
+    public static LoadDriver fromConfig(DriverPool pool) {
+        return new LoadDriver(pool, LoadProfile.fromConfig(), pool.getSize(),
+                HarnessConfig.getSeconds("load.maxQueueSeconds", 30),
+                HarnessConfig.getLong("load.thinkTimeMillis", 1000),
+                HarnessConfig.getLong("load.thinkTimeJitterMillis", 500),
+                HarnessConfig.getSeconds("load.reportSeconds", 10),
+                HarnessConfig.getLong("load.seed", 42));
+    }
+
+    public static void main(String[] args) {
+        int maxUsers = HarnessConfig.getInt("load.maxUsers", 4);
+        LoadReport report;
+        try (DriverPool pool = new DriverPool(DriverFactory::createChrome, maxUsers,
+                HarnessConfig.getInt("pool.maxLeasesPerBrowser", 20), Duration.ofMinutes(10),
+                HarnessConfig.getBoolean("pool.warmUp", true),
+                HarnessConfig.getString("pool.warmUpUrl", RegistrationFlow.registrationUrl()))) {
+            report = fromConfig(pool).run();
+        }
+        System.out.println(report);
+        report.getStats().getFailures().forEach(failure -> System.out.println("  " + failure));
+        report.export(Paths.get(HarnessConfig.getString("metrics.dir", "target/metrics")));
+        double maxErrorRate = HarnessConfig.getDouble("load.maxErrorRate", 0.05);
+        System.exit(report.getStats().getErrorRate() > maxErrorRate ? 1 : 0);
+    }
+
+    public LoadReport run() {
+        List<Long> arrivals = profile.arrivalOffsetsMillis(new Random(seed));
+        LoadStats stats = new LoadStats();
+        System.out.println("Load profile: " + profile + ", " + arrivals.size() + " arrivals scheduled, max users="
+                + maxUsers);
+
+        // Java 17 target: one platform thread per browser; arrivals beyond that queue for a free user
+        AtomicInteger userIds = new AtomicInteger();
+        ExecutorService users = Executors.newFixedThreadPool(maxUsers, runnable -> {
+            Thread thread = new Thread(runnable, "virtual-user-" + userIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        LiveReport live = new LiveReport(stats, start);
+        reporter.scheduleAtFixedRate(live::print, reportInterval.toMillis(), reportInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        try {
+            int userId = 0;
+            for (long offset : arrivals) {
+                long due = start + TimeUnit.MILLISECONDS.toNanos(offset);
+                long sleepNanos = due - System.nanoTime();
+                if (sleepNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                }
+                stats.arrived();
+                int id = ++userId;
+                users.execute(() -> runUser(id, due, stats));
+            }
+            users.shutdown();
+            // Users still in flight get the queue limit plus generous time to finish their registration
+            if (!users.awaitTermination(maxQueue.toMinutes() + 15, TimeUnit.MINUTES)) {
+                System.out.println("Load run: virtual users still running at the deadline, abandoning them");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load run interrupted", e);
+        } finally {
+            users.shutdownNow();
+            reporter.shutdownNow();
+        }
+        live.print();
+        return new LoadReport(profile, maxUsers, Duration.ofNanos(System.nanoTime() - start), stats);
+    }
+
+    private void runUser(int userId, long dueNanos, LoadStats stats) {
+        long queueDelayMs = (System.nanoTime() - dueNanos) / 1_000_000;
+        if (queueDelayMs > maxQueue.toMillis()) {
+            stats.dropped();
+            EventLog.global().warn("User {} dropped after waiting {}ms for a browser", userId, queueDelayMs);
+            return;
+        }
+        stats.started(queueDelayMs);
+        try {
+            LeasedRegistration.run(pool, RegistrationIdentity::next, (driver, identity, inbox) -> {
+                runFlow(userId, new RegistrationFlow(driver, identity, inbox), stats);
+                return null;
+            });
+        } catch (Exception e) {
+            stats.failed(OPEN, e.getMessage());
+            EventLog.global().warn("User {} could not start: {}", userId, e.getMessage());
+        }
+    }
+
+    private void runFlow(int userId, RegistrationFlow flow, LoadStats stats) {
+        String step = OPEN;
+        try {
+            long flowStart = System.nanoTime();
+            long stepStart = flowStart;
+            flow.open(RegistrationFlow.registrationUrl());
+            stats.step(step, (System.nanoTime() - stepStart) / 1_000_000);
+            for (Map.Entry<String, Runnable> entry : flow.getSteps().entrySet()) {
+                think();
+                step = entry.getKey();
+                stepStart = System.nanoTime();
+                entry.getValue().run();
+                stats.step(step, (System.nanoTime() - stepStart) / 1_000_000);
+            }
+            stats.completed((System.nanoTime() - flowStart) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.failed(step, "interrupted");
+        } catch (Exception e) {
+            stats.failed(step, e.getMessage());
+            EventLog.global().warn("User {} failed at {}", userId, step + ": " + e.getMessage());
+        }
+    }
+
+    // Pause between steps, as a partner reading the next section would
+    private void think() throws InterruptedException {
+        long jitter = thinkJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(-thinkJitterMillis,
+                thinkJitterMillis + 1) : 0;
+        long pause = Math.max(0, thinkMillis + jitter);
+        if (pause > 0) {
+            Thread.sleep(pause);
+        }
+    }
+
+    // One console line per interval: counts so far and throughput over the last interval
+    private static final class LiveReport {
+        private final LoadStats stats;
+        private final long start;
+        private long lastNanos;
+        private long lastCompleted;
+
+        LiveReport(LoadStats stats, long start) {
+            this.stats = stats;
+            this.start = start;
+            this.lastNanos = start;
+        }
+
+        synchronized void print() {
+            long now = System.nanoTime();
+            long completed = stats.getCompleted();
+            double intervalMinutes = (now - lastNanos) / 60e9;
+            double elapsedMinutes = (now - start) / 60e9;
+            System.out.println(String.format("[load %5.0fs] active=%d arrived=%d completed=%d failed=%d dropped=%d "
+                    + "error rate=%.1f%% throughput=%.2f/min (overall %.2f/min)",
+                    (now - start) / 1e9, stats.getActive(), stats.getArrived(), completed, stats.getFailed(),
+                    stats.getDropped(), stats.getErrorRate() * 100,
+                    intervalMinutes == 0 ? 0 : (completed - lastCompleted) / intervalMinutes,
+                    elapsedMinutes == 0 ? 0 : completed / elapsedMinutes));
+            lastNanos = now;
+            lastCompleted = completed;
+        }
+    }
+}
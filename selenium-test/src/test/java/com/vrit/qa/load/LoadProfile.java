@@ -0,0 +1,120 @@
+package com.vrit.qa.load;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Open-model arrival schedule: the arrival rate climbs linearly from zero to
+ * the peak over the ramp-up, holds for the steady state and falls back to
+ * zero over the ramp-down. New virtual users arrive on this schedule whether
+ * or not earlier ones have finished.
+ */
+public class LoadProfile {
+    private final Duration rampUp;
+    private final Duration steady;
+    private final Duration rampDown;
+    private final double arrivalsPerMinute;
+    private final boolean poisson;
+
+    public LoadProfile(Duration rampUp, Duration steady, Duration rampDown, double arrivalsPerMinute,
+            boolean poisson) {
+        if (arrivalsPerMinute <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + arrivalsPerMinute);
+        }
+        this.rampUp = rampUp;
+        this.steady = steady;
+        this.rampDown = rampDown;
+        this.arrivalsPerMinute = arrivalsPerMinute;
+        this.poisson = poisson;
+    }
+
+    public static LoadProfile fromConfig() {
+        String arrivals = HarnessConfig.getString("load.arrivals", "poisson");
+        if (!arrivals.equals("poisson") && !arrivals.equals("uniform")) {
+            throw new IllegalArgumentException("Unknown load.arrivals " + arrivals + ", expected poisson or uniform");
+        }
+        return new LoadProfile(
+                HarnessConfig.getSeconds("load.rampUpSeconds", 60),
+                HarnessConfig.getSeconds("load.steadySeconds", 300),
+                HarnessConfig.getSeconds("load.rampDownSeconds", 60),
+                HarnessConfig.getDouble("load.arrivalsPerMinute", 6),
+                arrivals.equals("poisson"));
+    }
+
+    public Duration getDuration() {
+        return rampUp.plus(steady).plus(rampDown);
+    }
+
+    public double getArrivalsPerMinute() {
+        return arrivalsPerMinute;
+    }
+
+    // Arrival rate per second at the given offset from the start
+    public double rateAt(double seconds) {
+        double peak = arrivalsPerMinute / 60.0;
+        double up = seconds(rampUp);
+        double hold = seconds(steady);
+        double down = seconds(rampDown);
+        if (seconds < 0 || seconds > up + hold + down) {
+            return 0;
+        }
+        if (seconds < up) {
+            return peak * seconds / up;
+        }
+        if (seconds <= up + hold) {
+            return peak;
+        }
+        return peak * (1 - (seconds - up - hold) / down);
+    }
+
+    // Expected number of arrivals over the whole profile
+    public double expectedArrivals() {
+        return arrivalsPerMinute / 60.0 * (seconds(rampUp) / 2 + seconds(steady) + seconds(rampDown) / 2);
+    }
+
+    // Arrival offsets in milliseconds, ascending. Uniform arrivals are evenly spaced in expected count;
+    // Poisson arrivals draw unit exponential gaps and map them through the same rate curve.
+    public List<Long> arrivalOffsetsMillis(Random random) {
+        List<Long> offsets = new ArrayList<>();
+        double total = expectedArrivals();
+        double cumulative = poisson ? -Math.log(1 - random.nextDouble()) : 0.5;
+        while (cumulative < total) {
+            offsets.add(Math.round(timeOf(cumulative) * 1000));
+            cumulative += poisson ? -Math.log(1 - random.nextDouble()) : 1;
+        }
+        return offsets;
+    }
+
+    // Inverse of the cumulative arrival curve: the offset in seconds at which the expected count reaches n
+    double timeOf(double n) {
+        double peak = arrivalsPerMinute / 60.0;
+        double up = seconds(rampUp);
+        double hold = seconds(steady);
+        double down = seconds(rampDown);
+        double duringRampUp = peak * up / 2;
+        if (n <= duringRampUp) {
+            return up == 0 ? 0 : Math.sqrt(2 * n * up / peak);
+        }
+        if (n <= duringRampUp + peak * hold) {
+            return up + (n - duringRampUp) / peak;
+        }
+        double remaining = n - duringRampUp - peak * hold;
+        double into = down - Math.sqrt(Math.max(0, down * down - 2 * down * remaining / peak));
+        return up + hold + Math.min(into, down);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ramp-up %ds, steady %ds, ramp-down %ds at %.1f arrivals/min (%s, ~%.0f arrivals)",
+                rampUp.toSeconds(), steady.toSeconds(), rampDown.toSeconds(), arrivalsPerMinute,
+                poisson ? "poisson" : "uniform", expectedArrivals());
+    }
+}
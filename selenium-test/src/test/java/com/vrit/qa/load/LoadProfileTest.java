@@ -0,0 +1,55 @@
+package com.vrit.qa.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadProfileTest {
+
+    @Test
+    public void testUniformArrivalsFollowTheRampShape() {
+        // 60 arrivals/min: 30 during a 60s ramp-up, 120 over 120s steady, 30 during a 60s ramp-down
+        LoadProfile profile = new LoadProfile(Duration.ofSeconds(60), Duration.ofSeconds(120),
+                Duration.ofSeconds(60), 60, false);
+        List<Long> offsets = profile.arrivalOffsetsMillis(new Random(1));
+
+        assertEquals(180, offsets.size());
+        assertEquals(180.0, profile.expectedArrivals(), 1e-9);
+        long duringRampUp = offsets.stream().filter(offset -> offset < 60_000).count();
+        long duringSteady = offsets.stream().filter(offset -> offset >= 60_000 && offset < 180_000).count();
+        assertEquals(30, duringRampUp);
+        assertEquals(120, duringSteady);
+        // Arrivals are sparse at the start of the ramp and evenly spaced at the peak
+        assertTrue(offsets.get(1) - offsets.get(0) > 2_000);
+        assertEquals(1_000, offsets.get(100) - offsets.get(99), 1);
+        for (int i = 1; i < offsets.size(); i++) {
+            assertTrue(offsets.get(i) >= offsets.get(i - 1));
+        }
+        assertTrue(offsets.get(offsets.size() - 1) <= 240_000);
+    }
+
+    @Test
+    public void testPoissonArrivalsAreSeededAndMatchTheExpectedCount() {
+        LoadProfile profile = new LoadProfile(Duration.ofSeconds(30), Duration.ofSeconds(600),
+                Duration.ofSeconds(30), 30, true);
+        List<Long> first = profile.arrivalOffsetsMillis(new Random(7));
+
+        assertEquals(first, profile.arrivalOffsetsMillis(new Random(7)));
+        assertEquals(profile.expectedArrivals(), first.size(), 4 * Math.sqrt(profile.expectedArrivals()));
+    }
+
+    @Test
+    public void testRateRampsToPeakAndBack() {
+        LoadProfile profile = new LoadProfile(Duration.ofSeconds(10), Duration.ofSeconds(10),
+                Duration.ofSeconds(10), 60, false);
+        assertEquals(0.5, profile.rateAt(5), 1e-9);
+        assertEquals(1.0, profile.rateAt(15), 1e-9);
+        assertEquals(0.5, profile.rateAt(25), 1e-9);
+        assertEquals(0.0, profile.rateAt(31), 1e-9);
+    }
+}
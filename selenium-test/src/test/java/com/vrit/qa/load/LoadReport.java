@@ -0,0 +1,102 @@
+package com.vrit.qa.load;
+
+import com.vrit.qa.metrics.LatencySummary;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link LoadDriver} run: arrivals, throughput, error rate and
+ * latency percentiles per registration step.
+ */
+public class LoadReport {
+    private final LoadProfile profile;
+    private final int maxUsers;
+    private final Duration wallTime;
+    private final LoadStats stats;
+
+    public LoadReport(LoadProfile profile, int maxUsers, Duration wallTime, LoadStats stats) {
+        this.profile = profile;
+        this.maxUsers = maxUsers;
+        this.wallTime = wallTime;
+        this.stats = stats;
+    }
+
+    public LoadStats getStats() {
+        return stats;
+    }
+
+    public Duration getWallTime() {
+        return wallTime;
+    }
+
+    public double getRegistrationsPerMinute() {
+        double minutes = wallTime.toMillis() / 60_000.0;
+        return minutes == 0 ? 0 : stats.getCompleted() / minutes;
+    }
+
+    public JSONObject toJson() {
+        JSONObject steps = new JSONObject();
+        Map<String, Long> failures = stats.getStepFailures();
+        stats.getStepLatencies().forEach((step, latency) -> steps.put(step, summary(latency)
+                .put("failed", failures.getOrDefault(step, 0L))));
+        failures.forEach((step, count) -> {
+            if (!steps.has(step)) {
+                steps.put(step, new JSONObject().put("count", 0).put("failed", count));
+            }
+        });
+        return new JSONObject()
+                .put("profile", profile.toString())
+                .put("maxUsers", maxUsers)
+                .put("wallSeconds", wallTime.toMillis() / 1000.0)
+                .put("arrived", stats.getArrived())
+                .put("completed", stats.getCompleted())
+                .put("failed", stats.getFailed())
+                .put("dropped", stats.getDropped())
+                .put("errorRate", stats.getErrorRate())
+                .put("registrationsPerMinute", getRegistrationsPerMinute())
+                .put("flow", summary(stats.getFlowLatency()))
+                .put("queueDelay", summary(stats.getQueueDelay()))
+                .put("steps", steps)
+                .put("failures", stats.getFailures());
+    }
+
+    public void export(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("load.json"), toJson().toString(2), StandardCharsets.UTF_8);
+            System.out.println("Load report written to " + dir.resolve("load.json"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to export load report: " + e.getMessage());
+        }
+    }
+
+    private static JSONObject summary(LatencySummary latency) {
+        return new JSONObject()
+                .put("count", latency.getCount())
+                .put("p50", latency.percentile(50))
+                .put("p90", latency.percentile(90))
+                .put("p95", latency.percentile(95))
+                .put("p99", latency.percentile(99))
+                .put("max", latency.getMax());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(String.format("Load run: %s, max users=%d, wall=%.1fs%n"
+                + "  arrived=%d completed=%d failed=%d dropped=%d error rate=%.1f%% throughput=%.2f registrations/min%n"
+                + "  flow: %s%n  queue delay: %s",
+                profile, maxUsers, wallTime.toMillis() / 1000.0, stats.getArrived(), stats.getCompleted(),
+                stats.getFailed(), stats.getDropped(), stats.getErrorRate() * 100, getRegistrationsPerMinute(),
+                stats.getFlowLatency(), stats.getQueueDelay()));
+        Map<String, Long> failures = stats.getStepFailures();
+        stats.getStepLatencies().forEach((step, latency) -> out.append(String.format("%n  %-22s failed=%d %s",
+                step, failures.getOrDefault(step, 0L), latency)));
+        return out.toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.vrit.qa.load;
+
+import com.vrit.qa.metrics.LatencySummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for a load run, updated by every virtual user. Step latencies
+ * are kept for successful steps only; failed steps are counted per step.
+ */
+public class LoadStats {
+    private static final int MAX_FAILURE_MESSAGES = 50;
+
+    private final LongAdder arrived = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<String, List<Long>> stepLatencies = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, LongAdder> stepFailures = new ConcurrentHashMap<>();
+    private final List<Long> flowLatencies = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> queueDelays = Collections.synchronizedList(new ArrayList<>());
+    private final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger failureMessages = new AtomicInteger();
+
+    void arrived() {
+        arrived.increment();
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void started(long queueDelayMs) {
+        started.increment();
+        active.incrementAndGet();
+        queueDelays.add(queueDelayMs);
+    }
+
+    void step(String step, long millis) {
+        stepLatencies.computeIfAbsent(step, key -> Collections.synchronizedList(new ArrayList<>())).add(millis);
+    }
+
+    void completed(long flowMillis) {
+        completed.increment();
+        active.decrementAndGet();
+        flowLatencies.add(flowMillis);
+    }
+
+    void failed(String step, String message) {
+        failed.increment();
+        active.decrementAndGet();
+        stepFailures.computeIfAbsent(step, key -> new LongAdder()).increment();
+        if (failureMessages.incrementAndGet() <= MAX_FAILURE_MESSAGES) {
+            failures.add(step + ": " + message);
+        }
+    }
+
+    public long getArrived() {
+        return arrived.sum();
+    }
+
+    public long getStarted() {
+        return started.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    // Failed and dropped arrivals over all arrivals that have finished one way or the other
+    public double getErrorRate() {
+        long finished = getCompleted() + getFailed() + getDropped();
+        return finished == 0 ? 0 : (double) (getFailed() + getDropped()) / finished;
+    }
+
+    public Map<String, LatencySummary> getStepLatencies() {
+        Map<String, LatencySummary> summaries = new LinkedHashMap<>();
+        synchronized (stepLatencies) {
+            stepLatencies.forEach((step, millis) -> {
+                synchronized (millis) {
+                    summaries.put(step, new LatencySummary(new ArrayList<>(millis)));
+                }
+            });
+        }
+        return summaries;
+    }
+
+    public Map<String, Long> getStepFailures() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        stepFailures.forEach((step, count) -> counts.put(step, count.sum()));
+        return counts;
+    }
+
+    public LatencySummary getFlowLatency() {
+        synchronized (flowLatencies) {
+            return new LatencySummary(new ArrayList<>(flowLatencies));
+        }
+    }
+
+    public LatencySummary getQueueDelay() {
+        synchronized (queueDelays) {
+            return new LatencySummary(new ArrayList<>(queueDelays));
+        }
+    }
+
+    public List<String> getFailures() {
+        return new ArrayList<>(failures);
+    }
+}
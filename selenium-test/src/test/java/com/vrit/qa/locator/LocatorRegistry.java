@@ -0,0 +1,199 @@
+package com.vrit.qa.locator;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.wait.DomWaits;
+import org.json.JSONObject;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logical elements with ranked fallback locators. Every resolution records
+ * which candidates were visible; the stats persist to a local JSON file so
+ * the next run puts locators that stopped matching behind those that still
+ * do. All candidates are probed together in one MutationObserver wait, so a
+ * stale favourite costs no extra timeout.
+ */
+public class LocatorRegistry {
+    private static LocatorRegistry shared;
+
+    private final Map<String, List<By>> candidates = new LinkedHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final Path statsFile;
+
+    public LocatorRegistry(Path statsFile) {
+        this.statsFile = statsFile;
+        load();
+    }
+
+    // Registry with the registration flow's elements, saved when the JVM exits
+    public static synchronized LocatorRegistry shared() {
+        if (shared == null) {
+            shared = new LocatorRegistry(Paths.get(
+                    HarnessConfig.getString("locator.statsFile", ".harness/locator-stats.json")));
+            RegistrationLocators.registerAll(shared);
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::save));
+        }
+        return shared;
+    }
+
+    public synchronized LocatorRegistry register(String name, By... locators) {
+        candidates.put(name, List.of(locators));
+        return this;
+    }
+
+    // Candidates that matched at their last resolution (or were never seen) keep declaration order, so a generic
+    // fallback that once won never goes ahead of a more specific locator that still matches. Candidates that
+    // missed follow, by hit rate and then declaration order.
+    public List<By> ranked(String name) {
+        List<By> declared;
+        synchronized (this) {
+            declared = candidates.get(name);
+        }
+        if (declared == null) {
+            throw new IllegalArgumentException("Unknown locator: " + name);
+        }
+        Stats entry = stats.get(name);
+        if (entry == null) {
+            return declared;
+        }
+        List<By> ranked = new ArrayList<>(declared);
+        ranked.sort(Comparator
+                .comparing((By by) -> entry.missed(by.toString()))
+                .thenComparing(by -> entry.missed(by.toString()) ? -entry.hitRate(by.toString()) : 0)
+                .thenComparing(declared::indexOf));
+        return ranked;
+    }
+
+    public WebElement resolve(DomWaits waits, String name) {
+        return match(waits, name).getElement();
+    }
+
+    // The winning locator itself, for callers that need a By (e.g. bulk form filling)
+    public By resolveLocator(DomWaits waits, String name) {
+        return match(waits, name).getLocator();
+    }
+
+    // One resolution: every candidate was checked, and the visible ones matched
+    public void recordResolution(String name, List<By> candidates, List<By> visible) {
+        Stats entry = stats.computeIfAbsent(name, key -> new Stats());
+        for (By candidate : candidates) {
+            entry.check(candidate.toString(), visible.contains(candidate));
+        }
+    }
+
+    public synchronized void save() {
+        JSONObject root = new JSONObject();
+        stats.forEach((name, entry) -> root.put(name, entry.toJson()));
+        try {
+            if (statsFile.getParent() != null) {
+                Files.createDirectories(statsFile.getParent());
+            }
+            // Write then rename, so parallel JVMs never read a half-written file
+            Path tmp = statsFile.resolveSibling(statsFile.getFileName() + ".tmp");
+            Files.writeString(tmp, root.toString(2), StandardCharsets.UTF_8);
+            Files.move(tmp, statsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            EventLog.global().warn("Failed to save locator stats to {}: {}", statsFile, e.getMessage());
+        }
+    }
+
+    private DomWaits.Match match(DomWaits waits, String name) {
+        List<By> ranked = ranked(name);
+        DomWaits.Match match = waits.firstVisibleMatch(ranked);
+        recordResolution(name, ranked, match.getVisible());
+        if (match.getIndex() > 0) {
+            EventLog.global().warn("Locator '{}' resolved by fallback {}", name, match.getLocator());
+        }
+        return match;
+    }
+
+    private void load() {
+        if (!Files.exists(statsFile)) {
+            return;
+        }
+        try {
+            JSONObject root = new JSONObject(Files.readString(statsFile, StandardCharsets.UTF_8));
+            for (String name : root.keySet()) {
+                stats.put(name, Stats.fromJson(root.getJSONObject(name)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read locator stats " + statsFile, e);
+        } catch (RuntimeException e) {
+            EventLog.global().warn("Ignoring unreadable locator stats {}: {}", statsFile, e.getMessage());
+        }
+    }
+
+    private static final class Stats {
+        private final Map<String, Counts> locators = new ConcurrentHashMap<>();
+
+        void check(String locator, boolean matched) {
+            locators.computeIfAbsent(locator, key -> new Counts()).check(matched);
+        }
+
+        boolean missed(String locator) {
+            Counts counts = locators.get(locator);
+            return counts != null && !counts.lastMatched;
+        }
+
+        double hitRate(String locator) {
+            Counts counts = locators.get(locator);
+            return counts == null || counts.checks.get() == 0 ? 0 : (double) counts.hits.get() / counts.checks.get();
+        }
+
+        JSONObject toJson() {
+            JSONObject json = new JSONObject();
+            locators.forEach((locator, counts) -> json.put(locator, new JSONObject()
+                    .put("hits", counts.hits.get())
+                    .put("checks", counts.checks.get())
+                    .put("lastMatched", counts.lastMatched)));
+            return json;
+        }
+
+        static Stats fromJson(JSONObject json) {
+            Stats stats = new Stats();
+            for (String locator : json.keySet()) {
+                JSONObject entry = json.optJSONObject(locator);
+                // Files from before hit rates were tracked hold other shapes; they rank nothing
+                if (entry == null || !entry.has("checks")) {
+                    continue;
+                }
+                Counts counts = new Counts();
+                counts.hits.set(entry.getLong("hits"));
+                counts.checks.set(entry.getLong("checks"));
+                counts.lastMatched = entry.getBoolean("lastMatched");
+                stats.locators.put(locator, counts);
+            }
+            return stats;
+        }
+    }
+
+    private static final class Counts {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong checks = new AtomicLong();
+        private volatile boolean lastMatched = true;
+
+        void check(boolean matched) {
+            checks.incrementAndGet();
+            if (matched) {
+                hits.incrementAndGet();
+            }
+            lastMatched = matched;
+        }
+    }
+}
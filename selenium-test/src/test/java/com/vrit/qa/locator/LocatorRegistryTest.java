@@ -0,0 +1,65 @@
+package com.vrit.qa.locator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.By;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LocatorRegistryTest {
+    private static final By INPUT = By.xpath("//input[@name='agency_address']");
+    private static final By TEXTAREA = By.xpath("//textarea[@name='agency_address']");
+    private static final By CSS = By.cssSelector("[name='agency_address']");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testDeclarationOrderWithoutStats() {
+        LocatorRegistry registry = new LocatorRegistry(dir.resolve("stats.json")).register("address", INPUT, TEXTAREA);
+        assertEquals(List.of(INPUT, TEXTAREA), registry.ranked("address"));
+    }
+
+    @Test
+    public void testMissedCandidatesFollowByHitRate() {
+        LocatorRegistry registry = new LocatorRegistry(dir.resolve("stats.json"))
+                .register("address", INPUT, TEXTAREA, CSS);
+        List<By> all = List.of(INPUT, TEXTAREA, CSS);
+        registry.recordResolution("address", all, List.of(INPUT, TEXTAREA, CSS));
+        registry.recordResolution("address", all, List.of(TEXTAREA, CSS));
+        registry.recordResolution("address", all, List.of(CSS));
+        assertEquals(List.of(CSS, TEXTAREA, INPUT), registry.ranked("address"));
+    }
+
+    @Test
+    public void testGenericFallbackNotPromotedWhileSpecificStillMatches() {
+        LocatorRegistry registry = new LocatorRegistry(dir.resolve("stats.json")).register("address", INPUT, CSS);
+        List<By> all = List.of(INPUT, CSS);
+        // The fallback wins once while the specific locator is missing, then both match again
+        registry.recordResolution("address", all, List.of(CSS));
+        assertEquals(List.of(CSS, INPUT), registry.ranked("address"));
+        registry.recordResolution("address", List.of(CSS, INPUT), List.of(CSS, INPUT));
+        assertEquals(List.of(INPUT, CSS), registry.ranked("address"));
+    }
+
+    @Test
+    public void testStatsSurviveRestart() {
+        Path stats = dir.resolve("nested/stats.json");
+        LocatorRegistry first = new LocatorRegistry(stats).register("address", INPUT, TEXTAREA);
+        first.recordResolution("address", List.of(INPUT, TEXTAREA), List.of(TEXTAREA));
+        first.save();
+
+        LocatorRegistry second = new LocatorRegistry(stats).register("address", INPUT, TEXTAREA);
+        assertEquals(List.of(TEXTAREA, INPUT), second.ranked("address"));
+    }
+
+    @Test
+    public void testUnknownNameRejected() {
+        LocatorRegistry registry = new LocatorRegistry(dir.resolve("stats.json"));
+        assertThrows(IllegalArgumentException.class, () -> registry.ranked("missing"));
+    }
+}
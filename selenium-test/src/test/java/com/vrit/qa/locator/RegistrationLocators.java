@@ -0,0 +1,57 @@
+package com.vrit.qa.locator;
+
+import org.openqa.selenium.By;
+
+/**
+ * Logical names and fallback locators for the registration flow, in the
+ * order they are tried before any stats exist.
+ */
+public final class RegistrationLocators {
+    public static final String AGENCY_PAGE = "agency.page";
+    public static final String AGENCY_ADDRESS = "agency.address";
+    public static final String AGENCY_COUNTRY_DROPDOWN = "agency.countryDropdown";
+    public static final String AGENCY_NEXT = "agency.next";
+    public static final String EXPERIENCE_PAGE = "experience.page";
+    public static final String EXPERIENCE_YEARS_DROPDOWN = "experience.yearsDropdown";
+    public static final String EXPERIENCE_NEXT = "experience.next";
+    public static final String BUSINESS_PAGE = "business.page";
+    public static final String BUSINESS_COUNTRIES_DROPDOWN = "business.countriesDropdown";
+    public static final String BUSINESS_SUBMIT = "business.submit";
+
+    private RegistrationLocators() {
+    }
+
+    static void registerAll(LocatorRegistry registry) {
+        registry.register(AGENCY_PAGE,
+                By.xpath("//h2[contains(text(),'Agency Details')]"),
+                By.xpath("//form[contains(@class,'agency-details')]"),
+                By.name("agency_name"));
+        registry.register(AGENCY_ADDRESS,
+                By.xpath("//input[@name='agency_address']"),
+                By.xpath("//textarea[@name='agency_address']"));
+        registry.register(AGENCY_COUNTRY_DROPDOWN,
+                By.xpath("//button[@role='combobox']"));
+        registry.register(AGENCY_NEXT,
+                By.xpath("//button[@type='submit' and (contains(text(), 'Next') or contains(@type, 'submit'))]"),
+                By.cssSelector("form button[type='submit']"));
+        registry.register(EXPERIENCE_PAGE,
+                By.xpath("//h3[contains(text(),'Experience')]"),
+                By.xpath("//*[contains(text(),'Experience and Performance')]"),
+                By.name("number_of_students_recruited_annually"));
+        registry.register(EXPERIENCE_YEARS_DROPDOWN,
+                By.xpath("//button[@role='combobox' and contains(@class, 'flex')]"),
+                By.xpath("//button[@role='combobox']"));
+        registry.register(EXPERIENCE_NEXT,
+                By.xpath("//button[@type='submit' and contains(text(), 'Next')]"),
+                By.cssSelector("form button[type='submit']"));
+        registry.register(BUSINESS_PAGE,
+                By.name("business_registration_number"),
+                By.xpath("//*[contains(text(),'Business Registration')]"));
+        registry.register(BUSINESS_COUNTRIES_DROPDOWN,
+                By.xpath("//button[@role='combobox' and contains(@class, 'inline-flex')]"),
+                By.xpath("//button[@role='combobox']"));
+        registry.register(BUSINESS_SUBMIT,
+                By.xpath("//button[@type='submit' and contains(@style, '--success')]"),
+                By.cssSelector("form button[type='submit']"));
+    }
+}
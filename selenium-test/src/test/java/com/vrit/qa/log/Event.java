@@ -0,0 +1,34 @@
+package com.vrit.qa.log;
+
+/**
+ * One preallocated slot of the {@link EventRing}. Producers fill it between
+ * claim and publish; the writer formats it and clears the references.
+ */
+final class Event {
+    long sequence;
+    long epochMicros;
+    EventLog.Level level;
+    String thread;
+    String session;
+    String step;
+    String element;
+    String message;
+    Object arg0;
+    Object arg1;
+    int argCount;
+    // Negative when the event carries no duration
+    long durationNanos;
+    // null for plain progress events, otherwise "ok" or "failed"
+    String outcome;
+
+    void clear() {
+        thread = null;
+        session = null;
+        step = null;
+        element = null;
+        message = null;
+        arg0 = null;
+        arg1 = null;
+        outcome = null;
+    }
+}
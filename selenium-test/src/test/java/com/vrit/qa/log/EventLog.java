@@ -0,0 +1,310 @@
+package com.vrit.qa.log;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.metrics.FlowMetrics;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured progress events for the registration flow. Callers fill a
+ * preallocated slot in a lock-free ring and return; a background writer
+ * formats the SLF4J-style {@code {}} message, appends one NDJSON line per
+ * event and echoes it to the SLF4J console logger. Each event carries the
+ * session bound to the calling thread, the current metrics phase as its
+ * step, and optionally an element, a duration and an outcome.
+ * {@link EventTimeline} rebuilds per-session timelines from the file.
+ */
+public final class EventLog implements AutoCloseable {
+    public enum Level { DEBUG, INFO, WARN }
+
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+    private static final int DRAIN_BATCH = 256;
+    private static final ThreadLocal<String> SESSION = new ThreadLocal<>();
+    private static EventLog global;
+
+    private final EventRing ring;
+    private final Path file;
+    private final Writer out;
+    private final Logger console;
+    private final FlowMetrics metrics;
+    private final Thread writer;
+    // Wall clock anchored once, advanced with the monotonic clock so stamping an event is cheap
+    private final long epochMicrosAtStart = Instant.now().toEpochMilli() * 1_000;
+    private final long nanosAtStart = System.nanoTime();
+    private final StringBuilder line = new StringBuilder(256);
+    private volatile boolean running = true;
+    // Set while the writer is parked with nothing to drain; producers unpark it after publishing
+    private volatile boolean idle;
+
+    public EventLog(Path file, int capacity, boolean echoToConsole) {
+        this(file, capacity, echoToConsole, FlowMetrics.global());
+    }
+
+    // Steps are read from metrics' current phase
+    public EventLog(Path file, int capacity, boolean echoToConsole, FlowMetrics metrics) {
+        this.metrics = metrics;
+        this.ring = new EventRing(capacity);
+        this.file = file;
+        this.console = echoToConsole ? LoggerFactory.getLogger("registration") : null;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 64 * 1024);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open event log " + file + ": " + e.getMessage());
+        }
+        writer = new Thread(this::drainLoop, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Process-wide log in log.dir, one file per JVM, flushed and closed when the JVM exits
+    public static synchronized EventLog global() {
+        if (global == null) {
+            Path file = Paths.get(HarnessConfig.getString("log.dir", "target/logs"),
+                    "events-" + FILE_STAMP.format(Instant.now()) + "-" + ProcessHandle.current().pid()
+                            + ".ndjson");
+            global = new EventLog(file, HarnessConfig.getInt("log.ringSize", 16_384),
+                    HarnessConfig.getBoolean("log.console", true));
+            EventLog log = global;
+            Runtime.getRuntime().addShutdownHook(new Thread(log::close));
+        }
+        return global;
+    }
+
+    // Tags every event the calling thread logs from now on
+    public static void bindSession(String sessionId) {
+        SESSION.set(sessionId);
+    }
+
+    public static String currentSession() {
+        return SESSION.get();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getDropped() {
+        return ring.getDropped();
+    }
+
+    public void info(String message) {
+        emit(Level.INFO, null, message, null, null, 0, -1, null);
+    }
+
+    public void info(String message, Object arg) {
+        emit(Level.INFO, null, message, arg, null, 1, -1, null);
+    }
+
+    public void info(String message, Object arg0, Object arg1) {
+        emit(Level.INFO, null, message, arg0, arg1, 2, -1, null);
+    }
+
+    public void warn(String message) {
+        emit(Level.WARN, null, message, null, null, 0, -1, null);
+    }
+
+    public void warn(String message, Object arg) {
+        emit(Level.WARN, null, message, arg, null, 1, -1, null);
+    }
+
+    public void warn(String message, Object arg0, Object arg1) {
+        emit(Level.WARN, null, message, arg0, arg1, 2, -1, null);
+    }
+
+    // Progress on a specific element, e.g. a locator name or field
+    public void element(String element, String message) {
+        emit(Level.INFO, element, message, null, null, 0, -1, null);
+    }
+
+    public void element(String element, String message, Object arg) {
+        emit(Level.INFO, element, message, arg, null, 1, -1, null);
+    }
+
+    // A finished unit of work with its duration and outcome
+    public void timed(String element, long durationNanos, boolean succeeded, String message, Object arg) {
+        emit(succeeded ? Level.INFO : Level.WARN, element, message, arg, null, 1, durationNanos,
+                succeeded ? "ok" : "failed");
+    }
+
+    public void timed(String element, long durationNanos, boolean succeeded, String message, Object arg0,
+            Object arg1) {
+        emit(succeeded ? Level.INFO : Level.WARN, element, message, arg0, arg1, 2, durationNanos,
+                succeeded ? "ok" : "failed");
+    }
+
+    // A finished unit of work that is not tied to an element, e.g. one registration run
+    public void timed(long durationNanos, boolean succeeded, String message, Object arg) {
+        emit(succeeded ? Level.INFO : Level.WARN, null, message, arg, null, 1, durationNanos,
+                succeeded ? "ok" : "failed");
+    }
+
+    public void timed(long durationNanos, boolean succeeded, String message, Object arg0, Object arg1) {
+        emit(succeeded ? Level.INFO : Level.WARN, null, message, arg0, arg1, 2, durationNanos,
+                succeeded ? "ok" : "failed");
+    }
+
+    private void emit(Level level, String element, String message, Object arg0, Object arg1, int argCount,
+            long durationNanos, String outcome) {
+        if (!running) {
+            // Closed by its shutdown hook while another hook still reports (e.g. a failed stats save)
+            System.out.println(argCount == 0 ? message : argCount == 1
+                    ? MessageFormatter.format(message, arg0).getMessage()
+                    : MessageFormatter.format(message, arg0, arg1).getMessage());
+            return;
+        }
+        Event event = ring.tryClaim();
+        if (event == null) {
+            return;
+        }
+        event.epochMicros = epochMicrosAtStart + (System.nanoTime() - nanosAtStart) / 1_000;
+        event.level = level;
+        event.thread = Thread.currentThread().getName();
+        event.session = SESSION.get();
+        event.step = metrics.getCurrentPhase();
+        event.element = element;
+        event.message = message;
+        event.arg0 = snapshot(arg0);
+        event.arg1 = snapshot(arg1);
+        event.argCount = argCount;
+        event.durationNanos = durationNanos;
+        event.outcome = outcome;
+        ring.publish(event);
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // The writer formats later, so anything that could change before then is rendered now
+    private static Object snapshot(Object arg) {
+        if (arg == null || arg instanceof String || arg instanceof Number || arg instanceof Boolean
+                || arg instanceof Enum || arg instanceof Path || arg instanceof Temporal || arg instanceof Duration) {
+            return arg;
+        }
+        return String.valueOf(arg);
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (ring.drain(this::write, DRAIN_BATCH) == 0) {
+                flush();
+                idle = true;
+                // Re-check after announcing idle so an event published in between is not left waiting
+                if (running && ring.drain(this::write, DRAIN_BATCH) == 0) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    // Only the writer thread (or close, after it has stopped) gets here
+    private void write(Event event) {
+        String text = format(event);
+        line.setLength(0);
+        line.append("{\"t\":").append(event.epochMicros)
+                .append(",\"level\":\"").append(event.level).append('"')
+                .append(",\"thread\":").append(JSONObject.quote(event.thread));
+        appendField("session", event.session);
+        appendField("step", event.step);
+        appendField("element", event.element);
+        line.append(",\"msg\":").append(JSONObject.quote(text));
+        if (event.durationNanos >= 0) {
+            line.append(",\"dur_us\":").append(event.durationNanos / 1_000);
+        }
+        appendField("outcome", event.outcome);
+        line.append("}\n");
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            // Never let logging fail a run; the console echo below still shows the event
+        }
+        if (console != null) {
+            echo(event, text);
+        }
+    }
+
+    private void appendField(String name, String value) {
+        if (value != null) {
+            line.append(",\"").append(name).append("\":").append(JSONObject.quote(value));
+        }
+    }
+
+    private void echo(Event event, String text) {
+        String prefix = (event.session != null ? "[" + event.session + "] " : "")
+                + (event.step != null ? event.step + ": " : "");
+        String suffix = event.durationNanos >= 0 ? " (" + event.durationNanos / 1_000_000 + "ms)" : "";
+        switch (event.level) {
+            case WARN:
+                console.warn("{}{}{}", prefix, text, suffix);
+                break;
+            case DEBUG:
+                console.debug("{}{}{}", prefix, text, suffix);
+                break;
+            default:
+                console.info("{}{}{}", prefix, text, suffix);
+        }
+    }
+
+    private static String format(Event event) {
+        switch (event.argCount) {
+            case 0:
+                return event.message;
+            case 1:
+                return MessageFormatter.format(event.message, event.arg0).getMessage();
+            default:
+                return MessageFormatter.format(event.message, event.arg0, event.arg1).getMessage();
+        }
+    }
+
+    private void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            // Retried on the next idle pass
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (ring.drain(this::write, DRAIN_BATCH) > 0) {
+            // Events published before close
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.out.println("Failed to close event log " + file + ": " + e.getMessage());
+        }
+        if (ring.getDropped() > 0) {
+            System.out.println("Event log dropped " + ring.getDropped() + " event(s); raise log.ringSize");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.vrit.qa.log;
+
+import com.vrit.qa.metrics.FlowMetrics;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EventLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testEventsReadBackPerSession() throws Exception {
+        Path file = dir.resolve("events.ndjson");
+        FlowMetrics metrics = new FlowMetrics();
+        try (EventLog log = new EventLog(file, 64, false, metrics)) {
+            Thread other = new Thread(() -> {
+                EventLog.bindSession("bob");
+                log.info("Filled {} of {}", 3, 4);
+            });
+            other.start();
+            other.join();
+            EventLog.bindSession("alice");
+            FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.AGENCY);
+            log.element("agencyName", "Entered {}", "Acme");
+            log.timed("otp_entry", 2_500_000, false, "Attempt {} failed", 1);
+            phase.succeeded();
+            phase.end();
+        }
+
+        Map<String, List<JSONObject>> sessions = EventTimeline.read(file);
+        assertEquals(List.of("Filled 3 of 4"), messages(sessions.get("bob")));
+        List<JSONObject> alice = sessions.get("alice");
+        assertEquals(List.of("Entered Acme", "Attempt 1 failed"), messages(alice));
+        assertEquals(FlowMetrics.AGENCY, alice.get(0).getString("step"));
+        assertEquals("agencyName", alice.get(0).getString("element"));
+        assertFalse(alice.get(0).has("dur_us"));
+        assertEquals(2_500, alice.get(1).getLong("dur_us"));
+        assertEquals("failed", alice.get(1).getString("outcome"));
+        assertEquals("WARN", alice.get(1).getString("level"));
+    }
+
+    @Test
+    public void testFullRingDropsInsteadOfBlocking() {
+        EventRing ring = new EventRing(4);
+        for (int i = 0; i < 4; i++) {
+            ring.publish(ring.tryClaim());
+        }
+        assertNull(ring.tryClaim());
+        assertEquals(1, ring.getDropped());
+
+        List<Long> drained = new ArrayList<>();
+        assertEquals(4, ring.drain(event -> drained.add(event.sequence), 16));
+        assertEquals(List.of(0L, 1L, 2L, 3L), drained);
+        ring.publish(ring.tryClaim());
+        assertEquals(1, ring.drain(event -> drained.add(event.sequence), 16));
+        assertEquals(4L, drained.get(4));
+    }
+
+    private static List<String> messages(List<JSONObject> events) {
+        List<String> messages = new ArrayList<>();
+        events.forEach(event -> messages.add(event.getString("msg")));
+        return messages;
+    }
+}
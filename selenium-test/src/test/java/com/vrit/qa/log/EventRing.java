@@ -0,0 +1,79 @@
+package com.vrit.qa.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated events.
+ * Producers claim a sequence with a CAS and publish it by writing the
+ * sequence into the slot's marker; the consumer reads slots strictly in
+ * sequence order. When the ring is full an event is dropped and counted,
+ * so a slow disk never stalls a browser session.
+ */
+final class EventRing {
+    private final Event[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    // Sequence last published into each slot
+    private final AtomicLongArray published;
+    private final LongAdder dropped = new LongAdder();
+    // Next sequence the consumer will read; only the consumer writes it
+    private volatile long consumed;
+
+    EventRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        slots = new Event[capacity];
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Event();
+            published.set(i, -1);
+        }
+        mask = capacity - 1;
+    }
+
+    // A slot to fill and publish, or null when the ring is full
+    Event tryClaim() {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                dropped.increment();
+                return null;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        Event event = slots[(int) sequence & mask];
+        event.sequence = sequence;
+        return event;
+    }
+
+    void publish(Event event) {
+        published.set((int) event.sequence & mask, event.sequence);
+    }
+
+    // Hands up to max published events to the sink in sequence order; the slot is reused once the sink returns
+    int drain(Consumer<Event> sink, int max) {
+        long next = consumed;
+        int count = 0;
+        while (count < max && published.get((int) next & mask) == next) {
+            Event event = slots[(int) next & mask];
+            sink.accept(event);
+            event.clear();
+            next++;
+            count++;
+            consumed = next;
+        }
+        return count;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    int getCapacity() {
+        return slots.length;
+    }
+}
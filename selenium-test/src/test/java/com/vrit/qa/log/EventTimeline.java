@@ -0,0 +1,109 @@
+package com.vrit.qa.log;
+
+import com.vrit.qa.config.HarnessConfig;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds per-session timelines from {@link EventLog} NDJSON files. With
+ * no argument it reads the newest file in {@code log.dir}; with a session id
+ * as second argument it prints only that session.
+ *
+ * <pre>mvn -Ptimeline test-compile exec:java [-Dexec.args="target/logs/events-....ndjson session"]</pre>
+ */
+public final class EventTimeline {
+    private static final String NO_SESSION = "(no session)";
+
+    private EventTimeline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0 ? Paths.get(args[0]) : newest(Paths.get(HarnessConfig.getString("log.dir",
+                "target/logs")));
+        Map<String, List<JSONObject>> sessions = read(file);
+        if (args.length > 1) {
+            sessions.keySet().retainAll(List.of(args[1]));
+        }
+        System.out.println("Timeline of " + file + " (" + sessions.size() + " session(s))");
+        print(sessions, System.out);
+    }
+
+    // Events grouped by session in first-seen order, each session sorted by timestamp
+    public static Map<String, List<JSONObject>> read(Path file) throws IOException {
+        Map<String, List<JSONObject>> sessions = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JSONObject event;
+                try {
+                    event = new JSONObject(line);
+                } catch (JSONException e) {
+                    // A run killed mid-write leaves a truncated last line
+                    continue;
+                }
+                sessions.computeIfAbsent(event.optString("session", NO_SESSION), key -> new ArrayList<>()).add(event);
+            }
+        }
+        sessions.values().forEach(events -> events.sort(Comparator.comparingLong(event -> event.getLong("t"))));
+        return sessions;
+    }
+
+    public static void print(Map<String, List<JSONObject>> sessions, PrintStream out) {
+        sessions.forEach((session, events) -> {
+            long start = events.get(0).getLong("t");
+            long end = events.get(events.size() - 1).getLong("t");
+            Map<String, Long> stepMicros = new TreeMap<>();
+            String failedStep = null;
+            out.printf("%nsession %s: %d events over %.1fs%n", session, events.size(), (end - start) / 1e6);
+            for (JSONObject event : events) {
+                String step = event.optString("step", "-");
+                String element = event.optString("element", "");
+                out.printf("  +%8.3fs %-5s %-22s %s%s%s%n", (event.getLong("t") - start) / 1e6,
+                        event.optString("level"), step, element.isEmpty() ? "" : element + " ",
+                        event.optString("msg"),
+                        event.has("dur_us") ? String.format(" [%s %dms]", event.optString("outcome", "-"),
+                                event.getLong("dur_us") / 1_000) : "");
+                // Phase events are the ones with a duration and no element
+                if (event.has("dur_us") && element.isEmpty() && event.has("step")) {
+                    stepMicros.merge(step, event.getLong("dur_us"), Long::sum);
+                    if ("failed".equals(event.optString("outcome")) && failedStep == null) {
+                        failedStep = step;
+                    }
+                }
+            }
+            StringBuilder summary = new StringBuilder("  steps:");
+            stepMicros.forEach((step, micros) -> summary.append(' ').append(step).append('=')
+                    .append(micros / 1_000).append("ms"));
+            if (failedStep != null) {
+                summary.append("  FAILED at ").append(failedStep);
+            }
+            out.println(summary);
+        });
+    }
+
+    private static Path newest(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".ndjson"))
+                    .max(Comparator.comparingLong(path -> path.toFile().lastModified()))
+                    .orElseThrow(() -> new IllegalStateException("No event logs in " + dir.toAbsolutePath()));
+        }
+    }
+}
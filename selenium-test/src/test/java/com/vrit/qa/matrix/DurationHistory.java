@@ -0,0 +1,115 @@
+package com.vrit.qa.matrix;
+
+import com.vrit.qa.log.EventLog;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Past durations of matrix scenarios, kept in a local JSON file as an
+ * exponentially weighted average per scenario key. A scenario that has
+ * never run is estimated from the ones that have: the overall mean, shifted
+ * by how much each of its levels ran above or below that mean elsewhere.
+ */
+public class DurationHistory {
+    // Weight of the newest run in the average
+    private static final double ALPHA = 0.3;
+
+    private final Path file;
+    private final long defaultMs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public DurationHistory(Path file, long defaultMs) {
+        this.file = file;
+        this.defaultMs = defaultMs;
+        load();
+    }
+
+    public void record(Scenario scenario, long durationMs) {
+        entries.compute(scenario.getKey(), (key, entry) -> entry == null
+                ? new Entry(scenario.getLevels(), durationMs, 1)
+                : new Entry(scenario.getLevels(), ALPHA * durationMs + (1 - ALPHA) * entry.averageMs,
+                        entry.runs + 1));
+    }
+
+    public boolean isKnown(Scenario scenario) {
+        return entries.containsKey(scenario.getKey());
+    }
+
+    public long expectedMs(Scenario scenario) {
+        Entry entry = entries.get(scenario.getKey());
+        if (entry != null) {
+            return Math.round(entry.averageMs);
+        }
+        if (entries.isEmpty()) {
+            return defaultMs;
+        }
+        double mean = entries.values().stream().mapToDouble(e -> e.averageMs).average().orElse(defaultMs);
+        double estimate = mean;
+        for (Map.Entry<String, String> level : scenario.getLevels().entrySet()) {
+            double levelMean = entries.values().stream()
+                    .filter(e -> level.getValue().equals(e.levels.get(level.getKey())))
+                    .mapToDouble(e -> e.averageMs).average().orElse(mean);
+            estimate += levelMean - mean;
+        }
+        // Main effects can overshoot below zero on a sparse history; never expect less than the fastest run
+        double fastest = entries.values().stream().mapToDouble(e -> e.averageMs).min().orElse(0);
+        return Math.round(Math.max(fastest, estimate));
+    }
+
+    public synchronized void save() {
+        JSONObject root = new JSONObject();
+        entries.forEach((key, entry) -> root.put(key, new JSONObject()
+                .put("averageMs", Math.round(entry.averageMs))
+                .put("runs", entry.runs)
+                .put("levels", entry.levels)));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // Write then rename, so parallel JVMs never read a half-written file
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, root.toString(2), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            EventLog.global().warn("Failed to save scenario durations to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            JSONObject root = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+            for (String key : root.keySet()) {
+                JSONObject entry = root.getJSONObject(key);
+                Map<String, String> levels = new LinkedHashMap<>();
+                JSONObject levelJson = entry.getJSONObject("levels");
+                levelJson.keySet().forEach(name -> levels.put(name, levelJson.getString(name)));
+                entries.put(key, new Entry(levels, entry.getDouble("averageMs"), entry.getInt("runs")));
+            }
+        } catch (IOException | RuntimeException e) {
+            EventLog.global().warn("Ignoring unreadable scenario durations {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static final class Entry {
+        private final Map<String, String> levels;
+        private final double averageMs;
+        private final int runs;
+
+        Entry(Map<String, String> levels, double averageMs, int runs) {
+            this.levels = levels;
+            this.averageMs = averageMs;
+            this.runs = runs;
+        }
+    }
+}
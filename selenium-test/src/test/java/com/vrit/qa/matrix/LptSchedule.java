@@ -0,0 +1,47 @@
+package com.vrit.qa.matrix;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Longest-processing-time-first dispatch. Scenarios are queued longest
+ * expected first, and each free session takes the next one, which is
+ * Graham's LPT rule: the makespan stays within 4/3 of the optimum, and
+ * the short scenarios at the end fill the gaps between sessions.
+ */
+public final class LptSchedule {
+    private LptSchedule() {
+    }
+
+    // Longest expected first; ties keep the matrix order
+    public static List<Scenario> order(List<Scenario> scenarios, Map<Scenario, Long> expectedMs) {
+        List<Scenario> ordered = new ArrayList<>(scenarios);
+        ordered.sort(Comparator.comparingLong((Scenario scenario) -> -expectedMs.get(scenario)));
+        return ordered;
+    }
+
+    // Wall time of running the durations in the given order on that many sessions, each taking the next when free
+    public static long makespan(List<Long> durationsMs, int sessions) {
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < sessions; i++) {
+            finishTimes.add(0L);
+        }
+        long makespan = 0;
+        for (long duration : durationsMs) {
+            long finish = finishTimes.poll() + duration;
+            makespan = Math.max(makespan, finish);
+            finishTimes.add(finish);
+        }
+        return makespan;
+    }
+
+    // No schedule can beat total work spread evenly, nor the single longest scenario
+    public static long lowerBound(List<Long> durationsMs, int sessions) {
+        long total = durationsMs.stream().mapToLong(Long::longValue).sum();
+        long longest = durationsMs.stream().mapToLong(Long::longValue).max().orElse(0);
+        return Math.max((total + sessions - 1) / sessions, longest);
+    }
+}
@@ -0,0 +1,78 @@
+package com.vrit.qa.matrix;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LptScheduleTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testLongestFirstPacksTighterThanMatrixOrder() {
+        List<Long> matrixOrder = List.of(20L, 20L, 20L, 20L, 60L);
+        List<Long> longestFirst = List.of(60L, 20L, 20L, 20L, 20L);
+
+        // In matrix order the long scenario starts last and runs alone at the end
+        assertEquals(100, LptSchedule.makespan(matrixOrder, 2));
+        assertEquals(80, LptSchedule.makespan(longestFirst, 2));
+        assertEquals(70, LptSchedule.lowerBound(longestFirst, 2));
+        assertEquals(60, LptSchedule.lowerBound(longestFirst, 4));
+    }
+
+    @Test
+    public void testOrdersByExpectedDuration() {
+        Scenario a = scenario("a", "x");
+        Scenario b = scenario("b", "x");
+        Scenario c = scenario("c", "x");
+        Map<Scenario, Long> expected = new HashMap<>(Map.of(a, 10L, b, 30L, c, 10L));
+
+        assertEquals(List.of(b, a, c), LptSchedule.order(List.of(a, b, c), expected));
+    }
+
+    @Test
+    public void testHistoryEstimatesUnseenScenariosFromTheirLevels() {
+        DurationHistory history = new DurationHistory(dir.resolve("durations.json"), 5_000);
+        assertEquals(5_000, history.expectedMs(scenario("0", "samples")));
+
+        history.record(scenario("0", "samples"), 100);
+        history.record(scenario("1", "samples"), 100);
+        history.record(scenario("0", "large"), 300);
+
+        // Mean 166.7; country 1 runs 66.7 below it, large uploads 133.3 above
+        Scenario unseen = scenario("1", "large");
+        assertFalse(history.isKnown(unseen));
+        assertEquals(233, history.expectedMs(unseen));
+    }
+
+    @Test
+    public void testHistoryAveragesAndSurvivesReload() {
+        Path file = dir.resolve("durations.json");
+        DurationHistory history = new DurationHistory(file, 5_000);
+        Scenario scenario = scenario("0", "samples");
+        history.record(scenario, 1_000);
+        history.record(scenario, 2_000);
+        history.save();
+
+        DurationHistory reloaded = new DurationHistory(file, 5_000);
+        assertTrue(reloaded.isKnown(scenario));
+        assertEquals(1_300, reloaded.expectedMs(scenario));
+    }
+
+    private static Scenario scenario(String country, String upload) {
+        Map<String, String> levels = new LinkedHashMap<>();
+        levels.put(ScenarioMatrix.AGENCY_COUNTRY, country);
+        levels.put(ScenarioMatrix.UPLOAD, upload);
+        return new Scenario(levels, null);
+    }
+}
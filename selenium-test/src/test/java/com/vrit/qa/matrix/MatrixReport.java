@@ -0,0 +1,111 @@
+package com.vrit.qa.matrix;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a {@link MatrixRunner} run, and how close its wall time came
+ * to the total work divided by the number of sessions.
+ */
+public class MatrixReport {
+    private final int concurrency;
+    private final List<Result> results;
+    private final Duration wallTime;
+    private final long plannedMs;
+
+    public MatrixReport(int concurrency, List<Result> results, Duration wallTime, long plannedMs) {
+        this.concurrency = concurrency;
+        this.results = results;
+        this.wallTime = wallTime;
+        this.plannedMs = plannedMs;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public List<Result> getFailures() {
+        return results.stream().filter(result -> result.error != null).toList();
+    }
+
+    public long getTotalWorkMs() {
+        return results.stream().mapToLong(result -> result.actualMs).sum();
+    }
+
+    // Total work over the sessions: the wall time of a perfectly packed schedule
+    public long getIdealMs() {
+        return getTotalWorkMs() / Math.max(1, concurrency);
+    }
+
+    public double getPackingEfficiency() {
+        return wallTime.toMillis() == 0 ? 0 : (double) getIdealMs() / wallTime.toMillis();
+    }
+
+    public JSONObject toJson() {
+        JSONArray scenarios = new JSONArray();
+        for (Result result : results) {
+            scenarios.put(new JSONObject()
+                    .put("scenario", result.scenario.getKey())
+                    .put("expectedMs", result.expectedMs)
+                    .put("actualMs", result.actualMs)
+                    .put("error", result.error == null ? JSONObject.NULL : result.error));
+        }
+        return new JSONObject()
+                .put("concurrency", concurrency)
+                .put("scenarios", results.size())
+                .put("failed", getFailures().size())
+                .put("wallMs", wallTime.toMillis())
+                .put("plannedMs", plannedMs)
+                .put("totalWorkMs", getTotalWorkMs())
+                .put("idealMs", getIdealMs())
+                .put("packingEfficiency", getPackingEfficiency())
+                .put("results", scenarios);
+    }
+
+    public void export(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("matrix.json"), toJson().toString(2), StandardCharsets.UTF_8);
+            System.out.println("Matrix report written to " + dir.resolve("matrix.json"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to export matrix report: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Scenario matrix: %d scenarios on %d sessions, failed=%d%n"
+                + "  wall=%.1fs planned=%.1fs work/sessions=%.1fs packing efficiency=%.0f%%",
+                results.size(), concurrency, getFailures().size(), wallTime.toMillis() / 1000.0, plannedMs / 1000.0,
+                getIdealMs() / 1000.0, getPackingEfficiency() * 100);
+    }
+
+    public static final class Result {
+        private final Scenario scenario;
+        private final long expectedMs;
+        private final long actualMs;
+        private final String error;
+
+        public Result(Scenario scenario, long expectedMs, long actualMs, String error) {
+            this.scenario = scenario;
+            this.expectedMs = expectedMs;
+            this.actualMs = actualMs;
+            this.error = error;
+        }
+
+        public Scenario getScenario() {
+            return scenario;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.vrit.qa.matrix;
+
+import com.vrit.qa.driver.DriverPool;
+import com.vrit.qa.flow.LeasedRegistration;
+import com.vrit.qa.flow.RegistrationFlow;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.log.EventLog;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs matrix scenarios on a pool of sessions in {@link LptSchedule} order
+ * and feeds the measured durations back into the {@link DurationHistory}
+ * for the next run's plan. Failed runs are reported but not recorded, so a
+ * scenario that dies early does not look cheap.
+ */
+public class MatrixRunner {
+    private final DriverPool pool;
+    private final int concurrency;
+    private final DurationHistory history;
+
+    public MatrixRunner(DriverPool pool, int concurrency, DurationHistory history) {
+        this.pool = pool;
+        this.concurrency = concurrency;
+        this.history = history;
+    }
+
+    public MatrixReport run(List<Scenario> scenarios) {
+        Map<Scenario, Long> expected = new IdentityHashMap<>();
+        scenarios.forEach(scenario -> expected.put(scenario, history.expectedMs(scenario)));
+        List<Scenario> ordered = LptSchedule.order(scenarios, expected);
+        List<Long> expectedInOrder = ordered.stream().map(expected::get).toList();
+        long plannedMs = LptSchedule.makespan(expectedInOrder, concurrency);
+        System.out.println(String.format("Matrix plan: %d scenarios on %d sessions, expected makespan %.1fs "
+                        + "(lower bound %.1fs)", ordered.size(), concurrency, plannedMs / 1000.0,
+                LptSchedule.lowerBound(expectedInOrder, concurrency) / 1000.0));
+
+        ConcurrentLinkedQueue<Scenario> queue = new ConcurrentLinkedQueue<>(ordered);
+        ConcurrentLinkedQueue<MatrixReport.Result> results = new ConcurrentLinkedQueue<>();
+        AtomicInteger workerIds = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "matrix-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> {
+                    Scenario scenario;
+                    while ((scenario = queue.poll()) != null) {
+                        results.add(runOne(scenario, expected.get(scenario)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Matrix run interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Matrix run failed: " + e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+            history.save();
+        }
+        return new MatrixReport(concurrency, new ArrayList<>(results), Duration.ofNanos(System.nanoTime() - start),
+                plannedMs);
+    }
+
+    private MatrixReport.Result runOne(Scenario scenario, long expectedMs) {
+        try {
+            return LeasedRegistration.run(pool, RegistrationIdentity::next, (driver, identity, inbox) -> {
+                long start = System.nanoTime();
+                try {
+                    RegistrationFlow flow = new RegistrationFlow(driver, identity, inbox, scenario.getChoices());
+                    flow.open(RegistrationFlow.registrationUrl());
+                    flow.run();
+                } catch (Exception e) {
+                    EventLog.global().warn("Scenario {} failed: {}", scenario, e.getMessage());
+                    return new MatrixReport.Result(scenario, expectedMs, (System.nanoTime() - start) / 1_000_000,
+                            e.getMessage());
+                }
+                long durationNanos = System.nanoTime() - start;
+                history.record(scenario, durationNanos / 1_000_000);
+                EventLog.global().timed(durationNanos, true, "Scenario {} completed", scenario);
+                return new MatrixReport.Result(scenario, expectedMs, durationNanos / 1_000_000, null);
+            });
+        } catch (Exception e) {
+            EventLog.global().warn("Scenario {} could not start: {}", scenario, e.getMessage());
+            return new MatrixReport.Result(scenario, expectedMs, 0, e.getMessage());
+        }
+    }
+}
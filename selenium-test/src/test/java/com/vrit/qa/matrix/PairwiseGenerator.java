@@ -0,0 +1,152 @@
+package com.vrit.qa.matrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Combinations of dimension levels, given as level counts per dimension.
+ * {@link #full} is the cartesian product; {@link #pairwise} covers every
+ * pair of levels of every two dimensions at least once, built greedily one
+ * row at a time: each row starts from a pair not yet covered and fills the
+ * other dimensions with the levels that cover the most new pairs. Rows are
+ * arrays of level indexes.
+ */
+public final class PairwiseGenerator {
+    private static final int CANDIDATES_PER_ROW = 30;
+
+    private PairwiseGenerator() {
+    }
+
+    public static List<int[]> full(int[] levels) {
+        List<int[]> rows = new ArrayList<>();
+        int[] row = new int[levels.length];
+        long total = Arrays.stream(levels).asLongStream().reduce(1, (a, b) -> a * b);
+        for (long n = 0; n < total; n++) {
+            rows.add(row.clone());
+            // Odometer: the last dimension turns fastest
+            for (int d = levels.length - 1; d >= 0; d--) {
+                if (++row[d] < levels[d]) {
+                    break;
+                }
+                row[d] = 0;
+            }
+        }
+        return rows;
+    }
+
+    public static List<int[]> pairwise(int[] levels, long seed) {
+        int dims = levels.length;
+        if (dims < 2) {
+            return full(levels);
+        }
+        // uncovered[i][j][a * levels[j] + b]: level a of dimension i not yet seen with level b of dimension j
+        boolean[][][] uncovered = new boolean[dims][dims][];
+        int remaining = 0;
+        for (int i = 0; i < dims; i++) {
+            for (int j = i + 1; j < dims; j++) {
+                uncovered[i][j] = new boolean[levels[i] * levels[j]];
+                Arrays.fill(uncovered[i][j], true);
+                remaining += uncovered[i][j].length;
+            }
+        }
+        Random random = new Random(seed);
+        List<int[]> rows = new ArrayList<>();
+        while (remaining > 0) {
+            int[] seedPair = firstUncovered(uncovered, levels);
+            int[] best = null;
+            int bestGain = -1;
+            for (int c = 0; c < CANDIDATES_PER_ROW; c++) {
+                int[] row = candidate(uncovered, levels, seedPair, random);
+                int gain = gain(uncovered, levels, row);
+                if (gain > bestGain) {
+                    best = row;
+                    bestGain = gain;
+                }
+            }
+            remaining -= cover(uncovered, levels, best);
+            rows.add(best);
+        }
+        return rows;
+    }
+
+    // {i, a, j, b} of the first pair not covered yet
+    private static int[] firstUncovered(boolean[][][] uncovered, int[] levels) {
+        for (int i = 0; i < levels.length; i++) {
+            for (int j = i + 1; j < levels.length; j++) {
+                for (int k = 0; k < uncovered[i][j].length; k++) {
+                    if (uncovered[i][j][k]) {
+                        return new int[] {i, k / levels[j], j, k % levels[j]};
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("Every pair is covered");
+    }
+
+    private static int[] candidate(boolean[][][] uncovered, int[] levels, int[] seedPair, Random random) {
+        int[] row = new int[levels.length];
+        Arrays.fill(row, -1);
+        row[seedPair[0]] = seedPair[1];
+        row[seedPair[2]] = seedPair[3];
+        List<Integer> order = new ArrayList<>();
+        for (int d = 0; d < levels.length; d++) {
+            if (row[d] < 0) {
+                order.add(d);
+            }
+        }
+        Collections.shuffle(order, random);
+        for (int d : order) {
+            int bestLevel = 0;
+            int bestNew = -1;
+            int offset = random.nextInt(levels[d]);
+            for (int n = 0; n < levels[d]; n++) {
+                int level = (offset + n) % levels[d];
+                int fresh = 0;
+                for (int other = 0; other < levels.length; other++) {
+                    if (other != d && row[other] >= 0 && isUncovered(uncovered, levels, d, level, other, row[other])) {
+                        fresh++;
+                    }
+                }
+                if (fresh > bestNew) {
+                    bestNew = fresh;
+                    bestLevel = level;
+                }
+            }
+            row[d] = bestLevel;
+        }
+        return row;
+    }
+
+    private static boolean isUncovered(boolean[][][] uncovered, int[] levels, int d1, int l1, int d2, int l2) {
+        return d1 < d2 ? uncovered[d1][d2][l1 * levels[d2] + l2] : uncovered[d2][d1][l2 * levels[d1] + l1];
+    }
+
+    private static int gain(boolean[][][] uncovered, int[] levels, int[] row) {
+        int gain = 0;
+        for (int i = 0; i < row.length; i++) {
+            for (int j = i + 1; j < row.length; j++) {
+                if (uncovered[i][j][row[i] * levels[j] + row[j]]) {
+                    gain++;
+                }
+            }
+        }
+        return gain;
+    }
+
+    private static int cover(boolean[][][] uncovered, int[] levels, int[] row) {
+        int covered = 0;
+        for (int i = 0; i < row.length; i++) {
+            for (int j = i + 1; j < row.length; j++) {
+                int k = row[i] * levels[j] + row[j];
+                if (uncovered[i][j][k]) {
+                    uncovered[i][j][k] = false;
+                    covered++;
+                }
+            }
+        }
+        return covered;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vrit.qa.matrix;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PairwiseGeneratorTest {
+    private static final int[] LEVELS = {3, 3, 3, 3, 3, 2};
+
+    @Test
+    public void testFullIsTheCartesianProduct() {
+        List<int[]> rows = PairwiseGenerator.full(LEVELS);
+        assertEquals(486, rows.size());
+        Set<String> distinct = new HashSet<>();
+        rows.forEach(row -> distinct.add(Arrays.toString(row)));
+        assertEquals(486, distinct.size());
+    }
+
+    @Test
+    public void testEveryPairIsCovered() {
+        List<int[]> rows = PairwiseGenerator.pairwise(LEVELS, 42);
+        for (int i = 0; i < LEVELS.length; i++) {
+            for (int j = i + 1; j < LEVELS.length; j++) {
+                for (int a = 0; a < LEVELS[i]; a++) {
+                    for (int b = 0; b < LEVELS[j]; b++) {
+                        int di = i, dj = j, la = a, lb = b;
+                        assertTrue(rows.stream().anyMatch(row -> row[di] == la && row[dj] == lb),
+                                "Dimension " + i + "=" + a + " never meets dimension " + j + "=" + b);
+                    }
+                }
+            }
+        }
+        // At least 3x3 rows are needed for any two three-level dimensions; the greedy cover stays close
+        assertTrue(rows.size() >= 9 && rows.size() <= 15, rows.size() + " rows");
+    }
+
+    @Test
+    public void testSameSeedSameRows() {
+        List<int[]> first = PairwiseGenerator.pairwise(LEVELS, 7);
+        List<int[]> second = PairwiseGenerator.pairwise(LEVELS, 7);
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(Arrays.toString(first.get(i)), Arrays.toString(second.get(i)));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.vrit.qa.matrix;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.driver.DriverFactory;
+import com.vrit.qa.driver.DriverPool;
+import com.vrit.qa.flow.RegistrationFlow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mvn test -Dtest=RegistrationMatrixTest -Dmatrix.enabled=true -Dapp.target=local -Dmatrix.concurrency=4
+// Every combination instead of every pair: -Dmatrix.mode=full
+@EnabledIfSystemProperty(named = "matrix.enabled", matches = "true")
+public class RegistrationMatrixTest {
+
+    @Test
+    public void testScenarioMatrix() {
+        int concurrency = HarnessConfig.getInt("matrix.concurrency", 4);
+        ScenarioMatrix matrix = ScenarioMatrix.fromConfig();
+        List<Scenario> scenarios = "full".equals(HarnessConfig.getString("matrix.mode", "pairwise"))
+                ? matrix.full() : matrix.pairwise(HarnessConfig.getLong("matrix.seed", 42));
+        System.out.println("Scenario matrix: " + scenarios.size() + " of " + matrix.getFullSize() + " combinations");
+        DurationHistory history = new DurationHistory(
+                Paths.get(HarnessConfig.getString("matrix.historyFile", ".harness/scenario-durations.json")),
+                HarnessConfig.getSeconds("matrix.defaultDurationSeconds", 180).toMillis());
+
+        try (DriverPool pool = new DriverPool(DriverFactory::createChrome, concurrency,
+                HarnessConfig.getInt("pool.maxLeasesPerBrowser", 20), Duration.ofMinutes(10),
+                HarnessConfig.getBoolean("pool.warmUp", true),
+                HarnessConfig.getString("pool.warmUpUrl", RegistrationFlow.registrationUrl()))) {
+            MatrixReport report = new MatrixRunner(pool, concurrency, history).run(scenarios);
+            System.out.println(report);
+            report.getFailures().forEach(failure -> System.out.println("  " + failure.getScenario() + ": "
+                    + failure.getError()));
+            report.export(Paths.get(HarnessConfig.getString("metrics.dir", "target/metrics")));
+            assertTrue(report.getFailures().isEmpty(), report.getFailures().size() + " of " + scenarios.size()
+                    + " scenarios failed");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.vrit.qa.matrix;
+
+import com.vrit.qa.flow.RegistrationChoices;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * One row of the scenario matrix: a level for every dimension, and the
+ * registration choices those levels stand for. The key names the levels
+ * and identifies the scenario across runs in the duration history.
+ */
+public class Scenario {
+    private final Map<String, String> levels;
+    private final RegistrationChoices choices;
+
+    public Scenario(Map<String, String> levels, RegistrationChoices choices) {
+        this.levels = Collections.unmodifiableMap(new LinkedHashMap<>(levels));
+        this.choices = choices;
+    }
+
+    public Map<String, String> getLevels() {
+        return levels;
+    }
+
+    public RegistrationChoices getChoices() {
+        return choices;
+    }
+
+    public String getKey() {
+        StringJoiner key = new StringJoiner(";");
+        levels.forEach((dimension, level) -> key.add(dimension + "=" + level));
+        return key.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+}
@@ -0,0 +1,119 @@
+package com.vrit.qa.matrix;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.flow.RegistrationChoices;
+import com.vrit.qa.form.OptionMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The registration scenario matrix: each dimension's levels, read from
+ * {@code matrix.<dimension>} as '|'-separated levels, expanded pairwise or
+ * in full into {@link Scenario}s.
+ *
+ * <ul>
+ *   <li>agencyCountry, preferredCountries: an option index, or an exact label; '+' joins several</li>
+ *   <li>experience: a pattern the option label must contain</li>
+ *   <li>services, institutionTypes: '+'-joined checkbox labels</li>
+ *   <li>upload: "samples", or the size of generated PDFs as KB or KBxPAGES</li>
+ * </ul>
+ */
+public class ScenarioMatrix {
+    public static final String AGENCY_COUNTRY = "agencyCountry";
+    public static final String EXPERIENCE = "experience";
+    public static final String SERVICES = "services";
+    public static final String PREFERRED_COUNTRIES = "preferredCountries";
+    public static final String INSTITUTION_TYPES = "institutionTypes";
+    public static final String UPLOAD = "upload";
+
+    private final Map<String, List<String>> dimensions;
+
+    public ScenarioMatrix(Map<String, List<String>> dimensions) {
+        this.dimensions = new LinkedHashMap<>(dimensions);
+    }
+
+    public static ScenarioMatrix fromConfig() {
+        String all = String.join("+", RegistrationChoices.ALL_SERVICES);
+        String allTypes = String.join("+", RegistrationChoices.ALL_INSTITUTION_TYPES);
+        Map<String, List<String>> dimensions = new LinkedHashMap<>();
+        dimensions.put(AGENCY_COUNTRY, levels(AGENCY_COUNTRY, "0|1|2"));
+        dimensions.put(EXPERIENCE, levels(EXPERIENCE, "1|5|10"));
+        dimensions.put(SERVICES, levels(SERVICES, all + "|Career Counseling|Visa Processing+Test Prepration"));
+        dimensions.put(PREFERRED_COUNTRIES, levels(PREFERRED_COUNTRIES, "Canada|Australia|Canada+Australia"));
+        dimensions.put(INSTITUTION_TYPES, levels(INSTITUTION_TYPES, allTypes + "|Universities|Colleges+Other"));
+        dimensions.put(UPLOAD, levels(UPLOAD, "samples|5120x5"));
+        return new ScenarioMatrix(dimensions);
+    }
+
+    private static List<String> levels(String dimension, String fallback) {
+        return Arrays.stream(HarnessConfig.getString("matrix." + dimension, fallback).split("\\|"))
+                .map(String::trim).filter(level -> !level.isEmpty()).toList();
+    }
+
+    public long getFullSize() {
+        return dimensions.values().stream().mapToLong(List::size).reduce(1, (a, b) -> a * b);
+    }
+
+    // Every pair of levels of every two dimensions at least once
+    public List<Scenario> pairwise(long seed) {
+        return scenarios(PairwiseGenerator.pairwise(levelCounts(), seed));
+    }
+
+    // The full cartesian product
+    public List<Scenario> full() {
+        return scenarios(PairwiseGenerator.full(levelCounts()));
+    }
+
+    private int[] levelCounts() {
+        return dimensions.values().stream().mapToInt(List::size).toArray();
+    }
+
+    private List<Scenario> scenarios(List<int[]> rows) {
+        List<String> names = new ArrayList<>(dimensions.keySet());
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int[] row : rows) {
+            Map<String, String> levels = new LinkedHashMap<>();
+            RegistrationChoices choices = RegistrationChoices.defaults();
+            for (int d = 0; d < row.length; d++) {
+                String level = dimensions.get(names.get(d)).get(row[d]);
+                levels.put(names.get(d), level);
+                choices = apply(choices, names.get(d), level);
+            }
+            scenarios.add(new Scenario(levels, choices));
+        }
+        return scenarios;
+    }
+
+    static RegistrationChoices apply(RegistrationChoices choices, String dimension, String level) {
+        switch (dimension) {
+            case AGENCY_COUNTRY:
+                return choices.withAgencyCountry(option(level));
+            case EXPERIENCE:
+                return choices.withExperience(OptionMatcher.regex(level));
+            case SERVICES:
+                return choices.withServices(List.of(level.split("\\+")));
+            case PREFERRED_COUNTRIES:
+                return choices.withPreferredCountries(Arrays.stream(level.split("\\+"))
+                        .map(ScenarioMatrix::option).toList());
+            case INSTITUTION_TYPES:
+                return choices.withInstitutionTypes(List.of(level.split("\\+")));
+            case UPLOAD:
+                if (level.equals("samples")) {
+                    return choices.withUpload(0, 1);
+                }
+                String[] size = level.split("x");
+                return choices.withUpload(Long.parseLong(size[0]), size.length > 1 ? Integer.parseInt(size[1]) : 1);
+            default:
+                throw new IllegalArgumentException("Unknown matrix dimension " + dimension);
+        }
+    }
+
+    private static OptionMatcher option(String level) {
+        return level.chars().allMatch(Character::isDigit) ? OptionMatcher.index(Integer.parseInt(level))
+                : OptionMatcher.exact(level);
+    }
+}
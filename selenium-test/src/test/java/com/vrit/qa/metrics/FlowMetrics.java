@@ -0,0 +1,274 @@
+package com.vrit.qa.metrics;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.perf.BaselineStore;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timers for each phase of the registration flow, WebDriver command counts
+ * attributed to the phase that issued them, and wait durations. Values are
+ * recorded into HdrHistograms in microseconds, which is safe from any number
+ * of concurrent sessions.
+ */
+public class FlowMetrics {
+    public static final String TERMS = "terms";
+    public static final String PERSONAL_DETAILS = "personal_details";
+    public static final String OTP_FETCH = "otp_fetch";
+    public static final String OTP_VERIFY = "otp_verify";
+    public static final String AGENCY = "agency";
+    public static final String EXPERIENCE = "experience";
+    public static final String BUSINESS_REGISTRATION = "business_registration";
+
+    // How a command reached the browser: a classic HTTP command or a call over the BiDi socket
+    public static final String TRANSPORT_CLASSIC = "classic";
+    public static final String TRANSPORT_BIDI = "bidi";
+
+    static final String UNSCOPED = "unscoped";
+
+    // Calls that only return a local helper object and never reach the driver
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "switchTo", "navigate", "timeouts", "window",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static FlowMetrics global;
+
+    private final Map<String, Timer> phases = new ConcurrentHashMap<>();
+    private final Map<String, Timer> waits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> commands = new ConcurrentHashMap<>();
+    private final Map<String, Timer> commandLatency = new ConcurrentHashMap<>();
+    private final Map<String, Timer> attempts = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> currentPhase = ThreadLocal.withInitial(() -> UNSCOPED);
+    private final ThreadLocal<Deque<Long>> callStarts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // Process-wide metrics, exported to metrics.dir when the JVM exits (and appended to the perf baseline if enabled)
+    public static synchronized FlowMetrics global() {
+        if (global == null) {
+            global = new FlowMetrics();
+            if (HarnessConfig.getBoolean("metrics.enabled", true)) {
+                FlowMetrics metrics = global;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    MetricsExporter.exportAll(metrics, Paths.get(HarnessConfig.getString("metrics.dir",
+                            "target/metrics")));
+                    BaselineStore.recordRun(metrics);
+                }));
+            }
+        }
+        return global;
+    }
+
+    // Starts timing a phase on the calling thread; commands issued until end() are attributed to it
+    public Phase startPhase(String name) {
+        return new Phase(name);
+    }
+
+    // The phase running on the calling thread, or null outside any phase
+    public String getCurrentPhase() {
+        String phase = currentPhase.get();
+        return UNSCOPED.equals(phase) ? null : phase;
+    }
+
+    public void recordWait(String kind, long nanos, boolean succeeded) {
+        waits.computeIfAbsent(kind, key -> new Timer()).record(nanos, succeeded);
+    }
+
+    public void countCommand() {
+        commands.computeIfAbsent(currentPhase.get(), key -> new LongAdder()).increment();
+    }
+
+    // One try of a retried operation; failed tries are what a flaky run pays before it recovers
+    public void recordAttempt(String operation, long nanos, boolean succeeded) {
+        attempts.computeIfAbsent(operation, key -> new Timer()).record(nanos, succeeded);
+    }
+
+    public void recordCommandLatency(String transport, long nanos) {
+        commandLatency.computeIfAbsent(transport, key -> new Timer()).record(nanos, true);
+    }
+
+    // Wraps a driver so every WebDriver/WebElement command it sends is counted and timed
+    public WebDriver instrument(WebDriver driver) {
+        WebDriverListener listener = new WebDriverListener() {
+            @Override
+            public void beforeAnyCall(Object target, Method method, Object[] args) {
+                if (!LOCAL_CALLS.contains(method.getName())) {
+                    countCommand();
+                    callStarts.get().push(System.nanoTime());
+                }
+            }
+
+            @Override
+            public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+                callEnded(method);
+            }
+
+            @Override
+            public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+                callEnded(method);
+            }
+        };
+        return new EventFiringDecorator<>(listener).decorate(driver);
+    }
+
+    private void callEnded(Method method) {
+        Long start = LOCAL_CALLS.contains(method.getName()) ? null : callStarts.get().poll();
+        if (start != null) {
+            recordCommandLatency(TRANSPORT_CLASSIC, System.nanoTime() - start);
+        }
+    }
+
+    public Map<String, Timer> getPhases() {
+        return new TreeMap<>(phases);
+    }
+
+    public Map<String, Timer> getWaits() {
+        return new TreeMap<>(waits);
+    }
+
+    public Map<String, Timer> getAttempts() {
+        return new TreeMap<>(attempts);
+    }
+
+    // Per-command round-trip latency, by transport
+    public Map<String, Timer> getCommandLatency() {
+        return new TreeMap<>(commandLatency);
+    }
+
+    // All transports together
+    public Timer getCommandLatencyTotal() {
+        Timer total = new Timer();
+        commandLatency.values().forEach(total::add);
+        return total;
+    }
+
+    // Starts a fresh command latency sample, e.g. between the legs of a transport comparison
+    public void resetCommandLatency() {
+        commandLatency.clear();
+    }
+
+    public long getCommands(String phase) {
+        LongAdder count = commands.get(phase);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        commands.forEach((phase, count) -> counts.put(phase, count.sum()));
+        return counts;
+    }
+
+    public final class Phase {
+        private final String name;
+        private final String previous;
+        private final long start = System.nanoTime();
+        private boolean succeeded;
+        private boolean ended;
+
+        private Phase(String name) {
+            this.name = name;
+            this.previous = currentPhase.get();
+            currentPhase.set(name);
+        }
+
+        public void succeeded() {
+            succeeded = true;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isSucceeded() {
+            return succeeded;
+        }
+
+        // Records the phase; it counts as failed unless succeeded() was called first
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            long nanos = System.nanoTime() - start;
+            // Logged while the phase is still current, so the event carries it as its step
+            EventLog.global().timed(null, nanos, succeeded, succeeded ? "{} done" : "{} failed", name);
+            currentPhase.set(previous);
+            phases.computeIfAbsent(name, key -> new Timer()).record(nanos, succeeded);
+        }
+    }
+
+    public static final class Timer {
+        // Microseconds, auto-resizing so a pathological multi-minute wait still fits
+        private final Histogram micros = new ConcurrentHistogram(3);
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        void record(long nanos, boolean succeeded) {
+            long value = Math.max(0, nanos / 1_000);
+            micros.recordValue(value);
+            totalMicros.add(value);
+            if (!succeeded) {
+                failures.increment();
+            }
+        }
+
+        void add(Timer other) {
+            micros.add(other.micros);
+            totalMicros.add(other.totalMicros.sum());
+            failures.add(other.failures.sum());
+        }
+
+        public long getCount() {
+            return micros.getTotalCount();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getTotalMicros() {
+            return totalMicros.sum();
+        }
+
+        public long getPercentileMicros(double percentile) {
+            return micros.getValueAtPercentile(percentile);
+        }
+
+        public long getMinMicros() {
+            return getCount() == 0 ? 0 : micros.getMinValue();
+        }
+
+        public long getMaxMicros() {
+            return micros.getMaxValue();
+        }
+
+        public double getMeanMicros() {
+            return micros.getMean();
+        }
+
+        // Every recorded value, as the histogram holds it (to 3 significant digits), in ascending order
+        public long[] getValuesMicros() {
+            long[] values = new long[(int) Math.min(Integer.MAX_VALUE, getCount())];
+            int i = 0;
+            for (HistogramIterationValue value : micros.copy().recordedValues()) {
+                for (long n = 0; n < value.getCountAtValueIteratedTo() && i < values.length; n++) {
+                    values[i++] = value.getValueIteratedTo();
+                }
+            }
+            return values;
+        }
+    }
+}
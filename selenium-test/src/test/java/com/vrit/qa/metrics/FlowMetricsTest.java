@@ -0,0 +1,74 @@
+package com.vrit.qa.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlowMetricsTest {
+
+    @Test
+    public void testCommandsAttributedToInnermostPhase() {
+        FlowMetrics metrics = new FlowMetrics();
+        FlowMetrics.Phase outer = metrics.startPhase(FlowMetrics.AGENCY);
+        metrics.countCommand();
+        FlowMetrics.Phase inner = metrics.startPhase(FlowMetrics.OTP_FETCH);
+        metrics.countCommand();
+        metrics.countCommand();
+        inner.succeeded();
+        inner.end();
+        metrics.countCommand();
+        outer.end();
+        metrics.countCommand();
+
+        assertEquals(2, metrics.getCommands(FlowMetrics.AGENCY));
+        assertEquals(2, metrics.getCommands(FlowMetrics.OTP_FETCH));
+        assertEquals(1, metrics.getCommands(FlowMetrics.UNSCOPED));
+        assertEquals(0, metrics.getPhases().get(FlowMetrics.OTP_FETCH).getFailures());
+        assertEquals(1, metrics.getPhases().get(FlowMetrics.AGENCY).getFailures());
+    }
+
+    @Test
+    public void testEndIsIdempotent() {
+        FlowMetrics metrics = new FlowMetrics();
+        FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.EXPERIENCE);
+        phase.succeeded();
+        phase.end();
+        phase.end();
+        assertEquals(1, metrics.getPhases().get(FlowMetrics.EXPERIENCE).getCount());
+    }
+
+    @Test
+    public void testExportFormats() {
+        FlowMetrics metrics = new FlowMetrics();
+        FlowMetrics.Phase phase = metrics.startPhase(FlowMetrics.PERSONAL_DETAILS);
+        metrics.countCommand();
+        phase.succeeded();
+        phase.end();
+        metrics.recordWait("anyVisible", 2_500_000, true);
+
+        String prom = MetricsExporter.toPrometheus(metrics);
+        assertTrue(prom.contains("registration_phase_duration_seconds_count{phase=\"personal_details\"} 1"));
+        assertTrue(prom.contains("registration_webdriver_commands_total{phase=\"personal_details\"} 1"));
+        assertTrue(prom.contains("registration_wait_duration_seconds{kind=\"anyVisible\",quantile=\"0.5\"}"));
+
+        String csv = MetricsExporter.toCsv(metrics);
+        assertTrue(csv.startsWith("type,name,count"));
+        assertTrue(csv.contains("phase,personal_details,1,0,1,"));
+        assertTrue(csv.contains("wait,anyVisible,1,0,0,"));
+
+        assertEquals(1, MetricsExporter.toJson(metrics).getJSONObject("phases")
+                .getJSONObject("personal_details").getLong("commands"));
+    }
+
+    @Test
+    public void testValuesReadBackInOrder() {
+        FlowMetrics.Timer timer = new FlowMetrics.Timer();
+        timer.record(1_500_000, true);
+        timer.record(700_000, true);
+        timer.record(700_000, false);
+
+        assertArrayEquals(new long[] {700, 700, 1_500}, timer.getValuesMicros());
+    }
+}
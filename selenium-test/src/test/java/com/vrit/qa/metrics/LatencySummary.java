@@ -0,0 +1,47 @@
+package com.vrit.qa.metrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Percentile summary of a set of latencies in milliseconds.
+ */
+public class LatencySummary {
+    private final long[] sorted;
+
+    public LatencySummary(Collection<Long> latenciesMs) {
+        sorted = latenciesMs.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    public int getCount() {
+        return sorted.length;
+    }
+
+    public long getMin() {
+        return sorted.length == 0 ? 0 : sorted[0];
+    }
+
+    public long getMax() {
+        return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+    }
+
+    public double getMean() {
+        return Arrays.stream(sorted).average().orElse(0);
+    }
+
+    // Nearest-rank percentile, p in (0, 100]
+    public long percentile(double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d min=%dms p50=%dms p90=%dms p95=%dms p99=%dms max=%dms mean=%.1fms",
+                getCount(), getMin(), percentile(50), percentile(90), percentile(95), percentile(99), getMax(),
+                getMean());
+    }
+}
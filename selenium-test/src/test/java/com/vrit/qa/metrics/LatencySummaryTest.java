@@ -0,0 +1,33 @@
+package com.vrit.qa.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LatencySummaryTest {
+
+    @Test
+    public void testNearestRankPercentiles() {
+        List<Long> latencies = new ArrayList<>();
+        for (long i = 100; i >= 1; i--) {
+            latencies.add(i);
+        }
+        LatencySummary summary = new LatencySummary(latencies);
+        assertEquals(100, summary.getCount());
+        assertEquals(1, summary.getMin());
+        assertEquals(50, summary.percentile(50));
+        assertEquals(99, summary.percentile(99));
+        assertEquals(100, summary.percentile(100));
+        assertEquals(50.5, summary.getMean(), 0.001);
+    }
+
+    @Test
+    public void testEmptySummary() {
+        LatencySummary summary = new LatencySummary(List.of());
+        assertEquals(0, summary.percentile(95));
+        assertEquals(0, summary.getMax());
+    }
+}
@@ -0,0 +1,136 @@
+package com.vrit.qa.metrics;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a {@link FlowMetrics} snapshot as metrics.json, metrics.csv and a
+ * Prometheus text-format file (metrics.prom).
+ */
+public final class MetricsExporter {
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.95, 0.99 };
+
+    private MetricsExporter() {
+    }
+
+    public static void exportAll(FlowMetrics metrics, Path dir) {
+        if (metrics.getPhases().isEmpty() && metrics.getWaits().isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("metrics.json"), toJson(metrics).toString(2), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("metrics.csv"), toCsv(metrics), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("metrics.prom"), toPrometheus(metrics), StandardCharsets.UTF_8);
+            System.out.println("Metrics written to " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Failed to export metrics to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    public static JSONObject toJson(FlowMetrics metrics) {
+        JSONObject root = new JSONObject();
+        JSONObject phases = new JSONObject();
+        metrics.getPhases().forEach((name, timer) -> phases.put(name,
+                timerJson(timer).put("commands", metrics.getCommands(name))));
+        root.put("phases", phases);
+        JSONObject waits = new JSONObject();
+        metrics.getWaits().forEach((kind, timer) -> waits.put(kind, timerJson(timer)));
+        root.put("waits", waits);
+        root.put("commands", new JSONObject(metrics.getCommandCounts()));
+        JSONObject latency = new JSONObject();
+        metrics.getCommandLatency().forEach((transport, timer) -> latency.put(transport, timerJson(timer)));
+        root.put("commandLatency", latency);
+        JSONObject attempts = new JSONObject();
+        metrics.getAttempts().forEach((operation, timer) -> attempts.put(operation, timerJson(timer)));
+        root.put("attempts", attempts);
+        return root;
+    }
+
+    // One row per phase and per wait kind, durations in milliseconds
+    public static String toCsv(FlowMetrics metrics) {
+        StringBuilder csv = new StringBuilder("type,name,count,failures,commands,min_ms,p50_ms,p90_ms,p95_ms,p99_ms,max_ms,mean_ms\n");
+        metrics.getPhases().forEach((name, timer) -> csvRow(csv, "phase", name, timer, metrics.getCommands(name)));
+        metrics.getWaits().forEach((kind, timer) -> csvRow(csv, "wait", kind, timer, 0));
+        metrics.getCommandLatency().forEach((transport, timer) -> csvRow(csv, "command", transport, timer, 0));
+        metrics.getAttempts().forEach((operation, timer) -> csvRow(csv, "attempt", operation, timer, 0));
+        return csv.toString();
+    }
+
+    public static String toPrometheus(FlowMetrics metrics) {
+        StringBuilder out = new StringBuilder();
+        summary(out, "registration_phase_duration_seconds", "Wall time of each registration phase", "phase",
+                metrics.getPhases());
+        counter(out, "registration_phase_failures_total", "Failed executions of each phase", "phase",
+                metrics.getPhases());
+        out.append("# HELP registration_webdriver_commands_total WebDriver commands issued, by phase\n")
+                .append("# TYPE registration_webdriver_commands_total counter\n");
+        metrics.getCommandCounts().forEach((phase, count) -> out
+                .append("registration_webdriver_commands_total{phase=\"").append(phase).append("\"} ")
+                .append(count).append('\n'));
+        summary(out, "registration_wait_duration_seconds", "Time spent in DOM waits, by condition", "kind",
+                metrics.getWaits());
+        summary(out, "registration_command_latency_seconds", "Round trip of each browser command, by transport",
+                "transport", metrics.getCommandLatency());
+        summary(out, "registration_attempt_duration_seconds", "Time spent in each try of a retried operation",
+                "operation", metrics.getAttempts());
+        counter(out, "registration_attempt_failures_total", "Failed tries of each retried operation", "operation",
+                metrics.getAttempts());
+        return out.toString();
+    }
+
+    private static JSONObject timerJson(FlowMetrics.Timer timer) {
+        return new JSONObject()
+                .put("count", timer.getCount())
+                .put("failures", timer.getFailures())
+                .put("min_ms", millis(timer.getMinMicros()))
+                .put("p50_ms", millis(timer.getPercentileMicros(50)))
+                .put("p90_ms", millis(timer.getPercentileMicros(90)))
+                .put("p95_ms", millis(timer.getPercentileMicros(95)))
+                .put("p99_ms", millis(timer.getPercentileMicros(99)))
+                .put("max_ms", millis(timer.getMaxMicros()))
+                .put("mean_ms", timer.getMeanMicros() / 1_000.0)
+                .put("total_ms", millis(timer.getTotalMicros()));
+    }
+
+    private static void csvRow(StringBuilder csv, String type, String name, FlowMetrics.Timer timer, long commands) {
+        csv.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                type, name, timer.getCount(), timer.getFailures(), commands,
+                millis(timer.getMinMicros()), millis(timer.getPercentileMicros(50)),
+                millis(timer.getPercentileMicros(90)), millis(timer.getPercentileMicros(95)),
+                millis(timer.getPercentileMicros(99)), millis(timer.getMaxMicros()), timer.getMeanMicros() / 1_000.0));
+    }
+
+    private static void summary(StringBuilder out, String metric, String help, String label,
+            Map<String, FlowMetrics.Timer> timers) {
+        out.append("# HELP ").append(metric).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(metric).append(" summary\n");
+        timers.forEach((name, timer) -> {
+            for (double quantile : QUANTILES) {
+                out.append(String.format(Locale.ROOT, "%s{%s=\"%s\",quantile=\"%s\"} %.6f%n", metric, label, name,
+                        quantile, timer.getPercentileMicros(quantile * 100) / 1_000_000.0));
+            }
+            out.append(String.format(Locale.ROOT, "%s_sum{%s=\"%s\"} %.6f%n", metric, label, name,
+                    timer.getTotalMicros() / 1_000_000.0));
+            out.append(String.format(Locale.ROOT, "%s_count{%s=\"%s\"} %d%n", metric, label, name, timer.getCount()));
+        });
+    }
+
+    private static void counter(StringBuilder out, String metric, String help, String label,
+            Map<String, FlowMetrics.Timer> timers) {
+        out.append("# HELP ").append(metric).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(metric).append(" counter\n");
+        timers.forEach((name, timer) -> out.append(String.format(Locale.ROOT, "%s{%s=\"%s\"} %d%n", metric, label,
+                name, timer.getFailures())));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
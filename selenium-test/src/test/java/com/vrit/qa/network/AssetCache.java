@@ -0,0 +1,111 @@
+package com.vrit.qa.network;
+
+import com.vrit.qa.log.EventLog;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Static assets kept on disk between runs, keyed by a hash of the URL. Each
+ * entry is a body file plus a small JSON sidecar with the URL, content type
+ * and when it was stored; entries older than the maximum age are refetched.
+ */
+public class AssetCache {
+    private final Path dir;
+    private final Duration maxAge;
+    private final Set<ResourceType> types;
+
+    public AssetCache(Path dir, Duration maxAge, Set<ResourceType> types) {
+        this.dir = dir;
+        this.maxAge = maxAge;
+        this.types = types.isEmpty() ? EnumSet.noneOf(ResourceType.class) : EnumSet.copyOf(types);
+    }
+
+    public boolean accepts(ResourceType type) {
+        return types.contains(type);
+    }
+
+    public Optional<Asset> get(String url) {
+        String key = key(url);
+        Path meta = dir.resolve(key + ".json");
+        Path body = dir.resolve(key + ".bin");
+        if (!Files.exists(meta) || !Files.exists(body)) {
+            return Optional.empty();
+        }
+        try {
+            JSONObject json = new JSONObject(Files.readString(meta, StandardCharsets.UTF_8));
+            if (!url.equals(json.getString("url"))
+                    || Instant.parse(json.getString("storedAt")).plus(maxAge).isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+            return Optional.of(new Asset(json.optString("contentType", "application/octet-stream"),
+                    Files.readAllBytes(body)));
+        } catch (IOException | JSONException | IllegalArgumentException e) {
+            EventLog.global().warn("Ignoring unreadable cached asset for {}: {}", url, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(String url, String contentType, byte[] content) {
+        String key = key(url);
+        try {
+            Files.createDirectories(dir);
+            // Body first, sidecar last: a sidecar only ever points at a complete body
+            write(dir.resolve(key + ".bin"), content);
+            JSONObject json = new JSONObject()
+                    .put("url", url)
+                    .put("contentType", contentType == null ? "application/octet-stream" : contentType)
+                    .put("size", content.length)
+                    .put("storedAt", Instant.now().toString());
+            write(dir.resolve(key + ".json"), json.toString(2).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            EventLog.global().warn("Failed to cache {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static void write(Path file, byte[] content) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        Files.write(tmp, content);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String key(String url) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(url.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class Asset {
+        private final String contentType;
+        private final byte[] content;
+
+        public Asset(String contentType, byte[] content) {
+            this.contentType = contentType;
+            this.content = content;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+    }
+}
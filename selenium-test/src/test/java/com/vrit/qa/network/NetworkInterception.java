@@ -0,0 +1,124 @@
+package com.vrit.qa.network;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.log.EventLog;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Routes every request of a browser session through a DevTools
+ * {@link NetworkInterceptor}. In {@code observe} mode requests are only
+ * counted; in {@code block} mode the {@link NetworkRules} drop non-essential
+ * ones and cacheable static assets are served from the {@link AssetCache}.
+ */
+public class NetworkInterception implements Filter {
+    private final NetworkRules rules;
+    private final AssetCache cache;
+    private final NetworkStats stats;
+    private final boolean blocking;
+
+    public NetworkInterception(NetworkRules rules, AssetCache cache, NetworkStats stats, boolean blocking) {
+        this.rules = rules;
+        this.cache = cache;
+        this.stats = stats;
+        this.blocking = blocking;
+    }
+
+    // network.mode=off|observe|block; returns the interceptor to close, or null when nothing was installed
+    public static NetworkInterceptor install(WebDriver driver) {
+        String mode = HarnessConfig.getString("network.mode", "off").toLowerCase(Locale.ROOT);
+        if ("off".equals(mode)) {
+            return null;
+        }
+        if (!"observe".equals(mode) && !"block".equals(mode)) {
+            throw new IllegalArgumentException("Unknown network.mode: " + mode);
+        }
+        if (!(driver instanceof HasDevTools)) {
+            EventLog.global().info("Network interception needs a DevTools-capable browser, skipping");
+            return null;
+        }
+        boolean blocking = "block".equals(mode);
+        AssetCache cache = null;
+        if (blocking && HarnessConfig.getBoolean("network.cache.enabled", true)) {
+            Set<ResourceType> types = EnumSet.noneOf(ResourceType.class);
+            for (String type : NetworkRules.list("network.cache.types")) {
+                types.add(ResourceType.parse(type));
+            }
+            cache = new AssetCache(Paths.get(HarnessConfig.getString("network.cache.dir", ".harness/asset-cache")),
+                    Duration.ofHours(HarnessConfig.getLong("network.cache.maxAgeHours", 24)), types);
+        }
+        return new NetworkInterceptor(driver,
+                new NetworkInterception(NetworkRules.fromConfig(), cache, NetworkStats.global(), blocking));
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            String url = request.getUri();
+            ResourceType type = ResourceType.classify(url, request.getHeader("Sec-Fetch-Dest"),
+                    request.getHeader("Accept"));
+            if (!blocking) {
+                return pass(next, request, url, type);
+            }
+            if (rules.blocks(url, type)) {
+                stats.recordBlocked(url, type);
+                // An empty success keeps blocked scripts and styles from surfacing as page errors
+                return new HttpResponse().setStatus(204).setContent(Contents.empty());
+            }
+            if (cache != null && request.getMethod() == HttpMethod.GET && cache.accepts(type)) {
+                Optional<AssetCache.Asset> cached = cache.get(url);
+                if (cached.isPresent()) {
+                    stats.recordCacheHit(url, type, cached.get().getContent().length);
+                    return new HttpResponse()
+                            .setStatus(200)
+                            .setHeader("Content-Type", cached.get().getContentType())
+                            .setHeader("Cache-Control", "no-store")
+                            .setContent(Contents.bytes(cached.get().getContent()));
+                }
+                HttpResponse response = next.execute(request);
+                String cacheControl = response.getHeader("Cache-Control");
+                if (response.getStatus() != 200 || (cacheControl != null && cacheControl.contains("no-store"))) {
+                    stats.recordTransferred(url, type, contentLength(response));
+                    return response;
+                }
+                // Buffer once so the same bytes go to the browser and to disk
+                byte[] body = Contents.bytes(response.getContent());
+                cache.put(url, response.getHeader("Content-Type"), body);
+                long declared = contentLength(response);
+                stats.recordTransferred(url, type, declared >= 0 ? declared : body.length);
+                return response.setContent(Contents.bytes(body));
+            }
+            return pass(next, request, url, type);
+        };
+    }
+
+    private HttpResponse pass(HttpHandler next, HttpRequest request, String url, ResourceType type) {
+        HttpResponse response = next.execute(request);
+        stats.recordTransferred(url, type, contentLength(response));
+        return response;
+    }
+
+    // Transfer size as the server declared it, or -1 when the response is chunked
+    private static long contentLength(HttpResponse response) {
+        String header = response.getHeader("Content-Length");
+        try {
+            return header == null ? -1 : Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
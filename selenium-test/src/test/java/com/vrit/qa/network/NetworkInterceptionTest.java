@@ -0,0 +1,101 @@
+package com.vrit.qa.network;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NetworkInterceptionTest {
+    private static final String APP = "https://authorized-partner.netlify.app";
+
+    @TempDir
+    Path dir;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final HttpHandler upstream = request -> {
+        upstreamCalls.incrementAndGet();
+        return new HttpResponse().setStatus(200)
+                .setHeader("Content-Type", "application/javascript")
+                .setHeader("Content-Length", "11")
+                .setContent(Contents.utf8String("console.log"));
+    };
+
+    @Test
+    public void testClassifiesByFetchDestThenExtension() {
+        assertEquals(ResourceType.IMAGE, ResourceType.classify(APP + "/logo", "image", null));
+        assertEquals(ResourceType.DOCUMENT, ResourceType.classify(APP + "/register", "document", "text/html"));
+        assertEquals(ResourceType.FONT, ResourceType.classify(APP + "/f/inter.woff2?v=3", null, "*/*"));
+        assertEquals(ResourceType.SCRIPT, ResourceType.classify(APP + "/assets/index-4f2a.js", null, "*/*"));
+        assertEquals(ResourceType.DOCUMENT, ResourceType.classify(APP + "/register", null, "text/html,*/*"));
+        assertEquals(ResourceType.OTHER, ResourceType.classify(APP + "/ping", null, null));
+    }
+
+    @Test
+    public void testAllowRulesWinAndDocumentsAreNeverBlocked() {
+        NetworkRules rules = new NetworkRules(List.of("*authorized-partner.netlify.app/logo*"),
+                List.of("*google-analytics.com*", "*"), EnumSet.of(ResourceType.IMAGE, ResourceType.FONT));
+        assertTrue(rules.blocks("https://www.google-analytics.com/g/collect?v=2", ResourceType.XHR));
+        assertTrue(rules.blocks(APP + "/hero.png", ResourceType.IMAGE));
+        assertFalse(rules.blocks(APP + "/logo.svg", ResourceType.IMAGE));
+        assertFalse(rules.blocks("https://anything.example/", ResourceType.DOCUMENT));
+
+        NetworkRules typesOnly = new NetworkRules(List.of(), List.of(), EnumSet.of(ResourceType.FONT));
+        assertFalse(typesOnly.blocks(APP + "/assets/index.js", ResourceType.SCRIPT));
+    }
+
+    @Test
+    public void testBlockModeBlocksAndCountsKnownSizes() {
+        NetworkStats stats = new NetworkStats(dir.resolve("sizes.properties"));
+        NetworkRules rules = new NetworkRules(List.of(), List.of("*doubleclick.net*"),
+                EnumSet.noneOf(ResourceType.class));
+
+        // An observing run learns the size, the blocking run then counts it as saved
+        new NetworkInterception(rules, null, stats, false).apply(upstream)
+                .execute(get("https://ad.doubleclick.net/ad.js"));
+        stats.saveLedger();
+        NetworkStats next = new NetworkStats(dir.resolve("sizes.properties"));
+        HttpResponse blocked = new NetworkInterception(rules, null, next, true).apply(upstream)
+                .execute(get("https://ad.doubleclick.net/ad.js"));
+
+        assertEquals(204, blocked.getStatus());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, next.getBlockedRequests());
+        assertEquals(11, next.getBytesSaved());
+    }
+
+    @Test
+    public void testCacheServesSecondRequestFromDisk() {
+        NetworkStats stats = new NetworkStats(dir.resolve("sizes.properties"));
+        AssetCache cache = new AssetCache(dir.resolve("cache"), Duration.ofHours(1), EnumSet.of(ResourceType.SCRIPT));
+        NetworkRules rules = new NetworkRules(List.of(), List.of(), EnumSet.noneOf(ResourceType.class));
+        HttpHandler handler = new NetworkInterception(rules, cache, stats, true).apply(upstream);
+
+        HttpResponse first = handler.execute(get(APP + "/assets/index-4f2a.js"));
+        HttpResponse second = handler.execute(get(APP + "/assets/index-4f2a.js"));
+
+        assertEquals("console.log", Contents.string(first));
+        assertEquals("console.log", Contents.string(second));
+        assertEquals("application/javascript", second.getHeader("Content-Type"));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, stats.getCacheHits());
+        assertEquals(11, stats.getBytesSaved());
+        assertEquals(2, stats.getRequests());
+    }
+
+    private static HttpRequest get(String url) {
+        return new HttpRequest(HttpMethod.GET, url);
+    }
+}
@@ -0,0 +1,77 @@
+package com.vrit.qa.network;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Allow/deny rules for intercepted requests. URL rules are globs where
+ * {@code *} matches anything; type rules name a {@link ResourceType}. Allow
+ * rules win over deny rules, and top-level documents are never blocked.
+ */
+public class NetworkRules {
+    private final List<Pattern> allowUrls;
+    private final List<Pattern> denyUrls;
+    private final Set<ResourceType> denyTypes;
+
+    public NetworkRules(List<String> allowUrls, List<String> denyUrls, Set<ResourceType> denyTypes) {
+        this.allowUrls = compile(allowUrls);
+        this.denyUrls = compile(denyUrls);
+        this.denyTypes = denyTypes.isEmpty() ? EnumSet.noneOf(ResourceType.class) : EnumSet.copyOf(denyTypes);
+    }
+
+    public static NetworkRules fromConfig() {
+        Set<ResourceType> types = EnumSet.noneOf(ResourceType.class);
+        for (String type : list("network.denyTypes")) {
+            types.add(ResourceType.parse(type));
+        }
+        return new NetworkRules(list("network.allow"), list("network.deny"), types);
+    }
+
+    public boolean blocks(String url, ResourceType type) {
+        if (type == ResourceType.DOCUMENT || matchesAny(allowUrls, url)) {
+            return false;
+        }
+        return denyTypes.contains(type) || matchesAny(denyUrls, url);
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(List<String> globs) {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String glob : globs) {
+            String[] parts = glob.split("\\*", -1);
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(parts[i]));
+            }
+            patterns.add(Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE));
+        }
+        return patterns;
+    }
+
+    static List<String> list(String key) {
+        List<String> values = new ArrayList<>();
+        String raw = HarnessConfig.getString(key, "");
+        for (String value : raw.split(",")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+}
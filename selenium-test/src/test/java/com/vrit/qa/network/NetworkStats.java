@@ -0,0 +1,183 @@
+package com.vrit.qa.network;
+
+import com.vrit.qa.config.HarnessConfig;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Requests and bytes seen by the interceptor, and how many of them were
+ * saved by blocking or by serving from the asset cache. Transfer sizes of
+ * URLs that were let through are remembered in a size ledger on disk, so a
+ * later run can put a byte figure on the requests it blocks.
+ */
+public class NetworkStats {
+    private static NetworkStats global;
+
+    private final Map<ResourceType, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<ResourceType, LongAdder> blocked = new ConcurrentHashMap<>();
+    private final LongAdder transferredBytes = new LongAdder();
+    private final LongAdder blockedBytes = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheBytes = new LongAdder();
+    private final Map<String, Long> sizes = new ConcurrentHashMap<>();
+    private final Path ledger;
+
+    public NetworkStats(Path ledger) {
+        this.ledger = ledger;
+        load();
+    }
+
+    // Process-wide stats, reported and written next to the flow metrics when the JVM exits
+    public static synchronized NetworkStats global() {
+        if (global == null) {
+            global = new NetworkStats(Paths.get(HarnessConfig.getString("network.sizeLedger",
+                    ".harness/network-sizes.properties")));
+            NetworkStats stats = global;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (stats.getRequests() == 0) {
+                    return;
+                }
+                System.out.println(stats);
+                stats.saveLedger();
+                stats.export(Paths.get(HarnessConfig.getString("metrics.dir", "target/metrics")));
+            }));
+        }
+        return global;
+    }
+
+    public void recordTransferred(String url, ResourceType type, long bytes) {
+        requests.computeIfAbsent(type, key -> new LongAdder()).increment();
+        if (bytes >= 0) {
+            transferredBytes.add(bytes);
+            sizes.put(url, bytes);
+        }
+    }
+
+    public void recordBlocked(String url, ResourceType type) {
+        requests.computeIfAbsent(type, key -> new LongAdder()).increment();
+        blocked.computeIfAbsent(type, key -> new LongAdder()).increment();
+        Long known = sizes.get(url);
+        if (known != null) {
+            blockedBytes.add(known);
+        }
+    }
+
+    public void recordCacheHit(String url, ResourceType type, long bytes) {
+        requests.computeIfAbsent(type, key -> new LongAdder()).increment();
+        cacheHits.increment();
+        cacheBytes.add(bytes);
+    }
+
+    public long getRequests() {
+        return sum(requests);
+    }
+
+    public long getBlockedRequests() {
+        return sum(blocked);
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    // Requests that never reached the network
+    public long getRequestsSaved() {
+        return getBlockedRequests() + getCacheHits();
+    }
+
+    // Blocked bytes are only counted for URLs whose size the ledger knows
+    public long getBytesSaved() {
+        return blockedBytes.sum() + cacheBytes.sum();
+    }
+
+    public long getTransferredBytes() {
+        return transferredBytes.sum();
+    }
+
+    public JSONObject toJson() {
+        JSONObject byType = new JSONObject();
+        new TreeMap<>(requests).forEach((type, count) -> byType.put(type.name().toLowerCase(Locale.ROOT),
+                new JSONObject().put("requests", count.sum())
+                        .put("blocked", blocked.containsKey(type) ? blocked.get(type).sum() : 0)));
+        return new JSONObject()
+                .put("requests", getRequests())
+                .put("blockedRequests", getBlockedRequests())
+                .put("cacheHits", getCacheHits())
+                .put("requestsSaved", getRequestsSaved())
+                .put("bytesSaved", getBytesSaved())
+                .put("transferredBytes", getTransferredBytes())
+                .put("byType", byType);
+    }
+
+    public void export(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("network.json"), toJson().toString(2), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("Failed to export network stats to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized void saveLedger() {
+        Properties properties = new Properties();
+        sizes.forEach((url, bytes) -> properties.setProperty(url, Long.toString(bytes)));
+        try {
+            if (ledger.getParent() != null) {
+                Files.createDirectories(ledger.getParent());
+            }
+            Path tmp = ledger.resolveSibling(ledger.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "Last seen transfer size per URL");
+            }
+            Files.move(tmp, ledger, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Failed to save network size ledger to " + ledger + ": " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(ledger)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(ledger)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println("Ignoring unreadable network size ledger " + ledger + ": " + e.getMessage());
+            return;
+        }
+        for (String url : properties.stringPropertyNames()) {
+            try {
+                sizes.put(url, Long.parseLong(properties.getProperty(url)));
+            } catch (NumberFormatException e) {
+                // Skip damaged entries, the next run rewrites them
+            }
+        }
+    }
+
+    private static long sum(Map<ResourceType, LongAdder> counts) {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Network: %d requests, %d blocked, %d served from cache, %d saved (%.1f KiB), "
+                        + "%.1f KiB transferred",
+                getRequests(), getBlockedRequests(), getCacheHits(), getRequestsSaved(), getBytesSaved() / 1024.0,
+                getTransferredBytes() / 1024.0);
+    }
+}
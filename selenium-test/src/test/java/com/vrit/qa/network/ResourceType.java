@@ -0,0 +1,91 @@
+package com.vrit.qa.network;
+
+import java.util.Locale;
+
+/**
+ * What an intercepted request is fetching. Taken from the Sec-Fetch-Dest
+ * header when the browser sends one, otherwise guessed from the Accept
+ * header and the file extension.
+ */
+public enum ResourceType {
+    DOCUMENT, SCRIPT, STYLESHEET, IMAGE, FONT, MEDIA, XHR, OTHER;
+
+    public static ResourceType parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public static ResourceType classify(String url, String fetchDest, String accept) {
+        if (fetchDest != null) {
+            switch (fetchDest.toLowerCase(Locale.ROOT)) {
+                case "document":
+                case "iframe":
+                case "frame":
+                    return DOCUMENT;
+                case "script":
+                case "worker":
+                case "sharedworker":
+                case "serviceworker":
+                    return SCRIPT;
+                case "style":
+                    return STYLESHEET;
+                case "image":
+                    return IMAGE;
+                case "font":
+                    return FONT;
+                case "audio":
+                case "video":
+                case "track":
+                    return MEDIA;
+                case "empty":
+                    return XHR;
+                default:
+                    break;
+            }
+        }
+        String path = path(url);
+        if (path.endsWith(".js") || path.endsWith(".mjs")) {
+            return SCRIPT;
+        }
+        if (path.endsWith(".css")) {
+            return STYLESHEET;
+        }
+        if (path.matches(".*\\.(png|jpe?g|gif|webp|avif|svg|ico|bmp)$")) {
+            return IMAGE;
+        }
+        if (path.matches(".*\\.(woff2?|ttf|otf|eot)$")) {
+            return FONT;
+        }
+        if (path.matches(".*\\.(mp4|webm|ogg|mp3|wav|m4a)$")) {
+            return MEDIA;
+        }
+        if (accept != null) {
+            String lower = accept.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("text/html")) {
+                return DOCUMENT;
+            }
+            if (lower.startsWith("text/css")) {
+                return STYLESHEET;
+            }
+            if (lower.startsWith("image/")) {
+                return IMAGE;
+            }
+            if (lower.startsWith("application/json")) {
+                return XHR;
+            }
+        }
+        return OTHER;
+    }
+
+    private static String path(String url) {
+        String path = url;
+        int cut = path.indexOf('?');
+        if (cut >= 0) {
+            path = path.substring(0, cut);
+        }
+        cut = path.indexOf('#');
+        if (cut >= 0) {
+            path = path.substring(0, cut);
+        }
+        return path.toLowerCase(Locale.ROOT);
+    }
+}
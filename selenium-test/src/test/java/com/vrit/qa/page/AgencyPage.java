@@ -0,0 +1,34 @@
+package com.vrit.qa.page;
+
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.locator.RegistrationLocators;
+import org.openqa.selenium.By;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Agency Details step.
+ */
+public class AgencyPage extends Page {
+    public static final By AGENCY_NAME = By.name("agency_name");
+
+    public final LazyElement countryDropdown = registered(RegistrationLocators.AGENCY_COUNTRY_DROPDOWN);
+    public final LazyElement nextButton = registered(RegistrationLocators.AGENCY_NEXT);
+
+    public AgencyPage(PageContext context) {
+        super(context);
+    }
+
+    // The address may be rendered as an input or a textarea, so its locator comes from the registry
+    public Map<By, String> fields(RegistrationIdentity identity) {
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(By.xpath("//input[@name='agency_name']"), identity.getAgencyName());
+        fields.put(context.getLocators().resolveLocator(context.getWaits(), RegistrationLocators.AGENCY_ADDRESS),
+                identity.getAgencyAddress());
+        fields.put(By.xpath("//input[@name='agency_email']"), identity.getAgencyEmail());
+        fields.put(By.xpath("//input[@name='agency_website']"), identity.getAgencyWebsite());
+        fields.put(By.xpath("//input[@name='role_in_agency']"), identity.getRoleInAgency());
+        return fields;
+    }
+}
@@ -0,0 +1,34 @@
+package com.vrit.qa.page;
+
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.locator.RegistrationLocators;
+import org.openqa.selenium.By;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Business Registration step, the last one before submitting.
+ */
+public class BusinessPage extends Page {
+    public static final By REGISTRATION_NUMBER = By.name("business_registration_number");
+
+    public final LazyElement countriesDropdown = registered(RegistrationLocators.BUSINESS_COUNTRIES_DROPDOWN);
+    public final LazyElement submitButton = registered(RegistrationLocators.BUSINESS_SUBMIT);
+
+    public BusinessPage(PageContext context) {
+        super(context);
+    }
+
+    public Map<By, String> fields(RegistrationIdentity identity) {
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(REGISTRATION_NUMBER, identity.getRegistrationNumber());
+        fields.put(By.name("certification_details"), identity.getCertificationDetails());
+        return fields;
+    }
+
+    // The hidden file input of the given upload widget, counting from zero
+    public LazyElement fileInput(int index) {
+        return attached("file input " + index, By.xpath("(//input[@type='file'])[" + (index + 1) + "]"));
+    }
+}
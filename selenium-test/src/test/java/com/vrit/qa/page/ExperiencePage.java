@@ -0,0 +1,27 @@
+package com.vrit.qa.page;
+
+import com.vrit.qa.locator.RegistrationLocators;
+import org.openqa.selenium.By;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Experience and Performance step.
+ */
+public class ExperiencePage extends Page {
+    public final LazyElement yearsDropdown = registered(RegistrationLocators.EXPERIENCE_YEARS_DROPDOWN);
+    public final LazyElement nextButton = registered(RegistrationLocators.EXPERIENCE_NEXT);
+
+    public ExperiencePage(PageContext context) {
+        super(context);
+    }
+
+    public Map<By, String> fields() {
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(By.name("number_of_students_recruited_annually"), "100");
+        fields.put(By.name("focus_area"), "Undergraduate admissions to Canada");
+        fields.put(By.name("success_metrics"), "90");
+        return fields;
+    }
+}
@@ -0,0 +1,190 @@
+package com.vrit.qa.page;
+
+import com.vrit.qa.log.EventLog;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A page-object element that is looked up on first use and then reused
+ * until the {@link PageContext} generation moves on. When the page
+ * re-renders between lookup and use, the stale handle is dropped, the
+ * element is resolved once more from its locator and the call repeated; a
+ * second stale reference is thrown to the caller. It unwraps to the live
+ * element, so it can be passed to scripts like any other element.
+ */
+public class LazyElement implements WebElement, WrapsElement {
+    private final PageContext context;
+    private final String description;
+    private final Supplier<WebElement> resolver;
+    private WebElement cached;
+    private long cachedGeneration = -1;
+
+    LazyElement(PageContext context, String description, Supplier<WebElement> resolver) {
+        this.context = context;
+        this.description = description;
+        this.resolver = resolver;
+    }
+
+    // The live element, resolved now if it never was or the DOM has been replaced since
+    @Override
+    public WebElement getWrappedElement() {
+        long generation = context.getGeneration();
+        if (cached == null || cachedGeneration != generation) {
+            cached = resolver.get();
+            cachedGeneration = generation;
+        }
+        return cached;
+    }
+
+    // Forgets the handle without touching the rest of the page
+    public void reset() {
+        cached = null;
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        WebElement element = getWrappedElement();
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            // Re-rendered since the lookup; the rest of the page's handles are suspect as well
+            context.invalidate();
+            EventLog.global().element(description, "Stale, resolving again");
+            return action.apply(getWrappedElement());
+        }
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(element -> element.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(element -> element.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(element -> element.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return call(element -> element.getScreenshotAs(target));
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
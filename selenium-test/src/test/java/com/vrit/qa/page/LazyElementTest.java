@@ -0,0 +1,98 @@
+package com.vrit.qa.page;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LazyElementTest {
+    private final PageContext context = new PageContext(null, null, null, null);
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Test
+    public void testResolvedOnFirstUseAndReused() {
+        LazyElement element = new LazyElement(context, "label", () -> element("text", 0));
+        assertEquals(0, lookups.get());
+
+        assertEquals("text", element.getText());
+        assertEquals("text", element.getText());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void testResolvedAgainAfterInvalidate() {
+        LazyElement element = new LazyElement(context, "label", () -> element("text", 0));
+        WebElement first = element.getWrappedElement();
+
+        context.invalidate();
+        WebElement second = element.getWrappedElement();
+
+        assertEquals(2, lookups.get());
+        assertNotSame(first, second);
+        assertSame(second, element.getWrappedElement());
+    }
+
+    @Test
+    public void testStaleElementIsResolvedOnceMoreAndRetried() {
+        WebElement stale = element("old", 1);
+        WebElement fresh = element("new", 0);
+        lookups.set(0);
+        AtomicInteger resolved = new AtomicInteger();
+        LazyElement element = new LazyElement(context, "label",
+                () -> resolved.getAndIncrement() == 0 ? stale : fresh);
+        long generation = context.getGeneration();
+
+        assertEquals("new", element.getText());
+        assertEquals(2, resolved.get());
+        // The stale reference moved the whole page on, so sibling elements look themselves up again
+        assertEquals(generation + 1, context.getGeneration());
+        assertSame(fresh, element.getWrappedElement());
+    }
+
+    @Test
+    public void testSecondStaleReferenceReachesTheCaller() {
+        LazyElement element = new LazyElement(context, "label", () -> element("old", Integer.MAX_VALUE));
+        assertThrows(StaleElementReferenceException.class, element::getText);
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void testResetForgetsOnlyThisElement() {
+        LazyElement element = new LazyElement(context, "label", () -> element("text", 0));
+        long generation = context.getGeneration();
+        element.getText();
+        element.reset();
+        element.getText();
+        assertEquals(2, lookups.get());
+        assertEquals(generation, context.getGeneration());
+    }
+
+    // A fake element whose getText throws a stale reference for its first staleCalls calls
+    private WebElement element(String text, int staleCalls) {
+        lookups.incrementAndGet();
+        AtomicInteger calls = new AtomicInteger();
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {WebElement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getText":
+                            if (calls.getAndIncrement() < staleCalls) {
+                                throw new StaleElementReferenceException("re-rendered");
+                            }
+                            return text;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
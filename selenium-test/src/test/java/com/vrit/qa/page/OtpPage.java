@@ -0,0 +1,18 @@
+package com.vrit.qa.page;
+
+import org.openqa.selenium.By;
+
+/**
+ * The e-mail verification step.
+ */
+public class OtpPage extends Page {
+    public static final By OTP_INPUT = By.cssSelector("input[inputmode='numeric']");
+
+    public final LazyElement otpInput = clickable("otp input", OTP_INPUT);
+    public final LazyElement verifyButton = clickable("otp verify",
+            By.xpath("//button[contains(text(),'Verify') or contains(text(),'Submit')]"));
+
+    public OtpPage(PageContext context) {
+        super(context);
+    }
+}
@@ -0,0 +1,36 @@
+package com.vrit.qa.page;
+
+import org.openqa.selenium.By;
+
+/**
+ * Base of the registration page objects. Elements are declared once as
+ * {@link LazyElement} fields and looked up only when a step first touches
+ * them, through the waits of the page's {@link PageContext}.
+ */
+public abstract class Page {
+    protected final PageContext context;
+
+    protected Page(PageContext context) {
+        this.context = context;
+    }
+
+    protected LazyElement visible(String description, By locator) {
+        return new LazyElement(context, description, () -> context.getWaits().visible(locator));
+    }
+
+    protected LazyElement clickable(String description, By locator) {
+        return new LazyElement(context, description,
+                () -> context.enabled(context.getWaits().visible(locator)));
+    }
+
+    // In the DOM but possibly hidden, e.g. a file input behind a drop zone
+    protected LazyElement attached(String description, By locator) {
+        return new LazyElement(context, description, () -> context.getWaits().attached(locator));
+    }
+
+    // A LocatorRegistry name, resolved through its ranked fallbacks and then waited on until enabled
+    protected LazyElement registered(String name) {
+        return new LazyElement(context, name,
+                () -> context.enabled(context.getLocators().resolve(context.getWaits(), name)));
+    }
+}
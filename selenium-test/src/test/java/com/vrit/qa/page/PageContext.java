@@ -0,0 +1,71 @@
+package com.vrit.qa.page;
+
+import com.vrit.qa.locator.LocatorRegistry;
+import com.vrit.qa.wait.DomWaits;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What the page objects of one browser session share: the driver, the
+ * waits, the locator registry and the DOM generation. The generation is
+ * bumped whenever the flow knows the DOM was replaced (a navigation, a
+ * refresh, a step transition) or an element turned out stale, and every
+ * {@link LazyElement} resolved under an older generation resolves again on
+ * its next use.
+ */
+public class PageContext {
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final DomWaits waits;
+    private final LocatorRegistry locators;
+    private final AtomicLong generation;
+
+    public PageContext(WebDriver driver, WebDriverWait wait, DomWaits waits, LocatorRegistry locators) {
+        this(driver, wait, waits, locators, new AtomicLong());
+    }
+
+    private PageContext(WebDriver driver, WebDriverWait wait, DomWaits waits, LocatorRegistry locators,
+            AtomicLong generation) {
+        this.driver = driver;
+        this.wait = wait;
+        this.waits = waits;
+        this.locators = locators;
+        this.generation = generation;
+    }
+
+    // Same session and generation, resolving with other waits, e.g. one retry attempt's shorter budget
+    public PageContext withWaits(DomWaits attemptWaits) {
+        return new PageContext(driver, wait, attemptWaits, locators, generation);
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public DomWaits getWaits() {
+        return waits;
+    }
+
+    public LocatorRegistry getLocators() {
+        return locators;
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    // The DOM was replaced: every element resolved so far must be looked up again
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    // A visible element, returned at once when it is already enabled (one round trip instead of the
+    // findElement + isDisplayed + isEnabled polling of elementToBeClickable(By))
+    WebElement enabled(WebElement element) {
+        return element.isEnabled() ? element : wait.until(ExpectedConditions.elementToBeClickable(element));
+    }
+}
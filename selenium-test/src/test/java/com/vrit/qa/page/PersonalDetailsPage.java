@@ -0,0 +1,32 @@
+package com.vrit.qa.page;
+
+import com.vrit.qa.flow.RegistrationIdentity;
+import org.openqa.selenium.By;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Personal Details step. Its fields are filled in one script by
+ * FormFiller, so only their locators are kept here.
+ */
+public class PersonalDetailsPage extends Page {
+    public static final By FIRST_NAME = By.name("firstName");
+
+    public final LazyElement nextButton = clickable("personal details next", By.xpath("//button[@type='submit']"));
+
+    public PersonalDetailsPage(PageContext context) {
+        super(context);
+    }
+
+    public Map<By, String> fields(RegistrationIdentity identity) {
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(FIRST_NAME, identity.getFirstName());
+        fields.put(By.name("lastName"), identity.getLastName());
+        fields.put(By.name("email"), identity.getEmail());
+        fields.put(By.name("phoneNumber"), identity.getPhone());
+        fields.put(By.name("password"), identity.getPassword());
+        fields.put(By.name("confirmPassword"), identity.getPassword());
+        return fields;
+    }
+}
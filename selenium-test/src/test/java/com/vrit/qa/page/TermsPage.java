@@ -0,0 +1,17 @@
+package com.vrit.qa.page;
+
+import org.openqa.selenium.By;
+
+/**
+ * The Terms of Service consent shown before the registration form.
+ */
+public class TermsPage extends Page {
+    public static final By FORM = By.cssSelector("form");
+
+    public final LazyElement termsCheckbox = clickable("terms checkbox", By.id("remember"));
+    public final LazyElement continueButton = clickable("terms continue", By.cssSelector(".primary-btn"));
+
+    public TermsPage(PageContext context) {
+        super(context);
+    }
+}
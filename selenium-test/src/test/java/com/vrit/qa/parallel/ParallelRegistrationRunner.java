@@ -0,0 +1,108 @@
+package com.vrit.qa.parallel;
+
+import com.vrit.qa.driver.DriverPool;
+import com.vrit.qa.flow.LeasedRegistration;
+import com.vrit.qa.flow.RegistrationFlow;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.metrics.LatencySummary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Drives many independent registrations at once. Each worker holds its own
+ * browser session for the duration of a run and takes identities from its
+ * own partition, so runs share nothing but the pool.
+ */
+public class ParallelRegistrationRunner {
+    private final DriverPool pool;
+    private final int concurrency;
+    private final Function<InboxProvider, RegistrationIdentity> identities;
+    private final RegistrationScenario scenario;
+
+    public ParallelRegistrationRunner(DriverPool pool, int concurrency,
+            Function<InboxProvider, RegistrationIdentity> identities, RegistrationScenario scenario) {
+        this.pool = pool;
+        this.concurrency = concurrency;
+        this.identities = identities;
+        this.scenario = scenario;
+    }
+
+    // The full registration flow against the configured app URL
+    public static RegistrationScenario fullRegistration() {
+        return (driver, identity, inbox) -> {
+            RegistrationFlow flow = new RegistrationFlow(driver, identity, inbox);
+            flow.open(RegistrationFlow.registrationUrl());
+            flow.run();
+        };
+    }
+
+    public ParallelRunReport run(int runs) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger completed = new AtomicInteger();
+
+        // Java 17 target: a fixed pool of platform threads, one per concurrent session
+        AtomicInteger workerIds = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "registration-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                int runId = i + 1;
+                futures.add(executor.submit(() -> runOne(runId, latencies, failures, completed)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel run interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Parallel run failed: " + e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+        return new ParallelRunReport(concurrency, completed.get(), new ArrayList<>(failures), wallTime,
+                new LatencySummary(latencies));
+    }
+
+    private void runOne(int runId, List<Long> latencies, ConcurrentLinkedQueue<String> failures,
+            AtomicInteger completed) {
+        try {
+            LeasedRegistration.run(pool, identities, (driver, identity, inbox) -> {
+                long start = System.nanoTime();
+                try {
+                    scenario.run(driver, identity, inbox);
+                } catch (Exception e) {
+                    failures.add("Run " + runId + " (" + identity.getEmail() + "): " + e.getMessage());
+                    EventLog.global().warn("Run {} failed: {}", runId, e.getMessage());
+                    return null;
+                }
+                long durationNanos = System.nanoTime() - start;
+                latencies.add(durationNanos / 1_000_000);
+                completed.incrementAndGet();
+                EventLog.global().timed(durationNanos, true, "Run {} completed for {}", runId, identity.getEmail());
+                return null;
+            });
+        } catch (Exception e) {
+            failures.add("Run " + runId + " (no identity yet): " + e.getMessage());
+            EventLog.global().warn("Run {} could not start: {}", runId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.vrit.qa.parallel;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.driver.DriverFactory;
+import com.vrit.qa.driver.DriverPool;
+import com.vrit.qa.flow.RegistrationFlow;
+import com.vrit.qa.flow.RegistrationIdentity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mvn test -Dtest=ParallelRegistrationTest -Dparallel.enabled=true -Dparallel.concurrency=8 -Dparallel.runs=32
+@EnabledIfSystemProperty(named = "parallel.enabled", matches = "true")
+public class ParallelRegistrationTest {
+
+    @Test
+    public void testConcurrentRegistrations() {
+        int concurrency = HarnessConfig.getInt("parallel.concurrency", 4);
+        int runs = HarnessConfig.getInt("parallel.runs", 8);
+
+        try (DriverPool pool = new DriverPool(DriverFactory::createChrome, concurrency,
+                HarnessConfig.getInt("pool.maxLeasesPerBrowser", 20), Duration.ofMinutes(10),
+                HarnessConfig.getBoolean("pool.warmUp", true),
+                HarnessConfig.getString("pool.warmUpUrl", RegistrationFlow.registrationUrl()))) {
+            ParallelRegistrationRunner runner = new ParallelRegistrationRunner(pool, concurrency,
+                    RegistrationIdentity::next, ParallelRegistrationRunner.fullRegistration());
+            ParallelRunReport report = runner.run(runs);
+            System.out.println(report);
+            report.getFailures().forEach(failure -> System.out.println("  " + failure));
+            assertTrue(report.getFailures().isEmpty(), report.getFailures().size() + " of " + runs + " runs failed");
+        }
+    }
+}
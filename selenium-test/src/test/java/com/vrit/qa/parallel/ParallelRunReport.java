@@ -0,0 +1,55 @@
+package com.vrit.qa.parallel;
+
+import com.vrit.qa.metrics.LatencySummary;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a {@link ParallelRegistrationRunner} run.
+ */
+public class ParallelRunReport {
+    private final int concurrency;
+    private final int completed;
+    private final List<String> failures;
+    private final Duration wallTime;
+    private final LatencySummary latency;
+
+    public ParallelRunReport(int concurrency, int completed, List<String> failures, Duration wallTime,
+            LatencySummary latency) {
+        this.concurrency = concurrency;
+        this.completed = completed;
+        this.failures = failures;
+        this.wallTime = wallTime;
+        this.latency = latency;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public List<String> getFailures() {
+        return failures;
+    }
+
+    public Duration getWallTime() {
+        return wallTime;
+    }
+
+    public LatencySummary getLatency() {
+        return latency;
+    }
+
+    public double getRegistrationsPerMinute() {
+        double minutes = wallTime.toMillis() / 60_000.0;
+        return minutes == 0 ? 0 : completed / minutes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Parallel registration run: concurrency=%d completed=%d failed=%d wall=%.1fs "
+                + "throughput=%.2f registrations/min%n  latency (completed runs): %s",
+                concurrency, completed, failures.size(), wallTime.toMillis() / 1000.0, getRegistrationsPerMinute(),
+                latency);
+    }
+}
@@ -0,0 +1,13 @@
+package com.vrit.qa.parallel;
+
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * One end-to-end registration against a session the caller owns.
+ */
+@FunctionalInterface
+public interface RegistrationScenario {
+    void run(WebDriver driver, RegistrationIdentity identity, InboxProvider inbox);
+}
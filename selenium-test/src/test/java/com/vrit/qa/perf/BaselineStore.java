@@ -0,0 +1,181 @@
+package com.vrit.qa.perf;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.metrics.FlowMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of {@link RunRecord}s, one per test JVM that drove a
+ * browser. After a short header, each record is its length, the payload
+ * (time, label, then per step its name, command count and durations in
+ * microseconds) and a CRC32 of the payload. Records are only ever
+ * appended, under a file lock so parallel JVMs do not interleave; a record
+ * torn by a killed JVM fails its length or CRC check and ends the read.
+ */
+public class BaselineStore {
+    private static final int MAGIC = 0x56525042;
+    private static final short VERSION = 1;
+
+    private final Path file;
+
+    public BaselineStore(Path file) {
+        this.file = file;
+    }
+
+    public static BaselineStore fromConfig() {
+        return new BaselineStore(Paths.get(HarnessConfig.getString("baseline.file", ".harness/perf-baseline.bin")));
+    }
+
+    public static String configuredLabel() {
+        return HarnessConfig.getString("baseline.label", HarnessConfig.getString("app.target", "remote"));
+    }
+
+    // Called when the JVM exits: keeps this run's steps when baseline.enabled is set, unless it drove no browser or a
+    // step failed
+    public static void recordRun(FlowMetrics metrics) {
+        if (!HarnessConfig.getBoolean("baseline.enabled", false) || metrics.getPhases().isEmpty()) {
+            return;
+        }
+        // A phase timed without a single browser command is a unit test, not a registration
+        if (metrics.getCommandCounts().values().stream().mapToLong(Long::longValue).sum() == 0) {
+            return;
+        }
+        long failed = metrics.getPhases().values().stream().mapToLong(FlowMetrics.Timer::getFailures).sum();
+        if (failed > 0) {
+            System.out.println("Perf baseline not recorded: " + failed + " failed step(s)");
+            return;
+        }
+        BaselineStore store = fromConfig();
+        try {
+            store.append(RunRecord.of(metrics, configuredLabel()));
+            System.out.println("Perf baseline run appended to " + store.file.toAbsolutePath());
+        } catch (RuntimeException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    public void append(RunRecord run) {
+        byte[] payload = encode(run);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(4 + payload.length + 4);
+        record.putInt(payload.length).put(payload).putInt((int) crc.getValue()).flip();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    if (channel.size() == 0) {
+                        channel.write(ByteBuffer.allocate(6).putInt(MAGIC).putShort(VERSION).flip(), 0);
+                    }
+                    long position = channel.size();
+                    while (record.hasRemaining()) {
+                        position += channel.write(record, position);
+                    }
+                    channel.force(false);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append perf baseline run: " + e.getMessage());
+        }
+    }
+
+    // Every intact run, oldest first
+    public List<RunRecord> readAll() {
+        List<RunRecord> runs = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return runs;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                System.out.println("Ignoring perf baseline " + file + ": not a version " + VERSION + " store");
+                return runs;
+            }
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if (in.readInt() != (int) crc.getValue()) {
+                    System.out.println("Perf baseline " + file + " ends in a damaged record after " + runs.size()
+                            + " runs");
+                    break;
+                }
+                runs.add(decode(payload));
+            }
+        } catch (EOFException e) {
+            System.out.println("Perf baseline " + file + " ends in a partial record after " + runs.size() + " runs");
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Stopped reading perf baseline " + file + ": " + e.getMessage());
+        }
+        return runs;
+    }
+
+    private static byte[] encode(RunRecord run) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(run.getTimestamp());
+            out.writeUTF(run.getLabel());
+            out.writeShort(run.getSteps().size());
+            for (Map.Entry<String, RunRecord.Step> step : run.getSteps().entrySet()) {
+                out.writeUTF(step.getKey());
+                out.writeLong(step.getValue().getCommands());
+                long[] micros = step.getValue().getMicros();
+                out.writeInt(micros.length);
+                for (long value : micros) {
+                    // Microseconds fit an int for steps of up to 35 minutes
+                    out.writeInt((int) Math.min(Integer.MAX_VALUE, value));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode perf baseline run: " + e.getMessage());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static RunRecord decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long timestamp = in.readLong();
+        String label = in.readUTF();
+        int stepCount = in.readShort();
+        Map<String, RunRecord.Step> steps = new LinkedHashMap<>();
+        for (int i = 0; i < stepCount; i++) {
+            String name = in.readUTF();
+            long commands = in.readLong();
+            long[] micros = new long[in.readInt()];
+            for (int j = 0; j < micros.length; j++) {
+                micros[j] = in.readInt();
+            }
+            steps.put(name, new RunRecord.Step(micros, commands));
+        }
+        return new RunRecord(timestamp, label, steps);
+    }
+}
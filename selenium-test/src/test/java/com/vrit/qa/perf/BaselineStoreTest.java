@@ -0,0 +1,67 @@
+package com.vrit.qa.perf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BaselineStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRunsReadBackInOrder() {
+        BaselineStore store = new BaselineStore(dir.resolve("baseline.bin"));
+        store.append(run(1, "local", 1_200, 1_500));
+        store.append(run(2, "remote", 9_000));
+
+        List<RunRecord> runs = store.readAll();
+        assertEquals(2, runs.size());
+        assertEquals(1, runs.get(0).getTimestamp());
+        assertEquals("local", runs.get(0).getLabel());
+        RunRecord.Step terms = runs.get(0).getSteps().get("terms");
+        assertArrayEquals(new long[] {1_200, 1_500}, terms.getMicros());
+        assertEquals(12, terms.getCommands());
+        assertEquals(6, terms.getCommandsPerRun(), 0.001);
+        assertEquals("remote", runs.get(1).getLabel());
+    }
+
+    @Test
+    public void testTornTailIsDropped() throws IOException {
+        Path file = dir.resolve("baseline.bin");
+        BaselineStore store = new BaselineStore(file);
+        store.append(run(1, "local", 1_000));
+        store.append(run(2, "local", 2_000));
+        long intact = Files.size(file);
+        store.append(run(3, "local", 3_000));
+
+        // A JVM killed half-way through its append
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, (int) intact + 10));
+        assertEquals(2, store.readAll().size());
+
+        // A flipped byte inside the last record
+        bytes[bytes.length - 6] ^= 1;
+        Files.write(file, bytes);
+        assertEquals(2, store.readAll().size());
+
+        // Appending after damage still leaves the intact prefix readable
+        Files.write(file, Arrays.copyOf(bytes, (int) intact), StandardOpenOption.TRUNCATE_EXISTING);
+        store.append(run(4, "local", 4_000));
+        assertEquals(4, store.readAll().get(2).getTimestamp());
+    }
+
+    private static RunRecord run(long timestamp, String label, long... micros) {
+        return new RunRecord(timestamp, label, Map.of("terms", new RunRecord.Step(micros, 6L * micros.length)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.vrit.qa.perf;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Percentile bootstrap for the change in a quantile between two samples:
+ * both samples are resampled with replacement, the quantile difference is
+ * taken each time, and the interval is read off the spread of those
+ * differences. No assumption about the shape of step latencies, which are
+ * skewed and often bimodal.
+ */
+public final class Bootstrap {
+    private Bootstrap() {
+    }
+
+    // Nearest-rank quantile of a sorted sample
+    public static double quantile(double[] sorted, double q) {
+        int rank = (int) Math.ceil(q * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    public static double quantileOf(double[] values, double q) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return quantile(sorted, q);
+    }
+
+    // Interval for quantile(current) - quantile(baseline) at the given confidence, e.g. 0.95
+    public static Interval difference(double[] baseline, double[] current, double q, int iterations,
+            double confidence, Random random) {
+        double[] differences = new double[iterations];
+        double[] baselineResample = new double[baseline.length];
+        double[] currentResample = new double[current.length];
+        for (int i = 0; i < iterations; i++) {
+            differences[i] = quantile(resample(current, currentResample, random), q)
+                    - quantile(resample(baseline, baselineResample, random), q);
+        }
+        Arrays.sort(differences);
+        double tail = (1 - confidence) / 2;
+        return new Interval(quantile(differences, tail), quantile(differences, 1 - tail));
+    }
+
+    private static double[] resample(double[] values, double[] into, Random random) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] = values[random.nextInt(values.length)];
+        }
+        Arrays.sort(into);
+        return into;
+    }
+
+    public static final class Interval {
+        private final double low;
+        private final double high;
+
+        public Interval(double low, double high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        public double getLow() {
+            return low;
+        }
+
+        public double getHigh() {
+            return high;
+        }
+    }
+}
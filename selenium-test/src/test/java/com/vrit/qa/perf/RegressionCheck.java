@@ -0,0 +1,109 @@
+package com.vrit.qa.perf;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Compares the latest runs' step durations with the runs before them. For
+ * p50 and p95 of each step, the change is a regression only when the whole
+ * bootstrap interval of the difference lies above zero (so noise between
+ * single runs is not enough) and the point estimate exceeds the allowed
+ * relative slowdown (so a real but negligible shift does not fail a build).
+ */
+public class RegressionCheck {
+    private final double maxP50Regression;
+    private final double maxP95Regression;
+    private final double confidence;
+    private final int iterations;
+    private final int minBaselineSamples;
+    private final int minCurrentSamples;
+    private final long seed;
+
+    public RegressionCheck(double maxP50Regression, double maxP95Regression, double confidence, int iterations,
+            int minBaselineSamples, int minCurrentSamples, long seed) {
+        this.maxP50Regression = maxP50Regression;
+        this.maxP95Regression = maxP95Regression;
+        this.confidence = confidence;
+        this.iterations = iterations;
+        this.minBaselineSamples = minBaselineSamples;
+        this.minCurrentSamples = minCurrentSamples;
+        this.seed = seed;
+    }
+
+    public static RegressionCheck fromConfig() {
+        return new RegressionCheck(
+                HarnessConfig.getDouble("baseline.maxP50RegressionPercent", 10) / 100,
+                HarnessConfig.getDouble("baseline.maxP95RegressionPercent", 20) / 100,
+                HarnessConfig.getDouble("baseline.confidence", 0.95),
+                HarnessConfig.getInt("baseline.bootstrapIterations", 2000),
+                HarnessConfig.getInt("baseline.minSamples", 5),
+                HarnessConfig.getInt("baseline.minCurrentSamples", 3),
+                HarnessConfig.getLong("baseline.seed", 42));
+    }
+
+    public RegressionReport compare(List<RunRecord> baseline, List<RunRecord> current) {
+        TreeSet<String> steps = new TreeSet<>();
+        current.forEach(run -> steps.addAll(run.getSteps().keySet()));
+        List<RegressionReport.StepResult> results = new ArrayList<>();
+        for (String step : steps) {
+            double[] before = samples(baseline, step);
+            double[] after = samples(current, step);
+            double commandsBefore = commandsPerRun(baseline, step);
+            double commandsAfter = commandsPerRun(current, step);
+            // A single current duration has no spread to resample, so one noisy run could fail the build alone
+            if (before.length < minBaselineSamples || after.length < minCurrentSamples) {
+                results.add(new RegressionReport.StepResult(step, before.length, after.length, null, null,
+                        commandsBefore, commandsAfter));
+                continue;
+            }
+            // Same seed per step, so a rerun of the gate on the same store gives the same verdicts
+            Random random = new Random(seed ^ step.hashCode());
+            results.add(new RegressionReport.StepResult(step, before.length, after.length,
+                    quantile(before, after, 0.5, maxP50Regression, random),
+                    quantile(before, after, 0.95, maxP95Regression, random),
+                    commandsBefore, commandsAfter));
+        }
+        return new RegressionReport(baseline.size(), current.size(), confidence, results);
+    }
+
+    private RegressionReport.QuantileChange quantile(double[] before, double[] after, double q, double allowed,
+            Random random) {
+        double baselineMs = Bootstrap.quantileOf(before, q);
+        double currentMs = Bootstrap.quantileOf(after, q);
+        Bootstrap.Interval interval = Bootstrap.difference(before, after, q, iterations, confidence, random);
+        double relative = baselineMs == 0 ? 0 : (currentMs - baselineMs) / baselineMs;
+        RegressionReport.Verdict verdict = RegressionReport.Verdict.UNCHANGED;
+        if (interval.getLow() > 0 && relative > allowed) {
+            verdict = RegressionReport.Verdict.REGRESSED;
+        } else if (interval.getHigh() < 0 && -relative > allowed) {
+            verdict = RegressionReport.Verdict.IMPROVED;
+        }
+        return new RegressionReport.QuantileChange(baselineMs, currentMs, relative, interval, verdict);
+    }
+
+    // Every duration of the step across the runs, in milliseconds
+    private static double[] samples(List<RunRecord> runs, String step) {
+        return runs.stream()
+                .map(run -> run.getSteps().get(step))
+                .filter(Objects::nonNull)
+                .flatMapToLong(s -> Arrays.stream(s.getMicros()))
+                .mapToDouble(micros -> micros / 1_000.0)
+                .toArray();
+    }
+
+    // Median over the runs of the step's commands per execution
+    private static double commandsPerRun(List<RunRecord> runs, String step) {
+        double[] perRun = runs.stream()
+                .map(run -> run.getSteps().get(step))
+                .filter(s -> s != null && s.getMicros().length > 0)
+                .mapToDouble(RunRecord.Step::getCommandsPerRun)
+                .toArray();
+        return perRun.length == 0 ? 0 : Bootstrap.quantileOf(perRun, 0.5);
+    }
+}
@@ -0,0 +1,74 @@
+package com.vrit.qa.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegressionCheckTest {
+    private final RegressionCheck check = new RegressionCheck(0.10, 0.20, 0.95, 1000, 5, 3, 42);
+
+    @Test
+    public void testNoiseAloneIsNotARegression() {
+        RegressionReport report = check.compare(runs(20, 1_000, 1), runs(5, 1_000, 2));
+
+        RegressionReport.StepResult step = report.getSteps().get(0);
+        assertEquals(RegressionReport.Verdict.UNCHANGED, step.getP50().getVerdict());
+        assertTrue(report.getRegressions().isEmpty(), report.toString());
+    }
+
+    @Test
+    public void testShiftedMedianIsARegression() {
+        RegressionReport report = check.compare(runs(20, 1_000, 1), runs(5, 1_300, 2));
+
+        RegressionReport.StepResult step = report.getSteps().get(0);
+        assertEquals(RegressionReport.Verdict.REGRESSED, step.getP50().getVerdict(), report.toString());
+        assertEquals(0.3, step.getP50().getRelative(), 0.1);
+        assertEquals(1, report.getRegressions().size());
+    }
+
+    @Test
+    public void testSpeedupIsAnImprovement() {
+        RegressionReport report = check.compare(runs(20, 1_000, 1), runs(5, 600, 2));
+
+        assertEquals(RegressionReport.Verdict.IMPROVED, report.getSteps().get(0).getP50().getVerdict());
+        assertTrue(report.getRegressions().isEmpty());
+    }
+
+    @Test
+    public void testSmallButRealShiftStaysUnderTheThreshold() {
+        RegressionReport report = check.compare(runs(40, 1_000, 1), runs(20, 1_050, 2));
+        assertTrue(report.getRegressions().isEmpty(), report.toString());
+    }
+
+    @Test
+    public void testTooFewBaselineSamplesAreNotJudged() {
+        RegressionReport report = check.compare(runs(3, 1_000, 1), runs(1, 5_000, 2));
+        assertNull(report.getSteps().get(0).getP50());
+        assertTrue(report.getRegressions().isEmpty());
+    }
+
+    @Test
+    public void testSingleCurrentRunIsNotJudged() {
+        RegressionReport report = check.compare(runs(20, 1_000, 1), runs(1, 5_000, 2));
+        assertNull(report.getSteps().get(0).getP50());
+        assertTrue(report.getRegressions().isEmpty(), report.toString());
+    }
+
+    // One terms duration per run, around medianMs with 5% noise
+    private static List<RunRecord> runs(int count, double medianMs, long seed) {
+        Random random = new Random(seed);
+        List<RunRecord> runs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long micros = Math.round(medianMs * 1_000 * (1 + 0.05 * random.nextGaussian()));
+            runs.add(new RunRecord(i, "local", Map.of("terms", new RunRecord.Step(new long[] {micros}, 6))));
+        }
+        return runs;
+    }
+}
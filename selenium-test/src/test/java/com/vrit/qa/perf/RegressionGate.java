@@ -0,0 +1,64 @@
+package com.vrit.qa.perf;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Compares the newest runs in the {@link BaselineStore} with the window of
+ * runs before them (same label only) and throws when a step's p50 or p95
+ * regressed, which fails the Maven build that ran it.
+ *
+ * <pre>mvn -Pperf-gate verify -Dtest=AccountSetupTest -Dapp.target=local</pre>
+ */
+public final class RegressionGate {
+    private RegressionGate() {
+    }
+
+    public static void main(String[] args) {
+        String label = BaselineStore.configuredLabel();
+        List<RunRecord> runs = BaselineStore.fromConfig().readAll().stream()
+                .filter(run -> run.getLabel().equals(label))
+                .toList();
+        int currentRuns = HarnessConfig.getInt("baseline.currentRuns", 3);
+        int window = HarnessConfig.getInt("baseline.window", 20);
+        if (runs.size() <= currentRuns) {
+            System.out.println("Perf baseline has " + runs.size() + " '" + label + "' run(s); nothing to compare yet");
+            return;
+        }
+        // Run from the perf-gate profile, the build's start time: without a run of its own, this build would
+        // only repeat the verdict on older runs (a failed step or a browserless test records nothing)
+        Instant buildStart = buildStart();
+        if (buildStart != null && runs.get(runs.size() - 1).getTimestamp() < buildStart.toEpochMilli()) {
+            System.out.println("No '" + label + "' run recorded since the build started at " + buildStart
+                    + "; skipping the perf gate");
+            return;
+        }
+        List<RunRecord> current = runs.subList(runs.size() - currentRuns, runs.size());
+        List<RunRecord> baseline = runs.subList(Math.max(0, runs.size() - currentRuns - window),
+                runs.size() - currentRuns);
+
+        RegressionReport report = RegressionCheck.fromConfig().compare(baseline, current);
+        System.out.print(report);
+        report.export(Paths.get(HarnessConfig.getString("metrics.dir", "target/metrics")));
+        if (!report.getRegressions().isEmpty()) {
+            String message = "Latency regression in " + report.getRegressions();
+            if (HarnessConfig.getBoolean("baseline.failOnRegression", true)) {
+                throw new IllegalStateException(message);
+            }
+            System.out.println(message);
+        }
+    }
+
+    private static Instant buildStart() {
+        String value = HarnessConfig.getString("baseline.buildStart", null);
+        try {
+            return value == null ? null : Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid instant for baseline.buildStart: " + value);
+        }
+    }
+}
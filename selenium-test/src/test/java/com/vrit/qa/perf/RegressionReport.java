@@ -0,0 +1,181 @@
+package com.vrit.qa.perf;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-step outcome of a {@link RegressionCheck}: p50 and p95 before and
+ * after, the bootstrap interval of each change, and commands per execution.
+ */
+public class RegressionReport {
+    public enum Verdict { UNCHANGED, IMPROVED, REGRESSED }
+
+    private final int baselineRuns;
+    private final int currentRuns;
+    private final double confidence;
+    private final List<StepResult> steps;
+
+    public RegressionReport(int baselineRuns, int currentRuns, double confidence, List<StepResult> steps) {
+        this.baselineRuns = baselineRuns;
+        this.currentRuns = currentRuns;
+        this.confidence = confidence;
+        this.steps = steps;
+    }
+
+    public List<StepResult> getSteps() {
+        return steps;
+    }
+
+    public List<StepResult> getRegressions() {
+        return steps.stream().filter(StepResult::isRegressed).toList();
+    }
+
+    public JSONObject toJson() {
+        JSONArray results = new JSONArray();
+        for (StepResult step : steps) {
+            JSONObject json = new JSONObject()
+                    .put("step", step.name)
+                    .put("baselineSamples", step.baselineSamples)
+                    .put("currentSamples", step.currentSamples)
+                    .put("baselineCommandsPerRun", step.baselineCommands)
+                    .put("currentCommandsPerRun", step.currentCommands);
+            if (step.p50 == null) {
+                json.put("verdict", "INSUFFICIENT_SAMPLES");
+            } else {
+                json.put("p50", step.p50.toJson()).put("p95", step.p95.toJson());
+            }
+            results.put(json);
+        }
+        return new JSONObject()
+                .put("baselineRuns", baselineRuns)
+                .put("currentRuns", currentRuns)
+                .put("confidence", confidence)
+                .put("regressed", getRegressions().size())
+                .put("steps", results);
+    }
+
+    public void export(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("regression.json"), toJson().toString(2), StandardCharsets.UTF_8);
+            System.out.println("Regression report written to " + dir.resolve("regression.json"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to export regression report: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT,
+                "Perf baseline: latest %d run(s) against the %d before, %.0f%% intervals%n", currentRuns,
+                baselineRuns, confidence * 100));
+        out.append(String.format(Locale.ROOT, "  %-22s %7s %9s %9s %7s %9s %9s %7s %11s%n", "step", "samples",
+                "p50 was", "p50 now", "change", "p95 was", "p95 now", "change", "commands"));
+        for (StepResult step : steps) {
+            String commands = String.format(Locale.ROOT, "%.0f->%.0f", step.baselineCommands, step.currentCommands);
+            if (step.p50 == null) {
+                out.append(String.format(Locale.ROOT, "  %-22s %3d/%-3d %s %11s%n", step.name, step.baselineSamples,
+                        step.currentSamples, "  not enough samples yet", commands));
+                continue;
+            }
+            out.append(String.format(Locale.ROOT, "  %-22s %3d/%-3d %7.0fms %7.0fms %6s%s %7.0fms %7.0fms %6s%s %11s%n",
+                    step.name, step.baselineSamples, step.currentSamples, step.p50.baselineMs, step.p50.currentMs,
+                    percent(step.p50.relative), step.p50.marker(), step.p95.baselineMs, step.p95.currentMs,
+                    percent(step.p95.relative), step.p95.marker(), commands));
+        }
+        return out.toString();
+    }
+
+    private static String percent(double relative) {
+        return String.format(Locale.ROOT, "%+.0f%%", relative * 100);
+    }
+
+    public static final class StepResult {
+        private final String name;
+        private final int baselineSamples;
+        private final int currentSamples;
+        private final QuantileChange p50;
+        private final QuantileChange p95;
+        private final double baselineCommands;
+        private final double currentCommands;
+
+        public StepResult(String name, int baselineSamples, int currentSamples, QuantileChange p50,
+                QuantileChange p95, double baselineCommands, double currentCommands) {
+            this.name = name;
+            this.baselineSamples = baselineSamples;
+            this.currentSamples = currentSamples;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.baselineCommands = baselineCommands;
+            this.currentCommands = currentCommands;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // Null when the baseline or the current runs have too few samples of the step to judge
+        public QuantileChange getP50() {
+            return p50;
+        }
+
+        public QuantileChange getP95() {
+            return p95;
+        }
+
+        public boolean isRegressed() {
+            return p50 != null && (p50.verdict == Verdict.REGRESSED || p95.verdict == Verdict.REGRESSED);
+        }
+
+        @Override
+        public String toString() {
+            return name + (p50 == null ? "" : " p50 " + percent(p50.relative) + ", p95 " + percent(p95.relative));
+        }
+    }
+
+    public static final class QuantileChange {
+        private final double baselineMs;
+        private final double currentMs;
+        private final double relative;
+        private final Bootstrap.Interval interval;
+        private final Verdict verdict;
+
+        public QuantileChange(double baselineMs, double currentMs, double relative, Bootstrap.Interval interval,
+                Verdict verdict) {
+            this.baselineMs = baselineMs;
+            this.currentMs = currentMs;
+            this.relative = relative;
+            this.interval = interval;
+            this.verdict = verdict;
+        }
+
+        public Verdict getVerdict() {
+            return verdict;
+        }
+
+        public double getRelative() {
+            return relative;
+        }
+
+        private String marker() {
+            return verdict == Verdict.REGRESSED ? "!" : verdict == Verdict.IMPROVED ? "-" : " ";
+        }
+
+        private JSONObject toJson() {
+            return new JSONObject()
+                    .put("baselineMs", baselineMs)
+                    .put("currentMs", currentMs)
+                    .put("change", relative)
+                    .put("differenceLowMs", interval.getLow())
+                    .put("differenceHighMs", interval.getHigh())
+                    .put("verdict", verdict.name());
+        }
+    }
+}
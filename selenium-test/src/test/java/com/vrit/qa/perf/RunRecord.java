@@ -0,0 +1,67 @@
+package com.vrit.qa.perf;
+
+import com.vrit.qa.metrics.FlowMetrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One test JVM's registration steps as kept in the {@link BaselineStore}:
+ * every recorded duration of each step, and the WebDriver commands the step
+ * issued in total. The label keeps runs against different targets (the
+ * stand-in app, the live site) from being compared with each other.
+ */
+public class RunRecord {
+    private final long timestamp;
+    private final String label;
+    private final Map<String, Step> steps;
+
+    public RunRecord(long timestamp, String label, Map<String, Step> steps) {
+        this.timestamp = timestamp;
+        this.label = label;
+        this.steps = Collections.unmodifiableMap(new TreeMap<>(steps));
+    }
+
+    public static RunRecord of(FlowMetrics metrics, String label) {
+        Map<String, Step> steps = new TreeMap<>();
+        metrics.getPhases().forEach((name, timer) -> steps.put(name,
+                new Step(timer.getValuesMicros(), metrics.getCommands(name))));
+        return new RunRecord(System.currentTimeMillis(), label, steps);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Map<String, Step> getSteps() {
+        return steps;
+    }
+
+    public static final class Step {
+        private final long[] micros;
+        private final long commands;
+
+        public Step(long[] micros, long commands) {
+            this.micros = micros;
+            this.commands = commands;
+        }
+
+        public long[] getMicros() {
+            return micros;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        // Commands per execution of the step
+        public double getCommandsPerRun() {
+            return micros.length == 0 ? 0 : (double) commands / micros.length;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.vrit.qa.resource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Finds one browser session's process tree: the Chrome main process started
+ * with the session's {@code --user-data-dir}, plus its renderers, GPU and
+ * utility processes.
+ */
+public final class BrowserTree {
+    private BrowserTree() {
+    }
+
+    // The main process: the one on that profile whose parent is not on it too
+    public static OptionalInt findRoot(ProcFs proc, Map<Integer, ProcFs.ProcessStat> processes, String userDataDir) {
+        String flag = "--user-data-dir=" + userDataDir;
+        Set<Integer> onProfile = new HashSet<>();
+        for (int pid : processes.keySet()) {
+            if (proc.cmdline(pid).contains(flag)) {
+                onProfile.add(pid);
+            }
+        }
+        return onProfile.stream().filter(pid -> !onProfile.contains(processes.get(pid).getPpid()))
+                .mapToInt(Integer::intValue).min();
+    }
+
+    public static Set<Integer> withDescendants(Map<Integer, ProcFs.ProcessStat> processes, int root) {
+        Set<Integer> tree = new HashSet<>();
+        if (!processes.containsKey(root)) {
+            return tree;
+        }
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        processes.values().forEach(stat -> children.computeIfAbsent(stat.getPpid(), ppid -> new ArrayList<>())
+                .add(stat.getPid()));
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            int pid = pending.poll();
+            if (tree.add(pid)) {
+                pending.addAll(children.getOrDefault(pid, List.of()));
+            }
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,36 @@
+package com.vrit.qa.resource;
+
+/**
+ * Host memory and cumulative CPU counters at one instant.
+ */
+public class HostSample {
+    private final long totalKb;
+    private final long availableKb;
+    private final long busyTicks;
+    private final long totalTicks;
+
+    public HostSample(long totalKb, long availableKb, long busyTicks, long totalTicks) {
+        this.totalKb = totalKb;
+        this.availableKb = availableKb;
+        this.busyTicks = busyTicks;
+        this.totalTicks = totalTicks;
+    }
+
+    public long getTotalKb() {
+        return totalKb;
+    }
+
+    public long getAvailableKb() {
+        return availableKb;
+    }
+
+    public double getMemoryUsedPercent() {
+        return totalKb == 0 ? 0 : 100.0 * (totalKb - availableKb) / totalKb;
+    }
+
+    // Share of all cores busy between the earlier sample and this one
+    public double cpuPercentSince(HostSample earlier) {
+        long total = totalTicks - earlier.totalTicks;
+        return total <= 0 ? 0 : 100.0 * (busyTicks - earlier.busyTicks) / total;
+    }
+}
@@ -0,0 +1,138 @@
+package com.vrit.qa.resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads process and host figures from a Linux {@code /proc} tree. The root
+ * is a parameter so tests can point it at a fabricated one. Processes that
+ * exit between listing and reading simply drop out of the result.
+ */
+public class ProcFs {
+    // USER_HZ; 100 on every mainstream Linux build
+    public static final int TICKS_PER_SECOND = 100;
+
+    private final Path root;
+
+    public ProcFs(Path root) {
+        this.root = root;
+    }
+
+    public static ProcFs system() {
+        return new ProcFs(Paths.get("/proc"));
+    }
+
+    public boolean isAvailable() {
+        return Files.isReadable(root.resolve("meminfo")) && Files.isReadable(root.resolve("stat"));
+    }
+
+    // Every process with its parent and CPU time, keyed by pid
+    public Map<Integer, ProcessStat> processes() {
+        Map<Integer, ProcessStat> processes = new HashMap<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root, "[0-9]*")) {
+            for (Path entry : entries) {
+                ProcessStat stat = stat(entry);
+                if (stat != null) {
+                    processes.put(stat.pid, stat);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list processes in " + root + ": " + e.getMessage());
+        }
+        return processes;
+    }
+
+    // The command line with its NUL separators turned into spaces, or "" once the process is gone
+    public String cmdline(int pid) {
+        try {
+            return new String(Files.readAllBytes(root.resolve(pid + "/cmdline")), StandardCharsets.UTF_8)
+                    .replace('\0', ' ').trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    // Proportional set size, so pages shared between Chrome processes count once across the tree;
+    // resident set size where smaps_rollup is not readable. 0 once the process is gone.
+    public long memoryKb(int pid) {
+        long pss = field(root.resolve(pid + "/smaps_rollup"), "Pss:");
+        return pss >= 0 ? pss : Math.max(0, field(root.resolve(pid + "/status"), "VmRSS:"));
+    }
+
+    public HostSample host() {
+        long total = field(root.resolve("meminfo"), "MemTotal:");
+        long available = field(root.resolve("meminfo"), "MemAvailable:");
+        try {
+            // cpu  user nice system idle iowait irq softirq steal ...
+            String[] cpu = Files.readAllLines(root.resolve("stat")).get(0).trim().split("\\s+");
+            long all = 0;
+            for (int i = 1; i < cpu.length && i <= 8; i++) {
+                all += Long.parseLong(cpu[i]);
+            }
+            long idle = Long.parseLong(cpu[4]) + (cpu.length > 5 ? Long.parseLong(cpu[5]) : 0);
+            return new HostSample(total, available, all - idle, all);
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Failed to read " + root.resolve("stat") + ": " + e.getMessage());
+        }
+    }
+
+    private static ProcessStat stat(Path dir) {
+        try {
+            String line = Files.readString(dir.resolve("stat"));
+            // The command name is in parentheses and may itself contain spaces or parentheses
+            String[] fields = line.substring(line.lastIndexOf(')') + 2).split(" ");
+            int pid = Integer.parseInt(dir.getFileName().toString());
+            return new ProcessStat(pid, Integer.parseInt(fields[1]),
+                    Long.parseLong(fields[11]) + Long.parseLong(fields[12]));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // The kB value of a "Key:   value kB" line, or -1 when the file or key is missing
+    private static long field(Path file, String key) {
+        try {
+            List<String> lines = Files.readAllLines(file);
+            for (String line : lines) {
+                if (line.startsWith(key)) {
+                    return Long.parseLong(line.substring(key.length()).trim().split("\\s+")[0]);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    public static final class ProcessStat {
+        private final int pid;
+        private final int ppid;
+        private final long cpuTicks;
+
+        public ProcessStat(int pid, int ppid, long cpuTicks) {
+            this.pid = pid;
+            this.ppid = ppid;
+            this.cpuTicks = cpuTicks;
+        }
+
+        public int getPid() {
+            return pid;
+        }
+
+        public int getPpid() {
+            return ppid;
+        }
+
+        // User plus system time in clock ticks
+        public long getCpuTicks() {
+            return cpuTicks;
+        }
+    }
+}
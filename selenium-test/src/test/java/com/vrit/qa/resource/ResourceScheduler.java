@@ -0,0 +1,401 @@
+package com.vrit.qa.resource;
+
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.log.EventLog;
+import org.json.JSONObject;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits new browser sessions only while the host stays under its memory
+ * and CPU ceilings. A background sampler reads /proc for the host and for
+ * every browser process tree (memory as PSS, CPU time). The memory a new
+ * session will need is estimated from the peaks of earlier ones. The
+ * per-session figures are exported as resources.json, including how many
+ * sessions fit per GB, for sizing runners.
+ */
+public class ResourceScheduler {
+    private static ResourceScheduler shared;
+
+    private final ProcFs proc;
+    private final boolean active;
+    private final long minAvailableKb;
+    private final double maxMemoryPercent;
+    private final double maxCpuPercent;
+    private final int maxSessions;
+    private final long defaultEstimateKb;
+    // Samples a registered session may go without a matching browser process before it stops counting
+    private final int rootMatchSamples = HarnessConfig.getInt("resource.rootMatchSamples", 30);
+    private final Map<String, SessionUsage> sessions = new ConcurrentHashMap<>();
+    // Admitted but not yet registered: their memory is not visible in the host sample yet
+    private int pending;
+    private HostSample host;
+    private double cpuPercent;
+    private int peakConcurrent;
+    private double peakMemoryUsedPercent;
+
+    public ResourceScheduler(ProcFs proc, boolean active, long minAvailableMb, double maxMemoryPercent,
+            double maxCpuPercent, int maxSessions, long sessionEstimateMb) {
+        this.proc = proc;
+        this.active = active;
+        this.minAvailableKb = minAvailableMb * 1024;
+        this.maxMemoryPercent = maxMemoryPercent;
+        this.maxCpuPercent = maxCpuPercent;
+        this.maxSessions = maxSessions;
+        this.defaultEstimateKb = sessionEstimateMb * 1024;
+    }
+
+    // Process-wide scheduler; inactive (admits everything, samples nothing) when disabled or without /proc
+    public static synchronized ResourceScheduler shared() {
+        if (shared == null) {
+            ProcFs proc = ProcFs.system();
+            boolean active = HarnessConfig.getBoolean("resource.enabled", true) && proc.isAvailable();
+            shared = new ResourceScheduler(proc, active,
+                    HarnessConfig.getLong("resource.minAvailableMb", 1024),
+                    HarnessConfig.getDouble("resource.maxMemoryPercent", 85),
+                    HarnessConfig.getDouble("resource.maxCpuPercent", 90),
+                    HarnessConfig.getInt("resource.maxSessions", 0),
+                    HarnessConfig.getLong("resource.sessionEstimateMb", 400));
+            if (active) {
+                shared.start(HarnessConfig.getLong("resource.sampleMillis", 1000));
+                ResourceScheduler scheduler = shared;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> scheduler.export(
+                        Paths.get(HarnessConfig.getString("metrics.dir", "target/metrics")))));
+            }
+        }
+        return shared;
+    }
+
+    private void start(long sampleMillis) {
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resource-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleWithFixedDelay(() -> {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                EventLog.global().warn("Resource sample failed: {}", e.getMessage());
+            }
+        }, 0, sampleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Blocks until one more browser fits under the ceilings; the slot is held until register or cancel
+    public synchronized void admit() {
+        if (!active) {
+            return;
+        }
+        long timeoutMs = HarnessConfig.getSeconds("resource.admitTimeoutSeconds", 300).toMillis();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        String refusal;
+        while ((refusal = refusal()) != null) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new IllegalStateException("No room for another browser after " + timeoutMs / 1000 + "s: "
+                        + refusal);
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for room for another browser");
+            }
+        }
+        pending++;
+    }
+
+    // The admitted session failed to start
+    public synchronized void cancel() {
+        if (active) {
+            pending = Math.max(0, pending - 1);
+            notifyAll();
+        }
+    }
+
+    // Starts sampling the session's process tree, found through the profile directory ChromeDriver reports
+    public void register(WebDriver driver) {
+        if (!active) {
+            return;
+        }
+        String userDataDir = userDataDir(driver);
+        if (userDataDir == null) {
+            cancel();
+            return;
+        }
+        track(userDataDir);
+    }
+
+    // The session's browser is being quit; it stops counting without waiting for its processes to go
+    public void release(WebDriver driver) {
+        if (!active) {
+            return;
+        }
+        String userDataDir = userDataDir(driver);
+        if (userDataDir == null) {
+            return;
+        }
+        synchronized (this) {
+            SessionUsage session = sessions.get(userDataDir);
+            if (session != null) {
+                session.ended = true;
+                notifyAll();
+            }
+        }
+    }
+
+    private static String userDataDir(WebDriver driver) {
+        Object chrome = driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getCapability("chrome") : null;
+        Object userDataDir = chrome instanceof Map ? ((Map<?, ?>) chrome).get("userDataDir") : null;
+        return userDataDir == null ? null : userDataDir.toString();
+    }
+
+    synchronized void track(String userDataDir) {
+        pending = Math.max(0, pending - 1);
+        sessions.put(userDataDir, new SessionUsage(userDataDir));
+    }
+
+    // Why one more session would break a ceiling, or null when it fits
+    synchronized String refusal() {
+        long live = sessions.values().stream().filter(session -> !session.ended).count();
+        if (maxSessions > 0 && live + pending >= maxSessions) {
+            return live + " running and " + pending + " starting, resource.maxSessions is " + maxSessions;
+        }
+        if (host == null) {
+            return null;
+        }
+        long estimate = estimateKb();
+        long projected = host.getAvailableKb() - estimate * (pending + 1);
+        if (projected < minAvailableKb) {
+            return String.format(Locale.ROOT, "%d MB available, %d starting, a session needs about %d MB and "
+                    + "%d MB must stay free", host.getAvailableKb() / 1024, pending, estimate / 1024,
+                    minAvailableKb / 1024);
+        }
+        double usedAfter = 100.0 * (host.getTotalKb() - projected) / host.getTotalKb();
+        if (usedAfter > maxMemoryPercent) {
+            return String.format(Locale.ROOT, "memory would reach %.0f%%, ceiling %.0f%%", usedAfter,
+                    maxMemoryPercent);
+        }
+        if (cpuPercent > maxCpuPercent) {
+            return String.format(Locale.ROOT, "CPU at %.0f%%, ceiling %.0f%%", cpuPercent, maxCpuPercent);
+        }
+        return null;
+    }
+
+    // Reads /proc without holding the monitor, so admit() and cancel() never wait on file I/O
+    public void sample() {
+        HostSample now = proc.host();
+        List<SessionUsage> live = liveSessions();
+        List<Reading> readings = new ArrayList<>();
+        if (!live.isEmpty()) {
+            Map<Integer, ProcFs.ProcessStat> processes = proc.processes();
+            for (SessionUsage session : live) {
+                readings.add(read(processes, session));
+            }
+        }
+        long nanos = System.nanoTime();
+        synchronized (this) {
+            if (host != null) {
+                cpuPercent = now.cpuPercentSince(host);
+            }
+            host = now;
+            peakMemoryUsedPercent = Math.max(peakMemoryUsedPercent, now.getMemoryUsedPercent());
+            for (Reading reading : readings) {
+                apply(reading, nanos);
+            }
+            if (!live.isEmpty()) {
+                peakConcurrent = Math.max(peakConcurrent, (int) live.stream().filter(s -> !s.ended).count());
+            }
+            notifyAll();
+        }
+    }
+
+    private synchronized List<SessionUsage> liveSessions() {
+        return sessions.values().stream().filter(session -> !session.ended).toList();
+    }
+
+    private Reading read(Map<Integer, ProcFs.ProcessStat> processes, SessionUsage session) {
+        int rootPid;
+        synchronized (this) {
+            rootPid = session.rootPid;
+        }
+        if (rootPid < 0) {
+            OptionalInt root = BrowserTree.findRoot(proc, processes, session.userDataDir);
+            if (root.isEmpty()) {
+                return new Reading(session, -1, false, 0, 0);
+            }
+            rootPid = root.getAsInt();
+        }
+        Set<Integer> tree = BrowserTree.withDescendants(processes, rootPid);
+        if (tree.isEmpty()) {
+            return new Reading(session, rootPid, true, 0, 0);
+        }
+        long kb = 0;
+        long ticks = 0;
+        for (int pid : tree) {
+            kb += proc.memoryKb(pid);
+            ticks += processes.get(pid).getCpuTicks();
+        }
+        return new Reading(session, rootPid, false, kb, ticks);
+    }
+
+    private void apply(Reading reading, long nanos) {
+        SessionUsage session = reading.session;
+        if (session.ended) {
+            return;
+        }
+        if (reading.rootPid < 0) {
+            // A browser that exited before its first sample, or one started under another profile, never shows up
+            if (++session.unmatchedSamples >= rootMatchSamples) {
+                session.ended = true;
+                EventLog.global().warn("No browser process found for {} after {} samples, no longer tracked",
+                        session.userDataDir, session.unmatchedSamples);
+            }
+            return;
+        }
+        session.rootPid = reading.rootPid;
+        if (reading.exited) {
+            session.ended = true;
+            return;
+        }
+        session.update(reading.kb, reading.ticks, nanos);
+    }
+
+    // Memory the next session is expected to need: p90 of earlier peaks once there are a few, never
+    // less than the configured estimate before then
+    synchronized long estimateKb() {
+        List<Long> peaks = peaks();
+        if (peaks.size() >= 3) {
+            return percentile(peaks, 90);
+        }
+        return Math.max(defaultEstimateKb, peaks.isEmpty() ? 0 : peaks.get(peaks.size() - 1));
+    }
+
+    // How many browser sessions of the observed peak size fit in one GB
+    public synchronized double getSessionsPerGb() {
+        List<Long> peaks = peaks();
+        double meanKb = peaks.stream().mapToLong(Long::longValue).average().orElse(0);
+        return meanKb == 0 ? 0 : 1024 * 1024 / meanKb;
+    }
+
+    public synchronized JSONObject toJson() {
+        List<Long> peaks = peaks();
+        double cpu = sessions.values().stream().filter(session -> session.samples > 1)
+                .mapToDouble(SessionUsage::cpuPercentOfOneCore).average().orElse(0);
+        JSONObject json = new JSONObject()
+                .put("sessions", peaks.size())
+                .put("peakConcurrentSessions", peakConcurrent)
+                .put("sessionPeakMb", new JSONObject()
+                        .put("p50", percentile(peaks, 50) / 1024)
+                        .put("p90", percentile(peaks, 90) / 1024)
+                        .put("max", peaks.isEmpty() ? 0 : peaks.get(peaks.size() - 1) / 1024))
+                .put("sessionCpuPercentOfOneCore", cpu)
+                .put("sessionsPerGb", getSessionsPerGb())
+                .put("peakHostMemoryUsedPercent", peakMemoryUsedPercent);
+        if (host != null && !peaks.isEmpty()) {
+            // What this host could run at the configured ceilings, sessions sized at the p90 peak
+            long budgetKb = Math.min((long) (host.getTotalKb() * maxMemoryPercent / 100),
+                    host.getTotalKb() - minAvailableKb);
+            json.put("hostMemoryMb", host.getTotalKb() / 1024)
+                    .put("sessionsAtCeiling", Math.max(0, budgetKb / Math.max(1, percentile(peaks, 90))));
+        }
+        return json;
+    }
+
+    public void export(Path dir) {
+        if (peaks().isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("resources.json"), toJson().toString(2), StandardCharsets.UTF_8);
+            System.out.println(String.format(Locale.ROOT, "Browser footprint: %.2f sessions/GB, written to %s",
+                    getSessionsPerGb(), dir.resolve("resources.json")));
+        } catch (IOException e) {
+            System.out.println("Failed to export resource usage to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private List<Long> peaks() {
+        List<Long> peaks = new ArrayList<>();
+        sessions.values().stream().filter(session -> session.samples > 0).forEach(s -> peaks.add(s.peakKb));
+        Collections.sort(peaks);
+        return peaks;
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.size());
+        return sorted.get(Math.min(sorted.size(), Math.max(1, rank)) - 1);
+    }
+
+    // One session's /proc figures, taken outside the monitor and applied under it
+    private static final class Reading {
+        private final SessionUsage session;
+        private final int rootPid;
+        private final boolean exited;
+        private final long kb;
+        private final long ticks;
+
+        Reading(SessionUsage session, int rootPid, boolean exited, long kb, long ticks) {
+            this.session = session;
+            this.rootPid = rootPid;
+            this.exited = exited;
+            this.kb = kb;
+            this.ticks = ticks;
+        }
+    }
+
+    private static final class SessionUsage {
+        private final String userDataDir;
+        private int rootPid = -1;
+        private boolean ended;
+        private int unmatchedSamples;
+        private int samples;
+        private long peakKb;
+        private long firstTicks;
+        private long lastTicks;
+        private long firstNanos;
+        private long lastNanos;
+
+        SessionUsage(String userDataDir) {
+            this.userDataDir = userDataDir;
+        }
+
+        void update(long kb, long ticks, long nanos) {
+            if (samples++ == 0) {
+                firstTicks = ticks;
+                firstNanos = nanos;
+            }
+            peakKb = Math.max(peakKb, kb);
+            lastTicks = ticks;
+            lastNanos = nanos;
+        }
+
+        // Average CPU while sampled, as a share of one core
+        double cpuPercentOfOneCore() {
+            double seconds = (lastNanos - firstNanos) / 1e9;
+            return seconds <= 0 ? 0 : 100.0 * (lastTicks - firstTicks) / ProcFs.TICKS_PER_SECOND / seconds;
+        }
+    }
+}
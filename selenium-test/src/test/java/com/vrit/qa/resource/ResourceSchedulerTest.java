@@ -0,0 +1,135 @@
+package com.vrit.qa.resource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceSchedulerTest {
+
+    @TempDir
+    Path root;
+
+    private ProcFs proc;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        proc = new ProcFs(root);
+        host(8 * 1024 * 1024, 6 * 1024 * 1024, 100, 900);
+        // chromedriver (50) starts Chrome (100), which starts a renderer (101) and a GPU process (102)
+        process(50, 1, "chromedriver", "chromedriver --port=9515", 10, 2_000, false);
+        process(100, 50, "chrome", "chrome --user-data-dir=/tmp/.profile-a --headless=new", 300, 150_000, true);
+        process(101, 100, "chrome", "chrome --type=renderer --user-data-dir=/tmp/.profile-a", 500, 200_000, true);
+        process(102, 100, "chrome", "chrome --type=gpu-process", 100, 50_000, false);
+        process(200, 1, "(sd-pam) x", "bash", 7, 4_000, false);
+    }
+
+    @Test
+    public void testReadsProcessesAndHost() {
+        Map<Integer, ProcFs.ProcessStat> processes = proc.processes();
+
+        assertEquals(5, processes.size());
+        assertEquals(1, processes.get(200).getPpid());
+        assertEquals(300 + 3, processes.get(100).getCpuTicks());
+        assertEquals(150_000, proc.memoryKb(100));
+        // No smaps_rollup: resident set size instead
+        assertEquals(50_000, proc.memoryKb(102));
+        assertEquals(25.0, proc.host().getMemoryUsedPercent(), 0.001);
+    }
+
+    @Test
+    public void testFindsTheBrowserTreeByProfile() {
+        Map<Integer, ProcFs.ProcessStat> processes = proc.processes();
+
+        assertEquals(100, BrowserTree.findRoot(proc, processes, "/tmp/.profile-a").getAsInt());
+        assertTrue(BrowserTree.findRoot(proc, processes, "/tmp/.profile-b").isEmpty());
+        assertEquals(Set.of(100, 101, 102), BrowserTree.withDescendants(processes, 100));
+    }
+
+    @Test
+    public void testSamplesSessionPeakAndSessionsPerGb() throws IOException {
+        ResourceScheduler scheduler = new ResourceScheduler(proc, true, 1024, 85, 90, 0, 400);
+        scheduler.track("/tmp/.profile-a");
+        scheduler.sample();
+        process(101, 100, "chrome", "chrome --type=renderer --user-data-dir=/tmp/.profile-a", 600, 300_000, true);
+        scheduler.sample();
+
+        // 150 + 300 + 50 MB at the second sample
+        assertEquals(500_000 / 1024, scheduler.toJson().getJSONObject("sessionPeakMb").getLong("max"));
+        assertEquals(1024 * 1024 / 500_000.0, scheduler.getSessionsPerGb(), 0.001);
+        assertEquals(1, scheduler.toJson().getInt("peakConcurrentSessions"));
+    }
+
+    @Test
+    public void testAdmitsOnlyUnderTheCeilings() throws IOException {
+        ResourceScheduler scheduler = new ResourceScheduler(proc, true, 1024, 85, 90, 0, 400);
+        scheduler.sample();
+        assertNull(scheduler.refusal());
+
+        // 1.2 GB left: another 400 MB session would go below the 1 GB that must stay free
+        host(8 * 1024 * 1024, 1200 * 1024, 200, 1000);
+        scheduler.sample();
+        assertNotNull(scheduler.refusal());
+
+        // Plenty of memory, but every core was busy since the last sample
+        host(8 * 1024 * 1024, 6 * 1024 * 1024, 300, 1100);
+        scheduler.sample();
+        assertTrue(scheduler.refusal().startsWith("CPU at 100%"), scheduler.refusal());
+    }
+
+    @Test
+    public void testSessionCapCountsStartingSessions() {
+        ResourceScheduler scheduler = new ResourceScheduler(proc, true, 0, 100, 100, 2, 1);
+        scheduler.admit();
+        scheduler.admit();
+        assertNotNull(scheduler.refusal());
+        scheduler.cancel();
+        assertNull(scheduler.refusal());
+    }
+
+    @Test
+    public void testSessionWithoutABrowserStopsCounting() {
+        System.setProperty("resource.rootMatchSamples", "3");
+        try {
+            ResourceScheduler scheduler = new ResourceScheduler(proc, true, 0, 100, 100, 1, 1);
+            scheduler.admit();
+            scheduler.track("/tmp/.profile-b");
+            scheduler.sample();
+            scheduler.sample();
+            assertNotNull(scheduler.refusal());
+            scheduler.sample();
+            assertNull(scheduler.refusal());
+        } finally {
+            System.clearProperty("resource.rootMatchSamples");
+        }
+    }
+
+    private void host(long totalKb, long availableKb, long busyTicks, long totalTicks) throws IOException {
+        Files.writeString(root.resolve("meminfo"), "MemTotal:       " + totalKb + " kB\nMemFree:          1 kB\n"
+                + "MemAvailable:   " + availableKb + " kB\n");
+        long idle = totalTicks - busyTicks;
+        Files.writeString(root.resolve("stat"), "cpu  " + busyTicks + " 0 0 " + idle + " 0 0 0 0 0 0\ncpu0 1 2 3\n");
+    }
+
+    private void process(int pid, int ppid, String comm, String cmdline, long utime, long kb, boolean pss)
+            throws IOException {
+        Path dir = Files.createDirectories(root.resolve(String.valueOf(pid)));
+        Files.writeString(dir.resolve("stat"), pid + " (" + comm + ") S " + ppid
+                + " 1 1 0 -1 4194560 100 0 0 0 " + utime + " 3 0 0 20 0 1 0 100 1000 10\n");
+        Files.writeString(dir.resolve("cmdline"), cmdline.replace(' ', '\0'));
+        Files.writeString(dir.resolve("status"), "Name:\t" + comm + "\nVmRSS:\t  " + kb + " kB\n");
+        if (pss) {
+            Files.writeString(dir.resolve("smaps_rollup"), "Rss:  " + (kb * 2) + " kB\nPss:   " + kb + " kB\n");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.vrit.qa.retry;
+
+import java.time.Duration;
+
+/**
+ * A point in time an operation must finish by, on the monotonic clock.
+ * Step budgets are combined with the scenario's deadline through
+ * {@link #earliest(Deadline)} so no retry outlives the run it belongs to.
+ */
+public final class Deadline {
+    // Budgets this long are treated as no deadline rather than risking clock overflow
+    private static final Duration UNBOUNDED = Duration.ofDays(365);
+    private static final Deadline NONE = new Deadline(0);
+
+    private final long nanos;
+
+    private Deadline(long nanos) {
+        this.nanos = nanos;
+    }
+
+    public static Deadline in(Duration budget) {
+        if (budget.compareTo(UNBOUNDED) >= 0) {
+            return NONE;
+        }
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public Deadline earliest(Deadline other) {
+        if (this == NONE || other == NONE) {
+            return this == NONE ? other : this;
+        }
+        return other.nanos - nanos < 0 ? other : this;
+    }
+
+    public Duration remaining() {
+        if (this == NONE) {
+            return UNBOUNDED;
+        }
+        return Duration.ofNanos(Math.max(0, nanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return remaining().isZero();
+    }
+
+    @Override
+    public String toString() {
+        return this == NONE ? "no deadline" : remaining().toMillis() + "ms left";
+    }
+}
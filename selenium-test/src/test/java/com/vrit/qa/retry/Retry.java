@@ -0,0 +1,150 @@
+package com.vrit.qa.retry;
+
+import com.vrit.qa.log.EventLog;
+import com.vrit.qa.metrics.FlowMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Runs an operation under a {@link RetryPolicy}. A failure the classifier
+ * calls fatal is rethrown at once; a retryable one is followed by the
+ * recovery action (e.g. a page refresh) and a jittered backoff, as long as
+ * attempts remain and the backoff still fits inside both the operation's
+ * budget and the caller's deadline. Nothing is attempted once that deadline
+ * has passed. Every attempt's duration and outcome go to
+ * {@link FlowMetrics#recordAttempt}.
+ *
+ * <pre>
+ * Retry.of("otp_entry", RetryPolicy.fromConfig("otpEntry"))
+ *         .within(scenarioDeadline)
+ *         .recoverWith(e -&gt; driver.navigate().refresh())
+ *         .run(attempt -&gt; enterOtp(otp));
+ * </pre>
+ */
+public final class Retry {
+    private final String operation;
+    private final RetryPolicy policy;
+    private final RetryClassifier classifier;
+    private final Deadline deadline;
+    private final Consumer<Exception> recovery;
+
+    private Retry(String operation, RetryPolicy policy, RetryClassifier classifier, Deadline deadline,
+            Consumer<Exception> recovery) {
+        this.operation = operation;
+        this.policy = policy;
+        this.classifier = classifier;
+        this.deadline = deadline;
+        this.recovery = recovery;
+    }
+
+    public static Retry of(String operation, RetryPolicy policy) {
+        return new Retry(operation, policy, RetryClassifier.webDriver(), Deadline.none(), null);
+    }
+
+    public Retry classifiedBy(RetryClassifier classifier) {
+        return new Retry(operation, policy, classifier, deadline, recovery);
+    }
+
+    // An outer deadline, typically the scenario's, that caps the policy's own budget
+    public Retry within(Deadline deadline) {
+        return new Retry(operation, policy, classifier, deadline, recovery);
+    }
+
+    // Runs after a retryable failure, before the backoff
+    public Retry recoverWith(Consumer<Exception> recovery) {
+        return new Retry(operation, policy, classifier, deadline, recovery);
+    }
+
+    public <T> T call(Attempt<T> action) {
+        Deadline budget = Deadline.in(policy.getBudget()).earliest(deadline);
+        FlowMetrics metrics = FlowMetrics.global();
+        EventLog log = EventLog.global();
+        if (budget.isExpired()) {
+            log.warn("{} not attempted, the deadline has passed", operation);
+            throw new RetryException(operation, budget);
+        }
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                T result = action.run(attempt);
+                long nanos = System.nanoTime() - start;
+                metrics.recordAttempt(operation, nanos, true);
+                if (attempt > 1) {
+                    log.timed(operation, nanos, true, "Recovered on attempt {}", attempt);
+                }
+                return result;
+            } catch (Exception e) {
+                long nanos = System.nanoTime() - start;
+                metrics.recordAttempt(operation, nanos, false);
+                if (!classifier.isRetryable(e)) {
+                    log.timed(operation, nanos, false, "Attempt {} failed, not retryable: {}", attempt, summary(e));
+                    throw e instanceof RuntimeException ? (RuntimeException) e : new RetryException(operation,
+                            attempt, e);
+                }
+                if (policy.getMaxAttempts() > 0 && attempt >= policy.getMaxAttempts()) {
+                    log.timed(operation, nanos, false, "Attempt {} failed, no attempts left: {}", attempt,
+                            summary(e));
+                    throw new RetryException(operation, attempt, e);
+                }
+                Duration delay = policy.backoff(attempt, ThreadLocalRandom.current());
+                if (budget.remaining().compareTo(delay) <= 0) {
+                    log.timed(operation, nanos, false, "Attempt {} failed, out of time: {}", attempt, summary(e));
+                    throw new RetryException(operation, attempt, e);
+                }
+                log.timed(operation, nanos, false, "Attempt {} failed, retrying in {}", attempt,
+                        delay.toMillis() + "ms: " + summary(e));
+                recover(e);
+                sleep(delay, attempt, e);
+            }
+        }
+    }
+
+    public void run(VoidAttempt action) {
+        call(attempt -> {
+            action.run(attempt);
+            return null;
+        });
+    }
+
+    private void recover(Exception failure) {
+        if (recovery == null) {
+            return;
+        }
+        try {
+            recovery.accept(failure);
+        } catch (RuntimeException e) {
+            // The next attempt fails on its own if recovery left the page unusable
+            EventLog.global().warn("{} recovery failed: {}", operation, summary(e));
+        }
+    }
+
+    private void sleep(Duration delay, int attempt, Exception failure) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RetryException(operation, attempt, failure);
+        }
+    }
+
+    // Exception type and the first line of its message; Selenium adds build and driver info on further lines
+    private static String summary(Exception e) {
+        String message = String.valueOf(e.getMessage());
+        int newline = message.indexOf('\n');
+        String firstLine = newline < 0 ? message : message.substring(0, newline);
+        return e.getClass().getSimpleName() + ": " + firstLine;
+    }
+
+    @FunctionalInterface
+    public interface Attempt<T> {
+        // attempt is 1-based, so later attempts can take a more forceful path
+        T run(int attempt) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface VoidAttempt {
+        void run(int attempt) throws Exception;
+    }
+}
@@ -0,0 +1,54 @@
+package com.vrit.qa.retry;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+
+import java.util.List;
+
+/**
+ * Decides whether a failed attempt is worth repeating. The cause chain is
+ * searched, so a retryable failure wrapped by a step still counts as one.
+ */
+@FunctionalInterface
+public interface RetryClassifier {
+    // A dead session or a broken locator never heals by trying again
+    List<Class<? extends Throwable>> FATAL = List.of(NoSuchSessionException.class, SessionNotCreatedException.class,
+            InvalidSelectorException.class, InvalidArgumentException.class);
+
+    // Re-renders, slow transitions and overlays that settle on their own
+    List<Class<? extends Throwable>> TRANSIENT = List.of(StaleElementReferenceException.class,
+            TimeoutException.class, NotFoundException.class, ElementClickInterceptedException.class,
+            ElementNotInteractableException.class, MoveTargetOutOfBoundsException.class);
+
+    boolean isRetryable(Throwable failure);
+
+    // Transient WebDriver failures are retried, anything else fails the step at once
+    static RetryClassifier webDriver() {
+        return failure -> !causedBy(failure, FATAL) && causedBy(failure, TRANSIENT);
+    }
+
+    // Also retries the given exception types, unless the failure is fatal
+    default RetryClassifier or(Class<? extends Throwable> type) {
+        return failure -> isRetryable(failure)
+                || (!causedBy(failure, FATAL) && causedBy(failure, List.of(type)));
+    }
+
+    static boolean causedBy(Throwable failure, List<Class<? extends Throwable>> types) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            for (Class<? extends Throwable> type : types) {
+                if (type.isInstance(cause)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.vrit.qa.retry;
+
+/**
+ * A retried operation ran out of attempts or time; the last failure is the cause.
+ */
+public class RetryException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int attempts;
+
+    public RetryException(String operation, int attempts, Throwable lastFailure) {
+        super(operation + " failed after " + attempts + " attempt(s): " + lastFailure.getMessage(), lastFailure);
+        this.attempts = attempts;
+    }
+
+    // The deadline had already passed, so not even a first attempt was made
+    public RetryException(String operation, Deadline deadline) {
+        super(operation + " not attempted: " + deadline + " when it was due to start");
+        this.attempts = 0;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,87 @@
+package com.vrit.qa.retry;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * How often and how patiently an operation is retried: attempt limit,
+ * exponential backoff with jitter, the time budget for the whole operation
+ * and the wait budget of a single attempt. Read per operation from
+ * {@code retry.<name>.*}, falling back to the shared {@code retry.*} values.
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+    private final double jitter;
+    private final Duration budget;
+    private final Duration attemptTimeout;
+
+    // maxAttempts 0 keeps retrying until the budget runs out; jitter is the fraction of each delay
+    // that is randomised, so concurrent runs do not retry in lockstep
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier,
+            double jitter, Duration budget, Duration attemptTimeout) {
+        if (maxAttempts < 0 || multiplier < 1 || jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Invalid retry policy: maxAttempts=" + maxAttempts + " multiplier="
+                    + multiplier + " jitter=" + jitter);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.budget = budget;
+        this.attemptTimeout = attemptTimeout;
+    }
+
+    public static RetryPolicy fromConfig(String name) {
+        String prefix = "retry." + name + ".";
+        return new RetryPolicy(
+                HarnessConfig.getInt(prefix + "maxAttempts", HarnessConfig.getInt("retry.maxAttempts", 3)),
+                Duration.ofMillis(HarnessConfig.getLong(prefix + "initialBackoffMillis",
+                        HarnessConfig.getLong("retry.initialBackoffMillis", 200))),
+                Duration.ofMillis(HarnessConfig.getLong(prefix + "maxBackoffMillis",
+                        HarnessConfig.getLong("retry.maxBackoffMillis", 5_000))),
+                HarnessConfig.getDouble(prefix + "multiplier", HarnessConfig.getDouble("retry.multiplier", 2)),
+                HarnessConfig.getDouble(prefix + "jitter", HarnessConfig.getDouble("retry.jitter", 0.5)),
+                HarnessConfig.getSeconds(prefix + "budgetSeconds", HarnessConfig.getLong("retry.budgetSeconds", 120)),
+                HarnessConfig.getSeconds(prefix + "attemptTimeoutSeconds",
+                        HarnessConfig.getLong("retry.attemptTimeoutSeconds", 40)));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    // How long one attempt may wait for its condition before the next attempt takes over
+    public Duration getAttemptTimeout() {
+        return attemptTimeout;
+    }
+
+    // The attempt timeout, cut short when the deadline leaves less than that
+    public Duration attemptTimeoutWithin(Deadline deadline) {
+        Duration remaining = deadline.remaining();
+        return remaining.compareTo(attemptTimeout) < 0 ? remaining : attemptTimeout;
+    }
+
+    // Delay after the given failed attempt (1-based): initial * multiplier^(attempt-1), capped, then jittered down
+    public Duration backoff(int attempt, Random random) {
+        double base = initialBackoff.toMillis() * Math.pow(multiplier, Math.max(0, attempt - 1));
+        double capped = Math.min(base, maxBackoff.toMillis());
+        return Duration.ofMillis(Math.round(capped * (1 - jitter * random.nextDouble())));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s attempts, backoff %dms x%.1f up to %dms (jitter %.0f%%), budget %ds",
+                maxAttempts == 0 ? "unlimited" : String.valueOf(maxAttempts), initialBackoff.toMillis(), multiplier,
+                maxBackoff.toMillis(), jitter * 100, budget.toSeconds());
+    }
+}
@@ -0,0 +1,127 @@
+package com.vrit.qa.retry;
+
+import com.vrit.qa.metrics.FlowMetrics;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryTest {
+    private static final RetryPolicy FAST = new RetryPolicy(5, Duration.ofMillis(1), Duration.ofMillis(4), 2, 0.5,
+            Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+    @Test
+    public void testStaleElementIsRetriedUntilItSucceeds() {
+        AtomicInteger recoveries = new AtomicInteger();
+        long before = attempts("test_stale");
+
+        String result = Retry.of("test_stale", FAST)
+                .recoverWith(e -> recoveries.incrementAndGet())
+                .call(attempt -> {
+                    if (attempt < 3) {
+                        throw new StaleElementReferenceException("re-rendered");
+                    }
+                    return "ok on " + attempt;
+                });
+
+        assertEquals("ok on 3", result);
+        assertEquals(2, recoveries.get());
+        assertEquals(before + 3, attempts("test_stale"));
+        assertEquals(2, FlowMetrics.global().getAttempts().get("test_stale").getFailures());
+    }
+
+    @Test
+    public void testFatalFailureIsRethrownWithoutRetrying() {
+        AtomicInteger calls = new AtomicInteger();
+        NoSuchSessionException failure = assertThrows(NoSuchSessionException.class,
+                () -> Retry.of("test_fatal", FAST).run(attempt -> {
+                    calls.incrementAndGet();
+                    throw new NoSuchSessionException("browser gone");
+                }));
+
+        assertEquals(1, calls.get());
+        assertTrue(failure.getMessage().startsWith("browser gone"));
+    }
+
+    @Test
+    public void testAttemptsAndBudgetBoundTheRetries() {
+        RetryException exhausted = assertThrows(RetryException.class, () -> Retry.of("test_exhausted", FAST)
+                .run(attempt -> {
+                    throw new TimeoutException("page did not load");
+                }));
+        assertEquals(5, exhausted.getAttempts());
+        assertInstanceOf(TimeoutException.class, exhausted.getCause());
+
+        // A deadline shorter than the first backoff stops after one attempt
+        RetryPolicy slow = new RetryPolicy(0, Duration.ofSeconds(5), Duration.ofSeconds(5), 2, 0,
+                Duration.ofMinutes(1), Duration.ofSeconds(1));
+        long start = System.nanoTime();
+        RetryException outOfTime = assertThrows(RetryException.class, () -> Retry.of("test_deadline", slow)
+                .within(Deadline.in(Duration.ofMillis(100)))
+                .run(attempt -> {
+                    throw new TimeoutException("page did not load");
+                }));
+        assertEquals(1, outOfTime.getAttempts());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+    }
+
+    @Test
+    public void testExpiredDeadlineMakesNoAttempt() throws InterruptedException {
+        Deadline expired = Deadline.in(Duration.ofMillis(1));
+        Thread.sleep(5);
+        AtomicInteger calls = new AtomicInteger();
+        RetryException exception = assertThrows(RetryException.class, () -> Retry.of("test_expired", FAST)
+                .within(expired)
+                .run(attempt -> calls.incrementAndGet()));
+        assertEquals(0, exception.getAttempts());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testAttemptTimeoutIsCutToTheDeadline() {
+        assertEquals(Duration.ofSeconds(1), FAST.attemptTimeoutWithin(Deadline.none()));
+        assertEquals(Duration.ofSeconds(1), FAST.attemptTimeoutWithin(Deadline.in(Duration.ofMinutes(1))));
+        assertTrue(FAST.attemptTimeoutWithin(Deadline.in(Duration.ofMillis(200))).toMillis() <= 200);
+    }
+
+    @Test
+    public void testBackoffGrowsExponentiallyUpToTheCapWithJitterBelowIt() {
+        RetryPolicy policy = new RetryPolicy(0, Duration.ofMillis(100), Duration.ofMillis(1_000), 2, 0,
+                Duration.ofMinutes(1), Duration.ofSeconds(1));
+        Random random = new Random(1);
+        assertEquals(100, policy.backoff(1, random).toMillis());
+        assertEquals(400, policy.backoff(3, random).toMillis());
+        assertEquals(1_000, policy.backoff(10, random).toMillis());
+
+        RetryPolicy jittered = new RetryPolicy(0, Duration.ofMillis(100), Duration.ofMillis(1_000), 2, 0.5,
+                Duration.ofMinutes(1), Duration.ofSeconds(1));
+        for (int i = 0; i < 100; i++) {
+            long delay = jittered.backoff(2, random).toMillis();
+            assertTrue(delay >= 100 && delay <= 200, "delay " + delay);
+        }
+    }
+
+    @Test
+    public void testClassifierLooksThroughWrappersButNotPastFatalCauses() {
+        RetryClassifier classifier = RetryClassifier.webDriver();
+        assertTrue(classifier.isRetryable(new RuntimeException("step failed", new StaleElementReferenceException("x"))));
+        assertFalse(classifier.isRetryable(new IllegalStateException("bad input")));
+        assertFalse(classifier.isRetryable(new TimeoutException("x", new NoSuchSessionException("gone"))));
+        assertTrue(classifier.or(IllegalStateException.class).isRetryable(new IllegalStateException("busy")));
+    }
+
+    private static long attempts(String operation) {
+        FlowMetrics.Timer timer = FlowMetrics.global().getAttempts().get(operation);
+        return timer == null ? 0 : timer.getCount();
+    }
+}
@@ -0,0 +1,319 @@
+package com.vrit.qa.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.inbox.LocalSmtpInboxProvider;
+import com.vrit.qa.inbox.SmtpClient;
+import com.vrit.qa.log.EventLog;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded stand-in for the authorized-partner registration app. Serves a
+ * single page with the same DOM shapes the harness targets and a small JSON
+ * API behind it, and mails the OTP to the local SMTP inbox. Server latency
+ * and API failure rate are configurable so runs are repeatable offline.
+ */
+public class LocalRegistrationApp implements AutoCloseable {
+    private static LocalRegistrationApp shared;
+
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "standin-http");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final String smtpHost;
+    private final int smtpPort;
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double failureRate;
+    private final Random random;
+    private final String page;
+    private final String script;
+    private final Map<String, String> pendingOtps = new ConcurrentHashMap<>();
+    private final Map<String, JSONObject> registrations = new ConcurrentHashMap<>();
+    private final AtomicInteger completed = new AtomicInteger();
+
+    public LocalRegistrationApp(int port, String smtpHost, int smtpPort, long latencyMillis, long latencyJitterMillis,
+            double failureRate, long progressDelayMillis, long seed) {
+        this.smtpHost = smtpHost;
+        this.smtpPort = smtpPort;
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.failureRate = failureRate;
+        this.random = new Random(seed);
+        this.page = resource("standin/register.html");
+        this.script = resource("standin/register.js").replace("/*COUNTRIES*/[]", countriesJson())
+                .replace("/*PROGRESS_DELAY*/0", Long.toString(progressDelayMillis));
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 50);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind stand-in app on port " + port, e);
+        }
+        server.setExecutor(handlers);
+        server.createContext("/", this::handle);
+        server.start();
+        System.out.println("Stand-in registration app listening on " + getBaseUrl());
+    }
+
+    // One app per JVM, mailing OTPs to the shared local inbox
+    public static synchronized LocalRegistrationApp shared() {
+        if (shared == null) {
+            shared = new LocalRegistrationApp(
+                    HarnessConfig.getInt("standin.port", 0),
+                    "127.0.0.1",
+                    LocalSmtpInboxProvider.shared().getPort(),
+                    HarnessConfig.getLong("standin.latencyMillis", 0),
+                    HarnessConfig.getLong("standin.latencyJitterMillis", 0),
+                    HarnessConfig.getDouble("standin.failureRate", 0),
+                    HarnessConfig.getLong("standin.progressDelayMillis", 0),
+                    HarnessConfig.getLong("standin.seed", 42));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close));
+        }
+        return shared;
+    }
+
+    // app.target=local runs every flow against this stand-in instead of app.url
+    public static boolean isSelected() {
+        return "local".equals(HarnessConfig.getString("app.target", "remote"));
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String getRegistrationUrl() {
+        return getBaseUrl() + "/register";
+    }
+
+    public int getCompletedRegistrations() {
+        return completed.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            boolean api = path.startsWith("/api/");
+            delay();
+            if (api && failureRate > 0 && nextDouble() < failureRate) {
+                respond(exchange, 503, "application/json", error("Injected failure"));
+                return;
+            }
+            if ("GET".equals(exchange.getRequestMethod())) {
+                switch (path) {
+                    case "/":
+                    case "/register":
+                        respond(exchange, 200, "text/html; charset=utf-8", page);
+                        return;
+                    case "/register.js":
+                        respond(exchange, 200, "application/javascript; charset=utf-8", script);
+                        return;
+                    default:
+                        respond(exchange, 404, "text/plain", "Not found");
+                        return;
+                }
+            }
+            if (!"POST".equals(exchange.getRequestMethod()) || !api) {
+                respond(exchange, 405, "text/plain", "Method not allowed");
+                return;
+            }
+            if ("/api/upload".equals(path)) {
+                upload(exchange);
+                return;
+            }
+            JSONObject body;
+            try {
+                body = new JSONObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            } catch (JSONException e) {
+                respond(exchange, 400, "application/json", error("Malformed JSON: " + e.getMessage()));
+                return;
+            }
+            JSONObject reply = dispatch(path, body);
+            int status = reply.has("error") ? reply.optInt("code", 400) : 200;
+            reply.remove("code");
+            respond(exchange, status, "application/json", reply.toString());
+        } catch (RuntimeException e) {
+            EventLog.global().warn("Stand-in request failed: {}", e.getMessage());
+            respond(exchange, 500, "application/json", error(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private JSONObject dispatch(String path, JSONObject body) {
+        switch (path) {
+            case "/api/register":
+                return register(body);
+            case "/api/verify-otp":
+                return verifyOtp(body);
+            case "/api/agency":
+                return step(body, "agency", "agency_name", "role_in_agency", "agency_email", "agency_website",
+                        "agency_address", "agency_country");
+            case "/api/experience":
+                return step(body, "experience", "experience", "number_of_students_recruited_annually",
+                        "focus_area", "success_metrics");
+            case "/api/business":
+                JSONObject reply = step(body, "business", "business_registration_number", "certification_details");
+                if (!reply.has("error")) {
+                    completed.incrementAndGet();
+                }
+                return reply;
+            default:
+                return new JSONObject().put("error", "Unknown endpoint " + path).put("code", 404);
+        }
+    }
+
+    private JSONObject register(JSONObject body) {
+        JSONObject missing = require(body, "firstName", "lastName", "email", "phoneNumber", "password");
+        if (missing != null) {
+            return missing;
+        }
+        String email = body.getString("email").trim().toLowerCase(Locale.ROOT);
+        String otp = String.format("%06d", nextInt(1_000_000));
+        body.remove("password");
+        body.remove("confirmPassword");
+        registrations.put(email, new JSONObject().put("personal", body).put("verified", false));
+        pendingOtps.put(email, otp);
+        SmtpClient.send(smtpHost, smtpPort, "no-reply@authorized-partner.local", email,
+                "Verify your email", "Your verification code is " + otp + ". It expires in 10 minutes.");
+        return new JSONObject().put("status", "otp_sent");
+    }
+
+    private JSONObject verifyOtp(JSONObject body) {
+        String email = body.optString("email", "").trim().toLowerCase(Locale.ROOT);
+        String expected = pendingOtps.get(email);
+        if (expected == null || !expected.equals(body.optString("otp", "").trim())) {
+            return new JSONObject().put("error", "Invalid verification code");
+        }
+        pendingOtps.remove(email);
+        registrations.get(email).put("verified", true);
+        return new JSONObject().put("status", "verified");
+    }
+
+    private JSONObject step(JSONObject body, String name, String... requiredFields) {
+        JSONObject registration = registrations.get(body.optString("email", "").trim().toLowerCase(Locale.ROOT));
+        if (registration == null || !registration.getBoolean("verified")) {
+            return new JSONObject().put("error", "Email not verified").put("code", 401);
+        }
+        JSONObject missing = require(body, requiredFields);
+        if (missing != null) {
+            return missing;
+        }
+        registration.put(name, body);
+        return new JSONObject().put("status", "saved");
+    }
+
+    private void upload(HttpExchange exchange) throws IOException {
+        long size;
+        try (InputStream in = exchange.getRequestBody()) {
+            size = in.transferTo(OutputStream.nullOutputStream());
+        }
+        String name = query(exchange.getRequestURI()).getOrDefault("name", "upload");
+        respond(exchange, 200, "application/json", new JSONObject().put("name", name).put("size", size).toString());
+    }
+
+    private static JSONObject require(JSONObject body, String... fields) {
+        List<String> missing = Arrays.stream(fields)
+                .filter(field -> body.optString(field, "").isBlank())
+                .collect(Collectors.toList());
+        return missing.isEmpty() ? null : new JSONObject().put("error", "Missing required fields: " + missing);
+    }
+
+    private void delay() {
+        long millis = latencyMillis + (latencyJitterMillis > 0 ? nextInt((int) latencyJitterMillis + 1) : 0);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+
+    private synchronized int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        if (uri.getRawQuery() == null) {
+            return params;
+        }
+        for (String pair : uri.getRawQuery().split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String error(String message) {
+        return new JSONObject().put("error", message).toString();
+    }
+
+    // Same long, alphabetical list the real region pickers render
+    private static String countriesJson() {
+        return Arrays.stream(Locale.getISOCountries())
+                .map(code -> new Locale("", code).getDisplayCountry(Locale.ENGLISH))
+                .sorted()
+                .map(JSONObject::quote)
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = LocalRegistrationApp.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing classpath resource " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + name, e);
+        }
+    }
+}
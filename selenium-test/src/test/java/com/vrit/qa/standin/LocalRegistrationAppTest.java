@@ -0,0 +1,107 @@
+package com.vrit.qa.standin;
+
+import com.vrit.qa.inbox.LocalSmtpInboxProvider;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LocalRegistrationAppTest {
+    private final HttpClient http = HttpClient.newHttpClient();
+    private LocalSmtpInboxProvider inbox;
+    private LocalRegistrationApp app;
+
+    @BeforeEach
+    public void setUp() {
+        inbox = new LocalSmtpInboxProvider(0, "inbox.local");
+        app = new LocalRegistrationApp(0, "127.0.0.1", inbox.getPort(), 0, 0, 0, 0, 42);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        app.close();
+        inbox.close();
+    }
+
+    @Test
+    public void testServesPageWithHarnessLocators() throws Exception {
+        HttpResponse<String> page = get("/register");
+        assertEquals(200, page.statusCode());
+        assertTrue(page.body().contains("/register.js"));
+
+        HttpResponse<String> script = get("/register.js");
+        assertEquals(200, script.statusCode());
+        assertTrue(script.body().contains("id=\"remember\""));
+        assertTrue(script.body().contains("\"Nepal\""), "country list should be injected");
+    }
+
+    @Test
+    public void testFullRegistrationThroughApi() throws Exception {
+        String email = inbox.newAddress();
+        assertEquals(200, post("/api/register", new JSONObject()
+                .put("firstName", "Test").put("lastName", "User").put("email", email)
+                .put("phoneNumber", "9800000000").put("password", "Secret1!")).statusCode());
+
+        String otp = inbox.awaitOtp(email, Duration.ofSeconds(5));
+        assertEquals(400, post("/api/verify-otp", new JSONObject().put("email", email).put("otp", "000000x"))
+                .statusCode());
+        assertEquals(200, post("/api/verify-otp", new JSONObject().put("email", email).put("otp", otp))
+                .statusCode());
+
+        assertEquals(200, post("/api/agency", new JSONObject().put("email", email)
+                .put("agency_name", "Agency").put("role_in_agency", "Manager").put("agency_email", email)
+                .put("agency_website", "www.agency.com").put("agency_address", "Kathmandu")
+                .put("agency_country", "Nepal")).statusCode());
+        assertEquals(200, post("/api/experience", new JSONObject().put("email", email)
+                .put("experience", "5 years").put("number_of_students_recruited_annually", "100")
+                .put("focus_area", "Undergraduate").put("success_metrics", "90")).statusCode());
+        assertEquals(200, post("/api/business", new JSONObject().put("email", email)
+                .put("business_registration_number", "REG12345678")
+                .put("certification_details", "ICEF")).statusCode());
+        assertEquals(1, app.getCompletedRegistrations());
+    }
+
+    @Test
+    public void testStepsRequireVerifiedEmail() throws Exception {
+        HttpResponse<String> response = post("/api/agency", new JSONObject().put("email", "nobody@inbox.local"));
+        assertEquals(401, response.statusCode());
+    }
+
+    @Test
+    public void testInjectedFailuresOnlyHitApi() throws Exception {
+        app.close();
+        app = new LocalRegistrationApp(0, "127.0.0.1", inbox.getPort(), 0, 0, 1.0, 0, 42);
+        assertEquals(200, get("/register").statusCode());
+        assertEquals(503, post("/api/register", new JSONObject()).statusCode());
+    }
+
+    @Test
+    public void testProgressDelayIsServedToThePage() throws Exception {
+        app.close();
+        app = new LocalRegistrationApp(0, "127.0.0.1", inbox.getPort(), 0, 0, 0, 750, 42);
+        assertTrue(get("/register.js").body().contains("PROGRESS_DELAY_MS = 750;"));
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(app.getBaseUrl() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, JSONObject body) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(app.getBaseUrl() + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,32 @@
+package com.vrit.qa.upload;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * The two documents the Business Registration step uploads: the checked-in
+ * samples by default, or generated PDFs of {@code upload.sizeKb} and
+ * {@code upload.pages} to see how the step copes with large scans.
+ */
+public final class BusinessDocuments {
+    private static final String SAMPLES = "src/test/resources/test-docs";
+
+    private BusinessDocuments() {
+    }
+
+    public static List<Path> forRegistration() {
+        return forRegistration(HarnessConfig.getLong("upload.sizeKb", 0), HarnessConfig.getInt("upload.pages", 1));
+    }
+
+    public static List<Path> forRegistration(long sizeKb, int pages) {
+        if (sizeKb <= 0) {
+            Path samples = Paths.get(System.getProperty("user.dir"), SAMPLES);
+            return List.of(samples.resolve("business-reg.pdf"), samples.resolve("certificates.pdf"));
+        }
+        return List.of(PdfGenerator.document("business-reg", sizeKb * 1024, pages),
+                PdfGenerator.document("certificates", sizeKb * 1024, pages));
+    }
+}
@@ -0,0 +1,150 @@
+package com.vrit.qa.upload;
+
+import com.vrit.qa.config.HarnessConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+
+/**
+ * Writes valid PDFs of a requested size and page count, the way a scanned
+ * certificate looks to an upload: each page draws one uncompressed
+ * grayscale image of seeded noise, sized so the file lands within a few
+ * hundred bytes of the target. The image data is streamed through a fixed
+ * buffer, so a 100 MB document costs no more heap than a 100 KB one.
+ */
+public final class PdfGenerator {
+    // Image rows are this many bytes wide; the target is met by choosing the row count
+    static final int IMAGE_WIDTH = 1024;
+    // Everything but the image data: header, catalog, page tree, per-page objects and xref
+    private static final int FIXED_OVERHEAD = 512;
+    private static final int PER_PAGE_OVERHEAD = 480;
+    private static final int CHUNK = 64 * 1024;
+
+    private PdfGenerator() {
+    }
+
+    // A cached document in upload.dir; generated once per size, page count and name
+    public static Path document(String name, long targetBytes, int pages) {
+        Path dir = Paths.get(HarnessConfig.getString("upload.dir", "target/uploads"));
+        Path file = dir.resolve(name + "-" + targetBytes / 1024 + "k-" + pages + "p.pdf");
+        if (Files.exists(file)) {
+            return file.toAbsolutePath();
+        }
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, name, ".tmp");
+            write(tmp, targetBytes, pages, name.hashCode());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate " + file + ": " + e.getMessage());
+        }
+        return file.toAbsolutePath();
+    }
+
+    // Returns the size of the written file
+    public static long write(Path file, long targetBytes, int pages, long seed) throws IOException {
+        if (pages < 1) {
+            throw new IllegalArgumentException("A PDF needs at least one page: " + pages);
+        }
+        long imageBytes = Math.max(0, targetBytes - FIXED_OVERHEAD - (long) pages * PER_PAGE_OVERHEAD);
+        long rowsPerPage = Math.max(1, imageBytes / pages / IMAGE_WIDTH);
+        // Objects: 1 catalog, 2 page tree, 3 font, then page, contents and image for each page
+        int objects = 3 + 3 * pages;
+        long[] offsets = new long[objects + 1];
+        SplittableRandom random = new SplittableRandom(seed);
+        try (CountingStream out = new CountingStream(new BufferedOutputStream(Files.newOutputStream(file), CHUNK))) {
+            out.ascii("%PDF-1.4\n");
+            // Binary marker so transfer tools treat the file as binary
+            out.write(new byte[] {'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+
+            offsets[1] = out.count;
+            out.ascii("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+
+            offsets[2] = out.count;
+            StringBuilder kids = new StringBuilder();
+            for (int page = 0; page < pages; page++) {
+                kids.append(pageObject(page)).append(" 0 R ");
+            }
+            out.ascii("2 0 obj\n<< /Type /Pages /Count " + pages + " /Kids [ " + kids + "] >>\nendobj\n");
+
+            offsets[3] = out.count;
+            out.ascii("3 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>\nendobj\n");
+
+            byte[] row = new byte[IMAGE_WIDTH];
+            for (int page = 0; page < pages; page++) {
+                int pageObject = pageObject(page);
+                offsets[pageObject] = out.count;
+                out.ascii(pageObject + " 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792]"
+                        + " /Resources << /Font << /F1 3 0 R >> /XObject << /Im1 " + (pageObject + 2) + " 0 R >> >>"
+                        + " /Contents " + (pageObject + 1) + " 0 R >>\nendobj\n");
+
+                String content = "q 512 0 0 640 50 100 cm /Im1 Do Q\n"
+                        + "BT /F1 14 Tf 50 760 Td (Synthetic scan, page " + (page + 1) + " of " + pages + ") Tj ET\n";
+                offsets[pageObject + 1] = out.count;
+                out.ascii((pageObject + 1) + " 0 obj\n<< /Length " + content.length() + " >>\nstream\n" + content
+                        + "endstream\nendobj\n");
+
+                offsets[pageObject + 2] = out.count;
+                out.ascii((pageObject + 2) + " 0 obj\n<< /Type /XObject /Subtype /Image /Width " + IMAGE_WIDTH
+                        + " /Height " + rowsPerPage + " /ColorSpace /DeviceGray /BitsPerComponent 8 /Length "
+                        + rowsPerPage * IMAGE_WIDTH + " >>\nstream\n");
+                for (long r = 0; r < rowsPerPage; r++) {
+                    // Noise, so neither gzip on the wire nor the app can shrink it, like a real scan
+                    for (int i = 0; i < IMAGE_WIDTH; i += 8) {
+                        long bits = random.nextLong();
+                        for (int b = 0; b < 8; b++) {
+                            row[i + b] = (byte) (bits >>> (b * 8));
+                        }
+                    }
+                    out.write(row);
+                }
+                out.ascii("\nendstream\nendobj\n");
+            }
+
+            long xref = out.count;
+            StringBuilder table = new StringBuilder("xref\n0 " + (objects + 1) + "\n0000000000 65535 f \n");
+            for (int i = 1; i <= objects; i++) {
+                table.append(String.format("%010d 00000 n \n", offsets[i]));
+            }
+            out.ascii(table.toString());
+            out.ascii("trailer\n<< /Size " + (objects + 1) + " /Root 1 0 R >>\nstartxref\n" + xref + "\n%%EOF\n");
+            return out.count;
+        }
+    }
+
+    private static int pageObject(int page) {
+        return 4 + 3 * page;
+    }
+
+    private static final class CountingStream extends FilterOutputStream {
+        private long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        void ascii(String text) throws IOException {
+            write(text.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
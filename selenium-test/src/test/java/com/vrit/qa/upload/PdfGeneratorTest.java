@@ -0,0 +1,65 @@
+package com.vrit.qa.upload;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PdfGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testSizeAndPageCount() throws Exception {
+        Path file = dir.resolve("scan.pdf");
+        long target = 2 * 1024 * 1024;
+        long written = PdfGenerator.write(file, target, 4, 1);
+
+        assertEquals(Files.size(file), written);
+        // Rows are whole, so each page may fall up to one row short of its share
+        assertTrue(written <= target && written > target - 4L * PdfGenerator.IMAGE_WIDTH - 2048,
+                "Wrote " + written + " bytes for a target of " + target);
+        String text = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("%PDF-1.4\n"));
+        assertTrue(text.endsWith("%%EOF\n"));
+        assertTrue(text.contains("/Type /Pages /Count 4 "));
+    }
+
+    @Test
+    public void testXrefPointsAtEveryObject() throws Exception {
+        Path file = dir.resolve("small.pdf");
+        PdfGenerator.write(file, 20_000, 3, 2);
+        String text = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+
+        Matcher startxref = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$").matcher(text);
+        assertTrue(startxref.find());
+        int xref = Integer.parseInt(startxref.group(1));
+        assertTrue(text.startsWith("xref\n0 13\n", xref));
+        Matcher entries = Pattern.compile("(\\d{10}) 00000 n ").matcher(text.substring(xref));
+        int object = 1;
+        while (entries.find()) {
+            int offset = Integer.parseInt(entries.group(1));
+            assertTrue(text.startsWith(object + " 0 obj\n", offset), "Object " + object + " not at " + offset);
+            object++;
+        }
+        assertEquals(13, object);
+    }
+
+    @Test
+    public void testSameSeedSameBytes() throws Exception {
+        Path first = dir.resolve("a.pdf");
+        Path second = dir.resolve("b.pdf");
+        PdfGenerator.write(first, 50_000, 2, 7);
+        PdfGenerator.write(second, 50_000, 2, 7);
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+    }
+}
@@ -0,0 +1,96 @@
+package com.vrit.qa.upload;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.config.HarnessConfig;
+import com.vrit.qa.driver.DriverFactory;
+import com.vrit.qa.flow.RegistrationFlow;
+import com.vrit.qa.flow.RegistrationIdentity;
+import com.vrit.qa.inbox.InboxProvider;
+import com.vrit.qa.inbox.InboxProviders;
+import com.vrit.qa.metrics.FlowMetrics;
+import com.vrit.qa.metrics.LatencySummary;
+import com.vrit.qa.wait.DomWaits;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Uploads generated PDFs of increasing size to the Business Registration step and reports latency and throughput.
+// mvn test -Dtest=UploadBenchmarkTest -Dbenchmark.upload=true -Dapp.target=local -Dbenchmark.uploadSizesKb=100,5120
+@EnabledIfSystemProperty(named = "benchmark.upload", matches = "true")
+public class UploadBenchmarkTest {
+
+    @Test
+    public void testUploadLatencyBySize() throws IOException {
+        int runs = HarnessConfig.getInt("benchmark.runs", 3);
+        String[] sizesKb = HarnessConfig.getString("benchmark.uploadSizesKb", "100,1024,5120,20480").split(",");
+        long kbPerPage = HarnessConfig.getLong("benchmark.uploadKbPerPage", 1024);
+        Duration timeout = HarnessConfig.getSeconds("benchmark.uploadTimeoutSeconds", 300);
+        JSONArray sizes = new JSONArray();
+        WebDriver driver = DriverFactory.createChrome();
+        try {
+            InboxProvider inbox = InboxProviders.forSession(driver);
+            RegistrationFlow flow = new RegistrationFlow(driver, RegistrationIdentity.next(inbox), inbox);
+            // From the checkpoint when there is one, so the benchmark starts on the Business Registration page
+            flow.reach(FlowMetrics.EXPERIENCE);
+            DomWaits waits = new DomWaits(driver, timeout);
+            WebElement fileInput = waits.attached(By.xpath("//input[@type='file']"));
+
+            for (String sizeKb : sizesKb) {
+                long bytes = Long.parseLong(sizeKb.trim()) * 1024;
+                int pages = (int) Math.max(1, bytes / 1024 / kbPerPage);
+                // Two names in turn, so each upload replaces a thumbnail that shows a different file
+                Path[] documents = {PdfGenerator.document("bench-a", bytes, pages),
+                        PdfGenerator.document("bench-b", bytes, pages)};
+                long actualBytes = Files.size(documents[0]);
+                List<Long> latencies = new ArrayList<>();
+                for (int run = 0; run <= runs; run++) {
+                    Path document = documents[run % 2];
+                    long start = System.nanoTime();
+                    fileInput.sendKeys(document.toString());
+                    waits.uploadComplete(fileInput, document.getFileName().toString());
+                    long millis = (System.nanoTime() - start) / 1_000_000;
+                    // The first upload of each size warms the connection and the browser's file cache
+                    if (run > 0) {
+                        latencies.add(millis);
+                    }
+                }
+                LatencySummary summary = new LatencySummary(latencies);
+                double megabytesPerSecond = actualBytes / 1_048_576.0 / Math.max(summary.percentile(50), 1) * 1_000;
+                sizes.put(new JSONObject()
+                        .put("bytes", actualBytes)
+                        .put("pages", pages)
+                        .put("p50_ms", summary.percentile(50))
+                        .put("p95_ms", summary.percentile(95))
+                        .put("max_ms", summary.getMax())
+                        .put("mb_per_second", megabytesPerSecond));
+                System.out.println(String.format(Locale.ROOT, "%8d KB %3d page(s): %s, %.1f MB/s at p50",
+                        actualBytes / 1024, pages, summary, megabytesPerSecond));
+            }
+        } finally {
+            BiDiSession.release(driver);
+            DriverFactory.quit(driver);
+        }
+        JSONObject report = new JSONObject().put("runs", runs).put("app", RegistrationFlow.registrationUrl())
+                .put("sizes", sizes);
+        Path dir = Paths.get(HarnessConfig.getString("metrics.dir", "target/metrics"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("upload-benchmark.json"), report.toString(2), StandardCharsets.UTF_8);
+        assertEquals(sizesKb.length, sizes.length());
+    }
+}
@@ -0,0 +1,55 @@
+package com.vrit.qa.upload;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.driver.DriverFactory;
+import com.vrit.qa.inbox.LocalSmtpInboxProvider;
+import com.vrit.qa.standin.LocalRegistrationApp;
+import com.vrit.qa.wait.DomWaits;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The stand-in shows a static icon in the drop zone and mounts its progress bar only after a delay, so a wait
+// that took either for a finished upload returns before the thumbnail exists.
+// mvn test -Dtest=UploadWaitTest -Dapp.target=local
+@EnabledIfSystemProperty(named = "app.target", matches = "local")
+public class UploadWaitTest {
+
+    @Test
+    public void testWaitOutlastsADelayedProgressBar() {
+        Path document = PdfGenerator.document("delayed-upload", 64 * 1024, 1);
+        String name = document.getFileName().toString();
+        try (LocalRegistrationApp app = new LocalRegistrationApp(0, "127.0.0.1",
+                LocalSmtpInboxProvider.shared().getPort(), 300, 0, 0, 1_500, 42)) {
+            WebDriver driver = DriverFactory.createChrome();
+            try {
+                // The wizard resumes from its stored step, so the Business Registration page renders directly
+                driver.get(app.getRegistrationUrl());
+                ((JavascriptExecutor) driver).executeScript(
+                        "sessionStorage.setItem('partner.registration.step', 'business');");
+                driver.navigate().refresh();
+                DomWaits waits = new DomWaits(driver, Duration.ofSeconds(30));
+                WebElement fileInput = waits.attached(By.xpath("//input[@type='file']"));
+
+                fileInput.sendKeys(document.toString());
+                waits.uploadComplete(fileInput, name);
+
+                WebElement zone = fileInput.findElement(By.xpath(".."));
+                String thumbnails = zone.findElements(By.className("thumbnail")).stream()
+                        .map(WebElement::getText).reduce("", String::concat);
+                assertTrue(thumbnails.contains(name), "Upload wait returned before the thumbnail of " + name);
+            } finally {
+                BiDiSession.release(driver);
+                DriverFactory.quit(driver);
+            }
+        }
+    }
+}
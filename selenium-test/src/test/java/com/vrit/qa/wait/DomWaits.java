@@ -0,0 +1,346 @@
+package com.vrit.qa.wait;
+
+import com.vrit.qa.bidi.BiDiSession;
+import com.vrit.qa.metrics.FlowMetrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.bidi.BiDiException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Event-driven waits. Each wait injects a MutationObserver through
+ * executeAsyncScript and returns as soon as its condition holds, so no step
+ * pays for a fixed sleep.
+ */
+public class DomWaits {
+    // Options rendered inside the radix popper portal (same shape the test has always matched)
+    public static final By PORTAL_OPTIONS = By.xpath("//div[contains(@id, 'radix-')]/div/div");
+
+    private static final long NAVIGATION_BACKOFF_MILLIS = 100;
+    private static final List<String> NAVIGATION_ERRORS = List.of("document unloaded", "document was unloaded",
+            "context was destroyed", "cannot find context", "navigated or closed", "realm was destroyed");
+    private static final String AWAIT_SCRIPT = """
+            var done = arguments[arguments.length - 1];
+            var spec = arguments[0];
+            var timeoutMs = arguments[1];
+            """ + JsLocator.FIND_FUNCTION + """
+            function visible(el) {
+                if (!el || !el.isConnected) return false;
+                var style = window.getComputedStyle(el);
+                if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') return false;
+                var rect = el.getBoundingClientRect();
+                return rect.width > 0 && rect.height > 0;
+            }
+
+            function firstVisible(locators) {
+                var match = firstVisibleMatch(locators);
+                return match ? match.element : null;
+            }
+
+            // The upload widget around a file input: done once nothing is busy and either a preview names the
+            // file or the widget was seen busy with this file and has since settled
+            function uploadState(input, name) {
+                if (!input.files || input.files.length === 0) return null;
+                var file = input.files[0];
+                var zone = input.closest('.dropzone, [class*="upload"], [class*="dropzone"]') || input.parentElement;
+                var alerts = zone.querySelectorAll('[role="alert"], .error, [class*="error"]');
+                for (var a = 0; a < alerts.length; a++) {
+                    if (visible(alerts[a])) return { error: alerts[a].textContent.trim() };
+                }
+                var busy = zone.getAttribute('aria-busy') === 'true';
+                var indicators = zone.querySelectorAll('[role="progressbar"], [aria-busy="true"]');
+                for (var b = 0; b < indicators.length; b++) if (visible(indicators[b])) busy = true;
+                if (busy) {
+                    // Kept on the input, so a wait re-armed after a BiDi slice still knows; a new selection is a
+                    // new File object
+                    input.__qaUploadBusy = file;
+                    return null;
+                }
+                var previews = zone.querySelectorAll('img, .thumbnail, [class*="thumb"], [class*="preview"]');
+                for (var p = 0; p < previews.length; p++) {
+                    if (!visible(previews[p])) continue;
+                    var label = previews[p].textContent + ' ' + (previews[p].getAttribute('alt') || '') + ' '
+                        + (previews[p].getAttribute('title') || '') + ' ' + (previews[p].getAttribute('src') || '');
+                    if (label.indexOf(name) >= 0) return true;
+                }
+                // A static icon or the bare file name is there before the progress bar mounts, so it proves nothing
+                return input.__qaUploadBusy === file ? true : null;
+            }
+
+            function firstVisibleMatch(locators) {
+                for (var i = 0; i < locators.length; i++) {
+                    var found = find(locators[i]);
+                    for (var j = 0; j < found.length; j++) if (visible(found[j])) return { index: i, element: found[j] };
+                }
+                return null;
+            }
+
+            function check() {
+                switch (spec.type) {
+                    case 'anyVisible':
+                        return firstVisible(spec.locators);
+                    case 'firstVisibleMatch':
+                        var match = firstVisibleMatch(spec.locators);
+                        if (match) {
+                            // Which of the other candidates matched too, for ranking them next time
+                            match.visible = spec.locators.map(function (locator) {
+                                return find(locator).some(visible);
+                            });
+                        }
+                        return match;
+                    case 'invisible':
+                        return firstVisible(spec.locators) ? null : true;
+                    case 'present':
+                        return find(spec.locators[0])[0] || null;
+                    case 'absent':
+                        return find(spec.locators[0]).length === 0 ? true : null;
+                    case 'uploadComplete':
+                        return uploadState(spec.element, spec.name);
+                }
+                return null;
+            }
+
+            var initial = check();
+            if (initial) { done(initial); return; }
+
+            var finished = false;
+            var observer = new MutationObserver(recheck);
+            var timer = setTimeout(function () { finish(null); }, timeoutMs);
+
+            function recheck() {
+                var result = check();
+                if (result) finish(result);
+            }
+
+            function finish(result) {
+                if (finished) return;
+                finished = true;
+                observer.disconnect();
+                clearTimeout(timer);
+                document.removeEventListener('transitionend', recheck, true);
+                document.removeEventListener('animationend', recheck, true);
+                document.removeEventListener('change', recheck, true);
+                done(result);
+            }
+
+            observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });
+            // Visibility can change through CSS transitions without any DOM mutation
+            document.addEventListener('transitionend', recheck, true);
+            document.addEventListener('animationend', recheck, true);
+            // File selection does not mutate the DOM either
+            document.addEventListener('change', recheck, true);
+            """;
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    // Set when driver.transport=bidi: waits then run over the BiDi socket and resolve on the browser's push
+    private final BiDiSession bidi;
+    // Longest single classic async script the session's script timeout allows
+    private final long classicCallMillis;
+
+    public DomWaits(WebDriver driver, Duration timeout) {
+        this(driver, timeout, BiDiSession.forDriver(driver), timeout.toMillis());
+        // Leave headroom so the in-page timer always fires before the driver gives up
+        driver.manage().timeouts().scriptTimeout(timeout.plusSeconds(5));
+    }
+
+    private DomWaits(WebDriver driver, Duration timeout, BiDiSession bidi, long classicCallMillis) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.bidi = bidi;
+        this.classicCallMillis = classicCallMillis;
+    }
+
+    // Same waits with another budget, e.g. one attempt of a retried step. Nothing is sent to the driver:
+    // a budget longer than the session's script timeout re-arms the wait in slices instead of raising it.
+    public DomWaits withTimeout(Duration budget) {
+        return new DomWaits(driver, budget, bidi, classicCallMillis);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    // Equivalent of ExpectedConditions.or(visibilityOfElementLocated(...), ...), returns the first match
+    public WebElement anyVisible(By... locators) {
+        return (WebElement) await(spec("anyVisible", locators), "any of " + List.of(locators) + " to be visible");
+    }
+
+    // Like anyVisible, but reports which locator matched and which others were visible at that moment.
+    // All candidates are evaluated together on every DOM change, and when several are visible the earliest
+    // in the list wins.
+    @SuppressWarnings("unchecked")
+    public Match firstVisibleMatch(List<By> candidates) {
+        Map<String, Object> result = (Map<String, Object>) await(
+                spec("firstVisibleMatch", candidates.toArray(new By[0])),
+                "any of " + candidates + " to be visible");
+        int index = ((Number) result.get("index")).intValue();
+        List<Boolean> flags = (List<Boolean>) result.get("visible");
+        List<By> visible = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (flags == null ? i == index : Boolean.TRUE.equals(flags.get(i))) {
+                visible.add(candidates.get(i));
+            }
+        }
+        return new Match(candidates.get(index), index, (WebElement) result.get("element"), visible);
+    }
+
+    public WebElement visible(By locator) {
+        return anyVisible(locator);
+    }
+
+    public void invisible(By locator) {
+        await(spec("invisible", locator), locator + " to be invisible");
+    }
+
+    // The first element matching the locator once it is in the DOM, visible or not (e.g. a hidden file input)
+    public WebElement attached(By locator) {
+        return (WebElement) await(spec("present", locator), locator + " to be present");
+    }
+
+    // "Dropdown portal opened": radix renders the option list into a portal at the end of <body>
+    public void dropdownPortalOpened() {
+        await(spec("present", PORTAL_OPTIONS), "dropdown portal to open");
+    }
+
+    public void dropdownPortalClosed() {
+        await(spec("absent", PORTAL_OPTIONS), "dropdown portal to close");
+    }
+
+    // "Upload complete": the input's widget shows a preview naming the file, or went busy and settled again.
+    // An error shown in the widget fails the wait at once instead of running into the timeout.
+    public void uploadComplete(WebElement input, String fileName) {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("type", "uploadComplete");
+        spec.put("element", input);
+        spec.put("name", fileName);
+        Object result = await(spec, fileName + " to finish uploading");
+        if (result instanceof Map) {
+            throw new IllegalStateException("Upload of " + fileName + " failed: " + ((Map<?, ?>) result).get("error"));
+        }
+    }
+
+    private Object await(Map<String, Object> spec, String description) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            Object result = awaitUntilDeadline(spec, description, start + timeout.toNanos());
+            succeeded = true;
+            return result;
+        } finally {
+            FlowMetrics.global().recordWait((String) spec.get("type"), System.nanoTime() - start, succeeded);
+        }
+    }
+
+    private Object awaitUntilDeadline(Map<String, Object> spec, String description, long deadline) {
+        while (true) {
+            long remainingMs = Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+            try {
+                // A BiDi call must finish inside Selenium's fixed command timeout and a classic one inside the
+                // session's script timeout, so longer waits re-arm in slices
+                long maxCallMs = bidi != null ? BiDiSession.MAX_CALL_MILLIS : classicCallMillis;
+                long sliceMs = Math.min(remainingMs, maxCallMs);
+                Object result = bidi != null
+                        ? bidi.executeAsync(AWAIT_SCRIPT, spec, sliceMs)
+                        : ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_SCRIPT, spec, sliceMs);
+                if (result == null && remainingMs > maxCallMs) {
+                    continue;
+                }
+                if (result == null) {
+                    throw new TimeoutException("Timed out after " + timeout.toSeconds() + "s waiting for " + description);
+                }
+                return result;
+            } catch (ScriptTimeoutException e) {
+                throw new TimeoutException("Timed out after " + timeout.toSeconds() + "s waiting for " + description, e);
+            } catch (JavascriptException | BiDiException e) {
+                // A full page navigation unloads the observer; re-arm it on the new document once it has had a
+                // moment to load. Any other script error is a bug in the wait, not something to wait out.
+                if (!isNavigation(e)) {
+                    throw e;
+                }
+                if (remainingMs == 0) {
+                    throw new TimeoutException("Timed out after " + timeout.toSeconds() + "s waiting for " + description, e);
+                }
+                pause(Math.min(NAVIGATION_BACKOFF_MILLIS, remainingMs), e);
+            }
+        }
+    }
+
+    // Messages drivers report when the document running the script goes away: chromedriver and geckodriver
+    // for classic async scripts, chromium-bidi and Firefox for script.callFunction
+    static boolean isNavigation(RuntimeException e) {
+        String message = e.getMessage();
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        for (String marker : NAVIGATION_ERRORS) {
+            if (lower.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void pause(long millis, RuntimeException cause) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private static Map<String, Object> spec(String type, By... locators) {
+        List<List<String>> encoded = new ArrayList<>();
+        for (By locator : locators) {
+            encoded.add(JsLocator.encode(locator));
+        }
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("type", type);
+        spec.put("locators", encoded);
+        return spec;
+    }
+
+    public static final class Match {
+        private final By locator;
+        private final int index;
+        private final WebElement element;
+        private final List<By> visible;
+
+        public Match(By locator, int index, WebElement element, List<By> visible) {
+            this.locator = locator;
+            this.index = index;
+            this.element = element;
+            this.visible = visible;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        // Every candidate that was visible when the match was made, the winner included
+        public List<By> getVisible() {
+            return visible;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.vrit.qa.wait;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.bidi.BiDiException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DomWaitsTest {
+
+    @Test
+    public void testUnloadedDocumentIsANavigation() {
+        assertTrue(DomWaits.isNavigation(new JavascriptException(
+                "javascript error: document unloaded while waiting for result")));
+        assertTrue(DomWaits.isNavigation(new JavascriptException("Document was unloaded")));
+        assertTrue(DomWaits.isNavigation(new BiDiException("Execution context was destroyed.")));
+    }
+
+    @Test
+    public void testScriptBugIsNotANavigation() {
+        assertFalse(DomWaits.isNavigation(new JavascriptException(
+                "javascript error: Cannot read properties of null (reading 'textContent')")));
+        assertFalse(DomWaits.isNavigation(new BiDiException("invalid argument")));
+        assertFalse(DomWaits.isNavigation(new JavascriptException((String) null)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.vrit.qa.wait;
+
+import org.openqa.selenium.By;
+
+import java.util.List;
+
+/**
+ * Passes Selenium locators into injected scripts. A locator is encoded as a
+ * {@code [strategy, value]} pair and resolved in the page by {@link #FIND_FUNCTION}.
+ */
+public final class JsLocator {
+    // find(['xpath'|'id'|'name'|'css', value]) -> array of matching elements, in document order
+    public static final String FIND_FUNCTION = """
+            function find(loc) {
+                var strategy = loc[0], value = loc[1];
+                if (strategy === 'xpath') {
+                    var snap = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                    var out = [];
+                    for (var i = 0; i < snap.snapshotLength; i++) out.push(snap.snapshotItem(i));
+                    return out;
+                }
+                if (strategy === 'id') return Array.prototype.slice.call(document.querySelectorAll('[id="' + value + '"]'));
+                if (strategy === 'name') return Array.prototype.slice.call(document.querySelectorAll('[name="' + value + '"]'));
+                return Array.prototype.slice.call(document.querySelectorAll(value));
+            }
+            """;
+
+    private JsLocator() {
+    }
+
+    // By has no public accessors, but its toString is stable: "By.xpath: //div"
+    public static List<String> encode(By locator) {
+        String text = locator.toString();
+        int colon = text.indexOf(": ");
+        if (!text.startsWith("By.") || colon < 0) {
+            throw new IllegalArgumentException("Unsupported locator: " + text);
+        }
+        String strategy = text.substring(3, colon);
+        String value = text.substring(colon + 2);
+        switch (strategy) {
+            case "xpath":
+                return List.of("xpath", value);
+            case "id":
+                return List.of("id", value);
+            case "name":
+                return List.of("name", value);
+            case "cssSelector":
+                return List.of("css", value);
+            case "tagName":
+                return List.of("css", value);
+            case "className":
+                return List.of("css", "." + value);
+            default:
+                throw new IllegalArgumentException("Unsupported locator strategy: " + strategy);
+        }
+    }
+}
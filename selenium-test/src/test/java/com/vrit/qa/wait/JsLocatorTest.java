@@ -0,0 +1,29 @@
+package com.vrit.qa.wait;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsLocatorTest {
+
+    @Test
+    public void testEncodeSupportedLocators() {
+        assertEquals(List.of("xpath", "//button[@role='combobox']"),
+                JsLocator.encode(By.xpath("//button[@role='combobox']")));
+        assertEquals(List.of("id", "remember"), JsLocator.encode(By.id("remember")));
+        assertEquals(List.of("name", "agency_name"), JsLocator.encode(By.name("agency_name")));
+        assertEquals(List.of("css", "input[inputmode='numeric']"),
+                JsLocator.encode(By.cssSelector("input[inputmode='numeric']")));
+        assertEquals(List.of("css", "body"), JsLocator.encode(By.tagName("body")));
+        assertEquals(List.of("css", ".primary-btn"), JsLocator.encode(By.className("primary-btn")));
+    }
+
+    @Test
+    public void testEncodeRejectsLinkText() {
+        assertThrows(IllegalArgumentException.class, () -> JsLocator.encode(By.linkText("Next")));
+    }
+}
@@ -0,0 +1,326 @@
+// Local stand-in of the authorized-partner register flow. Mirrors the DOM shapes the
+// harness targets: #remember, .primary-btn, named inputs, inputmode=numeric OTP field,
+// radix-style combobox portals, role=checkbox buttons followed by labels, hidden file inputs.
+(function () {
+    var COUNTRIES = /*COUNTRIES*/[];
+    var EXPERIENCE = ['Less than 1 year', '1 year', '2 years', '3 years', '4 years', '5 years', 'More than 5 years'];
+    var SERVICES = ['Career Counseling', 'Admission Applications', 'Visa Processing', 'Test Prepration',
+        'Accommodation Support'];
+    var INSTITUTIONS = ['Universities', 'Colleges', 'Vocational School', 'Other'];
+
+    // Wizard progress survives reloads the way the real app's does, so a restored session resumes mid-flow
+    var STEP_KEY = 'partner.registration.step';
+    var EMAIL_KEY = 'partner.registration.email';
+
+    var app = document.getElementById('app');
+    var email = sessionStorage.getItem(EMAIL_KEY);
+    var portalCounter = 0;
+    // standin.progressDelayMillis: time between choosing a file and the upload starting, as on a slow client
+    var PROGRESS_DELAY_MS = /*PROGRESS_DELAY*/0;
+    var UPLOAD_ICON = '<img class="upload-icon" alt="" width="16" height="16" ' +
+        'src="data:image/gif;base64,R0lGODlhAQABAIAAAAAAAP///ywAAAAAAQABAAACAUwAOw==">';
+
+    function api(path, body) {
+        return fetch(path, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(body)
+        }).then(function (response) {
+            return response.json().catch(function () { return {}; }).then(function (json) {
+                if (!response.ok) throw new Error(json.error || ('HTTP ' + response.status));
+                return json;
+            });
+        });
+    }
+
+    function escapeHtml(text) {
+        return String(text).replace(/[&<>"']/g, function (c) {
+            return { '&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;', "'": '&#39;' }[c];
+        });
+    }
+
+    function field(name, label, type) {
+        return '<label for="' + name + '">' + label + '</label>' +
+            '<input id="' + name + '" name="' + name + '" type="' + (type || 'text') + '">';
+    }
+
+    function combobox(name, placeholder, classes) {
+        return '<label>' + placeholder + '</label>' +
+            '<button type="button" role="combobox" aria-expanded="false" data-name="' + name + '" class="' +
+            classes + '">' + placeholder + '</button>' +
+            '<input type="hidden" name="' + name + '">';
+    }
+
+    function checkboxes(group, labels) {
+        return labels.map(function (label) {
+            return '<div class="checkbox-item"><button type="button" role="checkbox" aria-checked="false" ' +
+                'data-state="unchecked" data-group="' + group + '" value="' + escapeHtml(label) + '"></button>' +
+                '<label>' + escapeHtml(label) + '</label></div>';
+        }).join('');
+    }
+
+    function render(html, onSubmit) {
+        closePortal();
+        app.innerHTML = html + '<p class="error" role="alert"></p>';
+        var form = app.querySelector('form');
+        if (form && onSubmit) {
+            form.addEventListener('submit', function (event) {
+                event.preventDefault();
+                showError('');
+                var button = form.querySelector('button[type="submit"]');
+                button.disabled = true;
+                onSubmit(form).catch(function (err) {
+                    showError(err.message);
+                }).then(function () {
+                    if (button.isConnected) button.disabled = false;
+                });
+            });
+        }
+        wireComboboxes();
+        wireCheckboxes();
+    }
+
+    function showError(message) {
+        var error = app.querySelector('.error');
+        if (error) error.textContent = message;
+    }
+
+    function values(form) {
+        var data = {};
+        Array.prototype.forEach.call(form.querySelectorAll('input[name], textarea[name]'), function (input) {
+            if (input.type !== 'file') data[input.name] = input.value;
+        });
+        Array.prototype.forEach.call(form.querySelectorAll('button[role="checkbox"][aria-checked="true"]'),
+            function (box) {
+                var group = box.getAttribute('data-group');
+                (data[group] = data[group] || []).push(box.value);
+            });
+        return data;
+    }
+
+    // --- radix-style combobox portals -------------------------------------------------
+
+    var openPortal = null;
+
+    function closePortal() {
+        if (openPortal) {
+            openPortal.trigger.setAttribute('aria-expanded', 'false');
+            openPortal.node.remove();
+            openPortal = null;
+        }
+    }
+
+    function optionsFor(name) {
+        if (name === 'experience') return EXPERIENCE;
+        return COUNTRIES;
+    }
+
+    function wireComboboxes() {
+        Array.prototype.forEach.call(app.querySelectorAll('button[role="combobox"]'), function (trigger) {
+            trigger.addEventListener('click', function () {
+                if (openPortal && openPortal.trigger === trigger) { closePortal(); return; }
+                closePortal();
+                var multiple = trigger.getAttribute('data-name') === 'preferred_countries';
+                var hidden = trigger.nextElementSibling;
+                var selected = hidden.value ? hidden.value.split('|') : [];
+                var wrapper = document.createElement('div');
+                wrapper.id = 'radix-:r' + (++portalCounter) + ':';
+                wrapper.setAttribute('data-radix-popper-content-wrapper', '');
+                wrapper.setAttribute('role', 'listbox');
+                var rect = trigger.getBoundingClientRect();
+                wrapper.style.top = (rect.bottom + 2) + 'px';
+                wrapper.style.left = rect.left + 'px';
+                wrapper.style.width = rect.width + 'px';
+                var list = document.createElement('div');
+                optionsFor(trigger.getAttribute('data-name')).forEach(function (label) {
+                    var option = document.createElement('div');
+                    option.setAttribute('role', 'option');
+                    option.setAttribute('data-value', label);
+                    option.setAttribute('aria-selected', selected.indexOf(label) >= 0 ? 'true' : 'false');
+                    option.textContent = label;
+                    option.addEventListener('click', function () {
+                        if (multiple) {
+                            var at = selected.indexOf(label);
+                            if (at >= 0) selected.splice(at, 1); else selected.push(label);
+                            option.setAttribute('aria-selected', at >= 0 ? 'false' : 'true');
+                            hidden.value = selected.join('|');
+                            trigger.textContent = selected.length ? selected.join(', ') : 'Select countries';
+                        } else {
+                            hidden.value = label;
+                            trigger.textContent = label;
+                            trigger.setAttribute('data-value', label);
+                            closePortal();
+                        }
+                    });
+                    list.appendChild(option);
+                });
+                wrapper.appendChild(list);
+                document.body.appendChild(wrapper);
+                trigger.setAttribute('aria-expanded', 'true');
+                openPortal = { trigger: trigger, node: wrapper };
+            });
+        });
+    }
+
+    document.addEventListener('mousedown', function (event) {
+        if (openPortal && !openPortal.node.contains(event.target) && event.target !== openPortal.trigger) {
+            closePortal();
+        }
+    }, true);
+    document.addEventListener('keydown', function (event) {
+        if (event.key === 'Escape') closePortal();
+    });
+
+    function wireCheckboxes() {
+        Array.prototype.forEach.call(app.querySelectorAll('button[role="checkbox"]'), function (box) {
+            box.addEventListener('click', function () {
+                var checked = box.getAttribute('aria-checked') !== 'true';
+                box.setAttribute('aria-checked', checked ? 'true' : 'false');
+                box.setAttribute('data-state', checked ? 'checked' : 'unchecked');
+            });
+        });
+    }
+
+    // --- steps ----------------------------------------------------------------------
+
+    function terms() {
+        sessionStorage.setItem(STEP_KEY, 'terms');
+        render('<div class="terms"><h1>Become an authorized partner</h1>' +
+            '<input type="checkbox" id="remember"><label for="remember">I agree to the Terms of Service</label>' +
+            '<button type="button" class="primary-btn">Continue</button></div>');
+        app.querySelector('.primary-btn').addEventListener('click', function () {
+            if (!document.getElementById('remember').checked) {
+                showError('Please accept the Terms of Service');
+                return;
+            }
+            personal();
+        });
+    }
+
+    function personal() {
+        sessionStorage.setItem(STEP_KEY, 'personal');
+        render('<form class="personal-details"><h2>Personal Details</h2>' +
+            field('firstName', 'First Name') + field('lastName', 'Last Name') +
+            field('email', 'Email Address', 'email') + field('phoneNumber', 'Phone Number', 'tel') +
+            field('password', 'Password', 'password') + field('confirmPassword', 'Confirm Password', 'password') +
+            '<button type="submit">Next</button></form>', function (form) {
+            var data = values(form);
+            if (data.password !== data.confirmPassword) return Promise.reject(new Error('Passwords do not match'));
+            return api('/api/register', data).then(function () {
+                email = data.email;
+                sessionStorage.setItem(EMAIL_KEY, email);
+                otp();
+            });
+        });
+    }
+
+    function otp() {
+        sessionStorage.setItem(STEP_KEY, 'otp');
+        render('<form class="otp"><h2>Verify your email</h2><p>Enter the 6-digit code sent to ' +
+            escapeHtml(email) + '</p><input name="otp" inputmode="numeric" maxlength="6" autocomplete="one-time-code">' +
+            '<button type="submit">Verify Code</button></form>', function (form) {
+            return api('/api/verify-otp', { email: email, otp: values(form).otp }).then(agency);
+        });
+    }
+
+    function agency() {
+        sessionStorage.setItem(STEP_KEY, 'agency');
+        render('<form class="agency-details"><h2>Agency Details</h2>' +
+            field('agency_name', 'Agency Name') + field('role_in_agency', 'Role in Agency') +
+            field('agency_email', 'Agency Email Address', 'email') + field('agency_website', 'Agency Website') +
+            '<label for="agency_address">Agency Address</label><input id="agency_address" name="agency_address">' +
+            combobox('agency_country', 'Select Your Region of Operation', 'flex w-full') +
+            '<button type="submit">Next</button></form>', function (form) {
+            var data = values(form);
+            data.email = email;
+            return api('/api/agency', data).then(experience);
+        });
+    }
+
+    function experience() {
+        sessionStorage.setItem(STEP_KEY, 'experience');
+        render('<form class="experience"><h3>Experience and Performance</h3>' +
+            combobox('experience', 'Select Your Experience Level', 'flex h-10 w-full items-center') +
+            field('number_of_students_recruited_annually', 'Number of Students Recruited Annually', 'number') +
+            field('focus_area', 'Focus Area') + field('success_metrics', 'Success Metrics', 'number') +
+            '<label>Services Provided</label>' + checkboxes('services', SERVICES) +
+            '<button type="submit">Next</button></form>', function (form) {
+            var data = values(form);
+            data.email = email;
+            return api('/api/experience', data).then(business);
+        });
+    }
+
+    function business() {
+        sessionStorage.setItem(STEP_KEY, 'business');
+        render('<form class="business"><h3>Business Registration</h3>' +
+            field('business_registration_number', 'Business Registration Number') +
+            combobox('preferred_countries', 'Select countries', 'inline-flex w-full items-center') +
+            '<label>Preferred Institution Types</label>' + checkboxes('institution_types', INSTITUTIONS) +
+            field('certification_details', 'Certification Details') +
+            '<label>Business Registration Certificate</label>' +
+            '<div class="dropzone">' + UPLOAD_ICON + 'Drop file or click to upload<input type="file" name="business_registration_certificate" accept=".pdf,.png,.jpg"></div>' +
+            '<label>Certifications</label>' +
+            '<div class="dropzone">' + UPLOAD_ICON + 'Drop file or click to upload<input type="file" name="certifications" accept=".pdf,.png,.jpg"></div>' +
+            '<button type="submit" style="--success: #16a34a; background: var(--success)">Submit</button></form>',
+            function (form) {
+                var data = values(form);
+                data.email = email;
+                data.documents = Array.prototype.map.call(form.querySelectorAll('input[type="file"]'), function (input) {
+                    return input.files.length ? input.files[0].name : null;
+                });
+                return api('/api/business', data).then(done);
+            });
+        Array.prototype.forEach.call(app.querySelectorAll('input[type="file"]'), function (input) {
+            input.addEventListener('change', function () { upload(input); });
+        });
+    }
+
+    function upload(input) {
+        var zone = input.parentNode;
+        Array.prototype.forEach.call(zone.querySelectorAll('.thumbnail, [role="alert"]'), function (node) {
+            node.remove();
+        });
+        if (!input.files.length) return;
+        if (PROGRESS_DELAY_MS > 0) {
+            setTimeout(function () { send(input, zone); }, PROGRESS_DELAY_MS);
+        } else {
+            send(input, zone);
+        }
+    }
+
+    function send(input, zone) {
+        var progress = document.createElement('div');
+        progress.setAttribute('role', 'progressbar');
+        zone.appendChild(progress);
+        fetch('/api/upload?name=' + encodeURIComponent(input.files[0].name), { method: 'POST', body: input.files[0] })
+            .then(function (response) {
+                if (!response.ok) throw new Error('Upload failed: HTTP ' + response.status);
+                return response.json();
+            })
+            .then(function (json) {
+                var thumb = document.createElement('div');
+                thumb.className = 'thumbnail';
+                thumb.textContent = json.name + ' (' + json.size + ' bytes)';
+                zone.appendChild(thumb);
+            })
+            .catch(function (err) {
+                var alert = document.createElement('div');
+                alert.setAttribute('role', 'alert');
+                alert.textContent = err.message;
+                zone.appendChild(alert);
+                showError(err.message);
+            })
+            .then(function () { progress.remove(); });
+    }
+
+    function done() {
+        sessionStorage.setItem(STEP_KEY, 'done');
+        render('<div class="complete"><h2>Registration submitted</h2>' +
+            '<p>Your partner application is under review.</p></div>');
+    }
+
+    var steps = { terms: terms, personal: personal, otp: otp, agency: agency, experience: experience,
+        business: business, done: done };
+    (steps[sessionStorage.getItem(STEP_KEY)] || terms)();
+})();